@@ -0,0 +1,80 @@
+package uk.gov.companieshouse.accounts.association.factory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.accounts.association.models.email.data.AuthorisationRemovedEmailData;
+import uk.gov.companieshouse.api.chskafka.SendEmail;
+
+/**
+ Compares serialising the email data for every recipient of a fan-out with serialising it once into a
+ SendEmailTemplate. Run with: mvn -P benchmarks test-compile exec:exec -Djmh.args="SendEmailFactoryBenchmark"
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class SendEmailFactoryBenchmark {
+
+    private static final String MESSAGE_TYPE = "authorisation_removed";
+
+    @Param( { "1000" } )
+    private int recipients;
+
+    private SendEmailFactory sendEmailFactory;
+    private List<String> recipientEmails;
+
+    @Setup
+    public void setup(){
+        sendEmailFactory = new SendEmailFactory( "accounts-association-api" );
+        recipientEmails = IntStream.range( 0, recipients )
+                .mapToObj( index -> String.format( "user.%d@example.com", index ) )
+                .toList();
+    }
+
+    private static AuthorisationRemovedEmailData createEmailData( final String recipientEmail ){
+        final var emailData = new AuthorisationRemovedEmailData( "Harleen Quinzel", "Wayne Enterprises", "Batman" );
+        emailData.setSubject( "Companies House: Harleen Quinzel's authorisation removed to file online for Wayne Enterprises" );
+        emailData.setTo( recipientEmail );
+        return emailData;
+    }
+
+    @Benchmark
+    public SendEmail createSendEmail(){
+        return sendEmailFactory.createSendEmail( createEmailData( recipientEmails.getFirst() ), MESSAGE_TYPE );
+    }
+
+    @Benchmark
+    public List<SendEmail> serialisePerRecipient(){
+        final var sendEmails = new ArrayList<SendEmail>( recipients );
+        for ( final String recipientEmail: recipientEmails ){
+            sendEmails.add( sendEmailFactory.createSendEmail( createEmailData( recipientEmail ), MESSAGE_TYPE ) );
+        }
+        return sendEmails;
+    }
+
+    @Benchmark
+    public List<SendEmail> serialiseOnceIntoTemplate(){
+        final var sendEmails = new ArrayList<SendEmail>( recipients );
+        final var sendEmailTemplate = sendEmailFactory.createSendEmailTemplate( createEmailData( recipientEmails.getFirst() ), MESSAGE_TYPE );
+        for ( final String recipientEmail: recipientEmails ){
+            sendEmails.add( sendEmailTemplate.forRecipient( recipientEmail ) );
+        }
+        return sendEmails;
+    }
+
+}
@@ -0,0 +1,115 @@
+package uk.gov.companieshouse.accounts.association.mapper;
+
+import static org.mockito.ArgumentMatchers.any;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+import uk.gov.companieshouse.accounts.association.models.InvitationDao;
+import uk.gov.companieshouse.accounts.association.service.CompanyService;
+import uk.gov.companieshouse.accounts.association.service.UsersService;
+import uk.gov.companieshouse.accounts.association.utils.MapperUtil;
+import uk.gov.companieshouse.api.accounts.associations.model.Association;
+import uk.gov.companieshouse.api.accounts.associations.model.Association.ApprovalRouteEnum;
+import uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum;
+import uk.gov.companieshouse.api.accounts.associations.model.AssociationsList;
+import uk.gov.companieshouse.api.accounts.user.model.User;
+import uk.gov.companieshouse.api.company.CompanyDetails;
+
+/**
+ Measures mapping a page of a company's associations to DTOs, from a single association through to the full page with
+ its pagination metadata. UsersService and CompanyService are stubbed, so only the mapping itself is measured. Run
+ with: mvn -P benchmarks test-compile exec:exec -Djmh.args="AssociationMappersBenchmark"
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class AssociationMappersBenchmark {
+
+    private static final String COMPANY_NUMBER = "111111";
+
+    private static final int TOTAL_ASSOCIATIONS = 1000;
+
+    @Param( { "15", "100" } )
+    private int pageSize;
+
+    private AssociationsListCompanyMapper associationsListCompanyMapper;
+    private Page<AssociationDao> associationDaos;
+    private Page<Association> associations;
+    private Map<String, User> users;
+    private CompanyDetails company;
+
+    @Setup
+    public void setup(){
+        final var now = LocalDateTime.now();
+        company = new CompanyDetails().companyNumber( COMPANY_NUMBER ).companyName( "Wayne Enterprises" ).companyStatus( "active" );
+        associationDaos = new PageImpl<>( IntStream.range( 0, pageSize ).mapToObj( index -> createAssociationDao( index, now ) ).toList(), PageRequest.of( 0, pageSize ), TOTAL_ASSOCIATIONS );
+        users = associationDaos.stream()
+                .map( associationDao -> new User().userId( associationDao.getUserId() ).email( associationDao.getUserEmail() ).displayName( String.format( "User %s", associationDao.getUserId() ) ) )
+                .collect( Collectors.toMap( User::getUserId, Function.identity() ) );
+
+        final var usersService = Mockito.mock( UsersService.class, Mockito.withSettings().stubOnly() );
+        Mockito.doReturn( users ).when( usersService ).fetchUserDetails( any( Stream.class ) );
+
+        associationsListCompanyMapper = new AssociationsListCompanyMapperImpl();
+        associationsListCompanyMapper.usersService = usersService;
+        associationsListCompanyMapper.companyService = Mockito.mock( CompanyService.class, Mockito.withSettings().stubOnly() );
+
+        associations = associationDaos.map( associationDao -> associationsListCompanyMapper.daoToDto( associationDao, users.get( associationDao.getUserId() ), company ) );
+    }
+
+    private static AssociationDao createAssociationDao( final int index, final LocalDateTime now ){
+        return new AssociationDao()
+                .id( String.valueOf( index ) )
+                .companyNumber( COMPANY_NUMBER )
+                .userId( String.format( "user-%d", index ) )
+                .userEmail( String.format( "user.%d@example.com", index ) )
+                .status( StatusEnum.CONFIRMED.getValue() )
+                .approvalRoute( ApprovalRouteEnum.INVITATION.getValue() )
+                .approvedAt( now.minusDays( index ) )
+                .approvalExpiryAt( now.plusDays( 7 ) )
+                .invitations( List.of( new InvitationDao().invitedBy( "user-0" ).invitedAt( now.minusDays( index + 1L ) ) ) )
+                .etag( String.format( "etag-%d", index ) );
+    }
+
+    @Benchmark
+    public Association associationDaoToDto(){
+        final var associationDao = associationDaos.getContent().getFirst();
+        return associationsListCompanyMapper.daoToDto( associationDao, users.get( associationDao.getUserId() ), company );
+    }
+
+    @Benchmark
+    public AssociationsList associationsListCompanyDaoToDto(){
+        return associationsListCompanyMapper.daoToDto( associationDaos, company );
+    }
+
+    @Benchmark
+    public AssociationsList enrichWithMetadata(){
+        return MapperUtil.enrichWithMetadata( associations, String.format( "/companies/%s", COMPANY_NUMBER ) );
+    }
+
+}
@@ -0,0 +1,101 @@
+package uk.gov.companieshouse.accounts.association.mapper;
+
+import static org.mockito.ArgumentMatchers.any;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+import uk.gov.companieshouse.accounts.association.models.InvitationDao;
+import uk.gov.companieshouse.accounts.association.models.PreviousStatesDao;
+import uk.gov.companieshouse.accounts.association.service.UsersService;
+import uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum;
+import uk.gov.companieshouse.api.accounts.associations.model.InvitationsList;
+import uk.gov.companieshouse.api.accounts.associations.model.PreviousStatesList;
+import uk.gov.companieshouse.api.accounts.user.model.User;
+
+/**
+ Measures paging through the invitation and previous state histories of an association whose histories have grown
+ long, where the whole history is streamed, and for previous states sorted, to build each page. UsersService is
+ stubbed. Run with: mvn -P benchmarks test-compile exec:exec -Djmh.args="HistoryCollectionMappersBenchmark"
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class HistoryCollectionMappersBenchmark {
+
+    private static final String[] STATUSES = { StatusEnum.AWAITING_APPROVAL.getValue(), StatusEnum.CONFIRMED.getValue(), StatusEnum.REMOVED.getValue() };
+
+    @Param( { "10", "500" } )
+    private int historyLength;
+
+    @Param( { "15" } )
+    private int pageSize;
+
+    private InvitationsCollectionMappers invitationsCollectionMappers;
+    private PreviousStatesCollectionMappers previousStatesCollectionMappers;
+    private AssociationDao association;
+    private int lastPageIndex;
+
+    @Setup
+    public void setup(){
+        final var now = LocalDateTime.now();
+        association = new AssociationDao()
+                .id( "1" )
+                .companyNumber( "111111" )
+                .userId( "111" )
+                .status( StatusEnum.CONFIRMED.getValue() )
+                .invitations( IntStream.range( 0, historyLength )
+                        .mapToObj( index -> new InvitationDao().invitedBy( "222" ).invitedAt( now.minusDays( index ) ) )
+                        .toList() )
+                .previousStates( IntStream.range( 0, historyLength )
+                        .mapToObj( index -> new PreviousStatesDao().status( STATUSES[ index % STATUSES.length ] ).changedBy( "222" ).changedAt( now.minusHours( ( index * 7L ) % historyLength ) ) )
+                        .toList() );
+        lastPageIndex = ( historyLength - 1 ) / pageSize;
+
+        final var usersService = Mockito.mock( UsersService.class, Mockito.withSettings().stubOnly() );
+        Mockito.doReturn( new User().userId( "222" ).email( "the.joker@gotham.city" ) ).when( usersService ).fetchUserDetails( any( String.class ), any( String.class ) );
+
+        final var invitationMapper = new InvitationMapperImpl();
+        ReflectionTestUtils.setField( invitationMapper, "usersService", usersService );
+        invitationsCollectionMappers = new InvitationsCollectionMappers( invitationMapper );
+        previousStatesCollectionMappers = new PreviousStatesCollectionMappers( new PreviousStatesMapperImpl() );
+    }
+
+    @Benchmark
+    public InvitationsList invitationsFirstPage(){
+        return invitationsCollectionMappers.daoToDto( association, 0, pageSize );
+    }
+
+    @Benchmark
+    public InvitationsList invitationsLastPage(){
+        return invitationsCollectionMappers.daoToDto( association, lastPageIndex, pageSize );
+    }
+
+    @Benchmark
+    public PreviousStatesList previousStatesFirstPage(){
+        return previousStatesCollectionMappers.daoToDto( association, 0, pageSize );
+    }
+
+    @Benchmark
+    public PreviousStatesList previousStatesLastPage(){
+        return previousStatesCollectionMappers.daoToDto( association, lastPageIndex, pageSize );
+    }
+
+}
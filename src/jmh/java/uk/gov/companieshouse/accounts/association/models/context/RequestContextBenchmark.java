@@ -0,0 +1,163 @@
+package uk.gov.companieshouse.accounts.association.models.context;
+
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
+
+/**
+ Compares a fixed pool of 200 platform threads against one virtual thread per request, with the request context carried
+ across by {@link RequestContext#wrap}, for both the time and the memory a burst of requests takes.
+
+ runSlowRequests measures how long a burst of requests, each waiting on a slow downstream call, takes. Run with the GC
+ profiler, gc.alloc.rate.norm is the number of bytes allocated per burst; divide it by the requests param for the
+ allocation per request. holdRequestsInFlight parks as many requests as the thread model can hold in flight at once,
+ and reports retainedHeapBytesPerRequest: the heap still in use per parked request, with its context, after a full GC.
+ Platform thread stacks live outside the heap, so they are not part of that figure for the platform model.
+
+ Run with either of:
+ mvn -P benchmarks test-compile exec:exec -Djmh.args="RequestContextBenchmark"
+ mvn -P benchmarks test-compile exec:java -Dexec.mainClass=uk.gov.companieshouse.accounts.association.models.context.RequestContextBenchmark
+ The first passes the benchmarks profile's -prof gc, and the second adds the GCProfiler itself in {@link #main}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 2, time = 5 )
+@Measurement( iterations = 5, time = 5 )
+@Fork( 1 )
+public class RequestContextBenchmark {
+
+    private static final long DOWNSTREAM_LATENCY_MS = 100L;
+    private static final int PLATFORM_THREADS = 200;
+
+    @State( Scope.Thread )
+    @AuxCounters( AuxCounters.Type.EVENTS )
+    public static class RetainedMemory {
+        public long retainedHeapBytesPerRequest;
+    }
+
+    @Param( { "platform", "virtual" } )
+    private String threads;
+
+    @Param( { "1000" } )
+    private int requests;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setup(){
+        executor = "virtual".equals( threads ) ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool( PLATFORM_THREADS );
+    }
+
+    @TearDown
+    public void tearDown(){
+        executor.close();
+    }
+
+    private static RequestContextData createRequestContext( final String xRequestId ){
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "X-Request-Id", xRequestId );
+        return new RequestContextDataBuilder().setXRequestId( request ).build();
+    }
+
+    private static Callable<String> slowRequest(){
+        return () -> {
+            Thread.sleep( DOWNSTREAM_LATENCY_MS );
+            return getXRequestId();
+        };
+    }
+
+    private static Callable<String> heldRequest( final CountDownLatch started, final CountDownLatch release ){
+        return () -> {
+            started.countDown();
+            release.await();
+            return getXRequestId();
+        };
+    }
+
+    private static long usedHeapAfterGc(){
+        for ( int collection = 0; collection < 3; collection++ ){
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public int runSlowRequests() throws ExecutionException, InterruptedException {
+        final var results = new ArrayList<Future<String>>( requests );
+        for ( int request = 0; request < requests; request++ ){
+            RequestContext.setRequestContext( createRequestContext( String.valueOf( request ) ) );
+            results.add( executor.submit( RequestContext.wrap( slowRequest() ) ) );
+        }
+        RequestContext.clear();
+
+        var completed = 0;
+        for ( final var result : results ){
+            completed += result.get().isEmpty() ? 0 : 1;
+        }
+        return completed;
+    }
+
+    @Benchmark
+    @BenchmarkMode( Mode.SingleShotTime )
+    @Warmup( iterations = 2 )
+    @Measurement( iterations = 5 )
+    public int holdRequestsInFlight( final RetainedMemory retainedMemory ) throws ExecutionException, InterruptedException {
+        final var inFlight = "virtual".equals( threads ) ? requests : Math.min( requests, PLATFORM_THREADS );
+        final var started = new CountDownLatch( inFlight );
+        final var release = new CountDownLatch( 1 );
+        final var heapBefore = usedHeapAfterGc();
+
+        final var results = new ArrayList<Future<String>>( inFlight );
+        for ( int request = 0; request < inFlight; request++ ){
+            RequestContext.setRequestContext( createRequestContext( String.valueOf( request ) ) );
+            results.add( executor.submit( RequestContext.wrap( heldRequest( started, release ) ) ) );
+        }
+        RequestContext.clear();
+
+        started.await();
+        retainedMemory.retainedHeapBytesPerRequest = ( usedHeapAfterGc() - heapBefore ) / inFlight;
+        release.countDown();
+
+        var completed = 0;
+        for ( final var result : results ){
+            completed += result.get().isEmpty() ? 0 : 1;
+        }
+        return completed;
+    }
+
+    public static void main( final String[] args ) throws RunnerException {
+        new Runner( new OptionsBuilder()
+                .include( RequestContextBenchmark.class.getSimpleName() )
+                .addProfiler( GCProfiler.class )
+                .build() ).run();
+    }
+
+}
@@ -0,0 +1,149 @@
+package uk.gov.companieshouse.accounts.association.repositories;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+
+/**
+ Compares the blocking and the reactive read path for a page of a company's associations, against the same data in
+ the same Mongo container. The blocking path is {@link AssociationsRepository}, which runs the page query and then its
+ count query on the calling thread, with concurrent requests each holding a platform thread as they do under the
+ servlet container. The reactive path is {@link ReactiveAssociationsRepository}, which runs both queries at once, with
+ every concurrent request sharing the reactive driver. Enriching the page with users is left out, so that only the
+ Mongo side of each path is measured. Requires Docker. Run with:
+ mvn -P benchmarks test-compile exec:exec -Djmh.args="AssociationReadPathBenchmark"
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class AssociationReadPathBenchmark {
+
+    private static final String COMPANY_NUMBER = "111111";
+    private static final Set<String> STATUSES = Set.of( "confirmed", "awaiting-approval", "migrated" );
+
+    @Param( { "1", "50" } )
+    private int concurrentRequests;
+
+    @Param( { "500" } )
+    private int associations;
+
+    @Param( { "15" } )
+    private int pageSize;
+
+    private MongoDBContainer mongoDBContainer;
+    private MongoClient mongoClient;
+    private com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient;
+    private AssociationsRepository associationsRepository;
+    private ReactiveAssociationsRepository reactiveAssociationsRepository;
+    private ExecutorService requestThreads;
+
+    @Setup( Level.Trial )
+    public void setup(){
+        mongoDBContainer = new MongoDBContainer( DockerImageName.parse( "mongo:7.0.17-jammy" ) );
+        mongoDBContainer.start();
+
+        mongoClient = MongoClients.create( mongoDBContainer.getReplicaSetUrl() );
+        reactiveMongoClient = com.mongodb.reactivestreams.client.MongoClients.create( mongoDBContainer.getReplicaSetUrl() );
+        final var mongoTemplate = new MongoTemplate( mongoClient, "benchmark" );
+        final var reactiveMongoTemplate = new ReactiveMongoTemplate( reactiveMongoClient, "benchmark" );
+        associationsRepository = new MongoRepositoryFactory( mongoTemplate ).getRepository( AssociationsRepository.class );
+        reactiveAssociationsRepository = new ReactiveMongoRepositoryFactory( reactiveMongoTemplate ).getRepository( ReactiveAssociationsRepository.class );
+
+        mongoTemplate.insertAll( IntStream.range( 0, associations ).mapToObj( AssociationReadPathBenchmark::createAssociation ).toList() );
+        requestThreads = Executors.newFixedThreadPool( concurrentRequests );
+    }
+
+    private static AssociationDao createAssociation( final int index ){
+        return new AssociationDao()
+                .companyNumber( COMPANY_NUMBER )
+                .userId( String.format( "user-%d", index ) )
+                .status( "confirmed" )
+                .approvalRoute( "auth_code" )
+                .etag( Long.toHexString( Double.doubleToLongBits( Math.random() ) ) );
+    }
+
+    private Page<AssociationDao> fetchPageBlocking( final int pageIndex ){
+        return associationsRepository.fetchUnexpiredAssociationsForCompanyAndStatuses( COMPANY_NUMBER, STATUSES, LocalDateTime.now(), PageRequest.of( pageIndex, pageSize ) );
+    }
+
+    private Mono<Page<AssociationDao>> fetchPageReactive( final int pageIndex ){
+        final var now = LocalDateTime.now();
+        final var pageRequest = PageRequest.of( pageIndex, pageSize );
+        return Mono.zip( reactiveAssociationsRepository.fetchUnexpiredAssociationsForCompanyAndStatuses( COMPANY_NUMBER, STATUSES, now, pageRequest ).collectList(),
+                         reactiveAssociationsRepository.countUnexpiredAssociationsForCompanyAndStatuses( COMPANY_NUMBER, STATUSES, now ),
+                         ( items, totalElements ) -> new PageImpl<>( items, pageRequest, totalElements ) );
+    }
+
+    private int pageIndexOf( final int request ){
+        return request % Math.max( associations / pageSize, 1 );
+    }
+
+    @Benchmark
+    public List<Page<AssociationDao>> blockingReadPath() throws ExecutionException, InterruptedException {
+        final var requests = new ArrayList<Future<Page<AssociationDao>>>( concurrentRequests );
+        for ( int request = 0; request < concurrentRequests; request++ ){
+            final var pageIndex = pageIndexOf( request );
+            requests.add( requestThreads.submit( () -> fetchPageBlocking( pageIndex ) ) );
+        }
+
+        final var pages = new ArrayList<Page<AssociationDao>>( concurrentRequests );
+        for ( final var request : requests ){
+            pages.add( request.get() );
+        }
+        return pages;
+    }
+
+    @Benchmark
+    public List<Page<AssociationDao>> reactiveReadPath(){
+        return Flux.range( 0, concurrentRequests )
+                .flatMap( request -> fetchPageReactive( pageIndexOf( request ) ) )
+                .collectList()
+                .block();
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown(){
+        requestThreads.close();
+        reactiveMongoClient.close();
+        mongoClient.close();
+        mongoDBContainer.stop();
+    }
+
+}
@@ -0,0 +1,137 @@
+package uk.gov.companieshouse.accounts.association.repositories;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+import uk.gov.companieshouse.accounts.association.configuration.MongoClientTuningPolicy;
+
+/**
+ Measures the latency of fetching a page of associations for a company whose associations carry long invitation
+ histories, with each wire compressor supported by {@link MongoClientTuningPolicy}. The bytes the server sent per
+ query in each iteration, taken from serverStatus, are reported alongside the latency as bytesPerQuery. Requires
+ Docker. Run with:
+ mvn -P benchmarks test-compile exec:exec -Djmh.args="MongoCompressionBenchmark"
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class MongoCompressionBenchmark {
+
+    private static final String COMPANY_NUMBER = "111111";
+
+    @Param( { "none", "snappy", "zstd" } )
+    private String compressor;
+
+    @Param( { "500" } )
+    private int associations;
+
+    @Param( { "100" } )
+    private int pageSize;
+
+    private MongoDBContainer mongoDBContainer;
+    private MongoClient mongoClient;
+    private MongoCollection<Document> collection;
+
+    @State( Scope.Thread )
+    @AuxCounters( AuxCounters.Type.EVENTS )
+    public static class ServerBytes {
+
+        private long bytesOutBefore;
+        private long queries;
+        public long bytesPerQuery;
+
+        @Setup( Level.Iteration )
+        public void start( final MongoCompressionBenchmark benchmark ){
+            bytesOutBefore = benchmark.bytesOut();
+            queries = 0L;
+            bytesPerQuery = 0L;
+        }
+
+        @TearDown( Level.Iteration )
+        public void finish( final MongoCompressionBenchmark benchmark ){
+            bytesPerQuery = ( benchmark.bytesOut() - bytesOutBefore ) / Math.max( queries, 1L );
+        }
+
+    }
+
+    @Setup( Level.Trial )
+    public void setup(){
+        mongoDBContainer = new MongoDBContainer( DockerImageName.parse( "mongo:7.0.17-jammy" ) );
+        mongoDBContainer.start();
+
+        final var settings = MongoClientSettings.builder()
+                .applyConnectionString( new ConnectionString( mongoDBContainer.getReplicaSetUrl() ) );
+        if ( !"none".equals( compressor ) ){
+            settings.compressorList( MongoClientTuningPolicy.parseCompressors( compressor ) );
+        }
+        mongoClient = MongoClients.create( settings.build() );
+        collection = mongoClient.getDatabase( "benchmark" ).getCollection( "user_company_associations" );
+        collection.insertMany( IntStream.range( 0, associations ).mapToObj( MongoCompressionBenchmark::createAssociation ).toList() );
+    }
+
+    private static Document createAssociation( final int index ){
+        final var invitations = new ArrayList<Document>();
+        for ( int invitation = 0; invitation < 20; invitation++ ){
+            invitations.add( new Document( "invited_by", String.format( "user-%d", invitation ) ).append( "invited_at", Date.from( Instant.now() ) ) );
+        }
+        return new Document( "company_number", COMPANY_NUMBER )
+                .append( "user_id", String.format( "user-%d", index ) )
+                .append( "user_email", String.format( "user.%d@example.com", index ) )
+                .append( "status", "confirmed" )
+                .append( "approval_route", "invitation" )
+                .append( "invitations", invitations )
+                .append( "created_at", Date.from( Instant.now() ) )
+                .append( "etag", Long.toHexString( Double.doubleToLongBits( Math.random() ) ) );
+    }
+
+    private long bytesOut(){
+        final var serverStatus = mongoClient.getDatabase( "admin" ).runCommand( new Document( "serverStatus", 1 ) );
+        return ( (Number) serverStatus.get( "network", Document.class ).get( "bytesOut" ) ).longValue();
+    }
+
+    @Benchmark
+    public List<Document> fetchAssociationsPage( final ServerBytes serverBytes ){
+        serverBytes.queries++;
+        return collection.find( Filters.eq( "company_number", COMPANY_NUMBER ) )
+                .sort( Sorts.ascending( "user_email" ) )
+                .limit( pageSize )
+                .into( new ArrayList<>( pageSize ) );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown(){
+        mongoClient.close();
+        mongoDBContainer.stop();
+    }
+
+}
@@ -0,0 +1,94 @@
+package uk.gov.companieshouse.accounts.association.utils;
+
+import static uk.gov.companieshouse.accounts.association.utils.ParsingUtil.parseJsonFrom;
+import static uk.gov.companieshouse.accounts.association.utils.ParsingUtil.parseJsonTo;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.api.accounts.associations.model.Association;
+import uk.gov.companieshouse.api.accounts.associations.model.Association.ApprovalRouteEnum;
+import uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum;
+import uk.gov.companieshouse.api.accounts.associations.model.AssociationLinks;
+import uk.gov.companieshouse.api.accounts.associations.model.AssociationsList;
+import uk.gov.companieshouse.api.accounts.associations.model.Links;
+import uk.gov.companieshouse.api.accounts.user.model.User;
+import uk.gov.companieshouse.api.company.CompanyDetails;
+
+/**
+ Measures the JSON parsing done on every downstream response, and serialising a page of associations as the
+ controllers' responses are. Run with: mvn -P benchmarks test-compile exec:exec -Djmh.args="ParsingUtilBenchmark"
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ParsingUtilBenchmark {
+
+    @Param( { "15", "100" } )
+    private int pageSize;
+
+    private String userJson;
+    private String companyDetailsJson;
+    private AssociationsList associationsList;
+
+    @Setup
+    public void setup(){
+        userJson = parseJsonFrom( new User().userId( "111" ).email( "bruce.wayne@gotham.city" ).displayName( "Batman" ), null );
+        companyDetailsJson = parseJsonFrom( new CompanyDetails().companyNumber( "111111" ).companyName( "Wayne Enterprises" ).companyStatus( "active" ), null );
+
+        final var now = OffsetDateTime.now();
+        associationsList = new AssociationsList()
+                .items( IntStream.range( 0, pageSize )
+                        .mapToObj( index -> new Association()
+                                .id( String.valueOf( index ) )
+                                .userId( String.format( "user-%d", index ) )
+                                .userEmail( String.format( "user.%d@example.com", index ) )
+                                .displayName( String.format( "User %d", index ) )
+                                .companyNumber( "111111" )
+                                .companyName( "Wayne Enterprises" )
+                                .companyStatus( "active" )
+                                .status( StatusEnum.CONFIRMED )
+                                .approvalRoute( ApprovalRouteEnum.INVITATION )
+                                .createdAt( now.minusDays( index ) )
+                                .approvedAt( now.minusDays( index ) )
+                                .etag( String.format( "etag-%d", index ) )
+                                .kind( "association" )
+                                .links( new AssociationLinks().self( String.format( "/associations/%d", index ) ) ) )
+                        .toList() )
+                .pageNumber( 0 )
+                .itemsPerPage( pageSize )
+                .totalResults( 1000 )
+                .totalPages( ( 1000 + pageSize - 1 ) / pageSize )
+                .links( new Links().self( "/associations/companies/111111?page_index=0&items_per_page=15" ).next( "/associations/companies/111111?page_index=1&items_per_page=15" ) );
+    }
+
+    @Benchmark
+    public User parseUser(){
+        return parseJsonTo( User.class ).apply( userJson );
+    }
+
+    @Benchmark
+    public CompanyDetails parseCompanyDetails(){
+        return parseJsonTo( CompanyDetails.class ).apply( companyDetailsJson );
+    }
+
+    @Benchmark
+    public String serialiseAssociationsList(){
+        return parseJsonFrom( associationsList, null );
+    }
+
+}
@@ -3,9 +3,12 @@ package uk.gov.companieshouse.accounts.association;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
 import uk.gov.companieshouse.accounts.association.utils.StaticPropertyUtil;
 
-@SpringBootApplication
+@SpringBootApplication( exclude = { MongoReactiveAutoConfiguration.class, MongoReactiveDataAutoConfiguration.class, MongoReactiveRepositoriesAutoConfiguration.class } )
 public class AccountsAssociationServiceApplication {
 
     final StaticPropertyUtil staticPropertyUtil;
@@ -0,0 +1,107 @@
+package uk.gov.companieshouse.accounts.association.client;
+
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.Sinks.EmitFailureHandler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+import uk.gov.companieshouse.accounts.association.exceptions.EmailSendException;
+import uk.gov.companieshouse.api.chskafka.SendEmail;
+
+/**
+ Queues emails submitted via {@link #submit(SendEmail, String)} and posts them to the CHS Kafka API with at most
+ email.batching.max-concurrency requests in flight across all of them.
+
+ The CHS Kafka API does not currently expose a batch endpoint, so each email is still posted individually; the gain
+ comes from posting them concurrently rather than one after another. At most email.batching.max-queued-emails emails
+ (rounded up to a power of two) wait to be posted at once, and an email submitted while the queue is full fails with an
+ EmailSendException straight away rather than being held in memory. The Mono returned by submit completes once its
+ email has actually been posted, or fails with the error from posting it; a failure does not affect any other email.
+ On shutdown, {@link #close()} waits up to email.batching.drain-timeout-ms for queued emails to be posted.
+
+ This client is only created when email.batching.enabled is true.
+ */
+@Component
+@ConditionalOnProperty( name = "email.batching.enabled", havingValue = "true" )
+public class BatchingEmailClient {
+
+    private record QueuedEmail( SendEmail sendEmail, String xRequestId, MonoSink<Void> result ) {}
+
+    private final EmailClient emailClient;
+    private final Sinks.Many<QueuedEmail> queue;
+    private final Disposable subscription;
+    private final CountDownLatch drained = new CountDownLatch( 1 );
+    private final Duration drainTimeout;
+
+    @Autowired
+    public BatchingEmailClient( final EmailClient emailClient,
+                                @Value( "${email.batching.max-queued-emails:10000}" ) final int maxQueuedEmails,
+                                @Value( "${email.batching.max-concurrency:8}" ) final int maxConcurrency,
+                                @Value( "${email.batching.drain-timeout-ms:30000}" ) final long drainTimeoutMs ) {
+        this.emailClient = emailClient;
+        this.drainTimeout = Duration.ofMillis( drainTimeoutMs );
+        this.queue = Sinks.many().unicast().onBackpressureBuffer( Queues.<QueuedEmail>get( maxQueuedEmails ).get() );
+        this.subscription = queue.asFlux()
+                .flatMap( this::send, maxConcurrency )
+                .doFinally( signal -> drained.countDown() )
+                .subscribe();
+    }
+
+    public Mono<Void> submit( final SendEmail sendEmail, final String xRequestId ){
+        return Mono.create( result -> {
+            final var email = new QueuedEmail( sendEmail, xRequestId, result );
+            var emitResult = queue.tryEmitNext( email );
+            while ( Sinks.EmitResult.FAIL_NON_SERIALIZED.equals( emitResult ) ){
+                Thread.onSpinWait();
+                emitResult = queue.tryEmitNext( email );
+            }
+            if ( Sinks.EmitResult.FAIL_OVERFLOW.equals( emitResult ) ){
+                result.error( new EmailSendException( String.format( "Could not queue %s email with message_id %s, because the queue of emails waiting to be sent is full", sendEmail.getMessageType(), sendEmail.getMessageId() ) ) );
+            } else if ( emitResult.isFailure() ){
+                result.error( new EmailSendException( String.format( "Could not queue %s email with message_id %s: %s", sendEmail.getMessageType(), sendEmail.getMessageId(), emitResult ) ) );
+            }
+        } );
+    }
+
+    private Mono<Void> send( final QueuedEmail email ){
+        return Mono.fromRunnable( () -> emailClient.sendEmail( email.sendEmail(), email.xRequestId() ) )
+                .subscribeOn( Schedulers.boundedElastic() )
+                .doOnSuccess( onSuccess -> email.result().success() )
+                .onErrorResume( exception -> {
+                    email.result().error( exception );
+                    return Mono.empty();
+                } )
+                .then();
+    }
+
+    @PreDestroy
+    public void close(){
+        queue.emitComplete( EmitFailureHandler.busyLooping( Duration.ofSeconds( 1L ) ) );
+        try {
+            if ( !drained.await( drainTimeout.toMillis(), TimeUnit.MILLISECONDS ) ){
+                LOGGER.error( String.format( "Timed out after %d ms waiting for queued emails to be sent", drainTimeout.toMillis() ) );
+                subscription.dispose();
+            }
+        } catch ( InterruptedException exception ){
+            Thread.currentThread().interrupt();
+            subscription.dispose();
+        }
+    }
+
+    boolean isClosed(){
+        return subscription.isDisposed();
+    }
+
+}
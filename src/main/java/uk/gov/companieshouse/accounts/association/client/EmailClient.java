@@ -2,6 +2,7 @@ package uk.gov.companieshouse.accounts.association.client;
 
 
 import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.accounts.association.configuration.DownstreamMetricsPolicy;
 import uk.gov.companieshouse.accounts.association.exceptions.EmailSendException;
 import uk.gov.companieshouse.api.InternalApiClient;
 import uk.gov.companieshouse.api.chskafka.SendEmail;
@@ -17,15 +18,21 @@ import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGE
 @Component
 public class EmailClient {
 
+    private static final String DEPENDENCY = "chs-kafka-api";
 
     Supplier<InternalApiClient> internalApiClientSupplier;
 
+    DownstreamMetricsPolicy downstreamMetricsPolicy;
+
     public EmailClient(
-            Supplier<InternalApiClient> internalApiClientSupplier) {
+            Supplier<InternalApiClient> internalApiClientSupplier, DownstreamMetricsPolicy downstreamMetricsPolicy) {
         this.internalApiClientSupplier = internalApiClientSupplier;
+        this.downstreamMetricsPolicy = downstreamMetricsPolicy;
     }
 
     public void sendEmail(SendEmail sendEmail, String xRequestId) throws EmailSendException {
+        var call = downstreamMetricsPolicy.startCall(DEPENDENCY);
+        var statusCode = -1;
         try {
             var internalApiClient = internalApiClientSupplier.get();
             internalApiClient.getHttpClient().setRequestId(xRequestId);
@@ -34,11 +41,19 @@ public class EmailClient {
             var emailHandler = internalApiClient.sendEmailHandler();
             var emailPost = emailHandler.postSendEmail("/send-email", sendEmail);
             ApiResponse<Void> response = emailPost.execute();
+            statusCode = response.getStatusCode();
             LOGGER.info(format("Posted '%s' email to CHS Kafka API: Response %d, Request ID: %s",
                     sendEmail.getMessageType(), response.getStatusCode(), xRequestId));
         } catch (ApiErrorResponseException ex) {
+            statusCode = ex.getStatusCode();
             LOGGER.error(String.format("Error sending email with  data: %s and request-id: %s", sendEmail.getJsonData(), xRequestId), ex);
             throw new EmailSendException(ex.getMessage());
+        } finally {
+            if (statusCode < 0) {
+                downstreamMetricsPolicy.endCallWithoutResponse(call, DEPENDENCY, "POST");
+            } else {
+                downstreamMetricsPolicy.endCall(call, DEPENDENCY, "POST", statusCode);
+            }
         }
     }
 
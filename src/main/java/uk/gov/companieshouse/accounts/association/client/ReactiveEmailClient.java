@@ -0,0 +1,53 @@
+package uk.gov.companieshouse.accounts.association.client;
+
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.exceptions.EmailSendException;
+import uk.gov.companieshouse.api.chskafka.SendEmail;
+
+/**
+ Non-blocking counterpart to {@link EmailClient}, which posts to the CHS Kafka API's /send-email endpoint via WebClient
+ rather than the blocking private SDK client.
+ */
+@Component
+public class ReactiveEmailClient {
+
+    private final WebClient emailWebClient;
+
+    public ReactiveEmailClient( @Qualifier( "emailWebClient" ) final WebClient emailWebClient ) {
+        this.emailWebClient = emailWebClient;
+    }
+
+    private static Map<String, String> toRequestBody( final SendEmail sendEmail ){
+        return Map.of(
+                "app_id", sendEmail.getAppId(),
+                "message_id", sendEmail.getMessageId(),
+                "message_type", sendEmail.getMessageType(),
+                "json_data", sendEmail.getJsonData(),
+                "email_address", sendEmail.getEmailAddress() );
+    }
+
+    public Mono<Void> toSendEmailRequest( final SendEmail sendEmail, final String xRequestId ){
+        return Mono.fromSupplier( () -> toRequestBody( sendEmail ) )
+                .flatMap( requestBody -> emailWebClient.post()
+                        .uri( "/send-email" )
+                        .header( "X-Request-Id", xRequestId )
+                        .contentType( MediaType.APPLICATION_JSON )
+                        .bodyValue( requestBody )
+                        .retrieve()
+                        .toBodilessEntity() )
+                .doOnNext( response -> LOGGER.infoContext( xRequestId, String.format( "Posted '%s' email to CHS Kafka API: Response %d", sendEmail.getMessageType(), response.getStatusCode().value() ), null ) )
+                .onErrorMap( throwable -> !( throwable instanceof EmailSendException ), throwable -> {
+                    LOGGER.errorContext( xRequestId, new Exception( String.format( "Error sending '%s' email: %s", sendEmail.getMessageType(), throwable.getMessage() ) ), null );
+                    return new EmailSendException( throwable.getMessage() );
+                } )
+                .then();
+    }
+
+}
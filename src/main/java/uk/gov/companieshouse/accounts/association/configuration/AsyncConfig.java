@@ -0,0 +1,27 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import io.opentelemetry.context.Context;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
+
+/**
+ Runs {@code @Async} methods, such as the status update emails, on Spring Boot's application task executor rather than
+ on the request thread. With spring.threads.virtual.enabled=true that executor starts a virtual thread per task, capped
+ at spring.task.execution.simple.concurrency-limit; otherwise it is the usual bounded platform thread pool. Either way,
+ each task runs with the submitting request's context and trace context, so that its spans join the request's trace.
+ */
+@Configuration
+@EnableAsync
+@ConditionalOnProperty( name = "email.async.enabled", havingValue = "true" )
+public class AsyncConfig {
+
+    @Bean
+    public TaskDecorator requestContextTaskDecorator(){
+        return runnable -> Context.current().wrap( RequestContext.wrap( runnable ) );
+    }
+
+}
@@ -15,10 +15,13 @@ public class CompanyWebClientConfig {
     private String chsInternalApiKey;
 
     @Bean
-    public WebClient companyWebClient(){
+    public WebClient companyWebClient( final DownstreamMetricsPolicy downstreamMetricsPolicy, final NegativeCachePolicy negativeCachePolicy, final DownstreamResiliencePolicy downstreamResiliencePolicy ){
         return WebClient.builder()
                 .baseUrl( privateApiUrl )
                 .defaultHeader( "Authorization", chsInternalApiKey )
+                .filter( downstreamMetricsPolicy.filterFor( "company-profile-api" ) )
+                .filter( negativeCachePolicy.filterFor( "company-profile-api" ) )
+                .filter( downstreamResiliencePolicy.filterFor( "company-profile-api" ) )
                 .build();
     }
 
@@ -0,0 +1,121 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.profiling.DownstreamCallEvent;
+
+/**
+ Records every call to a dependency as downstream.requests, tagged with the dependency, HTTP method, outcome and
+ status, and publishes a histogram with SLO buckets so that per-dependency latency can be compared against the SLOs and
+ aggregated across nodes in Prometheus. Failed calls, meaning 5xx responses and calls that never got a response, are
+ also counted as downstream.requests.errors, and the calls currently waiting on each dependency are exported as
+ downstream.requests.active.
+
+ The filter should be the first one added to a WebClient, so that it measures the latency seen by the service, including
+ any hedged, retried or short-circuited calls made by the policies inside it. Calls that never got a response have
+ status IO_ERROR, or CANCELLED if the caller gave up on them. 404s answered by {@link NegativeCachePolicy} without
+ calling the dependency have outcome CACHED. Each call is also emitted as a {@link DownstreamCallEvent}
+ while a JFR recording that enables it is running.
+ */
+@Component
+public class DownstreamMetricsPolicy {
+
+    private static final Duration[] SLOS = { Duration.ofMillis( 50L ), Duration.ofMillis( 100L ), Duration.ofMillis( 250L ), Duration.ofMillis( 500L ), Duration.ofSeconds( 1L ), Duration.ofSeconds( 2L ), Duration.ofSeconds( 5L ) };
+
+    private static final String IO_ERROR = "IO_ERROR";
+    private static final String CANCELLED = "CANCELLED";
+    private static final String CACHED = "CACHED";
+
+    public record Call( Timer.Sample sample, DownstreamCallEvent event ) {}
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> activeRequests = new ConcurrentHashMap<>();
+
+    public DownstreamMetricsPolicy( final MeterRegistry meterRegistry ) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    private AtomicInteger activeRequestsFor( final String dependency ){
+        return activeRequests.computeIfAbsent( dependency, key -> meterRegistry.gauge( "downstream.requests.active", Tags.of( "dependency", key ), new AtomicInteger() ) );
+    }
+
+    public Call startCall( final String dependency ){
+        activeRequestsFor( dependency ).incrementAndGet();
+        final var event = new DownstreamCallEvent();
+        event.begin();
+        return new Call( Timer.start( meterRegistry ), event );
+    }
+
+    public void endCall( final Call call, final String dependency, final String method, final int statusCode ){
+        endCall( call, dependency, method, Outcome.forStatus( statusCode ).name(), String.valueOf( statusCode ) );
+    }
+
+    public void endCallWithoutResponse( final Call call, final String dependency, final String method ){
+        endCall( call, dependency, method, Outcome.UNKNOWN.name(), IO_ERROR );
+    }
+
+    private void endCall( final Call call, final String dependency, final String method, final String outcome, final String status ){
+        activeRequestsFor( dependency ).decrementAndGet();
+
+        call.event().end();
+        if ( call.event().shouldCommit() ){
+            call.event().dependency = dependency;
+            call.event().method = method;
+            call.event().status = status;
+            call.event().commit();
+        }
+
+        final var tags = Tags.of( "dependency", dependency, "method", method, "outcome", outcome, "status", status );
+        call.sample().stop( Timer.builder( "downstream.requests" )
+                .tags( tags )
+                .publishPercentileHistogram()
+                .serviceLevelObjectives( SLOS )
+                .register( meterRegistry ) );
+
+        if ( Outcome.SERVER_ERROR.name().equals( outcome ) || Outcome.UNKNOWN.name().equals( outcome ) ){
+            meterRegistry.counter( "downstream.requests.errors", tags ).increment();
+        }
+    }
+
+    public ExchangeFilterFunction filterFor( final String dependency ){
+        return ( request, next ) -> Mono.defer( () -> {
+            final var method = request.method().name();
+            final var call = startCall( dependency );
+            final var ended = new AtomicBoolean( false );
+            return next.exchange( request )
+                    .doOnSuccess( response -> {
+                        if ( ended.compareAndSet( false, true ) ){
+                            if ( Objects.isNull( response ) ){
+                                endCallWithoutResponse( call, dependency, method );
+                            } else if ( response.headers().header( NegativeCachePolicy.CACHED_RESPONSE_HEADER ).contains( "true" ) ){
+                                endCall( call, dependency, method, CACHED, String.valueOf( response.statusCode().value() ) );
+                            } else {
+                                endCall( call, dependency, method, response.statusCode().value() );
+                            }
+                        }
+                    } )
+                    .doOnError( throwable -> {
+                        if ( ended.compareAndSet( false, true ) ){
+                            endCallWithoutResponse( call, dependency, method );
+                        }
+                    } )
+                    .doOnCancel( () -> {
+                        if ( ended.compareAndSet( false, true ) ){
+                            endCall( call, dependency, method, Outcome.UNKNOWN.name(), CANCELLED );
+                        }
+                    } );
+        } );
+    }
+
+}
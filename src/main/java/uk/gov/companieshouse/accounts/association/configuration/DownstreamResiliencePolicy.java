@@ -0,0 +1,145 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import static uk.gov.companieshouse.accounts.association.models.Constants.X_REQUEST_ID;
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ Guards each downstream dependency with its own circuit breaker and concurrency bulkhead, applied as a WebClient
+ filter so that every request made through that dependency's WebClient is covered. A 5xx response or a call slower
+ than downstream.resilience.slow-call-threshold-ms counts against the breaker; once it opens, or once the bulkhead is
+ full, calls are rejected straight away instead of queueing behind a struggling dependency.
+
+ For the dependencies listed in downstream.resilience.fallback.dependencies, successful GET responses are remembered
+ for downstream.resilience.fallback.ttl-ms, and a rejected call is answered with the last good response for the same
+ URL if there is one. Only company profiles are listed by default, since they are public; responses that carry personal
+ data, such as user details, should not be kept around in memory. Any other rejected call fails as it would have done
+ anyway.
+ */
+@Component
+public class DownstreamResiliencePolicy {
+
+    private final boolean enabled;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final Set<String> fallbackDependencies;
+    private final Cache<String, String> lastKnownGoodResponses;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public DownstreamResiliencePolicy( final MeterRegistry meterRegistry,
+                                       @Value( "${downstream.resilience.enabled:false}" ) final boolean enabled,
+                                       @Value( "${downstream.resilience.failure-rate-threshold:50}" ) final float failureRateThreshold,
+                                       @Value( "${downstream.resilience.slow-call-threshold-ms:5000}" ) final long slowCallThresholdMs,
+                                       @Value( "${downstream.resilience.sliding-window-size:20}" ) final int slidingWindowSize,
+                                       @Value( "${downstream.resilience.wait-in-open-state-ms:30000}" ) final long waitInOpenStateMs,
+                                       @Value( "${downstream.resilience.max-concurrent-calls:25}" ) final int maxConcurrentCalls,
+                                       @Value( "${downstream.resilience.fallback.max-size:10000}" ) final long fallbackMaxSize,
+                                       @Value( "${downstream.resilience.fallback.ttl-ms:600000}" ) final long fallbackTtlMs,
+                                       @Value( "${downstream.resilience.fallback.dependencies:company-profile-api}" ) final Set<String> fallbackDependencies ) {
+        this.enabled = enabled;
+        this.fallbackDependencies = fallbackDependencies;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreakerRegistry = CircuitBreakerRegistry.of( CircuitBreakerConfig.custom()
+                .failureRateThreshold( failureRateThreshold )
+                .slowCallRateThreshold( failureRateThreshold )
+                .slowCallDurationThreshold( Duration.ofMillis( slowCallThresholdMs ) )
+                .slidingWindowSize( slidingWindowSize )
+                .minimumNumberOfCalls( slidingWindowSize )
+                .waitDurationInOpenState( Duration.ofMillis( waitInOpenStateMs ) )
+                .recordResult( result -> result instanceof ClientResponse response && response.statusCode().is5xxServerError() )
+                .ignoreExceptions( BulkheadFullException.class )
+                .build() );
+        this.bulkheadRegistry = BulkheadRegistry.of( BulkheadConfig.custom()
+                .maxConcurrentCalls( maxConcurrentCalls )
+                .maxWaitDuration( Duration.ZERO )
+                .build() );
+        this.lastKnownGoodResponses = Caffeine.newBuilder()
+                .maximumSize( fallbackMaxSize )
+                .expireAfterWrite( Duration.ofMillis( fallbackTtlMs ) )
+                .build();
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry( circuitBreakerRegistry ).bindTo( meterRegistry );
+        TaggedBulkheadMetrics.ofBulkheadRegistry( bulkheadRegistry ).bindTo( meterRegistry );
+    }
+
+    public ExchangeFilterFunction filterFor( final String dependency ){
+        if ( !enabled ){
+            return ( request, next ) -> next.exchange( request );
+        }
+
+        final var circuitBreaker = circuitBreakerRegistry.circuitBreaker( dependency );
+        circuitBreaker.getEventPublisher().onStateTransition( event -> {
+            LOGGER.info( String.format( "Circuit breaker for %s moved from %s to %s", dependency, event.getStateTransition().getFromState(), event.getStateTransition().getToState() ) );
+            meterRegistry.counter( "downstream.circuitbreaker.transitions", "dependency", dependency, "from", event.getStateTransition().getFromState().name(), "to", event.getStateTransition().getToState().name() ).increment();
+        } );
+
+        final var bulkhead = bulkheadRegistry.bulkhead( dependency );
+        bulkhead.getEventPublisher().onCallRejected( event -> meterRegistry.counter( "downstream.bulkhead.rejected", "dependency", dependency ).increment() );
+
+        final var remembersResponses = fallbackDependencies.contains( dependency );
+        return ( request, next ) -> next.exchange( request )
+                .flatMap( response -> remembersResponses ? rememberIfCacheable( request, response ) : Mono.just( response ) )
+                .transformDeferred( BulkheadOperator.of( bulkhead ) )
+                .transformDeferred( CircuitBreakerOperator.of( circuitBreaker ) )
+                .onErrorResume( exception -> exception instanceof CallNotPermittedException || exception instanceof BulkheadFullException, exception -> toFallbackResponse( dependency, request, exception ) );
+    }
+
+    private Mono<ClientResponse> rememberIfCacheable( final ClientRequest request, final ClientResponse response ){
+        if ( !HttpMethod.GET.equals( request.method() ) || !response.statusCode().is2xxSuccessful() ){
+            return Mono.just( response );
+        }
+
+        return response.bodyToMono( String.class )
+                .defaultIfEmpty( "" )
+                .map( body -> {
+                    lastKnownGoodResponses.put( request.url().toString(), body );
+                    return response.mutate().body( body ).build();
+                } );
+    }
+
+    private Mono<ClientResponse> toFallbackResponse( final String dependency, final ClientRequest request, final Throwable exception ){
+        final var xRequestId = request.headers().getFirst( X_REQUEST_ID );
+        final var lastKnownGoodResponse = fallbackDependencies.contains( dependency ) ? Optional.ofNullable( lastKnownGoodResponses.getIfPresent( request.url().toString() ) ) : Optional.<String>empty();
+        meterRegistry.counter( "downstream.fallback", "dependency", dependency, "outcome", lastKnownGoodResponse.isPresent() ? "cached" : "unavailable" ).increment();
+
+        if ( lastKnownGoodResponse.isEmpty() ){
+            LOGGER.errorContext( xRequestId, new Exception( String.format( "Call to %s was rejected and no cached response is available: %s", dependency, exception.getMessage() ) ), null );
+            return Mono.error( exception );
+        }
+
+        LOGGER.infoContext( xRequestId, String.format( "Call to %s was rejected, so the last known good response is being used: %s", dependency, exception.getMessage() ), null );
+        return Mono.just( ClientResponse.create( HttpStatus.OK )
+                .header( HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE )
+                .body( lastKnownGoodResponse.get() )
+                .build() );
+    }
+
+}
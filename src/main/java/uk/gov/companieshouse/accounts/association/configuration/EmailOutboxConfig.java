@@ -0,0 +1,27 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ Provides the transactions in which a change to an association and the email event it gives rise to are written
+ together. This needs MongoDB to run as a replica set. The transaction manager is deliberately not exposed as a bean, so
+ that the service's existing @Transactional annotations are not switched on along with it.
+
+ Without email.outbox.enabled there is no such bean, and callers write the change outside of a transaction.
+ */
+@Configuration
+@ConditionalOnProperty( name = "email.outbox.enabled", havingValue = "true" )
+public class EmailOutboxConfig {
+
+    @Bean
+    public TransactionOperations emailOutboxTransactions( final MongoDatabaseFactory mongoDatabaseFactory ){
+        return new TransactionTemplate( new MongoTransactionManager( mongoDatabaseFactory ) );
+    }
+
+}
@@ -0,0 +1,26 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+public class EmailWebClientConfig {
+
+    @Value( "${chs.kafka.api.url}" )
+    private String chsKafkaApiUrl;
+
+    @Value( "${chs.internal.api.key}" )
+    private String chsInternalApiKey;
+
+    @Bean
+    public WebClient emailWebClient( final DownstreamMetricsPolicy downstreamMetricsPolicy ){
+        return WebClient.builder()
+                .baseUrl( chsKafkaApiUrl )
+                .defaultHeader( "Authorization", chsInternalApiKey )
+                .filter( downstreamMetricsPolicy.filterFor( "chs-kafka-api" ) )
+                .build();
+    }
+
+}
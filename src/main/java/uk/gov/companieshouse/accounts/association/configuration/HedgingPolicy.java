@@ -0,0 +1,126 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ Hedges idempotent GETs: if a response has not arrived within the dependency's observed downstream.hedging.percentile
+ latency (but never sooner than downstream.hedging.min-delay-ms), a second identical request is sent and whichever
+ response arrives first is used. The other request is cancelled, or, if its response has already arrived, its body is
+ released so that its connection goes back to the pool. A failed request does not end the race while the other one can
+ still succeed, and if both fail the primary request's error is the one reported.
+
+ The hedge delay is estimated from downstream.hedging.primary-latency, which only records primary requests, so that
+ the fast hedges which win races do not pull the estimate down and make hedging ever more eager. Every response,
+ primary or hedge, is still recorded in downstream.hedging.latency.
+
+ Hedges are paid for out of a token bucket which each request tops up by downstream.hedging.max-hedge-ratio, so that
+ at most that fraction of requests is ever sent twice, even while the dependency is uniformly slow.
+ */
+@Component
+public class HedgingPolicy {
+
+    private static final long MILLI_TOKENS_PER_HEDGE = 1_000L;
+    private static final long MAX_MILLI_TOKENS = 10 * MILLI_TOKENS_PER_HEDGE;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final long milliTokensPerRequest;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public HedgingPolicy( final MeterRegistry meterRegistry,
+                          @Value( "${downstream.hedging.enabled:false}" ) final boolean enabled,
+                          @Value( "${downstream.hedging.percentile:0.95}" ) final double percentile,
+                          @Value( "${downstream.hedging.min-delay-ms:50}" ) final long minDelayMs,
+                          @Value( "${downstream.hedging.max-hedge-ratio:0.1}" ) final double maxHedgeRatio ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = Duration.ofMillis( minDelayMs );
+        this.milliTokensPerRequest = Math.round( maxHedgeRatio * MILLI_TOKENS_PER_HEDGE );
+    }
+
+    private Duration computeHedgeDelay( final Timer latency ){
+        final var percentileValues = latency.takeSnapshot().percentileValues();
+        final var observedLatency = percentileValues.length == 0 ? Duration.ZERO : Duration.ofNanos( (long) percentileValues[0].value( TimeUnit.NANOSECONDS ) );
+        return observedLatency.compareTo( minDelay ) > 0 ? observedLatency : minDelay;
+    }
+
+    private static boolean tryAcquireHedge( final AtomicLong hedgeBudget ){
+        long milliTokens;
+        do {
+            milliTokens = hedgeBudget.get();
+            if ( milliTokens < MILLI_TOKENS_PER_HEDGE ){
+                return false;
+            }
+        } while ( !hedgeBudget.compareAndSet( milliTokens, milliTokens - MILLI_TOKENS_PER_HEDGE ) );
+        return true;
+    }
+
+    private static Mono<ClientResponse> timed( final Mono<ClientResponse> exchange, final Timer latency ){
+        return Mono.defer( () -> {
+            final var startTime = System.nanoTime();
+            return exchange.doOnNext( response -> latency.record( System.nanoTime() - startTime, TimeUnit.NANOSECONDS ) );
+        } );
+    }
+
+    private static Mono<ClientResponse> claim( final Mono<ClientResponse> exchange, final AtomicBoolean settled ){
+        return exchange.flatMap( response -> settled.compareAndSet( false, true ) ? Mono.just( response ) : response.releaseBody().then( Mono.empty() ) );
+    }
+
+    public ExchangeFilterFunction filterFor( final String dependency ){
+        if ( !enabled ){
+            return ( request, next ) -> next.exchange( request );
+        }
+
+        final var latency = Timer.builder( "downstream.hedging.latency" ).tag( "dependency", dependency ).register( meterRegistry );
+        final var primaryLatency = Timer.builder( "downstream.hedging.primary-latency" ).tag( "dependency", dependency ).publishPercentiles( percentile ).register( meterRegistry );
+        final Counter requests = meterRegistry.counter( "downstream.hedging.requests", "dependency", dependency );
+        final Counter hedges = meterRegistry.counter( "downstream.hedging.hedges", "dependency", dependency );
+        final Counter hedgeWins = meterRegistry.counter( "downstream.hedging.wins", "dependency", dependency );
+        final var hedgeBudget = new AtomicLong( 0L );
+
+        return ( request, next ) -> {
+            if ( !HttpMethod.GET.equals( request.method() ) ){
+                return next.exchange( request );
+            }
+
+            requests.increment();
+            hedgeBudget.updateAndGet( milliTokens -> Math.min( MAX_MILLI_TOKENS, milliTokens + milliTokensPerRequest ) );
+
+            final var settled = new AtomicBoolean( false );
+            final var primaryFailure = new AtomicReference<Throwable>();
+            final var primary = claim( timed( timed( next.exchange( request ), primaryLatency ), latency ), settled )
+                    .doOnError( primaryFailure::set );
+            final var hedge = Mono.delay( computeHedgeDelay( primaryLatency ) )
+                    .filter( tick -> tryAcquireHedge( hedgeBudget ) )
+                    .flatMap( tick -> {
+                        hedges.increment();
+                        return claim( timed( next.exchange( request ), latency ), settled );
+                    } )
+                    .doOnNext( response -> hedgeWins.increment() )
+                    .onErrorResume( exception -> Mono.empty() );
+
+            return Mono.firstWithValue( primary, hedge )
+                    .onErrorMap( NoSuchElementException.class, exception -> Objects.requireNonNullElse( primaryFailure.get(), exception ) );
+        };
+    }
+
+}
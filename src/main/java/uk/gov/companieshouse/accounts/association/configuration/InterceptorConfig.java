@@ -1,8 +1,11 @@
 package uk.gov.companieshouse.accounts.association.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import uk.gov.companieshouse.accounts.association.interceptor.EndpointMetricsInterceptor;
 import uk.gov.companieshouse.accounts.association.interceptor.RequestLifecycleInterceptor;
 import uk.gov.companieshouse.accounts.association.service.UsersService;
 
@@ -10,14 +13,23 @@ import uk.gov.companieshouse.accounts.association.service.UsersService;
 public class InterceptorConfig implements WebMvcConfigurer {
 
     private final UsersService usersService;
+    private final RequestDeadlinePolicy requestDeadlinePolicy;
+    private final MeterRegistry meterRegistry;
 
-    public InterceptorConfig( final UsersService usersService ) {
+    public InterceptorConfig( final UsersService usersService,
+                              final MeterRegistry meterRegistry,
+                              @Value( "${request.deadline.enabled:false}" ) final boolean deadlineEnabled,
+                              @Value( "${request.deadline.default-ms:20000}" ) final long defaultBudgetMs,
+                              @Value( "${request.deadline.max-ms:20000}" ) final long maxBudgetMs ) {
         this.usersService = usersService;
+        this.requestDeadlinePolicy = new RequestDeadlinePolicy( deadlineEnabled, defaultBudgetMs, maxBudgetMs );
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public void addInterceptors( final InterceptorRegistry registry ) {
-        registry.addInterceptor( new RequestLifecycleInterceptor( usersService ) );
+        registry.addInterceptor( new EndpointMetricsInterceptor( meterRegistry ) );
+        registry.addInterceptor( new RequestLifecycleInterceptor( usersService, requestDeadlinePolicy ) );
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ Applies wire compression, connection pool sizing and timeouts to both the blocking and the reactive Mongo clients.
+ Nothing is changed unless mongo.client-tuning.enabled is true, in which case these settings take precedence over any
+ equivalent options in spring.data.mongodb.uri.
+
+ mongo.client-tuning.compressors is a comma separated list of snappy, zstd and zlib, in order of preference; the
+ server picks the first one that it also supports. Pool size, wait queue size and checkout failures are already
+ recorded by Spring Boot's Mongo pool metrics, so this class only adds mongodb.pool.checkout, the time spent waiting
+ for a connection, tagged with whether a connection was obtained.
+ */
+@Component
+public class MongoClientTuningPolicy implements MongoClientSettingsBuilderCustomizer {
+
+    private final boolean enabled;
+    private final List<MongoCompressor> compressors;
+    private final int maxPoolSize;
+    private final int minPoolSize;
+    private final int maxConnecting;
+    private final long maxWaitTimeMs;
+    private final long maxConnectionIdleTimeMs;
+    private final long maxConnectionLifeTimeMs;
+    private final long connectTimeoutMs;
+    private final long serverSelectionTimeoutMs;
+
+    private final Timer checkoutSucceededTimer;
+    private final Timer checkoutFailedTimer;
+
+    @Autowired
+    public MongoClientTuningPolicy( final MeterRegistry meterRegistry,
+                                    @Value( "${mongo.client-tuning.enabled:false}" ) final boolean enabled,
+                                    @Value( "${mongo.client-tuning.compressors:snappy}" ) final String compressors,
+                                    @Value( "${mongo.client-tuning.pool.max-size:50}" ) final int maxPoolSize,
+                                    @Value( "${mongo.client-tuning.pool.min-size:5}" ) final int minPoolSize,
+                                    @Value( "${mongo.client-tuning.pool.max-connecting:4}" ) final int maxConnecting,
+                                    @Value( "${mongo.client-tuning.pool.max-wait-time-ms:2000}" ) final long maxWaitTimeMs,
+                                    @Value( "${mongo.client-tuning.pool.max-connection-idle-time-ms:300000}" ) final long maxConnectionIdleTimeMs,
+                                    @Value( "${mongo.client-tuning.pool.max-connection-life-time-ms:1800000}" ) final long maxConnectionLifeTimeMs,
+                                    @Value( "${mongo.client-tuning.connect-timeout-ms:5000}" ) final long connectTimeoutMs,
+                                    @Value( "${mongo.client-tuning.server-selection-timeout-ms:5000}" ) final long serverSelectionTimeoutMs ) {
+        this.enabled = enabled;
+        this.compressors = parseCompressors( compressors );
+        this.maxPoolSize = maxPoolSize;
+        this.minPoolSize = minPoolSize;
+        this.maxConnecting = maxConnecting;
+        this.maxWaitTimeMs = maxWaitTimeMs;
+        this.maxConnectionIdleTimeMs = maxConnectionIdleTimeMs;
+        this.maxConnectionLifeTimeMs = maxConnectionLifeTimeMs;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.serverSelectionTimeoutMs = serverSelectionTimeoutMs;
+        this.checkoutSucceededTimer = Timer.builder( "mongodb.pool.checkout" ).tag( "outcome", "succeeded" ).register( meterRegistry );
+        this.checkoutFailedTimer = Timer.builder( "mongodb.pool.checkout" ).tag( "outcome", "failed" ).register( meterRegistry );
+    }
+
+    static List<MongoCompressor> parseCompressors( final String compressors ){
+        return Arrays.stream( Objects.requireNonNullElse( compressors, "" ).split( "," ) )
+                .map( String::trim )
+                .map( String::toLowerCase )
+                .filter( compressor -> !compressor.isEmpty() )
+                .map( compressor -> switch ( compressor ) {
+                    case "snappy" -> MongoCompressor.createSnappyCompressor();
+                    case "zstd" -> MongoCompressor.createZstdCompressor();
+                    case "zlib" -> MongoCompressor.createZlibCompressor();
+                    default -> throw new IllegalArgumentException( String.format( "Unsupported Mongo compressor: %s", compressor ) );
+                } )
+                .toList();
+    }
+
+    @Override
+    public void customize( final MongoClientSettings.Builder builder ){
+        if ( !enabled ){
+            return;
+        }
+
+        builder.compressorList( compressors )
+                .applyToConnectionPoolSettings( pool -> pool
+                        .maxSize( maxPoolSize )
+                        .minSize( minPoolSize )
+                        .maxConnecting( maxConnecting )
+                        .maxWaitTime( maxWaitTimeMs, TimeUnit.MILLISECONDS )
+                        .maxConnectionIdleTime( maxConnectionIdleTimeMs, TimeUnit.MILLISECONDS )
+                        .maxConnectionLifeTime( maxConnectionLifeTimeMs, TimeUnit.MILLISECONDS )
+                        .addConnectionPoolListener( new CheckoutTimingListener() ) )
+                .applyToSocketSettings( socket -> socket.connectTimeout( (int) connectTimeoutMs, TimeUnit.MILLISECONDS ) )
+                .applyToClusterSettings( cluster -> cluster.serverSelectionTimeout( serverSelectionTimeoutMs, TimeUnit.MILLISECONDS ) );
+
+        LOGGER.info( String.format( "Mongo client tuned with compressors=%s, pool max-size=%d, min-size=%d, max-wait-time=%d ms", compressors.stream().map( MongoCompressor::getName ).toList(), maxPoolSize, minPoolSize, maxWaitTimeMs ) );
+    }
+
+    private class CheckoutTimingListener implements ConnectionPoolListener {
+
+        @Override
+        public void connectionCheckedOut( final ConnectionCheckedOutEvent event ){
+            checkoutSucceededTimer.record( event.getElapsedTime( TimeUnit.NANOSECONDS ), TimeUnit.NANOSECONDS );
+        }
+
+        @Override
+        public void connectionCheckOutFailed( final ConnectionCheckOutFailedEvent event ){
+            checkoutFailedTimer.record( event.getElapsedTime( TimeUnit.NANOSECONDS ), TimeUnit.NANOSECONDS );
+        }
+
+    }
+
+}
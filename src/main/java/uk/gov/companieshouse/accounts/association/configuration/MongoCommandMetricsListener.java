@@ -0,0 +1,163 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonArray;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+
+/**
+ Records the latency and documents returned of every Mongo command, tagged with the repository method that issued it
+ (see {@link RepositoryMethodTagger}), as mongodb.repository.commands and mongodb.repository.documents. The latency
+ timer publishes a histogram, so a query that loses its index shows up as a shift in that method's percentiles.
+
+ Measuring a response's size means encoding it again, so mongodb.repository.response.size is only recorded for the
+ fraction of commands given by mongo.instrumentation.response-size-sample-rate, which is 0 by default. Its count is
+ therefore a sample, but its percentiles still describe the typical response.
+
+ Commands slower than mongo.instrumentation.slow-query-threshold-ms are logged with the shape of their filter: field
+ names and operators are kept, and every value is replaced with "?", so that no email addresses or user IDs reach the
+ logs.
+ */
+public class MongoCommandMetricsListener implements CommandListener, MongoClientSettingsBuilderCustomizer {
+
+    private static final List<String> FILTER_FIELDS = List.of( "filter", "query", "pipeline", "updates", "deletes" );
+    private static final BsonString PLACEHOLDER = new BsonString( "?" );
+
+    private record StartedCommand( String repositoryMethod, String collection, String filterShape, String xRequestId ) {}
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowQueryThreshold;
+    private final double responseSizeSampleRate;
+    private final Map<Integer, StartedCommand> startedCommands = new ConcurrentHashMap<>();
+
+    public MongoCommandMetricsListener( final MeterRegistry meterRegistry, final long slowQueryThresholdMs, final double responseSizeSampleRate ) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThreshold = Duration.ofMillis( slowQueryThresholdMs );
+        this.responseSizeSampleRate = responseSizeSampleRate;
+    }
+
+    @Override
+    public void customize( final MongoClientSettings.Builder builder ){
+        builder.addCommandListener( this );
+    }
+
+    static BsonValue shapeOf( final BsonValue value ){
+        if ( value.isDocument() ){
+            final var shape = new BsonDocument();
+            value.asDocument().forEach( ( key, field ) -> shape.put( key, shapeOf( field ) ) );
+            return shape;
+        }
+        if ( value.isArray() && value.asArray().stream().anyMatch( BsonValue::isDocument ) ){
+            final var shape = new BsonArray();
+            value.asArray().forEach( element -> shape.add( shapeOf( element ) ) );
+            return shape;
+        }
+        return PLACEHOLDER;
+    }
+
+    private static String filterShapeOf( final BsonDocument command ){
+        return FILTER_FIELDS.stream()
+                .filter( command::containsKey )
+                .findFirst()
+                .map( field -> shapeOf( command.get( field ) ).toString() )
+                .orElse( "{}" );
+    }
+
+    private static int documentsReturned( final BsonDocument response ){
+        final var cursor = response.getDocument( "cursor", null );
+        if ( Objects.isNull( cursor ) ){
+            return 0;
+        }
+        final var batch = cursor.containsKey( "firstBatch" ) ? cursor.getArray( "firstBatch" ) : cursor.getArray( "nextBatch", new BsonArray() );
+        return batch.size();
+    }
+
+    private static int sizeOf( final BsonDocument response ){
+        try ( final var buffer = new BasicOutputBuffer() ){
+            new BsonDocumentCodec().encode( new BsonBinaryWriter( buffer ), response, EncoderContext.builder().build() );
+            return buffer.getPosition();
+        }
+    }
+
+    @Override
+    public void commandStarted( final CommandStartedEvent event ){
+        final var command = event.getCommand();
+        final var collectionValue = command.get( event.getCommandName() );
+        final var collection = Objects.nonNull( collectionValue ) && collectionValue.isString() ? collectionValue.asString().getValue() : "";
+        startedCommands.put( event.getRequestId(), new StartedCommand( RepositoryMethodTagger.currentRepositoryMethod(), collection, filterShapeOf( command ), getXRequestId() ) );
+    }
+
+    @Override
+    public void commandSucceeded( final CommandSucceededEvent event ){
+        final var started = startedCommands.remove( event.getRequestId() );
+        if ( Objects.isNull( started ) ){
+            return;
+        }
+
+        final var elapsed = event.getElapsedTime( TimeUnit.NANOSECONDS );
+        final var response = event.getResponse();
+        record( started, event.getCommandName(), "success", elapsed );
+        DistributionSummary.builder( "mongodb.repository.documents" )
+                .tag( "method", started.repositoryMethod() )
+                .tag( "command", event.getCommandName() )
+                .register( meterRegistry )
+                .record( documentsReturned( response ) );
+
+        if ( responseSizeSampleRate <= 0.0 || ThreadLocalRandom.current().nextDouble() >= responseSizeSampleRate ){
+            return;
+        }
+
+        DistributionSummary.builder( "mongodb.repository.response.size" )
+                .baseUnit( "bytes" )
+                .tag( "method", started.repositoryMethod() )
+                .tag( "command", event.getCommandName() )
+                .register( meterRegistry )
+                .record( sizeOf( response ) );
+    }
+
+    @Override
+    public void commandFailed( final CommandFailedEvent event ){
+        final var started = startedCommands.remove( event.getRequestId() );
+        if ( Objects.nonNull( started ) ){
+            record( started, event.getCommandName(), "failure", event.getElapsedTime( TimeUnit.NANOSECONDS ) );
+        }
+    }
+
+    private void record( final StartedCommand started, final String commandName, final String status, final long elapsedNanos ){
+        Timer.builder( "mongodb.repository.commands" )
+                .tag( "method", started.repositoryMethod() )
+                .tag( "command", commandName )
+                .tag( "status", status )
+                .publishPercentileHistogram()
+                .register( meterRegistry )
+                .record( elapsedNanos, TimeUnit.NANOSECONDS );
+
+        if ( elapsedNanos >= slowQueryThreshold.toNanos() ){
+            LOGGER.infoContext( started.xRequestId(), String.format( "Slow Mongo %s on %s from %s took %d ms with filter %s", commandName, started.collection(), started.repositoryMethod(), TimeUnit.NANOSECONDS.toMillis( elapsedNanos ), started.filterShape() ), null );
+        }
+    }
+
+}
@@ -5,7 +5,10 @@ import java.util.Optional;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.mapping.event.ValidatingMongoEventListener;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
@@ -20,6 +23,11 @@ public class MongoConfig {
         return new ValidatingMongoEventListener( factory );
     }
 
+    @Bean
+    public MongoTemplate mongoTemplate( final MongoDatabaseFactory mongoDatabaseFactory, final MongoConverter mongoConverter, final ReadRoutingPolicy readRoutingPolicy ) {
+        return new ReadRoutingMongoTemplate( mongoDatabaseFactory, mongoConverter, readRoutingPolicy );
+    }
+
     @Bean( name = "mongodbDatetimeProvider" )
     public DateTimeProvider dateTimeProvider() {
         return () -> Optional.of( LocalDateTime.now() );
@@ -0,0 +1,25 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty( name = "mongo.instrumentation.enabled", havingValue = "true" )
+public class MongoInstrumentationConfig {
+
+    @Bean
+    public static RepositoryMethodTagger repositoryMethodTagger(){
+        return new RepositoryMethodTagger();
+    }
+
+    @Bean
+    public MongoCommandMetricsListener mongoCommandMetricsListener( final MeterRegistry meterRegistry,
+                                                                   @Value( "${mongo.instrumentation.slow-query-threshold-ms:200}" ) final long slowQueryThresholdMs,
+                                                                   @Value( "${mongo.instrumentation.response-size-sample-rate:0.0}" ) final double responseSizeSampleRate ){
+        return new MongoCommandMetricsListener( meterRegistry, slowQueryThresholdMs, responseSizeSampleRate );
+    }
+
+}
@@ -0,0 +1,81 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ Remembers which GETs to a dependency recently came back 404, and answers a repeat of one of them with a 404 straight
+ away for downstream.negative-cache.ttl-ms, without calling the dependency. The services map that 404 to a
+ NotFoundRuntimeException exactly as they would a real one, so unknown users are still rejected and companies without a
+ registered email address are still skipped. Those 404s carry a {@value #CACHED_RESPONSE_HEADER} header, so that
+ {@link DownstreamMetricsPolicy} records them with outcome CACHED rather than as calls to the dependency.
+
+ Each dependency has its own cache, bounded by downstream.negative-cache.max-size and exported as a Caffeine cache
+ named {@code <dependency>-not-found}, separate from the last known good responses kept by
+ {@link DownstreamResiliencePolicy}. The TTL should stay short, since a user or company created upstream is invisible
+ here until its entry expires.
+ */
+@Component
+public class NegativeCachePolicy {
+
+    static final String CACHED_RESPONSE_HEADER = "X-Negative-Cache-Hit";
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final long maxSize;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public NegativeCachePolicy( final MeterRegistry meterRegistry,
+                                @Value( "${downstream.negative-cache.enabled:false}" ) final boolean enabled,
+                                @Value( "${downstream.negative-cache.ttl-ms:30000}" ) final long ttlMs,
+                                @Value( "${downstream.negative-cache.max-size:10000}" ) final long maxSize ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMillis( ttlMs );
+        this.maxSize = maxSize;
+    }
+
+    public ExchangeFilterFunction filterFor( final String dependency ){
+        if ( !enabled ){
+            return ( request, next ) -> next.exchange( request );
+        }
+
+        final var notFound = Caffeine.newBuilder()
+                .maximumSize( maxSize )
+                .expireAfterWrite( ttl )
+                .recordStats()
+                .<String, Boolean>build();
+        CaffeineCacheMetrics.monitor( meterRegistry, notFound, String.format( "%s-not-found", dependency ), Tags.of( "dependency", dependency ) );
+
+        return ( request, next ) -> {
+            if ( !HttpMethod.GET.equals( request.method() ) ){
+                return next.exchange( request );
+            }
+
+            final var key = request.url().toString();
+            if ( Objects.nonNull( notFound.getIfPresent( key ) ) ){
+                return Mono.just( ClientResponse.create( HttpStatus.NOT_FOUND ).header( CACHED_RESPONSE_HEADER, "true" ).build() );
+            }
+
+            return next.exchange( request ).doOnNext( response -> {
+                if ( HttpStatus.NOT_FOUND.equals( response.statusCode() ) ){
+                    notFound.put( key, Boolean.TRUE );
+                }
+            } );
+        };
+    }
+
+}
@@ -14,10 +14,13 @@ public class OracleQueryWebClientConfig {
     private String chsInternalApiKey;
 
     @Bean
-    public WebClient oracleQueryWebClient(){
+    public WebClient oracleQueryWebClient( final DownstreamMetricsPolicy downstreamMetricsPolicy, final NegativeCachePolicy negativeCachePolicy, final DownstreamResiliencePolicy downstreamResiliencePolicy ){
         return WebClient.builder()
                 .baseUrl( oracleQueryApiUrl )
                 .defaultHeader( "Authorization", chsInternalApiKey )
+                .filter( downstreamMetricsPolicy.filterFor( "oracle-query-api" ) )
+                .filter( negativeCachePolicy.filterFor( "oracle-query-api" ) )
+                .filter( downstreamResiliencePolicy.filterFor( "oracle-query-api" ) )
                 .build();
     }
 }
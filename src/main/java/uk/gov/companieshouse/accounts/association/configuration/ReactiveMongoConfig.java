@@ -0,0 +1,44 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.ReactiveMongoClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ Provides the reactive Mongo client, template and repositories behind associations.reactive-reads.enabled. Spring
+ Boot's reactive Mongo auto-configuration is excluded, so that without the flag no reactive client or connection pool
+ is created at all. The client is built with the same settings customizers as the blocking client, and reads the same
+ database.
+ */
+@Configuration
+@ConditionalOnProperty( name = "associations.reactive-reads.enabled", havingValue = "true" )
+@EnableReactiveMongoRepositories( "uk.gov.companieshouse.accounts.association.repositories" )
+public class ReactiveMongoConfig {
+
+    @Bean
+    public MongoClient reactiveStreamsMongoClient( final ObjectProvider<MongoClientSettingsBuilderCustomizer> builderCustomizers, final MongoClientSettings mongoClientSettings ) {
+        return new ReactiveMongoClientFactory( builderCustomizers.orderedStream().toList() ).createMongoClient( mongoClientSettings );
+    }
+
+    @Bean
+    public ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory( final MongoClient reactiveStreamsMongoClient, final MongoDatabaseFactory mongoDatabaseFactory ) {
+        return new SimpleReactiveMongoDatabaseFactory( reactiveStreamsMongoClient, mongoDatabaseFactory.getMongoDatabase().getName() );
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate( final ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory, final MongoConverter mongoConverter, final ReadRoutingPolicy readRoutingPolicy ) {
+        return new ReadRoutingReactiveMongoTemplate( reactiveMongoDatabaseFactory, mongoConverter, readRoutingPolicy );
+    }
+
+}
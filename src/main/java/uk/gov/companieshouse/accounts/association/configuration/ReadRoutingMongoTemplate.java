@@ -0,0 +1,41 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getRemainingBudget;
+
+import com.mongodb.client.MongoCollection;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ Prepares each collection with the read preference of the current {@link ReadRoutingPolicy.QueryClass}. Reads tagged
+ with a query class are also given a client-side operation timeout of whatever remains of the request's deadline.
+ Writes, including those in the email outbox's transactions, are never given a timeout, since the driver would then
+ apply it to the whole write or transaction and could abandon it part way through once the deadline has passed.
+ */
+public class ReadRoutingMongoTemplate extends MongoTemplate {
+
+    private final ReadRoutingPolicy readRoutingPolicy;
+
+    public ReadRoutingMongoTemplate( final MongoDatabaseFactory mongoDatabaseFactory, final MongoConverter mongoConverter, final ReadRoutingPolicy readRoutingPolicy ) {
+        super( mongoDatabaseFactory, mongoConverter );
+        this.readRoutingPolicy = readRoutingPolicy;
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection( final MongoCollection<Document> collection ) {
+        final var preparedCollection = super.prepareCollection( collection );
+        final var routedCollection = readRoutingPolicy.fetchReadPreference()
+                .map( preparedCollection::withReadPreference )
+                .orElse( preparedCollection );
+        if ( !readRoutingPolicy.hasQueryClass() ){
+            return routedCollection;
+        }
+        return getRemainingBudget()
+                .map( remainingBudget -> routedCollection.withTimeout( remainingBudget.toMillis(), TimeUnit.MILLISECONDS ) )
+                .orElse( routedCollection );
+    }
+
+}
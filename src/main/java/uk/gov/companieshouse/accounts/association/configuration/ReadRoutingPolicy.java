@@ -0,0 +1,120 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import static uk.gov.companieshouse.accounts.association.models.Constants.UNKNOWN;
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getEricIdentity;
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
+
+import com.mongodb.ReadPreference;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ Decides which members of the replica set a read may be served from. Reads are tagged with a {@link QueryClass} via
+ {@link #withQueryClass(QueryClass, Supplier)}, and each query class has its own configurable read preference. Any
+ non-primary read preference carries mongo.read-routing.max-staleness-seconds.
+
+ A caller who has written within the last max-staleness window is pinned to the primary for every query class,
+ so that a caller always sees their own writes even if the secondaries are lagging.
+ */
+@Component
+public class ReadRoutingPolicy {
+
+    public enum QueryClass {
+        LOOKUP,
+        LIST,
+        EXPORT
+    }
+
+    private static final int MAX_TRACKED_WRITERS = 10_000;
+
+    private static final ThreadLocal<QueryClass> queryClassThreadLocal = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Map<QueryClass, ReadPreference> readPreferences;
+    private final Duration readYourWritesWindow;
+    private final Map<String, Instant> recentWriters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadRoutingPolicy( @Value( "${mongo.read-routing.enabled:false}" ) final boolean enabled,
+                              @Value( "${mongo.read-routing.lookup.read-preference:primary}" ) final String lookupReadPreference,
+                              @Value( "${mongo.read-routing.list.read-preference:secondaryPreferred}" ) final String listReadPreference,
+                              @Value( "${mongo.read-routing.export.read-preference:secondaryPreferred}" ) final String exportReadPreference,
+                              @Value( "${mongo.read-routing.max-staleness-seconds:90}" ) final long maxStalenessSeconds ) {
+        this.enabled = enabled;
+        this.readYourWritesWindow = Duration.ofSeconds( maxStalenessSeconds );
+        this.readPreferences = new EnumMap<>( Map.of(
+                QueryClass.LOOKUP, toReadPreference( lookupReadPreference, maxStalenessSeconds ),
+                QueryClass.LIST, toReadPreference( listReadPreference, maxStalenessSeconds ),
+                QueryClass.EXPORT, toReadPreference( exportReadPreference, maxStalenessSeconds ) ) );
+    }
+
+    private static ReadPreference toReadPreference( final String name, final long maxStalenessSeconds ){
+        final var readPreference = ReadPreference.valueOf( name );
+        return readPreference.equals( ReadPreference.primary() ) ? readPreference : ReadPreference.valueOf( name, List.of(), maxStalenessSeconds, TimeUnit.SECONDS );
+    }
+
+    public <T> T withQueryClass( final QueryClass queryClass, final Supplier<T> query ){
+        final var previousQueryClass = queryClassThreadLocal.get();
+        queryClassThreadLocal.set( queryClass );
+        try {
+            return query.get();
+        } finally {
+            if ( Objects.isNull( previousQueryClass ) ){
+                queryClassThreadLocal.remove();
+            } else {
+                queryClassThreadLocal.set( previousQueryClass );
+            }
+        }
+    }
+
+    public boolean hasQueryClass(){
+        return Objects.nonNull( queryClassThreadLocal.get() );
+    }
+
+    public void recordWrite(){
+        final var callerId = getEricIdentity();
+        if ( !enabled || Objects.isNull( callerId ) || UNKNOWN.equals( callerId ) ){
+            return;
+        }
+
+        final var now = Instant.now();
+        if ( recentWriters.size() >= MAX_TRACKED_WRITERS ){
+            recentWriters.values().removeIf( pinnedUntil -> pinnedUntil.isBefore( now ) );
+        }
+        recentWriters.put( callerId, now.plus( readYourWritesWindow ) );
+    }
+
+    private boolean hasWrittenRecently( final String callerId ){
+        return Optional.ofNullable( recentWriters.get( callerId ) )
+                .filter( pinnedUntil -> pinnedUntil.isAfter( Instant.now() ) )
+                .isPresent();
+    }
+
+    public Optional<ReadPreference> fetchReadPreference(){
+        final var callerId = getEricIdentity();
+        final var queryClass = queryClassThreadLocal.get();
+        if ( !enabled || Objects.isNull( queryClass ) ){
+            return Optional.empty();
+        }
+
+        if ( hasWrittenRecently( callerId ) ){
+            LOGGER.debugContext( getXRequestId(), String.format( "Caller %s wrote within the last %d seconds, so %s query is routed to primary", callerId, readYourWritesWindow.toSeconds(), queryClass ), null );
+            return Optional.of( ReadPreference.primary() );
+        }
+
+        return Optional.of( readPreferences.get( queryClass ) );
+    }
+
+}
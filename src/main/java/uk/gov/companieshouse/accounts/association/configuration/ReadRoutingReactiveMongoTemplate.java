@@ -0,0 +1,41 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getRemainingBudget;
+
+import com.mongodb.reactivestreams.client.MongoCollection;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ Reactive counterpart to {@link ReadRoutingMongoTemplate}. The collection is prepared when a query is subscribed to, so
+ the read preference and timeout are those of the thread which subscribes; callers should subscribe from within
+ {@link ReadRoutingPolicy#withQueryClass} on the request's own thread. As with the blocking template, only reads tagged
+ with a query class are given a timeout.
+ */
+public class ReadRoutingReactiveMongoTemplate extends ReactiveMongoTemplate {
+
+    private final ReadRoutingPolicy readRoutingPolicy;
+
+    public ReadRoutingReactiveMongoTemplate( final ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory, final MongoConverter mongoConverter, final ReadRoutingPolicy readRoutingPolicy ) {
+        super( reactiveMongoDatabaseFactory, mongoConverter );
+        this.readRoutingPolicy = readRoutingPolicy;
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection( final MongoCollection<Document> collection ) {
+        final var preparedCollection = super.prepareCollection( collection );
+        final var routedCollection = readRoutingPolicy.fetchReadPreference()
+                .map( preparedCollection::withReadPreference )
+                .orElse( preparedCollection );
+        if ( !readRoutingPolicy.hasQueryClass() ){
+            return routedCollection;
+        }
+        return getRemainingBudget()
+                .map( remainingBudget -> routedCollection.withTimeout( remainingBudget.toMillis(), TimeUnit.MILLISECONDS ) )
+                .orElse( routedCollection );
+    }
+
+}
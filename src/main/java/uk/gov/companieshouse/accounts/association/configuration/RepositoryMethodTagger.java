@@ -0,0 +1,49 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import static uk.gov.companieshouse.accounts.association.models.Constants.UNKNOWN;
+
+import java.util.Objects;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ Records which repository method is running on the current thread, so that {@link MongoCommandMetricsListener} can
+ attribute each Mongo command to the query that issued it. The method is only known while a blocking repository
+ method runs; commands issued by reactive repositories are attributed to {@link #currentRepositoryMethod()}'s default
+ of "unknown".
+ */
+public class RepositoryMethodTagger implements BeanPostProcessor {
+
+    private static final ThreadLocal<String> currentRepositoryMethod = new ThreadLocal<>();
+
+    public static String currentRepositoryMethod(){
+        return Objects.requireNonNullElse( currentRepositoryMethod.get(), UNKNOWN );
+    }
+
+    static MethodInterceptor tagWith( final String repositoryName ){
+        return invocation -> {
+            final var previousRepositoryMethod = currentRepositoryMethod.get();
+            currentRepositoryMethod.set( String.format( "%s.%s", repositoryName, invocation.getMethod().getName() ) );
+            try {
+                return invocation.proceed();
+            } finally {
+                if ( Objects.isNull( previousRepositoryMethod ) ){
+                    currentRepositoryMethod.remove();
+                } else {
+                    currentRepositoryMethod.set( previousRepositoryMethod );
+                }
+            }
+        };
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization( final Object bean, final String beanName ){
+        if ( bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean ){
+            repositoryFactoryBean.addRepositoryFactoryCustomizer( repositoryFactory -> repositoryFactory.addRepositoryProxyPostProcessor(
+                    ( proxyFactory, repositoryInformation ) -> proxyFactory.addAdvice( tagWith( repositoryInformation.getRepositoryInterface().getSimpleName() ) ) ) );
+        }
+        return bean;
+    }
+
+}
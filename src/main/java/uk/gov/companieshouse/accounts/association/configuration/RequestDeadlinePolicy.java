@@ -0,0 +1,48 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import static uk.gov.companieshouse.accounts.association.models.Constants.X_REQUEST_DEADLINE_MS;
+import static uk.gov.companieshouse.api.util.security.RequestUtils.getRequestHeader;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ Decides how long a request may spend on downstream calls. Each request is given request.deadline.default-ms, unless
+ the caller sends a smaller budget in the X-Request-Deadline-Ms header, for example because it is itself part of a
+ request with little time left. A header asking for more than request.deadline.max-ms is capped at that value.
+ */
+public class RequestDeadlinePolicy {
+
+    private final boolean enabled;
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+
+    public RequestDeadlinePolicy( final boolean enabled, final long defaultBudgetMs, final long maxBudgetMs ) {
+        this.enabled = enabled;
+        this.defaultBudget = Duration.ofMillis( defaultBudgetMs );
+        this.maxBudget = Duration.ofMillis( maxBudgetMs );
+    }
+
+    private static Optional<Duration> parseBudget( final String header ){
+        try {
+            return Optional.ofNullable( header )
+                    .map( String::trim )
+                    .map( Long::parseLong )
+                    .filter( budgetMs -> budgetMs > 0 )
+                    .map( Duration::ofMillis );
+        } catch ( NumberFormatException exception ){
+            return Optional.empty();
+        }
+    }
+
+    public Optional<Duration> fetchBudget( final HttpServletRequest request ){
+        if ( !enabled ){
+            return Optional.empty();
+        }
+
+        final var budget = parseBudget( getRequestHeader( request, X_REQUEST_DEADLINE_MS ) ).orElse( defaultBudget );
+        return Optional.of( budget.compareTo( maxBudget ) > 0 ? maxBudget : budget );
+    }
+
+}
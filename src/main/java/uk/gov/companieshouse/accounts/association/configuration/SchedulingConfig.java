@@ -0,0 +1,10 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty( name = "email.outbox.enabled", havingValue = "true" )
+public class SchedulingConfig {}
@@ -0,0 +1,19 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import io.opentelemetry.api.OpenTelemetry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.companieshouse.accounts.association.utils.TracingUtil;
+
+/**
+ Points {@link TracingUtil} at the OpenTelemetry instance configured by opentelemetry-spring-boot-starter, so that the
+ service's own spans are exported alongside the auto-instrumented HTTP spans.
+ */
+@Configuration
+public class TracingConfig {
+
+    public TracingConfig( final ObjectProvider<OpenTelemetry> openTelemetry ) {
+        TracingUtil.useOpenTelemetry( openTelemetry.getIfAvailable( OpenTelemetry::noop ) );
+    }
+
+}
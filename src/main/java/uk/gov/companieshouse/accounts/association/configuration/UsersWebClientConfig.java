@@ -15,10 +15,14 @@ public class UsersWebClientConfig {
     private String chsInternalApiKey;
 
     @Bean
-    public WebClient usersWebClient(){
+    public WebClient usersWebClient( final DownstreamMetricsPolicy downstreamMetricsPolicy, final NegativeCachePolicy negativeCachePolicy, final HedgingPolicy hedgingPolicy, final DownstreamResiliencePolicy downstreamResiliencePolicy ){
         return WebClient.builder()
                 .baseUrl( accountApiUrl )
                 .defaultHeader( "Authorization", chsInternalApiKey )
+                .filter( downstreamMetricsPolicy.filterFor( "accounts-user-api" ) )
+                .filter( negativeCachePolicy.filterFor( "accounts-user-api" ) )
+                .filter( hedgingPolicy.filterFor( "accounts-user-api" ) )
+                .filter( downstreamResiliencePolicy.filterFor( "accounts-user-api" ) )
                 .build();
     }
 
@@ -37,15 +37,18 @@ public class WebSecurityConfig {
                 .addFilterAfter( new UserAuthenticationFilter(), CsrfFilter.class )
                 .authorizeHttpRequests( request -> request
                         .requestMatchers( GET, "/associations-api/healthcheck" ).permitAll()
+                        .requestMatchers( GET, "/associations-api/prometheus" ).permitAll()
                         .requestMatchers( GET,"/associations" ).hasAnyRole( getValues( BASIC_OAUTH_ROLE ) )
                         .requestMatchers( POST,"/associations" ).hasAnyRole( getValues( KEY_ROLE ) )
                         .requestMatchers("/associations/invitations" ).hasAnyRole( getValues( BASIC_OAUTH_ROLE ) )
                         .requestMatchers( GET,"/associations/*/invitations" ).hasAnyRole( getValues( BASIC_OAUTH_ROLE ) )
                         .requestMatchers( GET,"/associations/*" ).hasAnyRole( getValues( BASIC_OAUTH_ROLE, ADMIN_READ_ROLE, KEY_ROLE ) )
                         .requestMatchers( GET,"/associations/companies/*" ).hasAnyRole( getValues( BASIC_OAUTH_ROLE, ADMIN_READ_ROLE, KEY_ROLE ) )
+                        .requestMatchers( GET,"/associations/companies/*/export" ).hasAnyRole( getValues( ADMIN_READ_ROLE ) )
                         .requestMatchers( POST,"/associations/companies/*/search" ).hasAnyRole( getValues( KEY_ROLE ) )
                         .requestMatchers( GET,"/associations/*/previous-states" ).hasAnyRole( getValues( BASIC_OAUTH_ROLE, ADMIN_READ_ROLE ) )
                         .requestMatchers( PATCH,"/associations/*" ).hasAnyRole( getValues( BASIC_OAUTH_ROLE, ADMIN_UPDATE_ROLE, KEY_ROLE ) )
+                        .requestMatchers( "/associations-api/profiling" ).hasAnyRole( getValues( ADMIN_UPDATE_ROLE ) )
                         .anyRequest().denyAll()
                 );
         return http.build();
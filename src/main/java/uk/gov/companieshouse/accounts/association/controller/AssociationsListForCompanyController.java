@@ -2,33 +2,51 @@ package uk.gov.companieshouse.accounts.association.controller;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static uk.gov.companieshouse.accounts.association.models.Constants.ADMIN_READ_PERMISSION;
 import static uk.gov.companieshouse.accounts.association.models.Constants.PAGINATION_IS_MALFORMED;
 import static uk.gov.companieshouse.accounts.association.models.Constants.PLEASE_CHECK_THE_REQUEST_AND_TRY_AGAIN;
+import static uk.gov.companieshouse.accounts.association.models.context.RequestContext.getRequestContext;
+import static uk.gov.companieshouse.accounts.association.models.context.RequestContext.setRequestContext;
 import static uk.gov.companieshouse.accounts.association.utils.AssociationsUtil.fetchAllStatusesWithout;
 import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getEricIdentity;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.hasAdminPrivilege;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.isOAuth2Request;
-
+import static uk.gov.companieshouse.service.rest.err.Err.serviceErrBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Pattern;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import uk.gov.companieshouse.accounts.association.exceptions.BadRequestRuntimeException;
 import uk.gov.companieshouse.accounts.association.exceptions.ForbiddenRuntimeException;
+import uk.gov.companieshouse.accounts.association.exceptions.InternalServerErrorRuntimeException;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData;
 import uk.gov.companieshouse.accounts.association.service.AssociationsService;
 import uk.gov.companieshouse.accounts.association.service.CompanyService;
 import uk.gov.companieshouse.accounts.association.service.UsersService;
+import uk.gov.companieshouse.accounts.association.utils.ParallelLookups;
 import uk.gov.companieshouse.api.accounts.associations.api.AssociationDataForCompanyInterface;
 import uk.gov.companieshouse.api.accounts.associations.model.Association;
 import uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum;
 import uk.gov.companieshouse.api.accounts.associations.model.AssociationsList;
 import uk.gov.companieshouse.api.accounts.associations.model.FetchRequestBodyPost;
+import uk.gov.companieshouse.service.rest.err.Errors;
 
 @RestController
 public class AssociationsListForCompanyController implements AssociationDataForCompanyInterface {
@@ -36,11 +54,16 @@ public class AssociationsListForCompanyController implements AssociationDataForC
     private final CompanyService companyService;
     private final AssociationsService associationsService;
     private final UsersService usersService;
+    private final ObjectMapper objectMapper;
+
+    @Value( "${associations.export.batch-size:100}" )
+    private int exportBatchSize;
 
-    public AssociationsListForCompanyController(final CompanyService companyService, final AssociationsService associationsService, final UsersService usersService) {
+    public AssociationsListForCompanyController(final CompanyService companyService, final AssociationsService associationsService, final UsersService usersService, final ObjectMapper objectMapper) {
         this.companyService = companyService;
         this.associationsService = associationsService;
         this.usersService = usersService;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -80,13 +103,75 @@ public class AssociationsListForCompanyController implements AssociationDataForC
             throw new BadRequestRuntimeException( getXRequestId(), PLEASE_CHECK_THE_REQUEST_AND_TRY_AGAIN,  new Exception( "Only one of user_id or user_email must be present" ) );
         }
 
+        try ( final var lookups = new ParallelLookups() ){
+            final var companyProfileLookup = lookups.fork( () -> companyService.fetchCompanyProfile( companyNumber ) );
+            final var userLookup = lookups.fork( () -> usersService.retrieveUserDetails( userId, userEmail ) );
+            final var companyProfile = companyProfileLookup.get();
+            final var user = userLookup.get();
+            final var targetUserEmail =  Objects.nonNull( user ) ? user.getEmail() : userEmail;
+
+            return associationsService.fetchUnexpiredAssociationsForCompanyUserAndStatuses( companyProfile, statuses, user, targetUserEmail )
+                    .map( association -> new ResponseEntity<>( association, OK ) )
+                    .orElseGet( () -> new ResponseEntity<>( NOT_FOUND ) );
+        }
+    }
+
+    private void writeBatch( final OutputStream outputStream, final List<Association> associations ) {
+        try {
+            for ( final var association: associations ) {
+                outputStream.write( objectMapper.writeValueAsBytes( association ) );
+                outputStream.write( '\n' );
+            }
+            outputStream.flush();
+        } catch ( IOException exception ){
+            throw new InternalServerErrorRuntimeException( getXRequestId(), "Failed to write associations to response", new Exception( String.format( "Failed to write associations to response: %s", exception.getMessage() ) ) );
+        }
+    }
+
+    private void writeErrorRecord( final OutputStream outputStream, final RuntimeException exception ) {
+        try {
+            outputStream.write( objectMapper.writeValueAsBytes( new Errors( serviceErrBuilder().withError( exception.getMessage() ).build() ) ) );
+            outputStream.write( '\n' );
+            outputStream.flush();
+        } catch ( IOException writeException ){
+            LOGGER.errorContext( getXRequestId(), new Exception( String.format( "Failed to write error record to response: %s", writeException.getMessage() ) ), null );
+        }
+    }
+
+    /**
+     Streams every unexpired association for a company as newline-delimited JSON. Associations are read from a single
+     Mongo cursor and enriched with user details in batches of associations.export.batch-size, and each batch is written
+     and flushed before the next one is read. A slow client therefore holds back the cursor rather than causing results
+     to accumulate in memory, so the memory footprint is independent of the number of associations at the company.
+
+     An export takes as long as the company's associations take to read, so it is exempt from the request deadline. Once
+     the first batch has been sent the status can no longer change, so a later failure is logged and the stream is ended
+     with a final error record, in the same errors format the ControllerAdvice returns, so that a client can tell a cut
+     off export from a complete one.
+     */
+    @GetMapping( value = "/associations/companies/{company_number}/export", produces = APPLICATION_NDJSON_VALUE )
+    public void exportAssociationsForCompany( @Pattern( regexp = "^[0-9A-Z]{1,10}$" ) @PathVariable( "company_number" ) final String companyNumber, @RequestParam( value = "include_removed", required = false, defaultValue = "false" ) final Boolean includeRemoved, final HttpServletResponse response ) throws IOException {
+        LOGGER.infoContext( getXRequestId(), String.format( "Received request with company_number=%s, includeRemoved=%b.", companyNumber, includeRemoved ),null );
+        Optional.ofNullable( getRequestContext() ).map( RequestContextData::withoutDeadline ).ifPresent( requestContext -> setRequestContext( requestContext ) );
+
         final var companyProfile = companyService.fetchCompanyProfile( companyNumber );
-        final var user = usersService.retrieveUserDetails( userId, userEmail );
-        final var targetUserEmail =  Objects.nonNull( user ) ? user.getEmail() : userEmail;
+        final var statuses = includeRemoved ? fetchAllStatusesWithout( Set.of() ) : fetchAllStatusesWithout( Set.of( StatusEnum.REMOVED ) );
 
-        return associationsService.fetchUnexpiredAssociationsForCompanyUserAndStatuses( companyProfile, statuses, user, targetUserEmail )
-                .map( association -> new ResponseEntity<>( association, OK ) )
-                .orElseGet( () -> new ResponseEntity<>( NOT_FOUND ) );
+        response.setStatus( OK.value() );
+        response.setContentType( APPLICATION_NDJSON_VALUE );
+        response.setCharacterEncoding( StandardCharsets.UTF_8.name() );
+        final var outputStream = response.getOutputStream();
+        try {
+            final var numAssociations = associationsService.streamUnexpiredAssociationsForCompanyAndStatuses( companyProfile, statuses, exportBatchSize, associations -> writeBatch( outputStream, associations ) );
+            LOGGER.infoContext( getXRequestId(), String.format( "Exported %d associations for company_number=%s.", numAssociations, companyNumber ),null );
+        } catch ( RuntimeException exception ){
+            if ( !response.isCommitted() ){
+                response.reset();
+                throw exception;
+            }
+            LOGGER.errorContext( getXRequestId(), new Exception( String.format( "Export for company_number=%s failed after the response was committed, so the stream was ended with an error record: %s", companyNumber, exception.getMessage() ) ), null );
+            writeErrorRecord( outputStream, exception );
+        }
     }
 
-}
\ No newline at end of file
+}
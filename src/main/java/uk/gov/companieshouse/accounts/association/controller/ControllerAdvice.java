@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.accounts.association.controller;
 
+import static uk.gov.companieshouse.accounts.association.models.Constants.UNKNOWN;
 import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
 import static uk.gov.companieshouse.accounts.association.utils.ParsingUtil.parseJsonFrom;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
@@ -7,18 +8,23 @@ import static uk.gov.companieshouse.accounts.association.utils.StaticPropertyUti
 import static uk.gov.companieshouse.service.rest.err.Err.invalidBodyBuilderWithLocation;
 import static uk.gov.companieshouse.service.rest.err.Err.serviceErrBuilder;
 
+import com.mongodb.MongoOperationTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 import uk.gov.companieshouse.accounts.association.exceptions.BadRequestRuntimeException;
+import uk.gov.companieshouse.accounts.association.exceptions.DeadlineExceededRuntimeException;
 import uk.gov.companieshouse.accounts.association.exceptions.ForbiddenRuntimeException;
 import uk.gov.companieshouse.accounts.association.exceptions.InternalServerErrorRuntimeException;
 import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
@@ -27,6 +33,12 @@ import uk.gov.companieshouse.service.rest.err.Errors;
 @org.springframework.web.bind.annotation.ControllerAdvice
 public class ControllerAdvice extends ResponseEntityExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    public ControllerAdvice( final MeterRegistry meterRegistry ) {
+        this.meterRegistry = meterRegistry;
+    }
+
     private <T extends Exception> Errors mapThrownExceptionsToErrors( final T exception, final HttpServletRequest request ){
         final var url = request.getRequestURL().toString();
         final var queryParams = Objects.nonNull( request.getQueryString() ) ? "?" + request.getQueryString() : "";
@@ -65,6 +77,15 @@ public class ControllerAdvice extends ResponseEntityExceptionHandler {
         return mapThrownExceptionsToErrors( exception, request );
     }
 
+    @ExceptionHandler( { DeadlineExceededRuntimeException.class, QueryTimeoutException.class, MongoOperationTimeoutException.class } )
+    @ResponseStatus( HttpStatus.GATEWAY_TIMEOUT )
+    @ResponseBody
+    public Errors onDeadlineExceededException( final RuntimeException exception, final HttpServletRequest request ) {
+        final var endpoint = Optional.ofNullable( request.getAttribute( HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE ) ).map( Object::toString ).orElse( UNKNOWN );
+        meterRegistry.counter( "request.deadline.exceeded", "endpoint", endpoint, "method", request.getMethod() ).increment();
+        return mapThrownExceptionsToErrors( exception, request );
+    }
+
     @ExceptionHandler( Exception.class )
     @ResponseStatus( HttpStatus.INTERNAL_SERVER_ERROR )
     @ResponseBody
@@ -24,12 +24,15 @@ import static uk.gov.companieshouse.api.accounts.associations.model.Association.
 import static uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum.UNAUTHORISED;
 
 import java.util.Optional;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.bind.annotation.RestController;
 import uk.gov.companieshouse.accounts.association.exceptions.BadRequestRuntimeException;
 import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
 import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+import uk.gov.companieshouse.accounts.association.models.EmailEventDao;
 import uk.gov.companieshouse.accounts.association.service.AssociationsService;
 import uk.gov.companieshouse.accounts.association.service.EmailService;
 import uk.gov.companieshouse.accounts.association.service.UsersService;
@@ -47,11 +50,13 @@ public class UserCompanyAssociation implements UserCompanyAssociationInterface {
     private final UsersService usersService;
     private final AssociationsService associationsService;
     private final EmailService emailService;
+    private final TransactionOperations emailOutboxTransactions;
 
-    public UserCompanyAssociation( final UsersService usersService, final AssociationsService associationsService, final EmailService emailService ) {
+    public UserCompanyAssociation( final UsersService usersService, final AssociationsService associationsService, final EmailService emailService, final ObjectProvider<TransactionOperations> emailOutboxTransactions ) {
         this.usersService = usersService;
         this.associationsService = associationsService;
         this.emailService = emailService;
+        this.emailOutboxTransactions = emailOutboxTransactions.getIfAvailable( TransactionOperations::withoutTransaction );
     }
 
     @Override
@@ -138,10 +143,17 @@ public class UserCompanyAssociation implements UserCompanyAssociationInterface {
         final var targetUser = usersService.fetchUserDetails( targetAssociation );
 
         final var update = isAPIKeyRequest() ? mapToAPIKeyUpdate( requestBody.getStatus(), targetAssociation, targetUser ) : mapToOAuth2Update( requestBody.getStatus(), targetAssociation, targetUser );
-        associationsService.updateAssociation( targetAssociation.getId(), update );
-
         final var newStatus = StatusEnum.fromValue( requestBody.getStatus().getValue() );
-        emailService.sendStatusUpdateEmails( targetAssociation, targetUser, newStatus, getRequestContext() );
+        emailOutboxTransactions.executeWithoutResult( transaction -> {
+            associationsService.updateAssociation( targetAssociation.getId(), update );
+            if ( emailService.isOutboxEnabled() ){
+                emailService.recordEmailEvent( EmailEventDao.statusUpdate( targetAssociation, targetUser, newStatus, getRequestContext() ) );
+            }
+        } );
+
+        if ( !emailService.isOutboxEnabled() ){
+            emailService.sendStatusUpdateEmails( targetAssociation, targetUser, newStatus, getRequestContext() );
+        }
 
         return new ResponseEntity<>( OK );
     }
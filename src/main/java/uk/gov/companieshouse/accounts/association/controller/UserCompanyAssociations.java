@@ -19,21 +19,28 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 import uk.gov.companieshouse.accounts.association.exceptions.BadRequestRuntimeException;
+import uk.gov.companieshouse.accounts.association.models.EmailEventDao;
 import uk.gov.companieshouse.accounts.association.service.AssociationsService;
+import uk.gov.companieshouse.accounts.association.service.BackgroundTaskRegistry;
 import uk.gov.companieshouse.accounts.association.service.CompanyService;
 import uk.gov.companieshouse.accounts.association.service.EmailService;
 import uk.gov.companieshouse.accounts.association.service.UsersService;
+import uk.gov.companieshouse.accounts.association.utils.ParallelLookups;
 import uk.gov.companieshouse.api.accounts.associations.api.UserCompanyAssociationsInterface;
 import uk.gov.companieshouse.api.accounts.associations.model.Association;
 import uk.gov.companieshouse.api.accounts.associations.model.AssociationsList;
 import uk.gov.companieshouse.api.accounts.associations.model.RequestBodyPost;
 import uk.gov.companieshouse.api.accounts.associations.model.ResponseBodyPost;
+import uk.gov.companieshouse.api.accounts.user.model.User;
+import uk.gov.companieshouse.api.company.CompanyDetails;
 
 @RestController
 public class UserCompanyAssociations implements UserCompanyAssociationsInterface {
@@ -42,13 +49,17 @@ public class UserCompanyAssociations implements UserCompanyAssociationsInterface
     private final AssociationsService associationsService;
     private final UsersService usersService;
     private final EmailService emailService;
+    private final BackgroundTaskRegistry backgroundTaskRegistry;
+    private final TransactionOperations emailOutboxTransactions;
 
     @Autowired
-    public UserCompanyAssociations( final CompanyService companyService, final AssociationsService associationsService, final UsersService usersService, final EmailService emailService ) {
+    public UserCompanyAssociations( final CompanyService companyService, final AssociationsService associationsService, final UsersService usersService, final EmailService emailService, final BackgroundTaskRegistry backgroundTaskRegistry, final ObjectProvider<TransactionOperations> emailOutboxTransactions ) {
         this.companyService = companyService;
         this.associationsService = associationsService;
         this.usersService = usersService;
         this.emailService = emailService;
+        this.backgroundTaskRegistry = backgroundTaskRegistry;
+        this.emailOutboxTransactions = emailOutboxTransactions.getIfAvailable( TransactionOperations::withoutTransaction );
     }
 
      /**
@@ -74,27 +85,44 @@ public class UserCompanyAssociations implements UserCompanyAssociationsInterface
 
         LOGGER.infoContext( getXRequestId(), String.format( "Received request with user_id=%s, company_number=%s.", userId, companyNumber ),null );
 
-        final var targetUser = usersService.fetchUserDetails( userId, getXRequestId() );
-        final var companyDetails = companyService.fetchCompanyProfile( companyNumber );
+        final User targetUser;
+        final CompanyDetails companyDetails;
+        try ( final var lookups = new ParallelLookups() ){
+            final var targetUserLookup = lookups.fork( () -> usersService.fetchUserDetails( userId, getXRequestId() ) );
+            final var companyDetailsLookup = lookups.fork( () -> companyService.fetchCompanyProfile( companyNumber ) );
+            targetUser = targetUserLookup.get();
+            companyDetails = companyDetailsLookup.get();
+        }
 
-        final var targetAssociationId = Optional.of( associationsService.fetchAssociationsForUserAndPartialCompanyNumber( targetUser, companyNumber, 0, 15 ) )
+        final var existingAssociation = Optional.of( associationsService.fetchAssociationsForUserAndPartialCompanyNumber( targetUser, companyNumber, 0, 15 ) )
                 .filter( Page::hasContent )
                 .map( Page::getContent )
-                .map( List::getFirst )
-                .map( targetAssociation -> {
-                    if ( CONFIRMED.getValue().equals( targetAssociation.getStatus() ) ){
-                        throw new BadRequestRuntimeException( getXRequestId(), "Association already exists.", new Exception( String.format( "Association between user_id %s and company_number %s already exists.", userId, companyNumber ) ) );
-                    }
-                    associationsService.updateAssociation( targetAssociation.getId(), mapToAuthCodeConfirmedUpdated( targetAssociation, targetUser, COMPANIES_HOUSE ) );
-                    return targetAssociation.getId();
-                } )
-                .orElseGet( () -> associationsService.createAssociationWithAuthCodeApprovalRoute( companyNumber, userId ).getId() );
-        final var reaEmailMono = emailService.sendReaDigitalAuthorisationAddedEmail(getXRequestId(), companyDetails.getCompanyNumber(), Mono.just(companyDetails.getCompanyName()));
-        Mono.just( companyNumber )
-                .flatMapMany( associationsService::fetchConfirmedUserIds )
-                .flatMap( emailService.sendAuthCodeConfirmationEmailToAssociatedUser( getXRequestId(), companyDetails.getCompanyNumber(), Mono.just( companyDetails.getCompanyName() ), mapToDisplayValue( targetUser, targetUser.getEmail() ) ) )
-                .then( reaEmailMono )
-                .subscribe();
+                .map( List::getFirst );
+
+        if ( existingAssociation.filter( targetAssociation -> CONFIRMED.getValue().equals( targetAssociation.getStatus() ) ).isPresent() ){
+            throw new BadRequestRuntimeException( getXRequestId(), "Association already exists.", new Exception( String.format( "Association between user_id %s and company_number %s already exists.", userId, companyNumber ) ) );
+        }
+
+        final var targetAssociationId = emailOutboxTransactions.execute( transaction -> {
+            final var associationId = existingAssociation
+                    .map( targetAssociation -> {
+                        associationsService.updateAssociation( targetAssociation.getId(), mapToAuthCodeConfirmedUpdated( targetAssociation, targetUser, COMPANIES_HOUSE ) );
+                        return targetAssociation.getId();
+                    } )
+                    .orElseGet( () -> associationsService.createAssociationWithAuthCodeApprovalRoute( companyNumber, userId ).getId() );
+            if ( emailService.isOutboxEnabled() ){
+                emailService.recordEmailEvent( EmailEventDao.authCodeConfirmation( companyDetails.getCompanyNumber(), companyDetails.getCompanyName(), mapToDisplayValue( targetUser, targetUser.getEmail() ) ) );
+            }
+            return associationId;
+        } );
+
+        if ( !emailService.isOutboxEnabled() ){
+            final var reaEmailMono = emailService.sendReaDigitalAuthorisationAddedEmail(getXRequestId(), companyDetails.getCompanyNumber(), Mono.just(companyDetails.getCompanyName()));
+            backgroundTaskRegistry.track( "auth-code-confirmation-emails", getXRequestId(), Mono.just( companyNumber )
+                    .flatMapMany( associationsService::fetchConfirmedUserIds )
+                    .flatMap( emailService.sendAuthCodeConfirmationEmailToAssociatedUser( getXRequestId(), companyDetails.getCompanyNumber(), Mono.just( companyDetails.getCompanyName() ), mapToDisplayValue( targetUser, targetUser.getEmail() ) ) )
+                    .then( reaEmailMono ) );
+        }
 
         return new ResponseEntity<>( new ResponseBodyPost().associationLink( String.format( "/associations/%s", targetAssociationId ) ), CREATED );
     }
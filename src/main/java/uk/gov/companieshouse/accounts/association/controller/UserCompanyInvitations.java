@@ -17,19 +17,25 @@ import static uk.gov.companieshouse.api.accounts.associations.model.Association.
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 import uk.gov.companieshouse.accounts.association.exceptions.BadRequestRuntimeException;
 import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
+import uk.gov.companieshouse.accounts.association.models.EmailEventDao;
 import uk.gov.companieshouse.accounts.association.service.AssociationsService;
+import uk.gov.companieshouse.accounts.association.service.BackgroundTaskRegistry;
 import uk.gov.companieshouse.accounts.association.service.CompanyService;
 import uk.gov.companieshouse.accounts.association.service.EmailService;
 import uk.gov.companieshouse.accounts.association.service.UsersService;
+import uk.gov.companieshouse.accounts.association.utils.ParallelLookups;
 import uk.gov.companieshouse.api.accounts.associations.api.UserCompanyInvitationsInterface;
 import uk.gov.companieshouse.api.accounts.associations.model.InvitationRequestBodyPost;
 import uk.gov.companieshouse.api.accounts.associations.model.InvitationsList;
 import uk.gov.companieshouse.api.accounts.associations.model.ResponseBodyPost;
+import uk.gov.companieshouse.api.accounts.user.model.User;
 import uk.gov.companieshouse.api.company.CompanyDetails;
 
 @RestController
@@ -39,12 +45,16 @@ public class UserCompanyInvitations implements UserCompanyInvitationsInterface {
     private final CompanyService companyService;
     private final AssociationsService associationsService;
     private final EmailService emailService;
+    private final BackgroundTaskRegistry backgroundTaskRegistry;
+    private final TransactionOperations emailOutboxTransactions;
 
-    public UserCompanyInvitations( final UsersService usersService, final CompanyService companyService, final AssociationsService associationsService, final EmailService emailService ) {
+    public UserCompanyInvitations( final UsersService usersService, final CompanyService companyService, final AssociationsService associationsService, final EmailService emailService, final BackgroundTaskRegistry backgroundTaskRegistry, final ObjectProvider<TransactionOperations> emailOutboxTransactions ) {
         this.usersService = usersService;
         this.companyService = companyService;
         this.associationsService = associationsService;
         this.emailService = emailService;
+        this.backgroundTaskRegistry = backgroundTaskRegistry;
+        this.emailOutboxTransactions = emailOutboxTransactions.getIfAvailable( TransactionOperations::withoutTransaction );
     }
 
     @Override
@@ -70,43 +80,59 @@ public class UserCompanyInvitations implements UserCompanyInvitationsInterface {
 
         final var companyNumber = requestBody.getCompanyNumber();
         final CompanyDetails companyDetails;
-        try {
-            companyDetails = companyService.fetchCompanyProfile( companyNumber );
-        } catch( NotFoundRuntimeException exception ){
-            throw new BadRequestRuntimeException( getXRequestId(), PLEASE_CHECK_THE_REQUEST_AND_TRY_AGAIN, new Exception( exception.getMessage() ) );
+        final User inviteeUserDetails;
+        try ( final var lookups = new ParallelLookups() ){
+            final var companyDetailsLookup = lookups.fork( () -> companyService.fetchCompanyProfile( companyNumber ) );
+            final var confirmedAssociationExistsLookup = lookups.fork( () -> associationsService.confirmedAssociationExists( companyNumber, getEricIdentity() ) );
+            final var inviteeUserDetailsLookup = lookups.fork( () -> usersService.searchUserDetails( List.of( inviteeEmail ) ) );
+
+            try {
+                companyDetails = companyDetailsLookup.get();
+            } catch( NotFoundRuntimeException exception ){
+                throw new BadRequestRuntimeException( getXRequestId(), PLEASE_CHECK_THE_REQUEST_AND_TRY_AGAIN, new Exception( exception.getMessage() ) );
+            }
+
+            if ( !confirmedAssociationExistsLookup.get() ){
+                throw new BadRequestRuntimeException( getXRequestId(), PLEASE_CHECK_THE_REQUEST_AND_TRY_AGAIN, new Exception( String.format( "Requesting user %s does not have a confirmed association at company %s", getEricIdentity(), companyNumber ) ) );
+            }
+
+            inviteeUserDetails = Optional
+                    .ofNullable( inviteeUserDetailsLookup.get() )
+                    .filter( list -> !list.isEmpty() )
+                    .map( List::getFirst )
+                    .orElse( null );
         }
 
-        if ( !associationsService.confirmedAssociationExists( companyNumber, getEricIdentity() ) ){
-            throw new BadRequestRuntimeException( getXRequestId(), PLEASE_CHECK_THE_REQUEST_AND_TRY_AGAIN, new Exception( String.format( "Requesting user %s does not have a confirmed association at company %s", getEricIdentity(), companyNumber ) ) );
+        final var existingAssociation = associationsService.fetchAssociationDao( companyNumber, Objects.nonNull( inviteeUserDetails ) ? inviteeUserDetails.getUserId() : null, inviteeEmail );
+        if ( existingAssociation.filter( association -> CONFIRMED.getValue().equals( association.getStatus() ) ).isPresent() ){
+            throw new BadRequestRuntimeException( getXRequestId(), PLEASE_CHECK_THE_REQUEST_AND_TRY_AGAIN, new Exception( String.format( "This invitee email address already has a confirmed association at company %s", companyNumber ) ) );
         }
 
-        final var inviteeUserDetails = Optional
-                .ofNullable( usersService.searchUserDetails( List.of( inviteeEmail ) ) )
-                .filter( list -> !list.isEmpty() )
-                .map( List::getFirst )
-                .orElse( null );
-
-        final var targetAssociation = associationsService.fetchAssociationDao( companyNumber, Objects.nonNull( inviteeUserDetails ) ? inviteeUserDetails.getUserId() : null, inviteeEmail )
-                .map( association -> {
-                    LOGGER.debugContext( getXRequestId(), "Mapping association", null );
-                    if( CONFIRMED.getValue().equals( association.getStatus() ) ) {
-                        throw new BadRequestRuntimeException( getXRequestId(), PLEASE_CHECK_THE_REQUEST_AND_TRY_AGAIN, new Exception( String.format( "This invitee email address already has a confirmed association at company %s", companyNumber ) ) );
-                    }
-                    associationsService.updateAssociation( association.getId(), mapToInvitationUpdate( association, inviteeUserDetails, getEricIdentity(), now() ) );
-                    LOGGER.debugContext( getXRequestId(), "Completed update associations", null );
-                    return association.approvalExpiryAt( now().plusDays( DAYS_SINCE_INVITE_TILL_EXPIRES ) );
-                } )
-                .orElseGet( () -> {
-                    final var userId = Objects.nonNull( inviteeUserDetails ) ? inviteeUserDetails.getUserId() : null;
-                    final var userEmail = Objects.nonNull( inviteeUserDetails ) ? null : inviteeEmail;
-                    return associationsService.createAssociationWithInvitationApprovalRoute( companyNumber, userId, userEmail, getEricIdentity() );
-                } );
-
-        emailService.sendInviteEmail( getXRequestId(), companyDetails.getCompanyNumber(), Mono.just( companyDetails.getCompanyName() ), mapToDisplayValue( getUser(), getUser().getEmail() ), targetAssociation.getApprovalExpiryAt().toString(), inviteeEmail ).subscribe();
-        Mono.just( companyNumber )
-                .flatMapMany( associationsService::fetchConfirmedUserIds )
-                .flatMap( emailService.sendInvitationEmailToAssociatedUser( getXRequestId(), companyDetails.getCompanyNumber(), Mono.just( companyDetails.getCompanyName() ), mapToDisplayValue( getUser(), getUser().getEmail() ), mapToDisplayValue( inviteeUserDetails, inviteeEmail ) ) )
-                .subscribe();
+        final var targetAssociation = emailOutboxTransactions.execute( transaction -> {
+            final var association = existingAssociation
+                    .map( existing -> {
+                        LOGGER.debugContext( getXRequestId(), "Mapping association", null );
+                        associationsService.updateAssociation( existing.getId(), mapToInvitationUpdate( existing, inviteeUserDetails, getEricIdentity(), now() ) );
+                        LOGGER.debugContext( getXRequestId(), "Completed update associations", null );
+                        return existing.approvalExpiryAt( now().plusDays( DAYS_SINCE_INVITE_TILL_EXPIRES ) );
+                    } )
+                    .orElseGet( () -> {
+                        final var userId = Objects.nonNull( inviteeUserDetails ) ? inviteeUserDetails.getUserId() : null;
+                        final var userEmail = Objects.nonNull( inviteeUserDetails ) ? null : inviteeEmail;
+                        return associationsService.createAssociationWithInvitationApprovalRoute( companyNumber, userId, userEmail, getEricIdentity() );
+                    } );
+            if ( emailService.isOutboxEnabled() ){
+                emailService.recordEmailEvent( EmailEventDao.invitation( companyDetails.getCompanyNumber(), companyDetails.getCompanyName(), mapToDisplayValue( getUser(), getUser().getEmail() ), mapToDisplayValue( inviteeUserDetails, inviteeEmail ), association.getApprovalExpiryAt().toString(), inviteeEmail ) );
+            }
+            return association;
+        } );
+
+        if ( !emailService.isOutboxEnabled() ){
+            backgroundTaskRegistry.track( "invite-email", getXRequestId(), emailService.sendInviteEmail( getXRequestId(), companyDetails.getCompanyNumber(), Mono.just( companyDetails.getCompanyName() ), mapToDisplayValue( getUser(), getUser().getEmail() ), targetAssociation.getApprovalExpiryAt().toString(), inviteeEmail ) );
+            backgroundTaskRegistry.track( "invitation-emails", getXRequestId(), Mono.just( companyNumber )
+                    .flatMapMany( associationsService::fetchConfirmedUserIds )
+                    .flatMap( emailService.sendInvitationEmailToAssociatedUser( getXRequestId(), companyDetails.getCompanyNumber(), Mono.just( companyDetails.getCompanyName() ), mapToDisplayValue( getUser(), getUser().getEmail() ), mapToDisplayValue( inviteeUserDetails, inviteeEmail ) ) ) );
+        }
 
         return new ResponseEntity<>( new ResponseBodyPost().associationLink( String.format( "/associations/%s", targetAssociation.getId() ) ), CREATED );
     }
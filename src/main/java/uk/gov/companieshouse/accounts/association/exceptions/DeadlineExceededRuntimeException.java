@@ -0,0 +1,13 @@
+package uk.gov.companieshouse.accounts.association.exceptions;
+
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+
+public class DeadlineExceededRuntimeException extends RuntimeException {
+
+    public DeadlineExceededRuntimeException( final String xRequestId, final String exceptionMessage, final Exception loggingMessage ) {
+        super( exceptionMessage );
+        LOGGER.errorContext( xRequestId, loggingMessage, null );
+    }
+
+}
+
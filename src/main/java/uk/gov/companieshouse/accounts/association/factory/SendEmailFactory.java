@@ -28,4 +28,14 @@ public class SendEmailFactory {
         return sendEmail;
     }
 
+    public SendEmailTemplate createSendEmailTemplate(EmailData emailData, String messageType) {
+        final var recipientEmail = emailData.getTo();
+        emailData.setTo(SendEmailTemplate.RECIPIENT_PLACEHOLDER);
+        try {
+            return new SendEmailTemplate(appId, messageType, parseJsonFrom(emailData, ""));
+        } finally {
+            emailData.setTo(recipientEmail);
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package uk.gov.companieshouse.accounts.association.factory;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import java.util.Objects;
+import java.util.UUID;
+import uk.gov.companieshouse.api.chskafka.SendEmail;
+
+/**
+ A {@link SendEmail} payload that has been serialised once with a placeholder in place of the recipient. The JSON
+ either side of the placeholder is kept, so an email for each recipient of a fan-out only costs two string
+ concatenations and a message ID, rather than a full serialisation of the email data.
+ */
+public class SendEmailTemplate {
+
+    static final String RECIPIENT_PLACEHOLDER = String.format( "recipient-%s", UUID.randomUUID() );
+
+    private static final String QUOTED_RECIPIENT_PLACEHOLDER = String.format( "\"%s\"", RECIPIENT_PLACEHOLDER );
+
+    private final String appId;
+    private final String messageType;
+    private final String jsonBeforeRecipient;
+    private final String jsonAfterRecipient;
+
+    SendEmailTemplate( final String appId, final String messageType, final String jsonData ) {
+        final var recipientIndex = jsonData.indexOf( QUOTED_RECIPIENT_PLACEHOLDER );
+        if ( recipientIndex < 0 ){
+            throw new IllegalArgumentException( "Email data does not contain a recipient placeholder" );
+        }
+        this.appId = appId;
+        this.messageType = messageType;
+        this.jsonBeforeRecipient = jsonData.substring( 0, recipientIndex );
+        this.jsonAfterRecipient = jsonData.substring( recipientIndex + QUOTED_RECIPIENT_PLACEHOLDER.length() );
+    }
+
+    private static String quote( final String value ){
+        return Objects.isNull( value ) ? "null" : String.format( "\"%s\"", new String( JsonStringEncoder.getInstance().quoteAsString( value ) ) );
+    }
+
+    public SendEmail forRecipient( final String recipientEmail ){
+        final var sendEmail = new SendEmail();
+        sendEmail.jsonData( jsonBeforeRecipient + quote( recipientEmail ) + jsonAfterRecipient );
+        sendEmail.setEmailAddress( recipientEmail );
+        sendEmail.setAppId( appId );
+        sendEmail.setMessageId( UUID.randomUUID().toString() );
+        sendEmail.setMessageType( messageType );
+        return sendEmail;
+    }
+
+}
@@ -0,0 +1,61 @@
+package uk.gov.companieshouse.accounts.association.interceptor;
+
+import static uk.gov.companieshouse.accounts.association.models.Constants.UNKNOWN;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ Exports the requests currently being handled by each endpoint as http.server.requests.in-flight, and counts the
+ requests that did not succeed as http.server.requests.errors, both tagged with the endpoint's URI template, method and
+ outcome. Latency is already recorded by Spring Boot as http.server.requests, which is configured with SLO buckets in
+ application.properties.
+
+ The in-flight gauge is kept here rather than taken from http.server.requests.active, because that is tagged before the
+ handler is resolved and so cannot tell the endpoints apart.
+ */
+public class EndpointMetricsInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Tags, AtomicInteger> inFlightRequests = new ConcurrentHashMap<>();
+
+    public EndpointMetricsInterceptor( final MeterRegistry meterRegistry ) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    private static Tags endpointTagsOf( final HttpServletRequest request ){
+        final var endpoint = Optional.ofNullable( request.getAttribute( HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE ) ).map( Object::toString ).orElse( UNKNOWN );
+        return Tags.of( "endpoint", endpoint, "method", request.getMethod() );
+    }
+
+    private AtomicInteger inFlightRequestsFor( final Tags tags ){
+        return inFlightRequests.computeIfAbsent( tags, key -> meterRegistry.gauge( "http.server.requests.in-flight", key, new AtomicInteger() ) );
+    }
+
+    @Override
+    public boolean preHandle( final HttpServletRequest request, final HttpServletResponse response, final Object handler ) {
+        inFlightRequestsFor( endpointTagsOf( request ) ).incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion( final HttpServletRequest request, final HttpServletResponse response, final Object handler, final Exception exception ) {
+        final var tags = endpointTagsOf( request );
+        inFlightRequestsFor( tags ).decrementAndGet();
+
+        final var outcome = Optional.ofNullable( exception ).map( thrown -> Outcome.SERVER_ERROR ).orElseGet( () -> Outcome.forStatus( response.getStatus() ) );
+        if ( !Outcome.SUCCESS.equals( outcome ) ){
+            meterRegistry.counter( "http.server.requests.errors", tags.and( "outcome", outcome.name(), "status", String.valueOf( response.getStatus() ) ) ).increment();
+        }
+    }
+
+}
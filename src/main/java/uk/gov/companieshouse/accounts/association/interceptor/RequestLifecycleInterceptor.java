@@ -10,9 +10,11 @@ import static uk.gov.companieshouse.api.util.security.RequestUtils.getRequestHea
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
+import uk.gov.companieshouse.accounts.association.configuration.RequestDeadlinePolicy;
 import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
 import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
 import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
@@ -24,18 +26,21 @@ import uk.gov.companieshouse.logging.util.RequestLogger;
 public class RequestLifecycleInterceptor implements HandlerInterceptor, RequestLogger {
 
     private final UsersService usersService;
+    private final RequestDeadlinePolicy requestDeadlinePolicy;
 
-    public RequestLifecycleInterceptor( final UsersService usersService ) {
+    public RequestLifecycleInterceptor( final UsersService usersService, final RequestDeadlinePolicy requestDeadlinePolicy ) {
         this.usersService = usersService;
+        this.requestDeadlinePolicy = requestDeadlinePolicy;
     }
 
-    protected void setupRequestContext( final HttpServletRequest request, final User user ){
+    protected void setupRequestContext( final HttpServletRequest request, final User user, final Duration budget ){
         final var requestContextData = new RequestContextDataBuilder()
                 .setXRequestId( request )
                 .setEricIdentity( request )
                 .setEricIdentityType( request )
                 .setAdminPrivileges( request )
                 .setUser( user )
+                .setDeadline( budget )
                 .build();
 
         setRequestContext( requestContextData );
@@ -44,20 +49,25 @@ public class RequestLifecycleInterceptor implements HandlerInterceptor, RequestL
     @Override
     public boolean preHandle( final HttpServletRequest request, final HttpServletResponse response, final Object handler ) {
         logStartRequestProcessing( request, LOGGER );
+        final var budget = requestDeadlinePolicy.fetchBudget( request ).orElse( null );
 
+        setupRequestContext( request, null, budget );
         if ( KEY.equalsIgnoreCase( getRequestHeader( request, ERIC_IDENTITY_TYPE ) ) ) {
-            setupRequestContext( request, null );
             return true;
         }
 
         try {
             final var user = usersService.fetchUserDetails( getRequestHeader( request, ERIC_IDENTITY ), getRequestHeader( request, X_REQUEST_ID ) );
-            setupRequestContext( request, user );
+            setupRequestContext( request, user, budget );
             return true;
         } catch ( NotFoundRuntimeException exception ) {
+            RequestContext.clear();
             LOGGER.debugContext( getRequestHeader( request, X_REQUEST_ID ), String.format( "Unable to find user %s", getRequestHeader( request, ERIC_IDENTITY ) ), null );
             response.setStatus( 403 );
             return false;
+        } catch ( RuntimeException exception ) {
+            RequestContext.clear();
+            throw exception;
         }
     }
 
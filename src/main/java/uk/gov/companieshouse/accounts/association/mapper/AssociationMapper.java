@@ -2,7 +2,6 @@ package uk.gov.companieshouse.accounts.association.mapper;
 
 import static uk.gov.companieshouse.accounts.association.models.Constants.DEFAULT_DISPLAY_NAME;
 import static uk.gov.companieshouse.accounts.association.models.Constants.DEFAULT_KIND;
-import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
@@ -16,8 +15,6 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.springframework.beans.factory.annotation.Autowired;
 import uk.gov.companieshouse.accounts.association.models.AssociationDao;
-import uk.gov.companieshouse.accounts.association.service.CompanyService;
-import uk.gov.companieshouse.accounts.association.service.UsersService;
 import uk.gov.companieshouse.api.accounts.associations.model.Association;
 import uk.gov.companieshouse.api.accounts.associations.model.AssociationLinks;
 import uk.gov.companieshouse.api.accounts.user.model.User;
@@ -27,10 +24,7 @@ import uk.gov.companieshouse.api.company.CompanyDetails;
 public abstract class AssociationMapper {
 
     @Autowired
-    protected UsersService usersService;
-
-    @Autowired
-    protected CompanyService companyService;
+    protected EnrichmentResolver enrichmentResolver;
 
     protected OffsetDateTime localDateTimeToOffsetDateTime( final LocalDateTime localDateTime ) {
         return Objects.isNull( localDateTime ) ? null : OffsetDateTime.of( localDateTime, ZoneOffset.UTC );
@@ -39,18 +33,16 @@ public abstract class AssociationMapper {
     @AfterMapping
     protected void enrichWithUserDetails( @MappingTarget final Association association, @Context User userDetails ){
         if ( Objects.isNull( userDetails ) ){
-            userDetails = Optional.ofNullable( association.getUserId() )
-                    .map( user -> usersService.fetchUserDetails( user, getXRequestId() ) )
-                    .orElse( new User().email( association.getUserEmail() ) );
+            userDetails = new User().email( association.getUserEmail() );
         }
         association.setUserEmail( userDetails.getEmail() );
         association.setDisplayName( Optional.ofNullable( userDetails.getDisplayName() ).orElse( DEFAULT_DISPLAY_NAME ) );
     }
 
     @AfterMapping
-    protected void enrichWithCompanyDetails( @MappingTarget final Association association, @Context CompanyDetails companyDetails ) {
+    protected void enrichWithCompanyDetails( @MappingTarget final Association association, @Context final CompanyDetails companyDetails ) {
         if ( Objects.isNull( companyDetails ) ){
-            companyDetails = companyService.fetchCompanyProfile( association.getCompanyNumber() );
+            return;
         }
         association.setCompanyName( companyDetails.getCompanyName() );
         association.setCompanyStatus( companyDetails.getCompanyStatus() );
@@ -70,4 +62,16 @@ public abstract class AssociationMapper {
     @Mapping( target = "approvalRoute", expression = "java(Association.ApprovalRouteEnum.fromValue(associationDao.getApprovalRoute()))" )
     public abstract Association daoToDto( final AssociationDao associationDao, @Context final User userDetails, @Context final CompanyDetails companyDetails );
 
+    public Association daoToDto( final AssociationDao associationDao ){
+        if ( Objects.isNull( associationDao ) ){
+            return null;
+        }
+
+        final var resolution = enrichmentResolver.newBatch()
+                .registerUser( associationDao.getUserId() )
+                .registerCompany( associationDao.getCompanyNumber() )
+                .resolve();
+        return daoToDto( associationDao, resolution.fetchUser( associationDao.getUserId() ), resolution.fetchCompany( associationDao.getCompanyNumber() ) );
+    }
+
 }
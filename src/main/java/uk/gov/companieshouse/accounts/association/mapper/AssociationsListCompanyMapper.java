@@ -4,27 +4,55 @@ package uk.gov.companieshouse.accounts.association.mapper;
 import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
 import static uk.gov.companieshouse.accounts.association.utils.MapperUtil.enrichWithMetadata;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.COMPANY_NUMBER;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.PAGE_SIZE;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.USERS;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.traced;
 
+import io.opentelemetry.api.common.Attributes;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.mapstruct.Mapper;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+import uk.gov.companieshouse.api.accounts.associations.model.Association;
 import uk.gov.companieshouse.api.accounts.associations.model.AssociationsList;
+import uk.gov.companieshouse.api.accounts.user.model.User;
 import uk.gov.companieshouse.api.company.CompanyDetails;
 
 @Component
 @Mapper( componentModel = "spring" )
 public abstract class AssociationsListCompanyMapper extends AssociationMapper {
 
+    private Map<String, User> resolveUsers( final CompanyDetails company, final List<AssociationDao> associations ){
+        return traced( "associations.enrichment.users", Attributes.of( COMPANY_NUMBER, company.getCompanyNumber(), PAGE_SIZE, (long) associations.size() ), span -> {
+            final var batch = enrichmentResolver.newBatch( "users", company.getCompanyNumber(), associations.size() );
+            associations.forEach( associationDao -> batch.registerUser( associationDao.getUserId() ) );
+            final var users = batch.resolve().users();
+            span.setAttribute( USERS, (long) users.size() );
+            return users;
+        } );
+    }
+
     public AssociationsList daoToDto( final Page<AssociationDao> associationsList, final CompanyDetails company ) {
         if ( Objects.isNull( company ) ){
             LOGGER.errorContext( getXRequestId(), new Exception( "Company cannot be null" ), null );
             throw new IllegalArgumentException( "Company cannot be null" );
         }
+
+        final var users = resolveUsers( company, associationsList.getContent() );
+        return daoToDto( associationsList, company, users );
+    }
+
+    public AssociationsList daoToDto( final Page<AssociationDao> associationsList, final CompanyDetails company, final Map<String, User> users ) {
+        if ( Objects.isNull( company ) ){
+            LOGGER.errorContext( getXRequestId(), new Exception( "Company cannot be null" ), null );
+            throw new IllegalArgumentException( "Company cannot be null" );
+        }
         final var endpointUrl = String.format( "/companies/%s", company.getCompanyNumber() );
 
-        final var users = usersService.fetchUserDetails( associationsList.stream() );
         final var associations = associationsList.map( associationDao -> {
             final var user = Objects.isNull( associationDao.getUserId() ) ? null : users.getOrDefault( associationDao.getUserId(), null );
             return daoToDto( associationDao, user, company );
@@ -33,4 +61,19 @@ public abstract class AssociationsListCompanyMapper extends AssociationMapper {
         return enrichWithMetadata( associations, endpointUrl );
     }
 
+    public List<Association> daoToDto( final List<AssociationDao> associations, final CompanyDetails company ) {
+        if ( Objects.isNull( company ) ){
+            LOGGER.errorContext( getXRequestId(), new Exception( "Company cannot be null" ), null );
+            throw new IllegalArgumentException( "Company cannot be null" );
+        }
+
+        final var users = resolveUsers( company, associations );
+        return associations.stream()
+                .map( associationDao -> {
+                    final var user = Objects.isNull( associationDao.getUserId() ) ? null : users.getOrDefault( associationDao.getUserId(), null );
+                    return daoToDto( associationDao, user, company );
+                } )
+                .toList();
+    }
+
 }
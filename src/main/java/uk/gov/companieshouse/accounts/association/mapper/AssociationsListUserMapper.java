@@ -3,7 +3,12 @@ package uk.gov.companieshouse.accounts.association.mapper;
 import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
 import static uk.gov.companieshouse.accounts.association.utils.MapperUtil.enrichWithMetadata;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.COMPANIES;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.PAGE_SIZE;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.traced;
 
+import io.opentelemetry.api.common.Attributes;
+import java.util.Map;
 import java.util.Objects;
 import org.mapstruct.Mapper;
 import org.springframework.data.domain.Page;
@@ -11,6 +16,7 @@ import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.accounts.association.models.AssociationDao;
 import uk.gov.companieshouse.api.accounts.associations.model.AssociationsList;
 import uk.gov.companieshouse.api.accounts.user.model.User;
+import uk.gov.companieshouse.api.company.CompanyDetails;
 
 @Component
 @Mapper( componentModel = "spring" )
@@ -22,7 +28,22 @@ public abstract class AssociationsListUserMapper extends AssociationMapper {
             throw new IllegalArgumentException( "User cannot be null" );
         }
 
-        final var companies = companyService.fetchCompanyProfiles( associationsList.stream() );
+        final var companies = traced( "associations.enrichment.companies", Attributes.of( PAGE_SIZE, (long) associationsList.getNumberOfElements() ), span -> {
+            final var batch = enrichmentResolver.newBatch( "companies", null, associationsList.getNumberOfElements() );
+            associationsList.forEach( associationDao -> batch.registerCompany( associationDao.getCompanyNumber() ) );
+            final var resolvedCompanies = batch.resolve().companies();
+            span.setAttribute( COMPANIES, (long) resolvedCompanies.size() );
+            return resolvedCompanies;
+        } );
+        return daoToDto( associationsList, user, companies );
+    }
+
+    public AssociationsList daoToDto( final Page<AssociationDao> associationsList, final User user, final Map<String, CompanyDetails> companies ) {
+        if ( Objects.isNull( user ) ){
+            LOGGER.errorContext( getXRequestId(), new Exception( "User cannot be null" ), null );
+            throw new IllegalArgumentException( "User cannot be null" );
+        }
+
         final var associations = associationsList.map( associationDao -> {
             final var company = companies.get( associationDao.getCompanyNumber() );
             return daoToDto( associationDao, user, company );
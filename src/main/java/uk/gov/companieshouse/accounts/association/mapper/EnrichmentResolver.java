@@ -0,0 +1,114 @@
+package uk.gov.companieshouse.accounts.association.mapper;
+
+import static uk.gov.companieshouse.accounts.association.utils.ReactorUtil.blockWithinDeadline;
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.COMPANIES;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.USERS;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.traced;
+
+import io.opentelemetry.api.common.Attributes;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.profiling.EnrichmentEvent;
+import uk.gov.companieshouse.accounts.association.service.CompanyService;
+import uk.gov.companieshouse.accounts.association.service.UsersService;
+import uk.gov.companieshouse.api.accounts.user.model.User;
+import uk.gov.companieshouse.api.company.CompanyDetails;
+
+/**
+ Resolves the users and companies that a mapping needs in a single wave, rather than letting each {@code @AfterMapping}
+ fetch them one after another. Callers open a {@link Batch}, register every user id and company number they will need,
+ and then call {@link Batch#resolve()}, which issues the non-blocking requests for the distinct keys together and blocks
+ once, within the request's deadline, for all of them. A key whose request completes empty is left out of the
+ {@link Resolution}; mappers treat it as unknown rather than fetching it again.
+ */
+@Component
+public class EnrichmentResolver {
+
+    private final UsersService usersService;
+    private final CompanyService companyService;
+
+    public EnrichmentResolver( final UsersService usersService, final CompanyService companyService ) {
+        this.usersService = usersService;
+        this.companyService = companyService;
+    }
+
+    public record Resolution( Map<String, User> users, Map<String, CompanyDetails> companies ) {
+
+        public User fetchUser( final String userId ){
+            return Objects.isNull( userId ) ? null : users.get( userId );
+        }
+
+        public CompanyDetails fetchCompany( final String companyNumber ){
+            return Objects.isNull( companyNumber ) ? null : companies.get( companyNumber );
+        }
+
+    }
+
+    public final class Batch {
+
+        private final String phase;
+        private final String pageCompanyNumber;
+        private final int pageSize;
+        private final Set<String> userIds = new LinkedHashSet<>();
+        private final Set<String> companyNumbers = new LinkedHashSet<>();
+
+        private Batch( final String phase, final String pageCompanyNumber, final int pageSize ){
+            this.phase = phase;
+            this.pageCompanyNumber = pageCompanyNumber;
+            this.pageSize = pageSize;
+        }
+
+        public Batch registerUser( final String userId ){
+            if ( Objects.nonNull( userId ) ){
+                userIds.add( userId );
+            }
+            return this;
+        }
+
+        public Batch registerCompany( final String companyNumber ){
+            if ( Objects.nonNull( companyNumber ) ){
+                companyNumbers.add( companyNumber );
+            }
+            return this;
+        }
+
+        public Resolution resolve(){
+            if ( userIds.isEmpty() && companyNumbers.isEmpty() ){
+                return new Resolution( Map.of(), Map.of() );
+            }
+
+            return traced( "associations.enrichment", Attributes.of( USERS, (long) userIds.size(), COMPANIES, (long) companyNumbers.size() ), span -> {
+                final var xRequestId = getXRequestId();
+                final var users = toResolveRequest( userIds, userId -> usersService.toFetchUserDetailsRequest( userId, xRequestId ) );
+                final var companies = toResolveRequest( companyNumbers, companyNumber -> companyService.toFetchCompanyProfileRequest( companyNumber, xRequestId ) );
+                final var event = EnrichmentEvent.start( phase, Objects.isNull( pageCompanyNumber ) && companyNumbers.size() == 1 ? companyNumbers.iterator().next() : pageCompanyNumber, pageSize );
+                final var resolution = blockWithinDeadline( Mono.zip( users, companies, Resolution::new ) );
+                event.finish( userIds.size(), companyNumbers.size() );
+                return resolution;
+            } );
+        }
+
+    }
+
+    public Batch newBatch(){
+        return new Batch( "batch", null, 0 );
+    }
+
+    public Batch newBatch( final String phase, final String pageCompanyNumber, final int pageSize ){
+        return new Batch( phase, pageCompanyNumber, pageSize );
+    }
+
+    private static <T> Mono<Map<String, T>> toResolveRequest( final Set<String> keys, final Function<String, Mono<T>> fetcher ){
+        return Flux.fromIterable( keys )
+                .flatMap( key -> fetcher.apply( key ).map( value -> Map.entry( key, value ) ) )
+                .collectMap( Map.Entry::getKey, Map.Entry::getValue );
+    }
+
+}
@@ -1,27 +1,28 @@
 package uk.gov.companieshouse.accounts.association.mapper;
 
-import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
 import static uk.gov.companieshouse.accounts.association.utils.StaticPropertyUtil.DAYS_SINCE_INVITE_TILL_EXPIRES;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 import org.springframework.beans.factory.annotation.Autowired;
 import uk.gov.companieshouse.accounts.association.models.InvitationDao;
-import uk.gov.companieshouse.accounts.association.service.UsersService;
 import uk.gov.companieshouse.api.accounts.associations.model.Invitation;
+import uk.gov.companieshouse.api.accounts.user.model.User;
 
 @Mapper( componentModel = "spring" )
 public abstract class InvitationMapper {
 
     @Autowired
-    private UsersService usersService;
+    protected EnrichmentResolver enrichmentResolver;
 
     @AfterMapping
-    protected void replaceUserIdWithUserEmail( @MappingTarget final Invitation invitation ){
-        invitation.setInvitedBy( usersService.fetchUserDetails( invitation.getInvitedBy(), getXRequestId() ).getEmail() );
+    protected void replaceUserIdWithUserEmail( @MappingTarget final Invitation invitation, @Context final User invitedBy ){
+        invitation.setInvitedBy( Optional.ofNullable( invitedBy ).map( User::getEmail ).orElse( null ) );
     }
 
     @AfterMapping
@@ -37,6 +38,17 @@ public abstract class InvitationMapper {
         invitation.setAssociationId( associationId );
     }
 
-    public abstract Invitation daoToDto( final InvitationDao invitation, @Context final String associationId );
+    public abstract Invitation daoToDto( final InvitationDao invitation, @Context final String associationId, @Context final User invitedBy );
+
+    public Invitation daoToDto( final InvitationDao invitation, final String associationId ){
+        if ( Objects.isNull( invitation ) ){
+            return null;
+        }
+
+        final var resolution = enrichmentResolver.newBatch()
+                .registerUser( invitation.getInvitedBy() )
+                .resolve();
+        return daoToDto( invitation, associationId, resolution.fetchUser( invitation.getInvitedBy() ) );
+    }
 
 }
@@ -5,9 +5,11 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.accounts.association.mapper.EnrichmentResolver.Resolution;
 import uk.gov.companieshouse.accounts.association.models.AssociationDao;
 import uk.gov.companieshouse.accounts.association.models.InvitationDao;
 import uk.gov.companieshouse.api.accounts.associations.model.Invitation;
@@ -18,12 +20,20 @@ import uk.gov.companieshouse.api.accounts.associations.model.Links;
 public class InvitationsCollectionMappers {
 
     private final InvitationMapper invitationsMapper;
+    private final EnrichmentResolver enrichmentResolver;
 
     private static final String FETCH_ACTIVE_INVITATIONS_FOR_USER_URI = "/associations/invitations";
     private static final String GET_INVITATIONS_FOR_ASSOCIATION_URI = "/associations/%s/invitations";
 
-    public InvitationsCollectionMappers( final InvitationMapper invitationsMapper ) {
+    public InvitationsCollectionMappers( final InvitationMapper invitationsMapper, final EnrichmentResolver enrichmentResolver ) {
         this.invitationsMapper = invitationsMapper;
+        this.enrichmentResolver = enrichmentResolver;
+    }
+
+    private Resolution resolveInviters( final List<InvitationDao> invitations ){
+        final var batch = enrichmentResolver.newBatch( "invitations", null, invitations.size() );
+        invitations.forEach( invitation -> batch.registerUser( invitation.getInvitedBy() ) );
+        return batch.resolve();
     }
 
     private Function<List<Invitation>, InvitationsList> mapToInvitationsList( final String basePath, final int totalResults, final int pageIndex, final int itemsPerPage ){
@@ -42,28 +52,31 @@ public class InvitationsCollectionMappers {
     }
 
     public InvitationsList daoToDto( final AssociationDao association, final int pageIndex, final int itemsPerPage ){
-        return association.getInvitations()
+        final var invitations = association.getInvitations()
                 .stream()
                 .skip((long) pageIndex * itemsPerPage )
                 .limit( itemsPerPage )
-                .map( invitationDao -> invitationsMapper.daoToDto( invitationDao, association.getId() ) )
+                .toList();
+        final var inviters = resolveInviters( invitations );
+        return invitations.stream()
+                .map( invitationDao -> invitationsMapper.daoToDto( invitationDao, association.getId(), inviters.fetchUser( invitationDao.getInvitedBy() ) ) )
                 .collect( Collectors.collectingAndThen( Collectors.toList(), mapToInvitationsList( String.format( GET_INVITATIONS_FOR_ASSOCIATION_URI, association.getId() ), association.getInvitations().size(), pageIndex, itemsPerPage ) ) );
     }
 
-    private Invitation mapToMostRecentInvitation( final AssociationDao association ) {
+    private InvitationDao findMostRecentInvitation( final AssociationDao association ) {
         final var invitations = association.getInvitations();
-        final InvitationDao mostRecent = ( invitations.size() == 1 )
+        return ( invitations.size() == 1 )
                 ? invitations.getFirst()
                 : Collections.max( invitations, Comparator.comparing( InvitationDao::getInvitedAt ) );
-
-        return invitationsMapper.daoToDto( mostRecent, association.getId() );
     }
 
 
     public InvitationsList daoToDto( final Page<AssociationDao> associationsWithActiveInvitations, final PageRequest pageRequest ){
-        return associationsWithActiveInvitations.getContent()
-                .stream()
-                .map( this::mapToMostRecentInvitation )
+        final var associations = associationsWithActiveInvitations.getContent();
+        final var mostRecentInvitations = associations.stream().map( this::findMostRecentInvitation ).toList();
+        final var inviters = resolveInviters( mostRecentInvitations );
+        return IntStream.range( 0, associations.size() )
+                .mapToObj( index -> invitationsMapper.daoToDto( mostRecentInvitations.get( index ), associations.get( index ).getId(), inviters.fetchUser( mostRecentInvitations.get( index ).getInvitedBy() ) ) )
                 .collect( Collectors.collectingAndThen( Collectors.toList(),
                         mapToInvitationsList( FETCH_ACTIVE_INVITATIONS_FOR_USER_URI,
                                 ( int ) associationsWithActiveInvitations.getTotalElements(), pageRequest.getPageNumber(),
@@ -3,6 +3,7 @@ package uk.gov.companieshouse.accounts.association.models;
 public class Constants {
 
     public static final String X_REQUEST_ID = "X-Request-Id";
+    public static final String X_REQUEST_DEADLINE_MS = "X-Request-Deadline-Ms";
     public static final String UNKNOWN = "unknown";
     public static final String OAUTH2 = "oauth2";
     public static final String KEY = "key";
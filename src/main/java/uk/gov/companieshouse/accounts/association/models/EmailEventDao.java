@@ -0,0 +1,441 @@
+package uk.gov.companieshouse.accounts.association.models;
+
+import static uk.gov.companieshouse.accounts.association.utils.UserUtil.mapToDisplayValue;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.mongodb.core.mapping.Field;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
+import uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum;
+import uk.gov.companieshouse.api.accounts.user.model.User;
+
+/**
+ A change to an association that emails still have to be sent for. It is written to the email outbox in the same
+ transaction as the change itself, and is expanded into the individual emails when the outbox is dispatched, so that
+ neither can be recorded without the other.
+
+ A status update only keeps the handful of values that its emails are worked out from, rather than the request context,
+ the association and the target user themselves, and rebuilds just enough of each of them from those values when it is
+ dispatched.
+ */
+public class EmailEventDao {
+
+    public static final String STATUS_UPDATE = "status_update";
+    public static final String AUTH_CODE_CONFIRMATION = "auth_code_confirmation";
+    public static final String INVITATION = "invitation";
+
+    private String type;
+
+    @Field( "x_request_id" )
+    private String xRequestId;
+
+    @Field( "eric_identity" )
+    private String ericIdentity;
+
+    @Field( "eric_identity_type" )
+    private String ericIdentityType;
+
+    @Field( "eric_authorised_key_roles" )
+    private String ericAuthorisedKeyRoles;
+
+    @Field( "admin_privileges" )
+    private Set<String> adminPrivileges;
+
+    @Field( "requesting_user_id" )
+    private String requestingUserId;
+
+    @Field( "requesting_user_email" )
+    private String requestingUserEmail;
+
+    @Field( "association_id" )
+    private String associationId;
+
+    @Field( "association_status" )
+    private String associationStatus;
+
+    @Field( "invited_by" )
+    private String invitedBy;
+
+    @Field( "target_user_id" )
+    private String targetUserId;
+
+    @Field( "target_user_email" )
+    private String targetUserEmail;
+
+    @Field( "new_status" )
+    private String newStatus;
+
+    @Field( "company_number" )
+    private String companyNumber;
+
+    @Field( "company_name" )
+    private String companyName;
+
+    @Field( "requesting_user_display_value" )
+    private String requestingUserDisplayValue;
+
+    @Field( "target_user_display_value" )
+    private String targetUserDisplayValue;
+
+    @Field( "invitation_expiry_timestamp" )
+    private String invitationExpiryTimestamp;
+
+    @Field( "invitee_email" )
+    private String inviteeEmail;
+
+    public static EmailEventDao statusUpdate( final AssociationDao association, final User targetUser, final StatusEnum newStatus, final RequestContextData requestContext ){
+        final var requestingUser = Optional.ofNullable( requestContext ).map( RequestContextData::getUser );
+        return new EmailEventDao()
+                .type( STATUS_UPDATE )
+                .xRequestId( Optional.ofNullable( requestContext ).map( RequestContextData::getXRequestId ).orElse( null ) )
+                .ericIdentity( Optional.ofNullable( requestContext ).map( RequestContextData::getEricIdentity ).orElse( null ) )
+                .ericIdentityType( Optional.ofNullable( requestContext ).map( RequestContextData::getEricIdentityType ).orElse( null ) )
+                .ericAuthorisedKeyRoles( Optional.ofNullable( requestContext ).map( RequestContextData::getEricAuthorisedKeyRoles ).orElse( null ) )
+                .adminPrivileges( Optional.ofNullable( requestContext ).map( RequestContextData::getAdminPrivileges ).<Set<String>>map( HashSet::new ).orElse( null ) )
+                .requestingUserId( requestingUser.map( User::getUserId ).orElse( null ) )
+                .requestingUserEmail( requestingUser.map( User::getEmail ).orElse( null ) )
+                .requestingUserDisplayValue( requestingUser.map( user -> mapToDisplayValue( user, user.getEmail() ) ).orElse( null ) )
+                .associationId( association.getId() )
+                .associationStatus( association.getStatus() )
+                .companyNumber( association.getCompanyNumber() )
+                .invitedBy( association.getInvitations().stream().max( Comparator.comparing( InvitationDao::getInvitedAt, Comparator.nullsFirst( Comparator.naturalOrder() ) ) ).map( InvitationDao::getInvitedBy ).orElse( null ) )
+                .targetUserId( Optional.ofNullable( association.getUserId() ).or( () -> Optional.ofNullable( targetUser ).map( User::getUserId ) ).orElse( null ) )
+                .targetUserEmail( Optional.ofNullable( targetUser ).map( User::getEmail ).orElse( association.getUserEmail() ) )
+                .targetUserDisplayValue( mapToDisplayValue( targetUser, association.getUserEmail() ) )
+                .newStatus( newStatus.getValue() );
+    }
+
+    public static EmailEventDao authCodeConfirmation( final String companyNumber, final String companyName, final String targetUserDisplayValue ){
+        return new EmailEventDao()
+                .type( AUTH_CODE_CONFIRMATION )
+                .companyNumber( companyNumber )
+                .companyName( companyName )
+                .targetUserDisplayValue( targetUserDisplayValue );
+    }
+
+    public static EmailEventDao invitation( final String companyNumber, final String companyName, final String requestingUserDisplayValue, final String targetUserDisplayValue, final String invitationExpiryTimestamp, final String inviteeEmail ){
+        return new EmailEventDao()
+                .type( INVITATION )
+                .companyNumber( companyNumber )
+                .companyName( companyName )
+                .requestingUserDisplayValue( requestingUserDisplayValue )
+                .targetUserDisplayValue( targetUserDisplayValue )
+                .invitationExpiryTimestamp( invitationExpiryTimestamp )
+                .inviteeEmail( inviteeEmail );
+    }
+
+    public void setType( final String type ){
+        this.type = type;
+    }
+
+    public EmailEventDao type( final String type ){
+        setType( type );
+        return this;
+    }
+
+    public String getType(){
+        return type;
+    }
+
+    public void setXRequestId( final String xRequestId ){
+        this.xRequestId = xRequestId;
+    }
+
+    public EmailEventDao xRequestId( final String xRequestId ){
+        setXRequestId( xRequestId );
+        return this;
+    }
+
+    public String getXRequestId(){
+        return xRequestId;
+    }
+
+    public void setEricIdentity( final String ericIdentity ){
+        this.ericIdentity = ericIdentity;
+    }
+
+    public EmailEventDao ericIdentity( final String ericIdentity ){
+        setEricIdentity( ericIdentity );
+        return this;
+    }
+
+    public String getEricIdentity(){
+        return ericIdentity;
+    }
+
+    public void setEricIdentityType( final String ericIdentityType ){
+        this.ericIdentityType = ericIdentityType;
+    }
+
+    public EmailEventDao ericIdentityType( final String ericIdentityType ){
+        setEricIdentityType( ericIdentityType );
+        return this;
+    }
+
+    public String getEricIdentityType(){
+        return ericIdentityType;
+    }
+
+    public void setEricAuthorisedKeyRoles( final String ericAuthorisedKeyRoles ){
+        this.ericAuthorisedKeyRoles = ericAuthorisedKeyRoles;
+    }
+
+    public EmailEventDao ericAuthorisedKeyRoles( final String ericAuthorisedKeyRoles ){
+        setEricAuthorisedKeyRoles( ericAuthorisedKeyRoles );
+        return this;
+    }
+
+    public String getEricAuthorisedKeyRoles(){
+        return ericAuthorisedKeyRoles;
+    }
+
+    public void setAdminPrivileges( final Set<String> adminPrivileges ){
+        this.adminPrivileges = adminPrivileges;
+    }
+
+    public EmailEventDao adminPrivileges( final Set<String> adminPrivileges ){
+        setAdminPrivileges( adminPrivileges );
+        return this;
+    }
+
+    public Set<String> getAdminPrivileges(){
+        return adminPrivileges;
+    }
+
+    public void setRequestingUserId( final String requestingUserId ){
+        this.requestingUserId = requestingUserId;
+    }
+
+    public EmailEventDao requestingUserId( final String requestingUserId ){
+        setRequestingUserId( requestingUserId );
+        return this;
+    }
+
+    public String getRequestingUserId(){
+        return requestingUserId;
+    }
+
+    public void setRequestingUserEmail( final String requestingUserEmail ){
+        this.requestingUserEmail = requestingUserEmail;
+    }
+
+    public EmailEventDao requestingUserEmail( final String requestingUserEmail ){
+        setRequestingUserEmail( requestingUserEmail );
+        return this;
+    }
+
+    public String getRequestingUserEmail(){
+        return requestingUserEmail;
+    }
+
+    public void setAssociationId( final String associationId ){
+        this.associationId = associationId;
+    }
+
+    public EmailEventDao associationId( final String associationId ){
+        setAssociationId( associationId );
+        return this;
+    }
+
+    public String getAssociationId(){
+        return associationId;
+    }
+
+    public void setAssociationStatus( final String associationStatus ){
+        this.associationStatus = associationStatus;
+    }
+
+    public EmailEventDao associationStatus( final String associationStatus ){
+        setAssociationStatus( associationStatus );
+        return this;
+    }
+
+    public String getAssociationStatus(){
+        return associationStatus;
+    }
+
+    public void setInvitedBy( final String invitedBy ){
+        this.invitedBy = invitedBy;
+    }
+
+    public EmailEventDao invitedBy( final String invitedBy ){
+        setInvitedBy( invitedBy );
+        return this;
+    }
+
+    public String getInvitedBy(){
+        return invitedBy;
+    }
+
+    public void setTargetUserId( final String targetUserId ){
+        this.targetUserId = targetUserId;
+    }
+
+    public EmailEventDao targetUserId( final String targetUserId ){
+        setTargetUserId( targetUserId );
+        return this;
+    }
+
+    public String getTargetUserId(){
+        return targetUserId;
+    }
+
+    public void setTargetUserEmail( final String targetUserEmail ){
+        this.targetUserEmail = targetUserEmail;
+    }
+
+    public EmailEventDao targetUserEmail( final String targetUserEmail ){
+        setTargetUserEmail( targetUserEmail );
+        return this;
+    }
+
+    public String getTargetUserEmail(){
+        return targetUserEmail;
+    }
+
+    public void setNewStatus( final String newStatus ){
+        this.newStatus = newStatus;
+    }
+
+    public EmailEventDao newStatus( final String newStatus ){
+        setNewStatus( newStatus );
+        return this;
+    }
+
+    public String getNewStatus(){
+        return newStatus;
+    }
+
+    public void setCompanyNumber( final String companyNumber ){
+        this.companyNumber = companyNumber;
+    }
+
+    public EmailEventDao companyNumber( final String companyNumber ){
+        setCompanyNumber( companyNumber );
+        return this;
+    }
+
+    public String getCompanyNumber(){
+        return companyNumber;
+    }
+
+    public void setCompanyName( final String companyName ){
+        this.companyName = companyName;
+    }
+
+    public EmailEventDao companyName( final String companyName ){
+        setCompanyName( companyName );
+        return this;
+    }
+
+    public String getCompanyName(){
+        return companyName;
+    }
+
+    public void setRequestingUserDisplayValue( final String requestingUserDisplayValue ){
+        this.requestingUserDisplayValue = requestingUserDisplayValue;
+    }
+
+    public EmailEventDao requestingUserDisplayValue( final String requestingUserDisplayValue ){
+        setRequestingUserDisplayValue( requestingUserDisplayValue );
+        return this;
+    }
+
+    public String getRequestingUserDisplayValue(){
+        return requestingUserDisplayValue;
+    }
+
+    public void setTargetUserDisplayValue( final String targetUserDisplayValue ){
+        this.targetUserDisplayValue = targetUserDisplayValue;
+    }
+
+    public EmailEventDao targetUserDisplayValue( final String targetUserDisplayValue ){
+        setTargetUserDisplayValue( targetUserDisplayValue );
+        return this;
+    }
+
+    public String getTargetUserDisplayValue(){
+        return targetUserDisplayValue;
+    }
+
+    public void setInvitationExpiryTimestamp( final String invitationExpiryTimestamp ){
+        this.invitationExpiryTimestamp = invitationExpiryTimestamp;
+    }
+
+    public EmailEventDao invitationExpiryTimestamp( final String invitationExpiryTimestamp ){
+        setInvitationExpiryTimestamp( invitationExpiryTimestamp );
+        return this;
+    }
+
+    public String getInvitationExpiryTimestamp(){
+        return invitationExpiryTimestamp;
+    }
+
+    public void setInviteeEmail( final String inviteeEmail ){
+        this.inviteeEmail = inviteeEmail;
+    }
+
+    public EmailEventDao inviteeEmail( final String inviteeEmail ){
+        setInviteeEmail( inviteeEmail );
+        return this;
+    }
+
+    public String getInviteeEmail(){
+        return inviteeEmail;
+    }
+
+    /**
+     Rebuilds the context of the request that made a status update, holding only the requesting user's id, email and
+     display value.
+     */
+    public RequestContextData toRequestContext(){
+        final var requestingUser = Objects.isNull( requestingUserId ) && Objects.isNull( requestingUserEmail ) ? null : new User()
+                .userId( requestingUserId )
+                .email( requestingUserEmail )
+                .displayName( requestingUserDisplayValue );
+        return new RequestContextDataBuilder()
+                .setXRequestId( xRequestId )
+                .setEricIdentity( ericIdentity )
+                .setEricIdentityType( ericIdentityType )
+                .setEricAuthorisedKeyRoles( ericAuthorisedKeyRoles )
+                .setAdminPrivileges( adminPrivileges )
+                .setUser( requestingUser )
+                .build();
+    }
+
+    /**
+     Rebuilds the association as it was before a status update, holding only what its emails are worked out from.
+     */
+    public AssociationDao toAssociation(){
+        return new AssociationDao()
+                .id( associationId )
+                .companyNumber( companyNumber )
+                .userId( targetUserId )
+                .userEmail( targetUserEmail )
+                .status( associationStatus )
+                .invitations( Optional.ofNullable( invitedBy ).map( invitedByUserId -> List.of( new InvitationDao().invitedBy( invitedByUserId ) ) ).orElse( List.of() ) );
+    }
+
+    public User toTargetUser(){
+        return new User()
+                .userId( targetUserId )
+                .email( targetUserEmail )
+                .displayName( targetUserDisplayValue );
+    }
+
+    @Override
+    public String toString() {
+        return "EmailEventDao{" +
+                "type='" + type + '\'' +
+                ", associationId='" + associationId + '\'' +
+                ", newStatus='" + newStatus + '\'' +
+                ", companyNumber='" + companyNumber + '\'' +
+                '}';
+    }
+
+}
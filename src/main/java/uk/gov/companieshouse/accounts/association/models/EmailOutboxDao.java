@@ -0,0 +1,297 @@
+package uk.gov.companieshouse.accounts.association.models;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+@Document( "email_outbox" )
+@CompoundIndex( name = "status_next_attempt_idx", def = "{'status': 1, 'next_attempt_at': 1}" )
+public class EmailOutboxDao {
+
+    public static final String PENDING = "pending";
+    public static final String SENT = "sent";
+    public static final String DEAD_LETTER = "dead-letter";
+
+    @Id
+    private String id;
+
+    @NotNull
+    @Field( "message_id" )
+    private String messageId;
+
+    @NotNull
+    @Field( "app_id" )
+    private String appId;
+
+    @NotNull
+    @Field( "message_type" )
+    private String messageType;
+
+    @Field( "email_address" )
+    private String emailAddress;
+
+    @Field( "json_data" )
+    private String jsonData;
+
+    private EmailEventDao event;
+
+    @Indexed( unique = true, sparse = true )
+    @Field( "dedupe_key" )
+    private String dedupeKey;
+
+    @Field( "x_request_id" )
+    private String xRequestId;
+
+    @NotNull
+    private String status;
+
+    private int attempts;
+
+    @Field( "claim_token" )
+    private String claimToken;
+
+    @Field( "next_attempt_at" )
+    private LocalDateTime nextAttemptAt;
+
+    @Field( "created_at" )
+    private LocalDateTime createdAt;
+
+    @Field( "sent_at" )
+    private LocalDateTime sentAt;
+
+    @Field( "last_error" )
+    private String lastError;
+
+    public void setId( final String id ){
+        this.id = id;
+    }
+
+    public EmailOutboxDao id( final String id ){
+        setId( id );
+        return this;
+    }
+
+    public String getId(){
+        return id;
+    }
+
+    public void setMessageId( final String messageId ){
+        this.messageId = messageId;
+    }
+
+    public EmailOutboxDao messageId( final String messageId ){
+        setMessageId( messageId );
+        return this;
+    }
+
+    public String getMessageId(){
+        return messageId;
+    }
+
+    public void setAppId( final String appId ){
+        this.appId = appId;
+    }
+
+    public EmailOutboxDao appId( final String appId ){
+        setAppId( appId );
+        return this;
+    }
+
+    public String getAppId(){
+        return appId;
+    }
+
+    public void setMessageType( final String messageType ){
+        this.messageType = messageType;
+    }
+
+    public EmailOutboxDao messageType( final String messageType ){
+        setMessageType( messageType );
+        return this;
+    }
+
+    public String getMessageType(){
+        return messageType;
+    }
+
+    public void setEmailAddress( final String emailAddress ){
+        this.emailAddress = emailAddress;
+    }
+
+    public EmailOutboxDao emailAddress( final String emailAddress ){
+        setEmailAddress( emailAddress );
+        return this;
+    }
+
+    public String getEmailAddress(){
+        return emailAddress;
+    }
+
+    public void setJsonData( final String jsonData ){
+        this.jsonData = jsonData;
+    }
+
+    public EmailOutboxDao jsonData( final String jsonData ){
+        setJsonData( jsonData );
+        return this;
+    }
+
+    public String getJsonData(){
+        return jsonData;
+    }
+
+    public void setXRequestId( final String xRequestId ){
+        this.xRequestId = xRequestId;
+    }
+
+    public EmailOutboxDao xRequestId( final String xRequestId ){
+        setXRequestId( xRequestId );
+        return this;
+    }
+
+    public String getXRequestId(){
+        return xRequestId;
+    }
+
+    public void setEvent( final EmailEventDao event ){
+        this.event = event;
+    }
+
+    public EmailOutboxDao event( final EmailEventDao event ){
+        setEvent( event );
+        return this;
+    }
+
+    public EmailEventDao getEvent(){
+        return event;
+    }
+
+    public void setDedupeKey( final String dedupeKey ){
+        this.dedupeKey = dedupeKey;
+    }
+
+    public EmailOutboxDao dedupeKey( final String dedupeKey ){
+        setDedupeKey( dedupeKey );
+        return this;
+    }
+
+    public String getDedupeKey(){
+        return dedupeKey;
+    }
+
+    public void setStatus( final String status ){
+        this.status = status;
+    }
+
+    public EmailOutboxDao status( final String status ){
+        setStatus( status );
+        return this;
+    }
+
+    public String getStatus(){
+        return status;
+    }
+
+    public void setAttempts( final int attempts ){
+        this.attempts = attempts;
+    }
+
+    public EmailOutboxDao attempts( final int attempts ){
+        setAttempts( attempts );
+        return this;
+    }
+
+    public int getAttempts(){
+        return attempts;
+    }
+
+    public void setClaimToken( final String claimToken ){
+        this.claimToken = claimToken;
+    }
+
+    public EmailOutboxDao claimToken( final String claimToken ){
+        setClaimToken( claimToken );
+        return this;
+    }
+
+    public String getClaimToken(){
+        return claimToken;
+    }
+
+    public void setNextAttemptAt( final LocalDateTime nextAttemptAt ){
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public EmailOutboxDao nextAttemptAt( final LocalDateTime nextAttemptAt ){
+        setNextAttemptAt( nextAttemptAt );
+        return this;
+    }
+
+    public LocalDateTime getNextAttemptAt(){
+        return nextAttemptAt;
+    }
+
+    public void setCreatedAt( final LocalDateTime createdAt ){
+        this.createdAt = createdAt;
+    }
+
+    public EmailOutboxDao createdAt( final LocalDateTime createdAt ){
+        setCreatedAt( createdAt );
+        return this;
+    }
+
+    public LocalDateTime getCreatedAt(){
+        return createdAt;
+    }
+
+    public void setSentAt( final LocalDateTime sentAt ){
+        this.sentAt = sentAt;
+    }
+
+    public EmailOutboxDao sentAt( final LocalDateTime sentAt ){
+        setSentAt( sentAt );
+        return this;
+    }
+
+    public LocalDateTime getSentAt(){
+        return sentAt;
+    }
+
+    public void setLastError( final String lastError ){
+        this.lastError = lastError;
+    }
+
+    public EmailOutboxDao lastError( final String lastError ){
+        setLastError( lastError );
+        return this;
+    }
+
+    public String getLastError(){
+        return lastError;
+    }
+
+    @Override
+    public String toString() {
+        return "EmailOutboxDao{" +
+                "id='" + id + '\'' +
+                ", messageId='" + messageId + '\'' +
+                ", appId='" + appId + '\'' +
+                ", messageType='" + messageType + '\'' +
+                ", emailAddress='" + emailAddress + '\'' +
+                ", xRequestId='" + xRequestId + '\'' +
+                ", event=" + event +
+                ", dedupeKey='" + dedupeKey + '\'' +
+                ", status='" + status + '\'' +
+                ", attempts=" + attempts +
+                ", nextAttemptAt=" + nextAttemptAt +
+                ", createdAt=" + createdAt +
+                ", sentAt=" + sentAt +
+                ", lastError='" + lastError + '\'' +
+                '}';
+    }
+
+}
@@ -1,5 +1,8 @@
 package uk.gov.companieshouse.accounts.association.models.context;
 
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
 public final class RequestContext {
 
     private static final ThreadLocal<RequestContextData> requestContextDataThreadLocal = new ThreadLocal<>();
@@ -18,4 +21,49 @@ public final class RequestContext {
         requestContextDataThreadLocal.remove();
     }
 
+    private static void restore( final RequestContextData requestContext ){
+        if ( Objects.isNull( requestContext ) ){
+            clear();
+        } else {
+            setRequestContext( requestContext );
+        }
+    }
+
+    /**
+     Captures the current request context and returns a task that runs with it installed on whichever thread executes
+     it, be that a pooled platform thread, a virtual thread, or a Reactor worker. The executing thread's own context is
+     put back afterwards, so that pooled threads never carry one request's context into the next.
+     */
+    public static Runnable wrap( final Runnable runnable ){
+        return wrap( getRequestContext(), runnable );
+    }
+
+    public static <T> Callable<T> wrap( final Callable<T> callable ){
+        return wrap( getRequestContext(), callable );
+    }
+
+    public static Runnable wrap( final RequestContextData requestContext, final Runnable runnable ){
+        return () -> {
+            final var previousRequestContext = getRequestContext();
+            setRequestContext( requestContext );
+            try {
+                runnable.run();
+            } finally {
+                restore( previousRequestContext );
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap( final RequestContextData requestContext, final Callable<T> callable ){
+        return () -> {
+            final var previousRequestContext = getRequestContext();
+            setRequestContext( requestContext );
+            try {
+                return callable.call();
+            } finally {
+                restore( previousRequestContext );
+            }
+        };
+    }
+
 }
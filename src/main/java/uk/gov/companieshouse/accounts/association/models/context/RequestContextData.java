@@ -9,9 +9,11 @@ import static uk.gov.companieshouse.api.util.security.EricConstants.ERIC_IDENTIT
 import static uk.gov.companieshouse.api.util.security.RequestUtils.getRequestHeader;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import uk.gov.companieshouse.api.accounts.user.model.User;
 
@@ -23,14 +25,16 @@ public class RequestContextData {
     private final String ericAuthorisedKeyRoles;
     private final HashSet<String> adminPrivileges;
     private final User user;
+    private final Long deadlineNanos;
 
-    protected RequestContextData( final String xRequestId, final String ericIdentity, final String ericIdentityType, final String ericAuthorisedKeyRoles, final HashSet<String> adminPrivileges, final User user ){
+    protected RequestContextData( final String xRequestId, final String ericIdentity, final String ericIdentityType, final String ericAuthorisedKeyRoles, final HashSet<String> adminPrivileges, final User user, final Long deadlineNanos ){
         this.xRequestId = xRequestId;
         this.ericIdentity = ericIdentity;
         this.ericIdentityType = ericIdentityType;
         this.ericAuthorisedKeyRoles = ericAuthorisedKeyRoles;
         this.adminPrivileges = adminPrivileges;
         this.user = user;
+        this.deadlineNanos = deadlineNanos;
     }
 
     public String getXRequestId(){
@@ -57,6 +61,21 @@ public class RequestContextData {
         return user;
     }
 
+    /**
+     The {@link System#nanoTime()} by which this request should have completed, or null if the request has no deadline.
+     */
+    public Long getDeadlineNanos(){
+        return deadlineNanos;
+    }
+
+    /**
+     A copy of this context without a deadline, for work such as emails which carries on after the response is sent, or
+     exports which may take longer than any deadline.
+     */
+    public RequestContextData withoutDeadline(){
+        return new RequestContextData( xRequestId, ericIdentity, ericIdentityType, ericAuthorisedKeyRoles, adminPrivileges, user, null );
+    }
+
     public static final class RequestContextDataBuilder {
         private String xRequestId = UNKNOWN;
         private String ericIdentity = UNKNOWN;
@@ -64,27 +83,48 @@ public class RequestContextData {
         private String ericAuthorisedKeyRoles = UNKNOWN;
         private HashSet<String> adminPrivileges = new HashSet<>();
         private User user;
+        private Long deadlineNanos;
 
         public RequestContextDataBuilder setXRequestId( final HttpServletRequest request ){
             xRequestId = Optional.ofNullable( getRequestHeader( request, X_REQUEST_ID ) ).orElse( UNKNOWN );
             return this;
         }
 
+        public RequestContextDataBuilder setXRequestId( final String xRequestId ){
+            this.xRequestId = Optional.ofNullable( xRequestId ).orElse( UNKNOWN );
+            return this;
+        }
+
         public RequestContextDataBuilder setEricIdentity( final HttpServletRequest request ){
             ericIdentity = Optional.ofNullable( getRequestHeader( request, ERIC_IDENTITY ) ).orElse( UNKNOWN );
             return this;
         }
 
+        public RequestContextDataBuilder setEricIdentity( final String ericIdentity ){
+            this.ericIdentity = Optional.ofNullable( ericIdentity ).orElse( UNKNOWN );
+            return this;
+        }
+
         public RequestContextDataBuilder setEricIdentityType( final HttpServletRequest request ){
             ericIdentityType = Optional.ofNullable( getRequestHeader( request, ERIC_IDENTITY_TYPE ) ).orElse( UNKNOWN );
             return this;
         }
 
+        public RequestContextDataBuilder setEricIdentityType( final String ericIdentityType ){
+            this.ericIdentityType = Optional.ofNullable( ericIdentityType ).orElse( UNKNOWN );
+            return this;
+        }
+
         public RequestContextDataBuilder setEricAuthorisedKeyRoles( final HttpServletRequest request ){
             ericAuthorisedKeyRoles = Optional.ofNullable( getRequestHeader( request, ERIC_AUTHORISED_KEY_ROLES ) ).orElse( UNKNOWN );
             return this;
         }
 
+        public RequestContextDataBuilder setEricAuthorisedKeyRoles( final String ericAuthorisedKeyRoles ){
+            this.ericAuthorisedKeyRoles = Optional.ofNullable( ericAuthorisedKeyRoles ).orElse( UNKNOWN );
+            return this;
+        }
+
         public RequestContextDataBuilder setAdminPrivileges( final HttpServletRequest request ){
             adminPrivileges = Optional.ofNullable( getRequestHeader( request, ERIC_AUTHORISED_ROLES ) )
                     .map( roles -> roles.split(" ") )
@@ -93,13 +133,23 @@ public class RequestContextData {
             return this;
         }
 
+        public RequestContextDataBuilder setAdminPrivileges( final Set<String> adminPrivileges ){
+            this.adminPrivileges = Optional.ofNullable( adminPrivileges ).map( HashSet::new ).orElse( new HashSet<>() );
+            return this;
+        }
+
         public RequestContextDataBuilder setUser( final User user ){
             this.user = user;
             return this;
         }
 
+        public RequestContextDataBuilder setDeadline( final Duration budget ){
+            deadlineNanos = Optional.ofNullable( budget ).map( duration -> System.nanoTime() + duration.toNanos() ).orElse( null );
+            return this;
+        }
+
         public RequestContextData build(){
-            return new RequestContextData( xRequestId, ericIdentity, ericIdentityType, ericAuthorisedKeyRoles, adminPrivileges, user );
+            return new RequestContextData( xRequestId, ericIdentity, ericIdentityType, ericAuthorisedKeyRoles, adminPrivileges, user, deadlineNanos );
         }
 
     }
@@ -27,6 +27,10 @@ public class EmailNotification {
         return this;
     }
 
+    public String getCompanyNumber(){
+        return companyNumber;
+    }
+
     public String toMessage(){
         var message = String.format( "%s notification sent to user at %s, regarding company %s.", messageType, sentTime.toString(), companyNumber );
         message += Objects.isNull( invitationExpiryTimestamp ) ? "" : String.format( " Invitation expires at %s.", invitationExpiryTimestamp );
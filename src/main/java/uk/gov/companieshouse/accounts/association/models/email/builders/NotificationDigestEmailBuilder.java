@@ -0,0 +1,49 @@
+package uk.gov.companieshouse.accounts.association.models.email.builders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import uk.gov.companieshouse.accounts.association.models.email.data.EmailData;
+import uk.gov.companieshouse.accounts.association.models.email.data.NotificationDigestEmailData;
+import uk.gov.companieshouse.accounts.association.models.email.data.NotificationDigestEmailData.DigestedNotification;
+import uk.gov.companieshouse.accounts.association.utils.MessageType;
+
+public class NotificationDigestEmailBuilder extends EmailBuilder<NotificationDigestEmailBuilder, NotificationDigestEmailData> {
+
+    private String companyNumber;
+    private final List<DigestedNotification> notifications = new ArrayList<>();
+
+    public NotificationDigestEmailBuilder setCompanyNumber( final String companyNumber ) {
+        this.companyNumber = companyNumber;
+        return this;
+    }
+
+    public NotificationDigestEmailBuilder addNotification( final MessageType messageType, final EmailData details ) {
+        notifications.add( new DigestedNotification( messageType.getValue(), details ) );
+        return this;
+    }
+
+    @Override
+    protected NotificationDigestEmailBuilder self(){
+        return this;
+    }
+
+    @Override
+    public NotificationDigestEmailData build() {
+        if (Objects.isNull(recipientEmail) || Objects.isNull(companyName) || Objects.isNull(companyNumber) || notifications.isEmpty()) {
+            throw new NullPointerException("recipientEmail, companyName, companyNumber and notifications cannot be null");
+        }
+
+        final var subject = String.format("Companies House: %d changes to who is authorised to file online for %s", notifications.size(), companyName);
+
+        final var emailData = new NotificationDigestEmailData();
+        emailData.setTo(recipientEmail);
+        emailData.setSubject(subject);
+        emailData.setCompanyName(companyName);
+        emailData.setCompanyNumber(companyNumber);
+        emailData.setNotifications(List.copyOf(notifications));
+
+        return emailData;
+    }
+
+}
@@ -0,0 +1,109 @@
+package uk.gov.companieshouse.accounts.association.models.email.data;
+
+import java.util.List;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * Email payload that replaces several notifications about the same company, sent to the
+ * same recipient in quick succession, with a single digest. Each notification keeps its
+ * original message type and email data.
+ */
+public class NotificationDigestEmailData extends EmailData {
+
+    public static class DigestedNotification {
+
+        private final String messageType;
+        private final EmailData details;
+
+        public DigestedNotification(String messageType, EmailData details) {
+            this.messageType = messageType;
+            this.details = details;
+        }
+
+        public String getMessageType() {
+            return messageType;
+        }
+
+        public EmailData getDetails() {
+            return details;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DigestedNotification that)) return false;
+            return new EqualsBuilder()
+                    .append(messageType, that.messageType)
+                    .append(details, that.details)
+                    .isEquals();
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(17, 37)
+                    .append(messageType)
+                    .append(details)
+                    .toHashCode();
+        }
+    }
+
+    private String companyName;
+    private String companyNumber;
+    private List<DigestedNotification> notifications;
+
+    public NotificationDigestEmailData(){}
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
+
+    public String getCompanyNumber() {
+        return companyNumber;
+    }
+
+    public void setCompanyNumber(String companyNumber) {
+        this.companyNumber = companyNumber;
+    }
+
+    public List<DigestedNotification> getNotifications() {
+        return notifications;
+    }
+
+    public void setNotifications(List<DigestedNotification> notifications) {
+        this.notifications = notifications;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof NotificationDigestEmailData that)) return false;
+        return new EqualsBuilder()
+                .append(companyName, that.companyName)
+                .append(companyNumber, that.companyNumber)
+                .append(notifications, that.notifications)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(companyName)
+                .append(companyNumber)
+                .append(notifications)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationDigestEmailData{" +
+                "companyName='" + companyName + '\'' +
+                ", companyNumber='" + companyNumber + '\'' +
+                ", notifications=" + notifications.size() +
+                '}';
+    }
+}
@@ -0,0 +1,26 @@
+package uk.gov.companieshouse.accounts.association.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name( "uk.gov.companieshouse.associations.DownstreamCall" )
+@Label( "Downstream Call" )
+@Description( "An HTTP call to a dependency, as seen by the service" )
+@Category( { "Accounts Association API", "Downstream" } )
+@StackTrace( false )
+public class DownstreamCallEvent extends Event {
+
+    @Label( "Dependency" )
+    public String dependency;
+
+    @Label( "Method" )
+    public String method;
+
+    @Label( "Status" )
+    public String status;
+
+}
@@ -0,0 +1,42 @@
+package uk.gov.companieshouse.accounts.association.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name( "uk.gov.companieshouse.associations.EmailSend" )
+@Label( "Email Send" )
+@Description( "A single email, from building its payload to handing it to the configured transport" )
+@Category( { "Accounts Association API", "Email" } )
+@StackTrace( false )
+public class EmailSendEvent extends Event {
+
+    @Label( "Message Type" )
+    public String messageType;
+
+    @Label( "Company Number" )
+    public String companyNumber;
+
+    @Label( "Succeeded" )
+    public boolean succeeded;
+
+    public static EmailSendEvent start( final String messageType, final String companyNumber ){
+        final var event = new EmailSendEvent();
+        event.messageType = messageType;
+        event.companyNumber = companyNumber;
+        event.begin();
+        return event;
+    }
+
+    public void finish( final boolean succeeded ){
+        end();
+        if ( shouldCommit() ){
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package uk.gov.companieshouse.accounts.association.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name( "uk.gov.companieshouse.associations.Enrichment" )
+@Label( "Mapper Enrichment" )
+@Description( "A wave of user and company lookups made while mapping associations" )
+@Category( { "Accounts Association API", "Mapping" } )
+@StackTrace( false )
+public class EnrichmentEvent extends Event {
+
+    @Label( "Phase" )
+    public String phase;
+
+    @Label( "Company Number" )
+    public String companyNumber;
+
+    @Label( "Page Size" )
+    public int pageSize;
+
+    @Label( "Users" )
+    public int users;
+
+    @Label( "Companies" )
+    public int companies;
+
+    public static EnrichmentEvent start( final String phase, final String companyNumber, final int pageSize ){
+        final var event = new EnrichmentEvent();
+        event.phase = phase;
+        event.companyNumber = companyNumber;
+        event.pageSize = pageSize;
+        event.begin();
+        return event;
+    }
+
+    public void finish( final int users, final int companies ){
+        end();
+        if ( shouldCommit() ){
+            this.users = users;
+            this.companies = companies;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package uk.gov.companieshouse.accounts.association.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name( "uk.gov.companieshouse.associations.MongoQuery" )
+@Label( "Mongo Query" )
+@Description( "A command sent to MongoDB, attributed to the repository method that issued it" )
+@Category( { "Accounts Association API", "MongoDB" } )
+@StackTrace( false )
+public class MongoQueryEvent extends Event {
+
+    @Label( "Repository Method" )
+    public String repositoryMethod;
+
+    @Label( "Command" )
+    public String command;
+
+    @Label( "Collection" )
+    public String collection;
+
+    @Label( "Company Number" )
+    public String companyNumber;
+
+    @Label( "Page Size" )
+    public int pageSize;
+
+    @Label( "Succeeded" )
+    public boolean succeeded;
+
+}
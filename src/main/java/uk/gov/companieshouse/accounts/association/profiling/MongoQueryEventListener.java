@@ -0,0 +1,86 @@
+package uk.gov.companieshouse.accounts.association.profiling;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.accounts.association.configuration.RepositoryMethodTagger;
+
+/**
+ Emits a {@link MongoQueryEvent} for every command sent to MongoDB while a recording that enables it is running. The
+ company number and page size are taken from the command's filter and limit where it has them. Nothing is allocated
+ beyond the event itself when no recording is running.
+ */
+@Component
+public class MongoQueryEventListener implements CommandListener, MongoClientSettingsBuilderCustomizer {
+
+    private final Map<Integer, MongoQueryEvent> startedEvents = new ConcurrentHashMap<>();
+
+    @Override
+    public void customize( final MongoClientSettings.Builder builder ){
+        builder.addCommandListener( this );
+    }
+
+    private static String stringOf( final BsonValue value ){
+        return Objects.nonNull( value ) && value.isString() ? value.asString().getValue() : null;
+    }
+
+    static String companyNumberOf( final BsonDocument command ){
+        final var filter = command.get( "filter" );
+        return Objects.nonNull( filter ) && filter.isDocument() ? stringOf( filter.asDocument().get( "company_number" ) ) : null;
+    }
+
+    static int pageSizeOf( final BsonDocument command ){
+        final var limit = command.get( "limit" );
+        return Objects.nonNull( limit ) && limit.isNumber() ? limit.asNumber().intValue() : 0;
+    }
+
+    @Override
+    public void commandStarted( final CommandStartedEvent event ){
+        final var queryEvent = new MongoQueryEvent();
+        if ( !queryEvent.isEnabled() ){
+            return;
+        }
+
+        queryEvent.begin();
+        final var command = event.getCommand();
+        queryEvent.repositoryMethod = RepositoryMethodTagger.currentRepositoryMethod();
+        queryEvent.command = event.getCommandName();
+        queryEvent.collection = stringOf( command.get( event.getCommandName() ) );
+        queryEvent.companyNumber = companyNumberOf( command );
+        queryEvent.pageSize = pageSizeOf( command );
+        startedEvents.put( event.getRequestId(), queryEvent );
+    }
+
+    private void finish( final int requestId, final boolean succeeded ){
+        final var queryEvent = startedEvents.remove( requestId );
+        if ( Objects.isNull( queryEvent ) ){
+            return;
+        }
+
+        queryEvent.end();
+        if ( queryEvent.shouldCommit() ){
+            queryEvent.succeeded = succeeded;
+            queryEvent.commit();
+        }
+    }
+
+    @Override
+    public void commandSucceeded( final CommandSucceededEvent event ){
+        finish( event.getRequestId(), true );
+    }
+
+    @Override
+    public void commandFailed( final CommandFailedEvent event ){
+        finish( event.getRequestId(), false );
+    }
+
+}
@@ -0,0 +1,178 @@
+package uk.gov.companieshouse.accounts.association.profiling;
+
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+
+import jakarta.annotation.PreDestroy;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ Starts and stops a bounded JDK Flight Recorder recording on demand, using the JDK's "profile" settings together with
+ the service's own events. POST starts a recording, GET reports on it and DELETE stops it and streams the recording
+ back. Only one recording runs at a time, and every recording is capped in both duration and size, so that a forgotten
+ recording stops on its own. The recording is dumped to a temporary file, which is deleted once it has been streamed
+ back, and any dump that has not been streamed by shutdown is deleted then.
+
+ The endpoint is disabled unless management.endpoint.profiling.access is set, and is then restricted to admins.
+ */
+@Component
+@WebEndpoint( id = "profiling", defaultAccess = Access.NONE )
+public class ProfilingEndpoint {
+
+    private static final String RECORDING_NAME = "accounts-association-api";
+
+    private static final List<Class<? extends Event>> SERVICE_EVENTS = List.of( MongoQueryEvent.class, DownstreamCallEvent.class, EnrichmentEvent.class, EmailSendEvent.class );
+
+    private final Duration maxDuration;
+
+    private final long maxSizeBytes;
+
+    private Recording recording;
+
+    private final Set<Path> dumps = ConcurrentHashMap.newKeySet();
+
+    public ProfilingEndpoint( @Value( "${profiling.max-duration-ms:300000}" ) final long maxDurationMs,
+                              @Value( "${profiling.max-size-mb:100}" ) final long maxSizeMb ) {
+        this.maxDuration = Duration.ofMillis( maxDurationMs );
+        this.maxSizeBytes = maxSizeMb * 1024L * 1024L;
+    }
+
+    private Map<String, Object> toStatus(){
+        final var status = new LinkedHashMap<String, Object>();
+        status.put( "state", Objects.isNull( recording ) ? "NONE" : recording.getState().name() );
+        if ( Objects.nonNull( recording ) ){
+            status.put( "startTime", Objects.toString( recording.getStartTime(), null ) );
+            status.put( "durationSeconds", recording.getDuration().toSeconds() );
+            status.put( "maxSizeBytes", recording.getMaxSize() );
+        }
+        return status;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status(){
+        return toStatus();
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start( @Nullable final Long durationSeconds ) throws IOException, ParseException {
+        if ( Objects.nonNull( recording ) && RecordingState.RUNNING.equals( recording.getState() ) ){
+            return new WebEndpointResponse<>( toStatus(), WebEndpointResponse.STATUS_CONFLICT );
+        }
+
+        closeRecording();
+        final var requestedDuration = Objects.isNull( durationSeconds ) || durationSeconds <= 0 ? maxDuration : Duration.ofSeconds( durationSeconds );
+        final var duration = requestedDuration.compareTo( maxDuration ) > 0 ? maxDuration : requestedDuration;
+
+        recording = new Recording( Configuration.getConfiguration( "profile" ) );
+        recording.setName( RECORDING_NAME );
+        SERVICE_EVENTS.forEach( event -> recording.enable( event ) );
+        recording.setToDisk( true );
+        recording.setMaxSize( maxSizeBytes );
+        recording.setDuration( duration );
+        recording.start();
+
+        LOGGER.info( String.format( "Started JFR recording for %d seconds, capped at %d bytes", duration.toSeconds(), maxSizeBytes ) );
+        return new WebEndpointResponse<>( toStatus() );
+    }
+
+    @DeleteOperation( produces = "application/octet-stream" )
+    public synchronized WebEndpointResponse<Resource> stop() throws IOException {
+        if ( Objects.isNull( recording ) ){
+            return new WebEndpointResponse<>( WebEndpointResponse.STATUS_NOT_FOUND );
+        }
+
+        if ( RecordingState.RUNNING.equals( recording.getState() ) ){
+            recording.stop();
+        }
+
+        final var dump = Files.createTempFile( RECORDING_NAME, ".jfr" );
+        dumps.add( dump );
+        try {
+            recording.dump( dump );
+        } catch ( IOException exception ){
+            deleteDump( dump );
+            throw exception;
+        } finally {
+            closeRecording();
+        }
+
+        LOGGER.info( String.format( "Stopped JFR recording and dumped %d bytes", Files.size( dump ) ) );
+        return new WebEndpointResponse<>( new DumpResource( dump ) );
+    }
+
+    @PreDestroy
+    public synchronized void shutdown(){
+        closeRecording();
+        for ( final var dump: dumps ){
+            try {
+                deleteDump( dump );
+            } catch ( IOException exception ){
+                LOGGER.error( String.format( "Failed to delete JFR dump %s: %s", dump, exception.getMessage() ) );
+            }
+        }
+    }
+
+    private void closeRecording(){
+        if ( Objects.nonNull( recording ) ){
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private void deleteDump( final Path dump ) throws IOException {
+        Files.deleteIfExists( dump );
+        dumps.remove( dump );
+    }
+
+    private class DumpResource extends FileSystemResource {
+
+        private final Path dump;
+
+        private DumpResource( final Path dump ) {
+            super( dump );
+            this.dump = dump;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream( super.getInputStream() ) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deleteDump( dump );
+                    }
+                }
+            };
+        }
+
+    }
+
+}
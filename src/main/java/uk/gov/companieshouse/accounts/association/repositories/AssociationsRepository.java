@@ -7,6 +7,7 @@ import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.lang.NonNull;
@@ -29,6 +30,10 @@ public interface AssociationsRepository extends MongoRepository<AssociationDao,
     @NonNull
     Page<AssociationDao> fetchUnexpiredAssociationsForCompanyAndStatuses( final String companyNumber, final Set<String> statuses, final LocalDateTime now, final Pageable pageable );
 
+    @Query( value = "{ 'company_number': ?0, 'status': { $in: ?1 }, '$or': [ { 'status': { '$ne': 'awaiting-approval' } }, { '$and': [ { 'status': 'awaiting-approval' }, { 'approval_expiry_at': { $gt: ?2 } } ] } ] }", sort = "{ '_id': 1 }" )
+    @Meta( cursorBatchSize = 100 )
+    Stream<AssociationDao> streamUnexpiredAssociationsForCompanyAndStatuses( final String companyNumber, final Set<String> statuses, final LocalDateTime now );
+
     @Query( "{ 'company_number': ?0, 'status': { $in: ?1 }, '$and': [ { '$or': [ { 'user_id': { '$ne': null, '$eq': ?2 } }, { 'user_email': { '$ne': null, '$eq': ?3 } } ] }, { '$or': [ { 'status': { '$ne': 'awaiting-approval' } }, { '$and': [ { 'status': 'awaiting-approval' }, { 'approval_expiry_at': { $gt: ?4 } } ] } ] } ] }" )
     @NonNull
     Page<AssociationDao> fetchUnexpiredAssociationsForCompanyAndStatusesAndUser( final String companyNumber, final Set<String> statuses, final String userId, final String userEmail, final LocalDateTime now, final Pageable pageable );
@@ -41,6 +46,10 @@ public interface AssociationsRepository extends MongoRepository<AssociationDao,
     @NonNull
     Page<AssociationDao> fetchAssociationsWithActiveInvitations( final String userId, final String userEmail, final LocalDateTime now, final Pageable pageable );
 
+    @Query( value = "{ '$or': [ { 'approved_at': { $gt: ?0 } }, { 'removed_at': { $gt: ?0 } } ] }", fields = "{ 'company_number': 1 }" )
+    @Meta( cursorBatchSize = 500 )
+    Stream<AssociationDao> streamAssociationsApprovedOrRemovedSince( final LocalDateTime since );
+
     @Query( "{ '_id': ?0 }" )
     int updateAssociation( final String associationId, final Update update );
 
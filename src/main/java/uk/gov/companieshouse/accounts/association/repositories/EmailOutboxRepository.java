@@ -0,0 +1,14 @@
+package uk.gov.companieshouse.accounts.association.repositories;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+import uk.gov.companieshouse.accounts.association.models.EmailOutboxDao;
+
+@Repository
+public interface EmailOutboxRepository extends MongoRepository<EmailOutboxDao, String> {
+
+    @Query( value = "{ 'status': ?0 }", count = true )
+    long countEmailsWithStatus( final String status );
+
+}
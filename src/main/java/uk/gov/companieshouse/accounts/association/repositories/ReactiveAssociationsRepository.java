@@ -0,0 +1,45 @@
+package uk.gov.companieshouse.accounts.association.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+
+/**
+ Non-blocking counterpart to the read queries in {@link AssociationsRepository}. Reactive repositories cannot return a
+ {@link org.springframework.data.domain.Page}, so each paged query comes with a count query over the same filter, and
+ callers assemble the page from the two.
+ */
+@Repository
+public interface ReactiveAssociationsRepository extends ReactiveMongoRepository<AssociationDao, String> {
+
+    @Query( "{ 'company_number': ?0, 'status': { $in: ?1 }, '$or': [ { 'status': { '$ne': 'awaiting-approval' } }, { '$and': [ { 'status': 'awaiting-approval' }, { 'approval_expiry_at': { $gt: ?2 } } ] } ] }" )
+    Flux<AssociationDao> fetchUnexpiredAssociationsForCompanyAndStatuses( final String companyNumber, final Set<String> statuses, final LocalDateTime now, final Pageable pageable );
+
+    @Query( value = "{ 'company_number': ?0, 'status': { $in: ?1 }, '$or': [ { 'status': { '$ne': 'awaiting-approval' } }, { '$and': [ { 'status': 'awaiting-approval' }, { 'approval_expiry_at': { $gt: ?2 } } ] } ] }", count = true )
+    Mono<Long> countUnexpiredAssociationsForCompanyAndStatuses( final String companyNumber, final Set<String> statuses, final LocalDateTime now );
+
+    @Query( "{ 'company_number': ?0, 'status': { $in: ?1 }, '$and': [ { '$or': [ { 'user_id': { '$ne': null, '$eq': ?2 } }, { 'user_email': { '$ne': null, '$eq': ?3 } } ] }, { '$or': [ { 'status': { '$ne': 'awaiting-approval' } }, { '$and': [ { 'status': 'awaiting-approval' }, { 'approval_expiry_at': { $gt: ?4 } } ] } ] } ] }" )
+    Flux<AssociationDao> fetchUnexpiredAssociationsForCompanyAndStatusesAndUser( final String companyNumber, final Set<String> statuses, final String userId, final String userEmail, final LocalDateTime now, final Pageable pageable );
+
+    @Query( value = "{ 'company_number': ?0, 'status': { $in: ?1 }, '$and': [ { '$or': [ { 'user_id': { '$ne': null, '$eq': ?2 } }, { 'user_email': { '$ne': null, '$eq': ?3 } } ] }, { '$or': [ { 'status': { '$ne': 'awaiting-approval' } }, { '$and': [ { 'status': 'awaiting-approval' }, { 'approval_expiry_at': { $gt: ?4 } } ] } ] } ] }", count = true )
+    Mono<Long> countUnexpiredAssociationsForCompanyAndStatusesAndUser( final String companyNumber, final Set<String> statuses, final String userId, final String userEmail, final LocalDateTime now );
+
+    @Query( "{ $or:[ {'user_id': ?0 }, {'user_email': ?1 } ], 'status': { $in: ?2 }, 'company_number': { $regex: ?3 } }" )
+    Flux<AssociationDao> fetchAssociationsForUserAndStatusesAndPartialCompanyNumber( final String userId, final String userEmail, final Set<String> statuses, final String partialCompanyNumber, final Pageable pageable );
+
+    @Query( value = "{ $or:[ {'user_id': ?0 }, {'user_email': ?1 } ], 'status': { $in: ?2 }, 'company_number': { $regex: ?3 } }", count = true )
+    Mono<Long> countAssociationsForUserAndStatusesAndPartialCompanyNumber( final String userId, final String userEmail, final Set<String> statuses, final String partialCompanyNumber );
+
+    @Query( value = "{ '$or': [ { 'user_id': { '$ne': null, '$eq': ?0 } }, { 'user_email': { '$ne': null, '$eq': ?1 } } ], 'status': 'awaiting-approval', 'approval_expiry_at': { $gt: ?2 } }", sort = "{ 'approval_expiry_at': 1 }" )
+    Flux<AssociationDao> fetchAssociationsWithActiveInvitations( final String userId, final String userEmail, final LocalDateTime now, final Pageable pageable );
+
+    @Query( value = "{ '$or': [ { 'user_id': { '$ne': null, '$eq': ?0 } }, { 'user_email': { '$ne': null, '$eq': ?1 } } ], 'status': 'awaiting-approval', 'approval_expiry_at': { $gt: ?2 } }", count = true )
+    Mono<Long> countAssociationsWithActiveInvitations( final String userId, final String userEmail, final LocalDateTime now );
+
+}
@@ -1,23 +1,35 @@
 package uk.gov.companieshouse.accounts.association.service;
 
 import static uk.gov.companieshouse.GenerateEtagUtil.generateEtag;
+import static uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy.QueryClass.EXPORT;
+import static uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy.QueryClass.LIST;
+import static uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy.QueryClass.LOOKUP;
 import static uk.gov.companieshouse.accounts.association.utils.AssociationsUtil.fetchAllStatusesWithout;
 import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+import static uk.gov.companieshouse.accounts.association.utils.ReactorUtil.blockWithinDeadline;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
 import static uk.gov.companieshouse.accounts.association.utils.StaticPropertyUtil.DAYS_SINCE_INVITE_TILL_EXPIRES;
+import static uk.gov.companieshouse.accounts.association.utils.StreamUtil.batch;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.ASSOCIATION_CONFIRMED;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.COMPANY_NUMBER;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.traced;
 import static uk.gov.companieshouse.api.accounts.associations.model.Association.ApprovalRouteEnum.AUTH_CODE;
 import static uk.gov.companieshouse.api.accounts.associations.model.Association.ApprovalRouteEnum.INVITATION;
 import static uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum.CONFIRMED;
 import static uk.gov.companieshouse.api.accounts.associations.model.PreviousState.StatusEnum.AWAITING_APPROVAL;
 
+import io.opentelemetry.api.common.Attributes;
 import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
@@ -25,6 +37,7 @@ import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
+import uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy;
 import uk.gov.companieshouse.accounts.association.exceptions.InternalServerErrorRuntimeException;
 import uk.gov.companieshouse.accounts.association.mapper.AssociationsListCompanyMapper;
 import uk.gov.companieshouse.accounts.association.mapper.AssociationsListUserMapper;
@@ -54,27 +67,40 @@ public class AssociationsService {
 
     private final InvitationsCollectionMappers invitationsCollectionMappers;
 
+    private final ReadRoutingPolicy readRoutingPolicy;
+
+    private final ObjectProvider<ReactiveAssociationsService> reactiveAssociationsService;
+
+    @Value( "${associations.reactive-reads.enabled:false}" )
+    private boolean reactiveReadsEnabled;
+
     @Autowired
-    public AssociationsService( final AssociationsRepository associationsRepository, final AssociationsListUserMapper associationsListUserMapper, final AssociationsListCompanyMapper associationsListCompanyMapper, final PreviousStatesCollectionMappers previousStatesCollectionMapper, final InvitationsCollectionMappers invitationsCollectionMappers ) {
+    public AssociationsService( final AssociationsRepository associationsRepository, final AssociationsListUserMapper associationsListUserMapper, final AssociationsListCompanyMapper associationsListCompanyMapper, final PreviousStatesCollectionMappers previousStatesCollectionMapper, final InvitationsCollectionMappers invitationsCollectionMappers, final ReadRoutingPolicy readRoutingPolicy, final ObjectProvider<ReactiveAssociationsService> reactiveAssociationsService ) {
         this.associationsRepository = associationsRepository;
         this.associationsListUserMapper = associationsListUserMapper;
         this.associationsListCompanyMapper = associationsListCompanyMapper;
         this.previousStatesCollectionMapper = previousStatesCollectionMapper;
         this.invitationsCollectionMappers = invitationsCollectionMappers;
+        this.readRoutingPolicy = readRoutingPolicy;
+        this.reactiveAssociationsService = reactiveAssociationsService;
     }
 
     @Transactional( readOnly = true )
     public Optional<AssociationDao> fetchAssociationDao( final String associationId ) {
         LOGGER.debugContext( getXRequestId(), String.format( "Attempting to fetch association with id: %s", associationId ), null );
-        final var association = associationsRepository.findById( associationId );
+        final var association = readRoutingPolicy.withQueryClass( LOOKUP, () -> associationsRepository.findById( associationId ) );
         LOGGER.debugContext( getXRequestId(), String.format( "Successfully to fetched association with id: %s", associationId ), null );
         return association;
     }
 
     @Transactional( readOnly = true )
     public Optional<Association> fetchAssociationDto( final String associationId ) {
+        if ( reactiveReadsEnabled ){
+            return Optional.ofNullable( readRoutingPolicy.withQueryClass( LOOKUP, () -> blockWithinDeadline( reactiveAssociationsService.getObject().fetchAssociationDto( associationId ) ) ) );
+        }
+
         LOGGER.debugContext( getXRequestId(), String.format( "Attempting to retrieve association with id: %s", associationId ), null );
-        final var association = associationsRepository.findById( associationId ).map( associationDao -> associationsListCompanyMapper.daoToDto( associationDao, null, null ) );
+        final var association = readRoutingPolicy.withQueryClass( LOOKUP, () -> associationsRepository.findById( associationId ) ).map( associationsListCompanyMapper::daoToDto );
         LOGGER.debugContext( getXRequestId(), String.format( "Successfully retrieved association with id: %s", associationId ), null );
         return association;
     }
@@ -82,40 +108,64 @@ public class AssociationsService {
     @Transactional( readOnly = true )
     public Optional<AssociationDao> fetchAssociationDao( final String companyNumber, final String userId, final String userEmail ) {
         LOGGER.debugContext( getXRequestId(), String.format( "Attempting to fetch association for user_id=%s and company_number=%s. user_email was provided: %b.", userId, companyNumber, Objects.nonNull( userEmail ) ), null );
-        final var association = associationsRepository.fetchAssociation( companyNumber, userId, userEmail );
+        final var association = readRoutingPolicy.withQueryClass( LOOKUP, () -> associationsRepository.fetchAssociation( companyNumber, userId, userEmail ) );
         LOGGER.debugContext( getXRequestId(), String.format( "Successfully fetched association for user_id=%s and company_number=%s. user_email was provided: %b.", userId, companyNumber, Objects.nonNull( userEmail ) ), null );
         return association;
     }
 
     @Transactional( readOnly = true )
     public boolean confirmedAssociationExists( final String companyNumber, final String userId ) {
-        return associationsRepository.confirmedAssociationExists( companyNumber, userId );
+        return traced( "associations.authorisation-gate", Attributes.of( COMPANY_NUMBER, companyNumber ), span -> {
+            final boolean confirmed = readRoutingPolicy.withQueryClass( LOOKUP, () -> associationsRepository.confirmedAssociationExists( companyNumber, userId ) );
+            span.setAttribute( ASSOCIATION_CONFIRMED, confirmed );
+            return confirmed;
+        } );
     }
 
     @Transactional( readOnly = true )
     public Flux<String> fetchConfirmedUserIds( final String companyNumber ) {
         LOGGER.debugContext( getXRequestId(), String.format( "Attempting to fetch user_id's for confirmed associations at company %s", companyNumber ), null );
-        return Flux.fromStream( associationsRepository.fetchConfirmedAssociations( companyNumber ).map( AssociationDao::getUserId ) );
+        return Flux.fromStream( readRoutingPolicy.withQueryClass( LOOKUP, () -> associationsRepository.fetchConfirmedAssociations( companyNumber ) ).map( AssociationDao::getUserId ) );
     }
 
     @Transactional( readOnly = true )
     public AssociationsList fetchUnexpiredAssociationsForCompanyAndStatuses( final CompanyDetails companyDetails, final Set<StatusEnum> statuses, final String userId, final String userEmail,  final int pageIndex, final int itemsPerPage ) {
+        if ( reactiveReadsEnabled ){
+            return readRoutingPolicy.withQueryClass( LIST, () -> blockWithinDeadline( reactiveAssociationsService.getObject().fetchUnexpiredAssociationsForCompanyAndStatuses( companyDetails, statuses, userId, userEmail, pageIndex, itemsPerPage ) ) );
+        }
+
         LOGGER.debugContext( getXRequestId(), "Attempting to fetch unexpired associations for company and statuses", null );
         final var parsedStatuses = statuses.stream().map( StatusEnum::getValue ).collect( Collectors.toSet() );
-        final var associationDaos = Objects.nonNull( userEmail ) || Objects.nonNull( userId )
+        final var associationDaos = readRoutingPolicy.withQueryClass( LIST, () -> Objects.nonNull( userEmail ) || Objects.nonNull( userId )
                 ? associationsRepository.fetchUnexpiredAssociationsForCompanyAndStatusesAndUser( companyDetails.getCompanyNumber(), parsedStatuses, userId, userEmail, LocalDateTime.now(), PageRequest.of( pageIndex, itemsPerPage ) )
-                : associationsRepository.fetchUnexpiredAssociationsForCompanyAndStatuses( companyDetails.getCompanyNumber(), parsedStatuses, LocalDateTime.now(), PageRequest.of( pageIndex, itemsPerPage ) );
+                : associationsRepository.fetchUnexpiredAssociationsForCompanyAndStatuses( companyDetails.getCompanyNumber(), parsedStatuses, LocalDateTime.now(), PageRequest.of( pageIndex, itemsPerPage ) ) );
         final var associations = associationsListCompanyMapper.daoToDto( associationDaos, companyDetails );
         LOGGER.debugContext( getXRequestId(), "Successfully fetched unexpired associations for company and statuses" ,null );
         return associations;
     }
 
+    @Transactional( readOnly = true )
+    public int streamUnexpiredAssociationsForCompanyAndStatuses( final CompanyDetails companyDetails, final Set<StatusEnum> statuses, final int batchSize, final Consumer<List<Association>> batchConsumer ) {
+        LOGGER.debugContext( getXRequestId(), String.format( "Attempting to stream unexpired associations for company %s in batches of %d", companyDetails.getCompanyNumber(), batchSize ), null );
+        final var parsedStatuses = statuses.stream().map( StatusEnum::getValue ).collect( Collectors.toSet() );
+        var numAssociations = 0;
+        try ( final var batches = batch( readRoutingPolicy.withQueryClass( EXPORT, () -> associationsRepository.streamUnexpiredAssociationsForCompanyAndStatuses( companyDetails.getCompanyNumber(), parsedStatuses, LocalDateTime.now() ) ), batchSize ) ) {
+            for ( final var iterator = batches.iterator(); iterator.hasNext(); ) {
+                final var associations = associationsListCompanyMapper.daoToDto( iterator.next(), companyDetails );
+                batchConsumer.accept( associations );
+                numAssociations += associations.size();
+            }
+        }
+        LOGGER.debugContext( getXRequestId(), String.format( "Successfully streamed %d unexpired associations for company %s", numAssociations, companyDetails.getCompanyNumber() ), null );
+        return numAssociations;
+    }
+
     @Transactional( readOnly = true )
     public Optional<Association> fetchUnexpiredAssociationsForCompanyUserAndStatuses(final CompanyDetails companyDetails, final Set<StatusEnum> statuses, final User user, final String userEmail ) {
         LOGGER.debugContext( getXRequestId(), "Attempting to fetch unexpired associations for company, user and statuses", null );
         final var userId = Optional.ofNullable( user ).map( User::getUserId ).orElse( null );
         final var parsedStatuses = statuses.stream().map( StatusEnum::getValue ).collect( Collectors.toSet() );
-        final var association = Optional.of( associationsRepository.fetchUnexpiredAssociationsForCompanyAndStatusesAndUser( companyDetails.getCompanyNumber(), parsedStatuses, userId, userEmail, LocalDateTime.now(),  null ) )
+        final var association = Optional.of( readRoutingPolicy.withQueryClass( LOOKUP, () -> associationsRepository.fetchUnexpiredAssociationsForCompanyAndStatusesAndUser( companyDetails.getCompanyNumber(), parsedStatuses, userId, userEmail, LocalDateTime.now(),  null ) ) )
                 .filter( Slice::hasContent )
                 .map( Slice::getContent )
                 .flatMap( associations -> {
@@ -135,19 +185,23 @@ public class AssociationsService {
         LOGGER.debugContext( getXRequestId(), String.format( "Attempting to fetch associations for user %s", user.getUserId() ) + loggingString, null );
         final var coalescedPartialCompanyNumber = Optional.ofNullable( partialCompanyNumber ).orElse( "" );
         final var allStatuses = fetchAllStatusesWithout( Set.of() ).stream().map( StatusEnum::getValue ).collect( Collectors.toSet() );
-        final var associations = associationsRepository.fetchAssociationsForUserAndStatusesAndPartialCompanyNumber( user.getUserId(), user.getEmail(), allStatuses, coalescedPartialCompanyNumber, PageRequest.of( pageIndex, itemsPerPage ) );
+        final var associations = readRoutingPolicy.withQueryClass( LOOKUP, () -> associationsRepository.fetchAssociationsForUserAndStatusesAndPartialCompanyNumber( user.getUserId(), user.getEmail(), allStatuses, coalescedPartialCompanyNumber, PageRequest.of( pageIndex, itemsPerPage ) ) );
         LOGGER.debugContext( getXRequestId(), String.format( "Successfully fetched associations for user %s", user.getUserId() ) + loggingString, null );
         return associations;
     }
 
     @Transactional( readOnly = true )
     public AssociationsList fetchAssociationsForUserAndPartialCompanyNumberAndStatuses( final User user, final String partialCompanyNumber, final Set<String> statuses, final int pageIndex, final int itemsPerPage ) {
+        if ( reactiveReadsEnabled ){
+            return readRoutingPolicy.withQueryClass( LIST, () -> blockWithinDeadline( reactiveAssociationsService.getObject().fetchAssociationsForUserAndPartialCompanyNumberAndStatuses( user, partialCompanyNumber, statuses, pageIndex, itemsPerPage ) ) );
+        }
+
         LOGGER.debugContext( getXRequestId(), "Attempting to fetch associations for user, partial company number, and statuses", null );
         final var coalescedPartialCompanyNumber = Optional.ofNullable( partialCompanyNumber ).orElse( "" );
         final var coalescedStatuses = Optional.ofNullable( statuses )
                 .filter( parsedStatuses -> !parsedStatuses.isEmpty() )
                 .orElse( Set.of( CONFIRMED.getValue() ) );
-        final var results = associationsRepository.fetchAssociationsForUserAndStatusesAndPartialCompanyNumber( user.getUserId(), user.getEmail(), coalescedStatuses, coalescedPartialCompanyNumber, PageRequest.of( pageIndex, itemsPerPage ) );
+        final var results = readRoutingPolicy.withQueryClass( LIST, () -> associationsRepository.fetchAssociationsForUserAndStatusesAndPartialCompanyNumber( user.getUserId(), user.getEmail(), coalescedStatuses, coalescedPartialCompanyNumber, PageRequest.of( pageIndex, itemsPerPage ) ) );
         final var associations =  associationsListUserMapper.daoToDto( results, user );
         LOGGER.infoContext( getXRequestId(), "Successfully fetched associations for user, partial company number, and statuses", null );
         return associations;
@@ -156,16 +210,20 @@ public class AssociationsService {
     @Transactional( readOnly = true )
     public Optional<InvitationsList> fetchInvitations( final String associationId, final int pageIndex, final int itemsPerPage ) {
         LOGGER.debugContext( getXRequestId(), String.format( "Attempting to fetch invitations for association %s", associationId ), null );
-        final var invitations = associationsRepository.findById( associationId ).map( association -> invitationsCollectionMappers.daoToDto( association, pageIndex, itemsPerPage ) );
+        final var invitations = readRoutingPolicy.withQueryClass( LOOKUP, () -> associationsRepository.findById( associationId ) ).map( association -> invitationsCollectionMappers.daoToDto( association, pageIndex, itemsPerPage ) );
         LOGGER.debugContext( getXRequestId(), String.format( "Successfully fetched invitations for association %s", associationId ), null );
         return invitations;
     }
 
     @Transactional( readOnly = true )
     public InvitationsList fetchActiveInvitations( final User user, final int pageIndex, final int itemsPerPage ) {
+        if ( reactiveReadsEnabled ){
+            return readRoutingPolicy.withQueryClass( LIST, () -> blockWithinDeadline( reactiveAssociationsService.getObject().fetchActiveInvitations( user, pageIndex, itemsPerPage ) ) );
+        }
+
         LOGGER.debugContext( getXRequestId(), String.format( "Attempting to retrieve active invitations for user %s", user.getUserId() ), null );
         final var pageRequest = PageRequest.of( pageIndex, itemsPerPage );
-        final var associationsWithActiveInvitations = associationsRepository.fetchAssociationsWithActiveInvitations( user.getUserId(), user.getEmail(), LocalDateTime.now(), pageRequest );
+        final var associationsWithActiveInvitations = readRoutingPolicy.withQueryClass( LIST, () -> associationsRepository.fetchAssociationsWithActiveInvitations( user.getUserId(), user.getEmail(), LocalDateTime.now(), pageRequest ) );
         final var invitations = invitationsCollectionMappers.daoToDto( associationsWithActiveInvitations, pageRequest );
         LOGGER.debugContext( getXRequestId(), String.format( "Successfully retrieved active invitations for user %s", user.getUserId() ), null );
         return invitations;
@@ -174,7 +232,7 @@ public class AssociationsService {
     @Transactional( readOnly = true )
     public Optional<PreviousStatesList> fetchPreviousStates( final String associationId, final int pageIndex, final int itemsPerPage ){
         LOGGER.debugContext( getXRequestId(), String.format( "Attempting to fetch previous states for association %s", associationId ), null );
-        return associationsRepository.findById( associationId ).map( association -> previousStatesCollectionMapper.daoToDto( association, pageIndex, itemsPerPage ) );
+        return readRoutingPolicy.withQueryClass( LOOKUP, () -> associationsRepository.findById( associationId ) ).map( association -> previousStatesCollectionMapper.daoToDto( association, pageIndex, itemsPerPage ) );
     }
 
     @Transactional
@@ -193,6 +251,7 @@ public class AssociationsService {
                 .etag( generateEtag() );
 
         final var createdAssociation = associationsRepository.insert( proposedAssociation );
+        readRoutingPolicy.recordWrite();
         LOGGER.debugContext( getXRequestId(), String.format( "Successfully created association for company_number %s and user_id %s.", companyNumber, userId ), null );
         return createdAssociation;
     }
@@ -217,6 +276,7 @@ public class AssociationsService {
 
         LOGGER.debugContext( getXRequestId(), "Insert Association", null );
         final var createdAssociation = associationsRepository.insert( proposedAssociation );
+        readRoutingPolicy.recordWrite();
         LOGGER.debugContext( getXRequestId(), String.format( "Successfully created new invitation for user_id=%s and company_number=%s. user_email was provided: %b.", userId, companyNumber,  Objects.nonNull( userEmail ) ), null );
         return createdAssociation;
     }
@@ -228,6 +288,7 @@ public class AssociationsService {
                 .map( id -> associationsRepository.updateAssociation( id, update ) )
                 .filter( numRecordsUpdated -> numRecordsUpdated > 0 )
                 .orElseThrow( () -> new InternalServerErrorRuntimeException( getXRequestId(), "Failed to update association", new Exception( String.format( "Failed to update association with id: %s", associationId ) ) ) );
+        readRoutingPolicy.recordWrite();
         LOGGER.debugContext( getXRequestId(), String.format( "Updated association %s", associationId ), null );
     }
 
@@ -0,0 +1,94 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+
+/**
+ Keeps track of the reactive chains that are started in the background and not waited on, such as the emails sent
+ after an association is created or updated. Each chain is counted while it runs, and as completed or failed once it
+ ends.
+
+ When the application shuts down, this registry stops after the web server has stopped accepting requests and waits
+ up to background-tasks.drain-timeout-ms for the chains still running to finish. Anything left after that is cancelled
+ and logged, so that it is not silently cut off when the context closes.
+ */
+@Component
+public class BackgroundTaskRegistry implements SmartLifecycle {
+
+    private static final Duration DRAIN_POLL_INTERVAL = Duration.ofMillis( 50L );
+
+    private final MeterRegistry meterRegistry;
+    private final Duration drainTimeout;
+    private final Set<Disposable> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    @Autowired
+    public BackgroundTaskRegistry( final MeterRegistry meterRegistry, @Value( "${background-tasks.drain-timeout-ms:30000}" ) final long drainTimeoutMs ) {
+        this.meterRegistry = meterRegistry;
+        this.drainTimeout = Duration.ofMillis( drainTimeoutMs );
+        this.meterRegistry.gauge( "background.tasks.in-flight", inFlight, Set::size );
+    }
+
+    public void track( final String name, final String xRequestId, final Publisher<?> task ){
+        final var subscription = Disposables.swap();
+        inFlight.add( subscription );
+        subscription.update( Flux.from( task )
+                .doFinally( signal -> inFlight.remove( subscription ) )
+                .subscribe( null,
+                        exception -> {
+                            meterRegistry.counter( "background.tasks.failed", "name", name ).increment();
+                            LOGGER.errorContext( xRequestId, new Exception( String.format( "Background task %s failed: %s", name, exception.getMessage() ) ), null );
+                        },
+                        () -> meterRegistry.counter( "background.tasks.completed", "name", name ).increment() ) );
+    }
+
+    public int inFlight(){
+        return inFlight.size();
+    }
+
+    @Override
+    public void start(){
+        running = true;
+    }
+
+    @Override
+    public void stop(){
+        running = false;
+        final var deadline = System.nanoTime() + drainTimeout.toNanos();
+        try {
+            while ( !inFlight.isEmpty() && System.nanoTime() < deadline ){
+                Thread.sleep( DRAIN_POLL_INTERVAL );
+            }
+        } catch ( InterruptedException exception ){
+            Thread.currentThread().interrupt();
+        }
+
+        if ( !inFlight.isEmpty() ){
+            LOGGER.error( String.format( "Cancelling %d background tasks that did not finish within %d ms of shutdown", inFlight.size(), drainTimeout.toMillis() ) );
+            inFlight.forEach( Disposable::dispose );
+        }
+    }
+
+    @Override
+    public boolean isRunning(){
+        return running;
+    }
+
+    @Override
+    public int getPhase(){
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+}
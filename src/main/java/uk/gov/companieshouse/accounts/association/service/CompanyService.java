@@ -3,9 +3,9 @@ package uk.gov.companieshouse.accounts.association.service;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
 import static uk.gov.companieshouse.accounts.association.utils.ParsingUtil.parseJsonTo;
+import static uk.gov.companieshouse.accounts.association.utils.ReactorUtil.blockWithinDeadline;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
 
-import java.time.Duration;
 import java.util.Map;
 import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -31,7 +31,7 @@ public class CompanyService {
         this.oracleQueryWebClient = oracleQueryWebClient;
     }
 
-    private Mono<CompanyDetails> toFetchCompanyProfileRequest( final String companyNumber, final String xRequestId ) {
+    public Mono<CompanyDetails> toFetchCompanyProfileRequest( final String companyNumber, final String xRequestId ) {
         return companyWebClient.get()
                 .uri( String.format( "/company/%s/company-detail", companyNumber ) )
                 .header( "X-Request-Id", xRequestId )
@@ -49,16 +49,16 @@ public class CompanyService {
     }
 
     public CompanyDetails fetchCompanyProfile( final String companyNumber ){
-        return toFetchCompanyProfileRequest( companyNumber, getXRequestId() ).block( Duration.ofSeconds( 20L ) );
+        return blockWithinDeadline( toFetchCompanyProfileRequest( companyNumber, getXRequestId() ) );
     }
 
     public Map<String, CompanyDetails> fetchCompanyProfiles( final Stream<AssociationDao> associations ) {
         final var xRequestId = getXRequestId();
-        return Flux.fromStream( associations )
+        return blockWithinDeadline( Flux.fromStream( associations )
                 .map( AssociationDao::getCompanyNumber )
+                .distinct()
                 .flatMap( companyNumber -> toFetchCompanyProfileRequest( companyNumber, xRequestId ) )
-                .collectMap( CompanyDetails::getCompanyNumber )
-                .block( Duration.ofSeconds( 20L ) );
+                .collectMap( CompanyDetails::getCompanyNumber ) );
     }
 
     private Mono<RegisteredEmailAddressJson> toFetchRegisteredEmailAddressRequest(final String companyNumber,final String xRequestId ) {
@@ -78,19 +78,19 @@ public class CompanyService {
                 .doFinally( signalType -> LOGGER.infoContext( xRequestId, String.format( "Finished request to oracle-query-api for company: %s.", companyNumber ), null ) );
     }
 
+    public Mono<String> toFetchRegisteredEmailAddress( final String companyNumber, final String xRequestId ){
+        return toFetchRegisteredEmailAddressRequest( companyNumber, xRequestId )
+                .mapNotNull( RegisteredEmailAddressJson::getRegisteredEmailAddress )
+                .doOnSuccess( registeredEmailAddress -> {
+                    if ( registeredEmailAddress == null || registeredEmailAddress.isBlank() ) {
+                        LOGGER.infoContext( xRequestId, String.format( "Registered email address not found or blank for company: %s", companyNumber ), null );
+                    } else {
+                        LOGGER.infoContext( xRequestId, String.format( "Retrieved registered email address for company: %s", companyNumber), null );
+                    }
+                } );
+    }
+
     public String fetchRegisteredEmailAddress( final String companyNumber ){
-        final var xRequestId = getXRequestId();
-        final var response = toFetchRegisteredEmailAddressRequest( companyNumber, xRequestId )
-                .block( Duration.ofSeconds( 20L ) );
-        final var registeredEmailAddress = response == null ? null : response.getRegisteredEmailAddress();
-        if ( registeredEmailAddress == null || registeredEmailAddress.isBlank() ) {
-            LOGGER.infoContext( xRequestId, String.format( "Registered email address not found or blank for company: %s", companyNumber ), null );
-        } else {
-            LOGGER.infoContext( xRequestId, String.format( "Retrieved registered email address for company: %s", companyNumber), null );
-        }
-        return registeredEmailAddress;
+        return blockWithinDeadline( toFetchRegisteredEmailAddress( companyNumber, getXRequestId() ) );
     }
 }
-
-
-
@@ -0,0 +1,225 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ Limits how many emails are being prepared and sent at once, across every fan-out in the service. Emails are queued in
+ one of two lanes: {@link Lane#DIRECT} for the user that an event is about (such as the invitee or the removed user) and
+ {@link Lane#BYSTANDER} for everyone else at the company who is notified. Direct emails always start first.
+
+ At most email.scheduler.max-concurrency emails are in flight, and at most email.scheduler.max-concurrency-per-company
+ of those belong to the same company. Within a lane, companies take turns, so a company with thousands of users does
+ not hold up the emails of a company with a handful. At most email.scheduler.max-queued emails wait in the queue;
+ emails beyond that are rejected and logged. When email.scheduler.enabled is false, emails are passed through
+ untouched.
+ */
+@Component
+public class EmailFanOutScheduler {
+
+    public enum Lane { DIRECT, BYSTANDER }
+
+    private static final class Task {
+
+        private final Lane lane;
+        private final String companyNumber;
+        private final Mono<Void> email;
+        private final MonoSink<Void> sink;
+        private final long enqueuedAt = System.nanoTime();
+        private final AtomicReference<Disposable> subscription = new AtomicReference<>();
+        private volatile boolean cancelled;
+
+        private Task( final Lane lane, final String companyNumber, final Mono<Void> email, final MonoSink<Void> sink ) {
+            this.lane = lane;
+            this.companyNumber = companyNumber;
+            this.email = email;
+            this.sink = sink;
+        }
+
+        private void cancel(){
+            cancelled = true;
+            final var disposable = subscription.get();
+            if ( Objects.nonNull( disposable ) ){
+                disposable.dispose();
+            }
+        }
+
+    }
+
+    private static final class LaneQueue {
+
+        private final Map<String, Deque<Task>> tasksByCompany = new HashMap<>();
+        private final Deque<String> companies = new ArrayDeque<>();
+        private int size;
+
+        private void add( final Task task ){
+            tasksByCompany.computeIfAbsent( task.companyNumber, companyNumber -> {
+                companies.addLast( companyNumber );
+                return new ArrayDeque<>();
+            } ).addLast( task );
+            size++;
+        }
+
+        private Task poll( final Predicate<String> hasCapacity ){
+            for ( int turn = 0, turns = companies.size(); turn < turns; turn++ ){
+                final var companyNumber = companies.pollFirst();
+                if ( !hasCapacity.test( companyNumber ) ){
+                    companies.addLast( companyNumber );
+                    continue;
+                }
+                final var tasks = tasksByCompany.get( companyNumber );
+                final var task = tasks.pollFirst();
+                size--;
+                if ( tasks.isEmpty() ){
+                    tasksByCompany.remove( companyNumber );
+                } else {
+                    companies.addLast( companyNumber );
+                }
+                return task;
+            }
+            return null;
+        }
+
+    }
+
+    private final boolean enabled;
+    private final int maxConcurrency;
+    private final int maxConcurrencyPerCompany;
+    private final int maxQueued;
+
+    private final Map<Lane, LaneQueue> lanes = new EnumMap<>( Lane.class );
+    private final Map<String, Integer> inFlightByCompany = new HashMap<>();
+    private int inFlight;
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    private final Map<Lane, Timer> waitTimers = new EnumMap<>( Lane.class );
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public EmailFanOutScheduler( final MeterRegistry meterRegistry,
+                                 @Value( "${email.scheduler.enabled:false}" ) final boolean enabled,
+                                 @Value( "${email.scheduler.max-concurrency:32}" ) final int maxConcurrency,
+                                 @Value( "${email.scheduler.max-concurrency-per-company:4}" ) final int maxConcurrencyPerCompany,
+                                 @Value( "${email.scheduler.max-queued:100000}" ) final int maxQueued ) {
+        this.enabled = enabled;
+        this.maxConcurrency = maxConcurrency;
+        this.maxConcurrencyPerCompany = maxConcurrencyPerCompany;
+        this.maxQueued = maxQueued;
+        for ( final Lane lane: Lane.values() ){
+            lanes.put( lane, new LaneQueue() );
+            waitTimers.put( lane, Timer.builder( "email.scheduler.wait" ).tag( "lane", lane.name().toLowerCase() ).register( meterRegistry ) );
+            Gauge.builder( "email.scheduler.queued", this, scheduler -> scheduler.queued( lane ) ).tag( "lane", lane.name().toLowerCase() ).register( meterRegistry );
+        }
+        Gauge.builder( "email.scheduler.in-flight", this, EmailFanOutScheduler::inFlight ).register( meterRegistry );
+        this.rejectedCounter = meterRegistry.counter( "email.scheduler.rejected" );
+    }
+
+    private synchronized double queued( final Lane lane ){
+        return lanes.get( lane ).size;
+    }
+
+    private synchronized double inFlight(){
+        return inFlight;
+    }
+
+    public Mono<Void> schedule( final Lane lane, final String companyNumber, final String xRequestId, final Mono<Void> email ){
+        if ( !enabled ){
+            return email;
+        }
+
+        return Mono.create( sink -> {
+            final var task = new Task( lane, Objects.requireNonNullElse( companyNumber, "" ), email, sink );
+            sink.onCancel( task::cancel );
+            if ( !enqueue( task ) ){
+                rejectedCounter.increment();
+                final var exception = new IllegalStateException( String.format( "Rejected %s email for company %s, because %d emails are already queued", lane.name().toLowerCase(), companyNumber, maxQueued ) );
+                LOGGER.errorContext( xRequestId, exception, null );
+                sink.error( exception );
+                return;
+            }
+            drain();
+        } );
+    }
+
+    private synchronized boolean enqueue( final Task task ){
+        if ( lanes.values().stream().mapToInt( queue -> queue.size ).sum() >= maxQueued ){
+            return false;
+        }
+        lanes.get( task.lane ).add( task );
+        return true;
+    }
+
+    private synchronized Task next(){
+        if ( inFlight >= maxConcurrency ){
+            return null;
+        }
+        for ( final LaneQueue queue: lanes.values() ){
+            final var task = queue.poll( companyNumber -> inFlightByCompany.getOrDefault( companyNumber, 0 ) < maxConcurrencyPerCompany );
+            if ( Objects.nonNull( task ) ){
+                inFlight++;
+                inFlightByCompany.merge( task.companyNumber, 1, Integer::sum );
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void release( final Task task ){
+        inFlight--;
+        inFlightByCompany.computeIfPresent( task.companyNumber, ( companyNumber, count ) -> count > 1 ? count - 1 : null );
+    }
+
+    private void drain(){
+        if ( drainRequests.getAndIncrement() != 0 ){
+            return;
+        }
+        var missed = 1;
+        do {
+            Task task;
+            while ( Objects.nonNull( task = next() ) ){
+                start( task );
+            }
+            missed = drainRequests.addAndGet( -missed );
+        } while ( missed != 0 );
+    }
+
+    private void start( final Task task ){
+        if ( task.cancelled ){
+            release( task );
+            return;
+        }
+
+        waitTimers.get( task.lane ).record( System.nanoTime() - task.enqueuedAt, TimeUnit.NANOSECONDS );
+        task.subscription.set( task.email
+                .doFinally( signal -> {
+                    release( task );
+                    drain();
+                } )
+                .contextWrite( task.sink.contextView() )
+                .subscribe( null, task.sink::error, task.sink::success ) );
+        if ( task.cancelled ){
+            task.cancel();
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty( name = "email.outbox.enabled", havingValue = "true" )
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService emailOutboxService;
+
+    @Autowired
+    public EmailOutboxDispatcher( final EmailOutboxService emailOutboxService ) {
+        this.emailOutboxService = emailOutboxService;
+    }
+
+    @Scheduled( fixedDelayString = "${email.outbox.poll-interval-ms:1000}" )
+    public void dispatchPendingEmails(){
+        try {
+            int dispatched;
+            do {
+                dispatched = emailOutboxService.dispatchBatch();
+            } while ( dispatched > 0 && !Thread.currentThread().isInterrupted() );
+        } catch ( Exception exception ){
+            LOGGER.errorContext( "email-outbox", new Exception( String.format( "Failed to dispatch pending emails: %s", exception.getMessage() ) ), null );
+        }
+    }
+
+}
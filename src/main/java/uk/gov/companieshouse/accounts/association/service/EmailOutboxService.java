@@ -0,0 +1,238 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import static uk.gov.companieshouse.accounts.association.models.EmailOutboxDao.DEAD_LETTER;
+import static uk.gov.companieshouse.accounts.association.models.EmailOutboxDao.PENDING;
+import static uk.gov.companieshouse.accounts.association.models.EmailOutboxDao.SENT;
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.client.EmailClient;
+import uk.gov.companieshouse.accounts.association.models.EmailEventDao;
+import uk.gov.companieshouse.accounts.association.models.EmailOutboxDao;
+import uk.gov.companieshouse.accounts.association.repositories.EmailOutboxRepository;
+import uk.gov.companieshouse.api.chskafka.SendEmail;
+
+/**
+ Durable hand-off point between composing an email and posting it to the CHS Kafka API. Emails are written to the
+ email_outbox collection as pending, and are claimed in batches by {@link #dispatchBatch()}.
+
+ Changes to associations are recorded as events rather than emails, in the same transaction as the change, and are
+ expanded into emails by the handler registered with {@link #onEvent(Function)}. Each of those emails carries a
+ dedupe_key derived from the event, so expanding an event a second time does not enqueue the same email twice.
+
+ Claiming an email pushes its next_attempt_at forward by the lease duration and stamps it with a claim_token, so if an
+ instance dies mid-send the email becomes claimable again once the lease has expired. The lease is renewed against the
+ claim_token immediately before each send, so an email whose lease has been taken over by another instance is left to
+ that instance rather than sent twice; email.outbox.lease-ms must therefore exceed the email client's timeout. Failed
+ sends are retried with exponential backoff until email.outbox.max-attempts is reached, at which point the email is
+ moved to dead-letter.
+ */
+@Service
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final MongoTemplate mongoTemplate;
+    private final EmailClient emailClient;
+
+    private final int maxAttempts;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+
+    private final Counter enqueuedCounter;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadLetteredCounter;
+    private final Timer lagTimer;
+    private final AtomicLong pendingGauge;
+
+    private volatile Function<EmailOutboxDao, Mono<Void>> eventHandler = email -> Mono.error( new IllegalStateException( "No handler has been registered for email events" ) );
+
+    @Autowired
+    public EmailOutboxService( final EmailOutboxRepository emailOutboxRepository, final MongoTemplate mongoTemplate, final EmailClient emailClient, final MeterRegistry meterRegistry,
+                               @Value( "${email.outbox.max-attempts:8}" ) final int maxAttempts,
+                               @Value( "${email.outbox.batch-size:50}" ) final int batchSize,
+                               @Value( "${email.outbox.lease-ms:60000}" ) final long leaseMs,
+                               @Value( "${email.outbox.backoff-base-ms:1000}" ) final long backoffBaseMs,
+                               @Value( "${email.outbox.backoff-max-ms:300000}" ) final long backoffMaxMs ) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.emailClient = emailClient;
+        this.maxAttempts = maxAttempts;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis( leaseMs );
+        this.backoffBase = Duration.ofMillis( backoffBaseMs );
+        this.backoffMax = Duration.ofMillis( backoffMaxMs );
+        this.enqueuedCounter = meterRegistry.counter( "email.outbox.enqueued" );
+        this.sentCounter = meterRegistry.counter( "email.outbox.sent" );
+        this.retriedCounter = meterRegistry.counter( "email.outbox.retried" );
+        this.deadLetteredCounter = meterRegistry.counter( "email.outbox.dead.lettered" );
+        this.lagTimer = meterRegistry.timer( "email.outbox.lag" );
+        this.pendingGauge = meterRegistry.gauge( "email.outbox.pending", new AtomicLong() );
+    }
+
+    public void onEvent( final Function<EmailOutboxDao, Mono<Void>> eventHandler ){
+        this.eventHandler = eventHandler;
+    }
+
+    private static EmailOutboxDao toPendingEmail( final String xRequestId ){
+        final var now = LocalDateTime.now();
+        return new EmailOutboxDao()
+                .xRequestId( xRequestId )
+                .status( PENDING )
+                .attempts( 0 )
+                .nextAttemptAt( now )
+                .createdAt( now );
+    }
+
+    public EmailOutboxDao enqueue( final SendEmail sendEmail, final String xRequestId ){
+        return enqueue( sendEmail, xRequestId, null );
+    }
+
+    public EmailOutboxDao enqueue( final SendEmail sendEmail, final String xRequestId, final String dedupeKey ){
+        final var email = toPendingEmail( xRequestId )
+                .messageId( sendEmail.getMessageId() )
+                .appId( sendEmail.getAppId() )
+                .messageType( sendEmail.getMessageType() )
+                .emailAddress( sendEmail.getEmailAddress() )
+                .jsonData( sendEmail.getJsonData() )
+                .dedupeKey( dedupeKey );
+
+        try {
+            final var enqueuedEmail = emailOutboxRepository.insert( email );
+            enqueuedCounter.increment();
+            LOGGER.debugContext( xRequestId, String.format( "Enqueued %s email with message_id %s", sendEmail.getMessageType(), sendEmail.getMessageId() ), null );
+            return enqueuedEmail;
+        } catch ( DuplicateKeyException exception ){
+            LOGGER.debugContext( xRequestId, String.format( "Skipped %s email with dedupe_key %s because it has already been enqueued", sendEmail.getMessageType(), dedupeKey ), null );
+            return mongoTemplate.findOne( new Query( Criteria.where( "dedupeKey" ).is( dedupeKey ) ), EmailOutboxDao.class );
+        }
+    }
+
+    public EmailOutboxDao enqueue( final EmailEventDao event, final String xRequestId ){
+        final var email = toPendingEmail( xRequestId )
+                .messageId( UUID.randomUUID().toString() )
+                .messageType( event.getType() )
+                .event( event );
+
+        final var enqueuedEvent = emailOutboxRepository.insert( email );
+        enqueuedCounter.increment();
+        LOGGER.debugContext( xRequestId, String.format( "Enqueued %s event with message_id %s", event.getType(), email.getMessageId() ), null );
+        return enqueuedEvent;
+    }
+
+    /**
+     The dedupe_key for an email of the given type, to the given recipient, expanded from the given event.
+     */
+    public static String toDedupeKey( final String eventMessageId, final String messageType, final String emailAddress ){
+        return String.format( "%s:%s:%s", eventMessageId, messageType, emailAddress );
+    }
+
+    private EmailOutboxDao claimNext( final LocalDateTime now ){
+        final var query = new Query( Criteria.where( "status" ).is( PENDING ).and( "nextAttemptAt" ).lte( now ) ).with( Sort.by( "nextAttemptAt" ) );
+        final var update = new Update().set( "nextAttemptAt", now.plus( lease ) ).set( "claimToken", UUID.randomUUID().toString() ).inc( "attempts", 1 );
+        return mongoTemplate.findAndModify( query, update, FindAndModifyOptions.options().returnNew( true ), EmailOutboxDao.class );
+    }
+
+    public List<EmailOutboxDao> claimBatch(){
+        final var now = LocalDateTime.now();
+        final var emails = new ArrayList<EmailOutboxDao>( batchSize );
+        for ( var email = claimNext( now ); Objects.nonNull( email ); email = emails.size() < batchSize ? claimNext( now ) : null ){
+            emails.add( email );
+        }
+        return emails;
+    }
+
+    private static SendEmail toSendEmail( final EmailOutboxDao email ){
+        final var sendEmail = new SendEmail();
+        sendEmail.setMessageId( email.getMessageId() );
+        sendEmail.setAppId( email.getAppId() );
+        sendEmail.setMessageType( email.getMessageType() );
+        sendEmail.setEmailAddress( email.getEmailAddress() );
+        sendEmail.setJsonData( email.getJsonData() );
+        return sendEmail;
+    }
+
+    Duration computeBackoff( final int attempts ){
+        final var exponent = Math.min( Math.max( attempts - 1, 0 ), 30 );
+        final var backoff = backoffBase.multipliedBy( 1L << exponent );
+        return backoff.compareTo( backoffMax ) > 0 ? backoffMax : backoff;
+    }
+
+    private boolean updateEmail( final EmailOutboxDao email, final Update update ){
+        final var query = new Query( Criteria.where( "id" ).is( email.getId() ).and( "status" ).is( PENDING ).and( "claimToken" ).is( email.getClaimToken() ) );
+        return mongoTemplate.updateFirst( query, update, EmailOutboxDao.class ).getModifiedCount() > 0;
+    }
+
+    private boolean renewLease( final EmailOutboxDao email ){
+        if ( updateEmail( email, new Update().set( "nextAttemptAt", LocalDateTime.now().plus( lease ) ) ) ){
+            return true;
+        }
+        LOGGER.infoContext( email.getXRequestId(), String.format( "Skipped %s email with message_id %s because its lease has been taken over", email.getMessageType(), email.getMessageId() ), null );
+        return false;
+    }
+
+    private void send( final EmailOutboxDao email ){
+        if ( Objects.nonNull( email.getEvent() ) ){
+            eventHandler.apply( email ).block( lease );
+        } else {
+            emailClient.sendEmail( toSendEmail( email ), email.getXRequestId() );
+        }
+    }
+
+    public void dispatch( final EmailOutboxDao email ){
+        if ( !renewLease( email ) ){
+            return;
+        }
+
+        try {
+            send( email );
+            final var now = LocalDateTime.now();
+            updateEmail( email, new Update().set( "status", SENT ).set( "sentAt", now ).unset( "lastError" ) );
+            sentCounter.increment();
+            lagTimer.record( Duration.between( email.getCreatedAt(), now ) );
+        } catch ( Exception exception ){
+            if ( email.getAttempts() >= maxAttempts ){
+                updateEmail( email, new Update().set( "status", DEAD_LETTER ).set( "lastError", exception.getMessage() ) );
+                deadLetteredCounter.increment();
+                LOGGER.errorContext( email.getXRequestId(), new Exception( String.format( "Moved %s email with message_id %s to dead-letter after %d attempts: %s", email.getMessageType(), email.getMessageId(), email.getAttempts(), exception.getMessage() ) ), null );
+                return;
+            }
+
+            final var backoff = computeBackoff( email.getAttempts() );
+            updateEmail( email, new Update().set( "nextAttemptAt", LocalDateTime.now().plus( backoff ) ).set( "lastError", exception.getMessage() ) );
+            retriedCounter.increment();
+            LOGGER.infoContext( email.getXRequestId(), String.format( "Failed to send %s email with message_id %s on attempt %d; retrying in %d ms", email.getMessageType(), email.getMessageId(), email.getAttempts(), backoff.toMillis() ), null );
+        }
+    }
+
+    public int dispatchBatch(){
+        final var emails = claimBatch();
+        emails.forEach( this::dispatch );
+        pendingGauge.set( emailOutboxRepository.countEmailsWithStatus( PENDING ) );
+        return emails.size();
+    }
+
+}
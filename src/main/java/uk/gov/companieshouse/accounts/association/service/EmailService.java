@@ -1,17 +1,31 @@
 package uk.gov.companieshouse.accounts.association.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
+import uk.gov.companieshouse.accounts.association.client.BatchingEmailClient;
 import uk.gov.companieshouse.accounts.association.client.EmailClient;
-import uk.gov.companieshouse.accounts.association.exceptions.InternalServerErrorRuntimeException;
+import uk.gov.companieshouse.accounts.association.client.ReactiveEmailClient;
 import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
 import uk.gov.companieshouse.accounts.association.factory.SendEmailFactory;
+import uk.gov.companieshouse.accounts.association.factory.SendEmailTemplate;
 import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+import uk.gov.companieshouse.accounts.association.models.EmailEventDao;
+import uk.gov.companieshouse.accounts.association.models.EmailOutboxDao;
 import uk.gov.companieshouse.accounts.association.models.InvitationDao;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
 import uk.gov.companieshouse.accounts.association.models.context.RequestContextData;
 import uk.gov.companieshouse.accounts.association.models.email.EmailNotification;
 import uk.gov.companieshouse.accounts.association.models.email.builders.AuthCodeConfirmationEmailBuilder;
@@ -24,10 +38,13 @@ import uk.gov.companieshouse.accounts.association.models.email.builders.Invitati
 import uk.gov.companieshouse.accounts.association.models.email.builders.InvitationRejectedEmailBuilder;
 import uk.gov.companieshouse.accounts.association.models.email.builders.InviteCancelledEmailBuilder;
 import uk.gov.companieshouse.accounts.association.models.email.builders.InviteEmailBuilder;
+import uk.gov.companieshouse.accounts.association.models.email.builders.NotificationDigestEmailBuilder;
 import uk.gov.companieshouse.accounts.association.models.email.builders.ReaDigitalAuthChangedEmailBuilder;
 import uk.gov.companieshouse.accounts.association.models.email.builders.RemovalOfOwnMigratedEmailBuilder;
 import uk.gov.companieshouse.accounts.association.models.email.builders.YourAuthorisationRemovedEmailBuilder;
 import uk.gov.companieshouse.accounts.association.models.email.data.EmailData;
+import uk.gov.companieshouse.accounts.association.profiling.EmailSendEvent;
+import uk.gov.companieshouse.accounts.association.service.NotificationDigester.PendingNotification;
 import uk.gov.companieshouse.accounts.association.utils.MessageType;
 import uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum;
 import uk.gov.companieshouse.api.accounts.user.model.User;
@@ -36,14 +53,22 @@ import uk.gov.companieshouse.api.company.CompanyDetails;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static uk.gov.companieshouse.accounts.association.models.Constants.ADMIN_UPDATE_PERMISSION;
 import static uk.gov.companieshouse.accounts.association.models.Constants.COMPANIES_HOUSE;
 import static uk.gov.companieshouse.accounts.association.models.context.RequestContext.setRequestContext;
+import static uk.gov.companieshouse.accounts.association.service.EmailFanOutScheduler.Lane.BYSTANDER;
+import static uk.gov.companieshouse.accounts.association.service.EmailFanOutScheduler.Lane.DIRECT;
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.AUTHORISATION_REMOVED_MESSAGE_TYPE;
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.AUTH_CODE_CONFIRMATION_MESSAGE_TYPE;
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.DELEGATED_REMOVAL_OF_MIGRATED;
@@ -54,10 +79,12 @@ import static uk.gov.companieshouse.accounts.association.utils.MessageType.INVIT
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.INVITATION_REJECTED_MESSAGE_TYPE;
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.INVITE_CANCELLED_MESSAGE_TYPE;
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.INVITE_MESSAGE_TYPE;
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.NOTIFICATION_DIGEST_MESSAGE_TYPE;
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.REA_DIGITAL_AUTHORISATION_ADDED_MESSAGE_TYPE;
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.REA_DIGITAL_AUTHORISATION_REMOVED_MESSAGE_TYPE;
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.REMOVAL_OF_OWN_MIGRATED;
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.YOUR_AUTHORISATION_REMOVED_MESSAGE_TYPE;
+import static uk.gov.companieshouse.accounts.association.utils.ReactorUtil.fromBlockingRunnable;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getEricIdentity;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getUser;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
@@ -66,6 +93,14 @@ import static uk.gov.companieshouse.accounts.association.utils.RequestContextUti
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.isOAuth2Request;
 import static uk.gov.companieshouse.accounts.association.utils.StaticPropertyUtil.APPLICATION_NAMESPACE;
 import static uk.gov.companieshouse.accounts.association.utils.StaticPropertyUtil.DAYS_SINCE_INVITE_TILL_EXPIRES;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.CACHE_HITS;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.CACHE_MISSES;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.COMPANY_NUMBER;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.EVENT;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.MESSAGE_TYPE;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.RECIPIENTS;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.tracedFlux;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.tracedMono;
 import static uk.gov.companieshouse.accounts.association.utils.UserUtil.isRequestingUser;
 import static uk.gov.companieshouse.accounts.association.utils.UserUtil.mapToDisplayValue;
 import static uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum.AWAITING_APPROVAL;
@@ -80,42 +115,136 @@ public class EmailService {
     @Value( "${invitation.url}" )
     private String invitationLink;
 
+    @Value( "${email.outbox.enabled:false}" )
+    private boolean outboxEnabled;
+
+    @Value( "${email.batching.enabled:false}" )
+    private boolean batchingEnabled;
+
+    @Value( "${email.reactive-transport.enabled:false}" )
+    private boolean reactiveTransportEnabled;
+
+    @Value( "${email.rea-cache.enabled:false}" )
+    private boolean reaCacheEnabled;
+
+    @Value( "${email.templated-payloads.enabled:false}" )
+    private boolean templatedPayloadsEnabled;
+
     protected static final Logger LOG = LoggerFactory.getLogger( APPLICATION_NAMESPACE );
 
+    private static final String EVENT_MESSAGE_ID = "email-event-message-id";
+
     private final UsersService usersService;
     private final CompanyService companyService;
     private final AssociationsService associationsService;
     private final EmailClient emailClient;
     private final SendEmailFactory sendEmailFactory;
+    private final EmailOutboxService emailOutboxService;
+    private final ObjectProvider<BatchingEmailClient> batchingEmailClient;
+    private final ReactiveEmailClient reactiveEmailClient;
+    private final RegisteredEmailAddressCache registeredEmailAddressCache;
+    private final NotificationDigester notificationDigester;
+    private final EmailFanOutScheduler emailFanOutScheduler;
+    private final BackgroundTaskRegistry backgroundTaskRegistry;
+    private final MeterRegistry meterRegistry;
     @Autowired
-    public EmailService(final UsersService usersService, final CompanyService companyService, final AssociationsService associationsService, EmailClient emailClient, SendEmailFactory sendEmailFactory) {
+    public EmailService(final UsersService usersService, final CompanyService companyService, final AssociationsService associationsService, EmailClient emailClient, SendEmailFactory sendEmailFactory, final EmailOutboxService emailOutboxService, final ObjectProvider<BatchingEmailClient> batchingEmailClient, final ReactiveEmailClient reactiveEmailClient, final RegisteredEmailAddressCache registeredEmailAddressCache, final NotificationDigester notificationDigester, final EmailFanOutScheduler emailFanOutScheduler, final BackgroundTaskRegistry backgroundTaskRegistry, final MeterRegistry meterRegistry) {
         this.usersService = usersService;
         this.companyService = companyService;
         this.associationsService = associationsService;
         this.emailClient = emailClient;
         this.sendEmailFactory = sendEmailFactory;
+        this.emailOutboxService = emailOutboxService;
+        this.batchingEmailClient = batchingEmailClient;
+        this.reactiveEmailClient = reactiveEmailClient;
+        this.registeredEmailAddressCache = registeredEmailAddressCache;
+        this.notificationDigester = notificationDigester;
+        this.emailFanOutScheduler = emailFanOutScheduler;
+        this.backgroundTaskRegistry = backgroundTaskRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void registerDigestHandler(){
+        notificationDigester.onFlush( this::toSendDigestRequest );
+    }
+
+    @PostConstruct
+    void registerEmailEventHandler(){
+        emailOutboxService.onEvent( this::toSendEventEmails );
+    }
+
+    public boolean isOutboxEnabled(){
+        return outboxEnabled;
+    }
+
+    /**
+     Records the emails for a change to an association in the outbox. This must be called within the same transaction as
+     the change itself, and the caller should only send the emails itself when {@link #isOutboxEnabled()} is false.
+     */
+    public void recordEmailEvent( final EmailEventDao event ){
+        emailOutboxService.enqueue( event, getXRequestId() );
+    }
+
+    Mono<Void> toSendEventEmails( final EmailOutboxDao email ){
+        final var event = email.getEvent();
+        final var xRequestId = email.getXRequestId();
+        final var companyName = Mono.justOrEmpty( event.getCompanyName() );
+        final Mono<Void> emails = switch ( event.getType() ){
+            case EmailEventDao.STATUS_UPDATE -> {
+                setRequestContext( event.toRequestContext() );
+                try {
+                    yield toSendStatusUpdateEmails( event.toAssociation(), event.toTargetUser(), StatusEnum.fromValue( event.getNewStatus() ) ).then();
+                } finally {
+                    RequestContext.clear();
+                }
+            }
+            case EmailEventDao.AUTH_CODE_CONFIRMATION -> Mono.just( event.getCompanyNumber() )
+                    .flatMapMany( associationsService::fetchConfirmedUserIds )
+                    .flatMap( sendAuthCodeConfirmationEmailToAssociatedUser( xRequestId, event.getCompanyNumber(), companyName, event.getTargetUserDisplayValue() ) )
+                    .then( sendReaDigitalAuthorisationAddedEmail( xRequestId, event.getCompanyNumber(), companyName ) );
+            case EmailEventDao.INVITATION -> sendInviteEmail( xRequestId, event.getCompanyNumber(), companyName, event.getRequestingUserDisplayValue(), event.getInvitationExpiryTimestamp(), event.getInviteeEmail() )
+                    .then( Mono.just( event.getCompanyNumber() )
+                            .flatMapMany( associationsService::fetchConfirmedUserIds )
+                            .flatMap( sendInvitationEmailToAssociatedUser( xRequestId, event.getCompanyNumber(), companyName, event.getRequestingUserDisplayValue(), event.getTargetUserDisplayValue() ) )
+                            .then() );
+            default -> Mono.error( new IllegalArgumentException( String.format( "Unknown email event type: %s", event.getType() ) ) );
+        };
+        return emails.contextWrite( Context.of( EVENT_MESSAGE_ID, email.getMessageId() ) );
+    }
+
+    @PreDestroy
+    void flushPendingDigests(){
+        notificationDigester.flushAll( Duration.ofSeconds( 10L ) );
     }
 
     @Async
     public void sendStatusUpdateEmails( final AssociationDao targetAssociation, final User targetUser, final StatusEnum newStatus, final
             RequestContextData requestContextData) {
-        setRequestContext(requestContextData);
+        setRequestContext( Optional.ofNullable( requestContextData ).map( RequestContextData::withoutDeadline ).orElse( null ) );
+        backgroundTaskRegistry.track( "status-update-emails", getXRequestId(), toSendStatusUpdateEmails( targetAssociation, targetUser, newStatus ) );
+    }
 
+    private Flux<Object> toSendStatusUpdateEmails( final AssociationDao targetAssociation, final User targetUser, final StatusEnum newStatus ){
         final var xRequestId = getXRequestId();
         final var requestingUserDisplayValue = isAPIKeyRequest() || hasAdminPrivilege( ADMIN_UPDATE_PERMISSION ) ? COMPANIES_HOUSE : mapToDisplayValue( getUser(), getUser().getEmail() );
         final var targetUserDisplayValue = mapToDisplayValue( targetUser, targetAssociation.getUserEmail() );
         final var targetUserEmail = Optional.ofNullable( targetUser ).map( User::getEmail ).orElse( targetAssociation.getUserEmail() );
         final var oldStatus = targetAssociation.getStatus();
+        final var event = String.format( "%s_to_%s", oldStatus, newStatus.getValue() );
 
-        final var cachedCompanyName = Mono
-                .just( targetAssociation.getCompanyNumber() )
-                .map( companyService::fetchCompanyProfile )
+        final var cachedCompanyName = companyService
+                .toFetchCompanyProfileRequest( targetAssociation.getCompanyNumber(), xRequestId )
                 .map( CompanyDetails::getCompanyName )
                 .cache();
 
-        final var cachedAssociatedUsers = Mono
-                .just( targetAssociation.getCompanyNumber() )
-                .flatMapMany( associationsService::fetchConfirmedUserIds )
+        final var recipients = new RecipientDirectory( usersService, xRequestId, Stream.of( targetUser, isOAuth2Request() ? getUser() : null ) );
+
+        final var cachedAssociatedUsers = tracedFlux( "email.recipients.resolve", Attributes.of( COMPANY_NUMBER, targetAssociation.getCompanyNumber() ), span -> recipients
+                .toFetchRecipients( Mono.just( targetAssociation.getCompanyNumber() ).flatMapMany( associationsService::fetchConfirmedUserIds ) )
+                .map( User::getUserId )
+                .transform( userIds -> toRecordFanOut( event, span, userIds ) )
+                .doOnComplete( () -> span.setAllAttributes( Attributes.of( CACHE_HITS, (long) recipients.cacheHits(), CACHE_MISSES, (long) recipients.cacheMisses() ) ) ) )
                 .cache();
 
         final var cachedInvitedByDisplayName = Mono
@@ -124,7 +253,7 @@ public class EmailService {
                 .flatMapMany( Flux::fromIterable )
                 .reduce( (firstInvitation, secondInvitation) -> firstInvitation.getInvitedAt().isAfter( secondInvitation.getInvitedAt() ) ? firstInvitation : secondInvitation )
                 .map( InvitationDao::getInvitedBy )
-                .map( user -> usersService.fetchUserDetails( user, xRequestId ) )
+                .flatMap( recipients::toFetchRecipient )
                 .map( user -> Optional.ofNullable( user.getDisplayName() ).orElse( user.getEmail() ) )
                 .cache();
 
@@ -139,73 +268,141 @@ public class EmailService {
 
         var emails = Flux.empty();
         if ( isRejectingInvitation ) {
-            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendInvitationRejectedEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue ) ) );
+            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendInvitationRejectedEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, recipients::toFetchRecipient ) ) );
         } else if ( authorisationIsBeingRemoved ) {
-            emails = emails.concatWith( sendAuthorisationRemovedEmailToRemovedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetAssociation.getUserId() ) );
-            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendAuthorisationRemovedEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetUserDisplayValue ) ) );
+            emails = emails.concatWith( sendAuthorisationRemovedEmailToRemovedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetAssociation.getUserId(), recipients::toFetchRecipient ) );
+            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendAuthorisationRemovedEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetUserDisplayValue, recipients::toFetchRecipient ) ) );
             emails = emails.concatWith( sendReaDigitalAuthorisationRemovedEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName ) );
         } else if ( isAcceptingInvitation ) {
-            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendInvitationAcceptedEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, cachedInvitedByDisplayName, requestingUserDisplayValue ) ) );
+            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendInvitationAcceptedEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, cachedInvitedByDisplayName, requestingUserDisplayValue, recipients::toFetchRecipient ) ) );
             emails = emails.concatWith( sendReaDigitalAuthorisationAddedEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName ) );
         } else if ( isCancellingAnotherUsersInvitation ) {
-            emails = emails.concatWith( sendInviteCancelledEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetAssociation ) );
-            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendInvitationCancelledEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetUserDisplayValue ) ) );
+            emails = emails.concatWith( sendInviteCancelledEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetAssociation, recipients::toFetchRecipient ) );
+            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendInvitationCancelledEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetUserDisplayValue, recipients::toFetchRecipient ) ) );
         } else if ( isRemovingAnotherUsersMigratedAssociation ) {
             emails = emails.concatWith( sendDelegatedRemovalOfMigratedEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetUserEmail ) );
-            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendDelegatedRemovalOfMigratedBatchEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetUserDisplayValue ) ) );
+            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendDelegatedRemovalOfMigratedBatchEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetUserDisplayValue, recipients::toFetchRecipient ) ) );
         } else if ( isRemovingOwnMigratedAssociation ) {
-            emails = emails.concatWith( sendRemoveOfOwnMigratedEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, getEricIdentity() ) );
-            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendDelegatedRemovalOfMigratedBatchEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetUserDisplayValue ) ) );
+            emails = emails.concatWith( sendRemoveOfOwnMigratedEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, getEricIdentity(), recipients::toFetchRecipient ) );
+            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendDelegatedRemovalOfMigratedBatchEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetUserDisplayValue, recipients::toFetchRecipient ) ) );
         } else if ( isInvitingUser ) {
             final var invitationExpiryTimestamp = LocalDateTime.now().plusDays( DAYS_SINCE_INVITE_TILL_EXPIRES ).toString();
             emails = emails.concatWith( sendInviteEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, invitationExpiryTimestamp, targetUserEmail ) );
-            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendInvitationEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetUserDisplayValue ) ) );
+            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendInvitationEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, requestingUserDisplayValue, targetUserDisplayValue, recipients::toFetchRecipient ) ) );
         } else if ( isConfirmingWithAuthCode ){
-            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendAuthCodeConfirmationEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, targetUserDisplayValue ) ) );
+            emails = emails.concatWith( cachedAssociatedUsers.flatMap( sendAuthCodeConfirmationEmailToAssociatedUser( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName, targetUserDisplayValue, recipients::toFetchRecipient ) ) );
             emails = emails.concatWith( sendReaDigitalAuthorisationAddedEmail( xRequestId, targetAssociation.getCompanyNumber(), cachedCompanyName ) );
         }
-        emails.subscribe();
+        final var fanOut = emails;
+        return tracedFlux( "email.status-update", Attributes.of( EVENT, event, COMPANY_NUMBER, targetAssociation.getCompanyNumber() ), span -> fanOut );
+    }
+
+    private Flux<String> toRecordFanOut( final String event, final Span span, final Flux<String> userIds ){
+        return Flux.defer( () -> {
+            final var recipients = new AtomicLong();
+            return userIds
+                    .doOnNext( userId -> recipients.incrementAndGet() )
+                    .doOnComplete( () -> {
+                        span.setAttribute( RECIPIENTS, recipients.get() );
+                        DistributionSummary.builder( "email.fanout.recipients" )
+                                .tag( "event", event )
+                                .serviceLevelObjectives( 1, 10, 100, 1_000, 10_000 )
+                                .register( meterRegistry )
+                                .record( recipients.get() );
+                    } );
+        } );
     }
 
-    private void sendEmail(final String xRequestId, final MessageType messageType, final EmailData emailData, final EmailNotification logMessageSupplier) {
-        try {
-            SendEmail sendEmail = sendEmailFactory.createSendEmail(emailData, messageType.getValue());
-            emailClient.sendEmail(sendEmail, xRequestId);
-            LOG.infoContext( xRequestId, logMessageSupplier.toMessage(), null );
-        } catch ( Exception exception ){
-            LOG.errorContext( xRequestId, new Exception( logMessageSupplier.toMessageSendingFailureLoggingMessage() ), null );
-            throw exception;
+    private Mono<Void> toSendEmail( final String xRequestId, final SendEmail sendEmail ){
+        if ( outboxEnabled ){
+            return Mono.deferContextual( context -> fromBlockingRunnable( () -> emailOutboxService.enqueue( sendEmail, xRequestId, context.<String>getOrEmpty( EVENT_MESSAGE_ID )
+                    .map( eventMessageId -> EmailOutboxService.toDedupeKey( eventMessageId, sendEmail.getMessageType(), sendEmail.getEmailAddress() ) )
+                    .orElse( null ) ) ) );
+        } else if ( batchingEnabled ){
+            return batchingEmailClient.getObject().submit( sendEmail, xRequestId );
+        } else if ( reactiveTransportEnabled ){
+            return reactiveEmailClient.toSendEmailRequest( sendEmail, xRequestId );
         }
+        return fromBlockingRunnable( () -> emailClient.sendEmail( sendEmail, xRequestId ) );
     }
 
-    private Mono<Void> sendReaDigitalAuthorisationChangedEmail(final String xRequestId, final String companyNumber, final Mono<String> companyName, final MessageType messageType) {
-        final String rea;
-        try {
-            rea = companyService.fetchRegisteredEmailAddress(companyNumber);
-        } catch (NotFoundRuntimeException e) {
-            LOG.infoContext(xRequestId, String.format("Registered email address not found for company: %s; skipping REA email.", companyNumber), null);
-            return Mono.empty();
-        } catch (InternalServerErrorRuntimeException e) {
-            LOG.errorContext(xRequestId, new Exception(String.format("Failed to retrieve REA for company: %s; skipping REA email.", companyNumber), e), null);
-            return Mono.empty();
+    private Mono<Void> toSendEmailRequest( final String xRequestId, final MessageType messageType, final EmailData emailData, final EmailNotification logMessageSupplier ) {
+        return toSendEmailRequest( xRequestId, messageType, emailData, logMessageSupplier, () -> sendEmailFactory.createSendEmail( emailData, messageType.getValue() ) );
+    }
+
+    private Mono<Void> toSendEmailRequest( final String xRequestId, final MessageType messageType, final EmailData emailData, final EmailNotification logMessageSupplier, final AtomicReference<SendEmailTemplate> payloadTemplate ) {
+        if ( !templatedPayloadsEnabled ){
+            return toSendEmailRequest( xRequestId, messageType, emailData, logMessageSupplier );
         }
-        if (rea == null || rea.isBlank()) {
-            return Mono.empty();
+        return toSendEmailRequest( xRequestId, messageType, emailData, logMessageSupplier, () -> payloadTemplate
+                .updateAndGet( template -> Objects.nonNull( template ) ? template : sendEmailFactory.createSendEmailTemplate( emailData, messageType.getValue() ) )
+                .forRecipient( emailData.getTo() ) );
+    }
+
+    private Mono<Void> toSendOrDigestEmailRequest( final String xRequestId, final String companyNumber, final String companyName, final MessageType messageType, final EmailData emailData, final EmailNotification logMessageSupplier, final AtomicReference<SendEmailTemplate> payloadTemplate ) {
+        return Mono.defer( () -> {
+            if ( !outboxEnabled && notificationDigester.submit( new PendingNotification( emailData.getTo(), companyNumber, companyName, messageType, emailData, xRequestId ) ) ){
+                LOG.debugContext( xRequestId, String.format( "Held back %s notification for company %s to include in a digest.", messageType, companyNumber ), null );
+                return Mono.empty();
+            }
+            return toSendEmailRequest( xRequestId, messageType, emailData, logMessageSupplier, payloadTemplate );
+        } );
+    }
+
+    Mono<Void> toSendDigestRequest( final List<PendingNotification> notifications ){
+        final var latest = notifications.getLast();
+        if ( notifications.size() == 1 ){
+            final var logMessageSupplier = new EmailNotification( latest.messageType(), APPLICATION_NAMESPACE, latest.recipient(), latest.companyNumber() );
+            return toSendEmailRequest( latest.xRequestId(), latest.messageType(), latest.emailData(), logMessageSupplier );
         }
-        return Mono.just(new ReaDigitalAuthChangedEmailBuilder()
-                        .setRecipientEmail(rea)
-                        .setCompanyNumber(companyNumber))
-                .zipWith(companyName, ReaDigitalAuthChangedEmailBuilder::setCompanyName)
-                .map(ReaDigitalAuthChangedEmailBuilder::build)
-                .flatMap(emailData -> Mono.fromRunnable(() -> {
-                    final var logMessageSupplier = new EmailNotification(messageType, APPLICATION_NAMESPACE, emailData.getTo(), companyNumber);
-                    try {
-                        sendEmail(xRequestId, messageType, emailData, logMessageSupplier);
-                    } catch (Exception ex) {
-                        LOG.errorContext(xRequestId, new Exception(String.format("Failed sending REA email for company: %s; continuing without failing request.", companyNumber), ex), null);
-                    }
-                }))
-                .then();
+
+        final var builder = new NotificationDigestEmailBuilder()
+                .setRecipientEmail( latest.recipient() )
+                .setCompanyName( latest.companyName() )
+                .setCompanyNumber( latest.companyNumber() );
+        notifications.forEach( notification -> builder.addNotification( notification.messageType(), notification.emailData() ) );
+
+        final var emailData = builder.build();
+        final var logMessageSupplier = new EmailNotification( NOTIFICATION_DIGEST_MESSAGE_TYPE, APPLICATION_NAMESPACE, emailData.getTo(), latest.companyNumber() );
+        return toSendEmailRequest( latest.xRequestId(), NOTIFICATION_DIGEST_MESSAGE_TYPE, emailData, logMessageSupplier );
+    }
+
+    private Mono<Void> toSendEmailRequest( final String xRequestId, final MessageType messageType, final EmailData emailData, final EmailNotification logMessageSupplier, final Callable<SendEmail> sendEmailSupplier ) {
+        return tracedMono( "email.send", Attributes.of( MESSAGE_TYPE, messageType.getValue() ), span -> Mono.defer( () -> {
+            final var event = EmailSendEvent.start( messageType.getValue(), logMessageSupplier.getCompanyNumber() );
+            return Mono.fromCallable( sendEmailSupplier )
+                    .flatMap( sendEmail -> toSendEmail( xRequestId, sendEmail ) )
+                    .doOnSuccess( onSuccess -> LOG.infoContext( xRequestId, logMessageSupplier.toMessage(), null ) )
+                    .doOnError( exception -> LOG.errorContext( xRequestId, new Exception( logMessageSupplier.toMessageSendingFailureLoggingMessage() ), null ) )
+                    .doFinally( signal -> event.finish( SignalType.ON_COMPLETE.equals( signal ) ) );
+        } ) );
+    }
+
+    private Mono<Void> sendReaDigitalAuthorisationChangedEmail(final String xRequestId, final String companyNumber, final Mono<String> companyName, final MessageType messageType) {
+        return emailFanOutScheduler.schedule( DIRECT, companyNumber, xRequestId, Mono.defer( () -> reaCacheEnabled ? registeredEmailAddressCache.toFetchRegisteredEmailAddress( companyNumber, xRequestId ) : companyService.toFetchRegisteredEmailAddress( companyNumber, xRequestId ) )
+                .onErrorResume( NotFoundRuntimeException.class, exception -> {
+                    LOG.infoContext( xRequestId, String.format( "Registered email address not found for company: %s; skipping REA email.", companyNumber ), null );
+                    return Mono.empty();
+                } )
+                .onErrorResume( exception -> {
+                    LOG.errorContext( xRequestId, new Exception( String.format( "Failed to retrieve REA for company: %s; skipping REA email.", companyNumber ), exception ), null );
+                    return Mono.empty();
+                } )
+                .filter( rea -> !rea.isBlank() )
+                .map( rea -> new ReaDigitalAuthChangedEmailBuilder()
+                        .setRecipientEmail( rea )
+                        .setCompanyNumber( companyNumber ) )
+                .zipWith( companyName, ReaDigitalAuthChangedEmailBuilder::setCompanyName )
+                .map( ReaDigitalAuthChangedEmailBuilder::build )
+                .flatMap( emailData -> {
+                    final var logMessageSupplier = new EmailNotification( messageType, APPLICATION_NAMESPACE, emailData.getTo(), companyNumber );
+                    return toSendEmailRequest( xRequestId, messageType, emailData, logMessageSupplier )
+                            .onErrorResume( exception -> {
+                                LOG.errorContext( xRequestId, new Exception( String.format( "Failed sending REA email for company: %s; continuing without failing request.", companyNumber ), exception ), null );
+                                return Mono.empty();
+                            } );
+                } )
+                .then() );
     }
 
     public Mono<Void> sendReaDigitalAuthorisationAddedEmail(final String xRequestId, final String companyNumber, final Mono<String> companyName) {
@@ -217,126 +414,164 @@ public class EmailService {
     }
 
     public Function<String, Mono<Void>> sendAuthCodeConfirmationEmailToAssociatedUser( final String xRequestId, final String companyNumber, Mono<String> companyName, final String displayName ) {
-        return userId -> Mono.just( userId )
-                .flatMap( user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) )
+        return sendAuthCodeConfirmationEmailToAssociatedUser( xRequestId, companyNumber, companyName, displayName, user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) );
+    }
+
+    private Function<String, Mono<Void>> sendAuthCodeConfirmationEmailToAssociatedUser( final String xRequestId, final String companyNumber, Mono<String> companyName, final String displayName, final Function<String, Mono<User>> fetchRecipient ) {
+        final var payloadTemplate = new AtomicReference<SendEmailTemplate>();
+        return userId -> emailFanOutScheduler.schedule( BYSTANDER, companyNumber, xRequestId, Mono.just( userId )
+                .flatMap( fetchRecipient )
                 .map( user -> new AuthCodeConfirmationEmailBuilder()
                         .setRecipientEmail( user.getEmail() )
                         .setDisplayName( displayName ) )
                 .zipWith( companyName, AuthCodeConfirmationEmailBuilder::setCompanyName )
                 .map( AuthCodeConfirmationEmailBuilder::build )
-                .doOnNext( emailData -> {
+                .flatMap( emailData -> {
                     final var logMessageSupplier = new EmailNotification( AUTH_CODE_CONFIRMATION_MESSAGE_TYPE, APPLICATION_NAMESPACE, emailData.getTo(), companyNumber );
-                    sendEmail( xRequestId, AUTH_CODE_CONFIRMATION_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
-                .then();
+                    return toSendEmailRequest( xRequestId, AUTH_CODE_CONFIRMATION_MESSAGE_TYPE, emailData, logMessageSupplier, payloadTemplate ); } )
+                .then() );
     }
 
     public Function<String, Mono<Void>> sendAuthorisationRemovedEmailToAssociatedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String removedByDisplayName, final String removedUserDisplayName ) {
-        return userId -> Mono.just( userId )
-                .flatMap( user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) )
+        return sendAuthorisationRemovedEmailToAssociatedUser( xRequestId, companyNumber, companyName, removedByDisplayName, removedUserDisplayName, user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) );
+    }
+
+    private Function<String, Mono<Void>> sendAuthorisationRemovedEmailToAssociatedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String removedByDisplayName, final String removedUserDisplayName, final Function<String, Mono<User>> fetchRecipient ) {
+        final var payloadTemplate = new AtomicReference<SendEmailTemplate>();
+        return userId -> emailFanOutScheduler.schedule( BYSTANDER, companyNumber, xRequestId, Mono.just( userId )
+                .flatMap( fetchRecipient )
                 .map( user -> new AuthorisationRemovedEmailBuilder()
                         .setRemovedByDisplayName( removedByDisplayName )
                         .setRemovedUserDisplayName( removedUserDisplayName )
                         .setRecipientEmail( user.getEmail() ) )
                 .zipWith( companyName, AuthorisationRemovedEmailBuilder::setCompanyName )
                 .map( AuthorisationRemovedEmailBuilder::build )
-                .doOnNext( emailData -> {
+                .flatMap( emailData -> {
                         final var logMessageSupplier = new EmailNotification( AUTHORISATION_REMOVED_MESSAGE_TYPE, APPLICATION_NAMESPACE, emailData.getTo(), companyNumber );
-                        sendEmail( xRequestId, AUTHORISATION_REMOVED_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
-                .then();
+                        return toSendOrDigestEmailRequest( xRequestId, companyNumber, emailData.getCompanyName(), AUTHORISATION_REMOVED_MESSAGE_TYPE, emailData, logMessageSupplier, payloadTemplate ); } )
+                .then() );
     }
 
     public Mono<Void> sendAuthorisationRemovedEmailToRemovedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String removedByDisplayName, final String userId ) {
-       return Mono.just( userId )
-               .flatMap( user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) )
+        return sendAuthorisationRemovedEmailToRemovedUser( xRequestId, companyNumber, companyName, removedByDisplayName, userId, user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) );
+    }
+
+    private Mono<Void> sendAuthorisationRemovedEmailToRemovedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String removedByDisplayName, final String userId, final Function<String, Mono<User>> fetchRecipient ) {
+       return emailFanOutScheduler.schedule( DIRECT, companyNumber, xRequestId, Mono.just( userId )
+               .flatMap( fetchRecipient )
                .map( user -> new YourAuthorisationRemovedEmailBuilder()
                        .setRemovedByDisplayName( removedByDisplayName )
                        .setRecipientEmail( user.getEmail() ) )
                .zipWith( companyName, YourAuthorisationRemovedEmailBuilder::setCompanyName )
                .map( YourAuthorisationRemovedEmailBuilder::build )
-               .doOnNext( emailData -> {
+               .flatMap( emailData -> {
                     final var logMessageSupplier = new EmailNotification( YOUR_AUTHORISATION_REMOVED_MESSAGE_TYPE, removedByDisplayName, emailData.getTo(), companyNumber );
-                    sendEmail( xRequestId, YOUR_AUTHORISATION_REMOVED_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
-               .then();
+                    return toSendEmailRequest( xRequestId, YOUR_AUTHORISATION_REMOVED_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
+               .then() );
     }
 
     public Function<String, Mono<Void>> sendInvitationCancelledEmailToAssociatedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String cancelledByDisplayName, final String cancelledUserDisplayName ) {
-        return userId -> Mono.just( userId )
-                .flatMap( user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) )
+        return sendInvitationCancelledEmailToAssociatedUser( xRequestId, companyNumber, companyName, cancelledByDisplayName, cancelledUserDisplayName, user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) );
+    }
+
+    private Function<String, Mono<Void>> sendInvitationCancelledEmailToAssociatedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String cancelledByDisplayName, final String cancelledUserDisplayName, final Function<String, Mono<User>> fetchRecipient ) {
+        final var payloadTemplate = new AtomicReference<SendEmailTemplate>();
+        return userId -> emailFanOutScheduler.schedule( BYSTANDER, companyNumber, xRequestId, Mono.just( userId )
+                .flatMap( fetchRecipient )
                 .map( user -> new InvitationCancelledEmailBuilder()
                         .setCancelledByDisplayName( cancelledByDisplayName )
                         .setCancelledUserDisplayName( cancelledUserDisplayName )
                         .setRecipientEmail( user.getEmail() ) )
                 .zipWith( companyName, InvitationCancelledEmailBuilder::setCompanyName )
                 .map( InvitationCancelledEmailBuilder::build )
-                .doOnNext( emailData -> {
+                .flatMap( emailData -> {
                     final var logMessageSupplier = new EmailNotification( INVITATION_CANCELLED_MESSAGE_TYPE, APPLICATION_NAMESPACE, emailData.getTo(), companyNumber );
-                    sendEmail( xRequestId, INVITATION_CANCELLED_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
-                .then();
+                    return toSendEmailRequest( xRequestId, INVITATION_CANCELLED_MESSAGE_TYPE, emailData, logMessageSupplier, payloadTemplate ); } )
+                .then() );
     }
 
     public Function<String, Mono<Void>> sendInvitationEmailToAssociatedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String inviterDisplayName, final String inviteeDisplayName ) {
-        return userId -> Mono.just( userId )
-                .flatMap( user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) )
+        return sendInvitationEmailToAssociatedUser( xRequestId, companyNumber, companyName, inviterDisplayName, inviteeDisplayName, user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) );
+    }
+
+    private Function<String, Mono<Void>> sendInvitationEmailToAssociatedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String inviterDisplayName, final String inviteeDisplayName, final Function<String, Mono<User>> fetchRecipient ) {
+        final var payloadTemplate = new AtomicReference<SendEmailTemplate>();
+        return userId -> emailFanOutScheduler.schedule( BYSTANDER, companyNumber, xRequestId, Mono.just( userId )
+                .flatMap( fetchRecipient )
                 .map( user -> new InvitationEmailBuilder()
                         .setInviteeDisplayName( inviteeDisplayName )
                         .setInviterDisplayName( inviterDisplayName )
                         .setRecipientEmail( user.getEmail() ) )
                 .zipWith( companyName, InvitationEmailBuilder::setCompanyName )
                 .map( InvitationEmailBuilder::build )
-                .doOnNext( emailData -> {
+                .flatMap( emailData -> {
                     final var logMessageSupplier = new EmailNotification( INVITATION_MESSAGE_TYPE, APPLICATION_NAMESPACE, emailData.getTo(), companyNumber );
-                    sendEmail( xRequestId, INVITATION_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
-                .then();
+                    return toSendOrDigestEmailRequest( xRequestId, companyNumber, emailData.getCompanyName(), INVITATION_MESSAGE_TYPE, emailData, logMessageSupplier, payloadTemplate ); } )
+                .then() );
     }
 
     public Function<String, Mono<Void>> sendInvitationAcceptedEmailToAssociatedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final Mono<String> invitedByDisplayName, final String inviteeDisplayName ) {
-        return userId -> Mono.just( userId )
-                .flatMap( user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) )
+        return sendInvitationAcceptedEmailToAssociatedUser( xRequestId, companyNumber, companyName, invitedByDisplayName, inviteeDisplayName, user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) );
+    }
+
+    private Function<String, Mono<Void>> sendInvitationAcceptedEmailToAssociatedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final Mono<String> invitedByDisplayName, final String inviteeDisplayName, final Function<String, Mono<User>> fetchRecipient ) {
+        final var payloadTemplate = new AtomicReference<SendEmailTemplate>();
+        return userId -> emailFanOutScheduler.schedule( BYSTANDER, companyNumber, xRequestId, Mono.just( userId )
+                .flatMap( fetchRecipient )
                 .map( user -> new InvitationAcceptedEmailBuilder()
                                 .setInviteeDisplayName( inviteeDisplayName )
                                 .setRecipientEmail( user.getEmail() ) )
                 .zipWith( invitedByDisplayName, InvitationAcceptedEmailBuilder::setInviterDisplayName )
                 .zipWith( companyName, InvitationAcceptedEmailBuilder::setCompanyName )
                 .map( InvitationAcceptedEmailBuilder::build )
-                .doOnNext( emailData -> {
+                .flatMap( emailData -> {
                     final var logMessageSupplier = new EmailNotification( INVITATION_ACCEPTED_MESSAGE_TYPE, APPLICATION_NAMESPACE, emailData.getTo(), companyNumber );
-                    sendEmail( xRequestId, INVITATION_ACCEPTED_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
-                .then();
+                    return toSendOrDigestEmailRequest( xRequestId, companyNumber, emailData.getCompanyName(), INVITATION_ACCEPTED_MESSAGE_TYPE, emailData, logMessageSupplier, payloadTemplate ); } )
+                .then() );
     }
 
     public Function<String, Mono<Void>> sendInvitationRejectedEmailToAssociatedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String inviteeDisplayName ) {
-        return userId -> Mono.just( userId )
-                .flatMap( user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) )
+        return sendInvitationRejectedEmailToAssociatedUser( xRequestId, companyNumber, companyName, inviteeDisplayName, user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) );
+    }
+
+    private Function<String, Mono<Void>> sendInvitationRejectedEmailToAssociatedUser( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String inviteeDisplayName, final Function<String, Mono<User>> fetchRecipient ) {
+        final var payloadTemplate = new AtomicReference<SendEmailTemplate>();
+        return userId -> emailFanOutScheduler.schedule( BYSTANDER, companyNumber, xRequestId, Mono.just( userId )
+                .flatMap( fetchRecipient )
                 .map( user -> new InvitationRejectedEmailBuilder()
                                 .setInviteeDisplayName( inviteeDisplayName )
                                 .setRecipientEmail( user.getEmail() ) )
                 .zipWith( companyName, InvitationRejectedEmailBuilder::setCompanyName )
                 .map( InvitationRejectedEmailBuilder::build )
-                .doOnNext( emailData -> {
+                .flatMap( emailData -> {
                     final var logMessageSupplier = new EmailNotification( INVITATION_REJECTED_MESSAGE_TYPE, APPLICATION_NAMESPACE, emailData.getTo(), companyNumber );
-                    sendEmail( xRequestId, INVITATION_REJECTED_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
-                .then();
+                    return toSendEmailRequest( xRequestId, INVITATION_REJECTED_MESSAGE_TYPE, emailData, logMessageSupplier, payloadTemplate ); } )
+                .then() );
     }
 
     public Mono<Void> sendInviteEmail( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String inviterDisplayName, final String invitationExpiryTimestamp, final String inviteeEmail ){
-        return Mono.just( new InviteEmailBuilder()
+        return emailFanOutScheduler.schedule( DIRECT, companyNumber, xRequestId, Mono.just( new InviteEmailBuilder()
                         .setRecipientEmail( inviteeEmail )
                         .setInviterDisplayName( inviterDisplayName )
                         .setInvitationExpiryTimestamp( invitationExpiryTimestamp )
                         .setInvitationLink( invitationLink ) )
                 .zipWith( companyName, InviteEmailBuilder::setCompanyName )
                 .map( InviteEmailBuilder::build )
-                .doOnNext( emailData -> {
+                .flatMap( emailData -> {
                     final var logMessageSupplier = new EmailNotification( INVITE_MESSAGE_TYPE, APPLICATION_NAMESPACE, emailData.getTo(), companyNumber ).setInvitationExpiryTimestamp( invitationExpiryTimestamp );
-                    sendEmail( xRequestId, INVITE_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
-                .then();
+                    return toSendEmailRequest( xRequestId, INVITE_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
+                .then() );
+    }
+
+    public Mono<Void> sendInviteCancelledEmail( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String cancelledByDisplayName, final AssociationDao associationDao ) {
+        return sendInviteCancelledEmail( xRequestId, companyNumber, companyName, cancelledByDisplayName, associationDao, user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) );
     }
 
-    public Mono<Void> sendInviteCancelledEmail( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String cancelledByDisplayName, final AssociationDao associationDao ){
-        return Mono.just( associationDao )
+    private Mono<Void> sendInviteCancelledEmail( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String cancelledByDisplayName, final AssociationDao associationDao, final Function<String, Mono<User>> fetchRecipient ) {
+        return emailFanOutScheduler.schedule( DIRECT, companyNumber, xRequestId, Mono.just( associationDao )
                 .filter( dao -> Objects.nonNull( dao.getUserId() ) )
                 .map( AssociationDao::getUserId )
-                .flatMap( user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) )
+                .flatMap( fetchRecipient )
                 .map( User::getEmail )
                 .switchIfEmpty( Mono.just( associationDao ).map( AssociationDao::getUserEmail ) )
                 .map( inviteeEmail -> new InviteCancelledEmailBuilder()
@@ -344,49 +579,58 @@ public class EmailService {
                         .setCancelledBy( cancelledByDisplayName ) )
                 .zipWith( companyName, InviteCancelledEmailBuilder::setCompanyName )
                 .map( InviteCancelledEmailBuilder::build )
-                .doOnNext( emailData -> {
+                .flatMap( emailData -> {
                     final var logMessageSupplier = new EmailNotification( INVITE_CANCELLED_MESSAGE_TYPE, APPLICATION_NAMESPACE, emailData.getTo(), companyNumber );
-                    sendEmail( xRequestId, INVITE_CANCELLED_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
-                .then();
+                    return toSendEmailRequest( xRequestId, INVITE_CANCELLED_MESSAGE_TYPE, emailData, logMessageSupplier ); } )
+                .then() );
     }
     public Mono<Void> sendDelegatedRemovalOfMigratedEmail( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String removedBy, final String recipientEmail ) {
-        return Mono.just( new DelegatedRemovalOfMigratedEmailBuilder()
+        return emailFanOutScheduler.schedule( DIRECT, companyNumber, xRequestId, Mono.just( new DelegatedRemovalOfMigratedEmailBuilder()
                         .setRemovedBy( removedBy )
                         .setRecipientEmail( recipientEmail ) )
                 .zipWith( companyName, DelegatedRemovalOfMigratedEmailBuilder::setCompanyName )
                 .map( DelegatedRemovalOfMigratedEmailBuilder::build )
-                .doOnNext( emailData -> {
+                .flatMap( emailData -> {
                     final var logMessageSupplier = new EmailNotification( DELEGATED_REMOVAL_OF_MIGRATED, removedBy, emailData.getTo(), companyNumber );
-                    sendEmail( xRequestId, DELEGATED_REMOVAL_OF_MIGRATED, emailData, logMessageSupplier ); } )
-                .then();
+                    return toSendEmailRequest( xRequestId, DELEGATED_REMOVAL_OF_MIGRATED, emailData, logMessageSupplier ); } )
+                .then() );
     }
 
     public Mono<Void> sendRemoveOfOwnMigratedEmail( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String userId ) {
-        return Mono.just( userId )
-                .flatMap( user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) )
+        return sendRemoveOfOwnMigratedEmail( xRequestId, companyNumber, companyName, userId, user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) );
+    }
+
+    private Mono<Void> sendRemoveOfOwnMigratedEmail( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String userId, final Function<String, Mono<User>> fetchRecipient ) {
+        return emailFanOutScheduler.schedule( DIRECT, companyNumber, xRequestId, Mono.just( userId )
+                .flatMap( fetchRecipient )
                 .map( user -> new RemovalOfOwnMigratedEmailBuilder()
                         .setRecipientEmail( user.getEmail() ) )
                 .zipWith( companyName, RemovalOfOwnMigratedEmailBuilder::setCompanyName )
                 .map( RemovalOfOwnMigratedEmailBuilder::build )
-                .doOnNext( emailData -> {
+                .flatMap( emailData -> {
                     final var logMessageSupplier = new EmailNotification( REMOVAL_OF_OWN_MIGRATED, emailData.getTo(), emailData.getTo(), companyNumber );
-                    sendEmail( xRequestId, REMOVAL_OF_OWN_MIGRATED, emailData, logMessageSupplier ); } )
-                .then();
+                    return toSendEmailRequest( xRequestId, REMOVAL_OF_OWN_MIGRATED, emailData, logMessageSupplier ); } )
+                .then() );
+    }
+
+    public Function<String, Mono<Void>> sendDelegatedRemovalOfMigratedBatchEmail( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String removedBy, final String removedUser ) {
+        return sendDelegatedRemovalOfMigratedBatchEmail( xRequestId, companyNumber, companyName, removedBy, removedUser, user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) );
     }
 
-    public Function<String, Mono<Void>> sendDelegatedRemovalOfMigratedBatchEmail(final String xRequestId, final String companyNumber, final Mono<String> companyName, final String removedBy, final String removedUser ) {
-        return userId -> Mono.just( userId )
-                .flatMap( user -> usersService.toFetchUserDetailsRequest( user, xRequestId ) )
+    private Function<String, Mono<Void>> sendDelegatedRemovalOfMigratedBatchEmail( final String xRequestId, final String companyNumber, final Mono<String> companyName, final String removedBy, final String removedUser, final Function<String, Mono<User>> fetchRecipient ) {
+        final var payloadTemplate = new AtomicReference<SendEmailTemplate>();
+        return userId -> emailFanOutScheduler.schedule( BYSTANDER, companyNumber, xRequestId, Mono.just( userId )
+                .flatMap( fetchRecipient )
                 .map( user -> new DelegatedRemovalOfMigratedBatchEmailBuilder()
                         .setRemovedBy( removedBy )
                         .setRemovedUser( removedUser )
                         .setRecipientEmail( user.getEmail() ) )
                 .zipWith( companyName, DelegatedRemovalOfMigratedBatchEmailBuilder::setCompanyName )
                 .map( DelegatedRemovalOfMigratedBatchEmailBuilder::build )
-                .doOnNext( emailData -> {
+                .flatMap( emailData -> {
                     final var logMessageSupplier = new EmailNotification( DELEGATED_REMOVAL_OF_MIGRATED_BATCH, APPLICATION_NAMESPACE, emailData.getTo(), companyNumber );
-                    sendEmail( xRequestId, DELEGATED_REMOVAL_OF_MIGRATED_BATCH, emailData, logMessageSupplier ); } )
-                .then();
+                    return toSendEmailRequest( xRequestId, DELEGATED_REMOVAL_OF_MIGRATED_BATCH, emailData, logMessageSupplier, payloadTemplate ); } )
+                .then() );
     }
 
 }
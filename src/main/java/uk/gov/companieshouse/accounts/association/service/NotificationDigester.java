@@ -0,0 +1,173 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.AUTHORISATION_REMOVED_MESSAGE_TYPE;
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.INVITATION_ACCEPTED_MESSAGE_TYPE;
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.INVITATION_MESSAGE_TYPE;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.companieshouse.accounts.association.models.email.data.EmailData;
+import uk.gov.companieshouse.accounts.association.utils.MessageType;
+
+/**
+ Holds back invitation, invitation accepted and authorisation removed notifications for email.digest.window-ms, and
+ hands every notification collected for the same recipient and company in that window to the flush handler together,
+ so that they can be sent as a single digest email.
+
+ Memory is bounded: at most email.digest.max-pending-recipients (recipient, company) pairs are held at once, and a
+ pair is flushed early once it has collected email.digest.max-notifications-per-digest notifications. Notifications
+ that would exceed these bounds are not accepted, and the caller sends them straight away. Pending notifications are
+ flushed together by {@link #flushAll(Duration)}, which EmailService calls when the application shuts down while the
+ flush handler and the email clients behind it are still available.
+
+ Flushes are run on Schedulers.boundedElastic() rather than on the digest's own timer thread, since the flush handler
+ may make blocking calls, and those started by the timer are tracked by the BackgroundTaskRegistry so that they are
+ waited on at shutdown. Held back notifications only exist in memory, so EmailService does not digest emails while the
+ email outbox is enabled.
+ */
+@Component
+public class NotificationDigester {
+
+    public record PendingNotification( String recipient, String companyNumber, String companyName, MessageType messageType, EmailData emailData, String xRequestId ) {}
+
+    private record DigestKey( String recipient, String companyNumber ) {}
+
+    private static final Set<MessageType> DIGESTIBLE_MESSAGE_TYPES = EnumSet.of( INVITATION_MESSAGE_TYPE, INVITATION_ACCEPTED_MESSAGE_TYPE, AUTHORISATION_REMOVED_MESSAGE_TYPE );
+
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxPendingRecipients;
+    private final int maxNotificationsPerDigest;
+
+    private final BackgroundTaskRegistry backgroundTaskRegistry;
+    private final Map<DigestKey, List<PendingNotification>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean closed = new AtomicBoolean( false );
+    private volatile Function<List<PendingNotification>, Mono<Void>> flushHandler = notifications -> Mono.empty();
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter digestsCounter;
+    private final Counter singlesCounter;
+
+    @Autowired
+    public NotificationDigester( final MeterRegistry meterRegistry,
+                                 final BackgroundTaskRegistry backgroundTaskRegistry,
+                                 @Value( "${email.digest.enabled:false}" ) final boolean enabled,
+                                 @Value( "${email.digest.window-ms:60000}" ) final long windowMs,
+                                 @Value( "${email.digest.max-pending-recipients:10000}" ) final int maxPendingRecipients,
+                                 @Value( "${email.digest.max-notifications-per-digest:50}" ) final int maxNotificationsPerDigest ) {
+        this.backgroundTaskRegistry = backgroundTaskRegistry;
+        this.enabled = enabled;
+        this.window = Duration.ofMillis( windowMs );
+        this.maxPendingRecipients = maxPendingRecipients;
+        this.maxNotificationsPerDigest = maxNotificationsPerDigest;
+        this.scheduler = enabled ? Executors.newSingleThreadScheduledExecutor( Thread.ofPlatform().name( "email-digest" ).daemon().factory() ) : null;
+        this.acceptedCounter = meterRegistry.counter( "email.digest.notifications", "outcome", "accepted" );
+        this.rejectedCounter = meterRegistry.counter( "email.digest.notifications", "outcome", "rejected" );
+        this.digestsCounter = meterRegistry.counter( "email.digest.flushed", "kind", "digest" );
+        this.singlesCounter = meterRegistry.counter( "email.digest.flushed", "kind", "single" );
+        meterRegistry.gauge( "email.digest.pending", pending, Map::size );
+    }
+
+    public void onFlush( final Function<List<PendingNotification>, Mono<Void>> flushHandler ){
+        this.flushHandler = flushHandler;
+    }
+
+    public boolean submit( final PendingNotification notification ){
+        if ( !enabled || closed.get() || !DIGESTIBLE_MESSAGE_TYPES.contains( notification.messageType() ) || Objects.isNull( notification.recipient() ) ){
+            return false;
+        }
+
+        final var key = new DigestKey( notification.recipient(), notification.companyNumber() );
+        final var opened = new AtomicBoolean( false );
+        final var accepted = new AtomicBoolean( false );
+        final var notifications = pending.compute( key, ( digestKey, existing ) -> {
+            if ( Objects.isNull( existing ) ){
+                if ( pending.size() >= maxPendingRecipients ){
+                    return null;
+                }
+                opened.set( true );
+                existing = new ArrayList<>();
+            }
+            existing.add( notification );
+            accepted.set( true );
+            return existing;
+        } );
+
+        if ( !accepted.get() ){
+            rejectedCounter.increment();
+            return false;
+        }
+
+        acceptedCounter.increment();
+        if ( opened.get() ){
+            scheduler.schedule( () -> flush( key ), window.toMillis(), TimeUnit.MILLISECONDS );
+        }
+        if ( notifications.size() >= maxNotificationsPerDigest ){
+            scheduler.execute( () -> flush( key ) );
+        }
+        return true;
+    }
+
+    private Mono<Void> toFlush( final DigestKey key, final List<PendingNotification> notifications ){
+        ( notifications.size() == 1 ? singlesCounter : digestsCounter ).increment();
+        return Mono.defer( () -> flushHandler.apply( List.copyOf( notifications ) ) )
+                .subscribeOn( Schedulers.boundedElastic() )
+                .onErrorResume( exception -> {
+                    LOGGER.errorContext( notifications.getLast().xRequestId(), new Exception( String.format( "Failed to flush %d notifications for company %s: %s", notifications.size(), key.companyNumber(), exception.getMessage() ) ), null );
+                    return Mono.empty();
+                } );
+    }
+
+    private Mono<Void> toFlush( final DigestKey key ){
+        return Mono.defer( () -> {
+            final var notifications = pending.remove( key );
+            return Objects.isNull( notifications ) ? Mono.empty() : toFlush( key, notifications );
+        } );
+    }
+
+    private void flush( final DigestKey key ){
+        final var notifications = pending.remove( key );
+        if ( Objects.nonNull( notifications ) ){
+            backgroundTaskRegistry.track( "email-digest-flush", notifications.getLast().xRequestId(), toFlush( key, notifications ) );
+        }
+    }
+
+    public void flushAll( final Duration timeout ){
+        if ( !enabled || !closed.compareAndSet( false, true ) ){
+            return;
+        }
+        scheduler.shutdownNow();
+        final var keys = List.copyOf( pending.keySet() );
+        try {
+            Flux.fromIterable( keys )
+                    .flatMap( this::toFlush )
+                    .then()
+                    .block( timeout );
+        } catch ( IllegalStateException exception ){
+            LOGGER.error( String.format( "Timed out after %d ms flushing pending notifications for %d recipients", timeout.toMillis(), keys.size() ) );
+        }
+    }
+
+}
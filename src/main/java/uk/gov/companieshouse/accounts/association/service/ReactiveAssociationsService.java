@@ -0,0 +1,139 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import static uk.gov.companieshouse.accounts.association.models.context.RequestContext.getRequestContext;
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+import static uk.gov.companieshouse.accounts.association.utils.ReactorUtil.fromBlockingCallable;
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
+import static uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum.CONFIRMED;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.mapper.AssociationsListCompanyMapper;
+import uk.gov.companieshouse.accounts.association.mapper.AssociationsListUserMapper;
+import uk.gov.companieshouse.accounts.association.mapper.InvitationsCollectionMappers;
+import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+import uk.gov.companieshouse.accounts.association.repositories.ReactiveAssociationsRepository;
+import uk.gov.companieshouse.api.accounts.associations.model.Association;
+import uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum;
+import uk.gov.companieshouse.api.accounts.associations.model.AssociationsList;
+import uk.gov.companieshouse.api.accounts.associations.model.InvitationsList;
+import uk.gov.companieshouse.api.accounts.user.model.User;
+import uk.gov.companieshouse.api.company.CompanyDetails;
+
+/**
+ Reactive implementation of the read paths behind GET /associations, GET /associations/companies/{company_number},
+ GET /associations/invitations and GET /associations/{id}. Each page query runs alongside its count query on the
+ reactive Mongo driver, and the users and companies needed to enrich the page are fetched via WebClient without
+ blocking, so the only wait is the caller's single subscription to the result.
+ */
+@Service
+@ConditionalOnProperty( name = "associations.reactive-reads.enabled", havingValue = "true" )
+public class ReactiveAssociationsService {
+
+    private final ReactiveAssociationsRepository reactiveAssociationsRepository;
+    private final UsersService usersService;
+    private final CompanyService companyService;
+    private final AssociationsListUserMapper associationsListUserMapper;
+    private final AssociationsListCompanyMapper associationsListCompanyMapper;
+    private final InvitationsCollectionMappers invitationsCollectionMappers;
+
+    public ReactiveAssociationsService( final ReactiveAssociationsRepository reactiveAssociationsRepository, final UsersService usersService, final CompanyService companyService, final AssociationsListUserMapper associationsListUserMapper, final AssociationsListCompanyMapper associationsListCompanyMapper, final InvitationsCollectionMappers invitationsCollectionMappers ) {
+        this.reactiveAssociationsRepository = reactiveAssociationsRepository;
+        this.usersService = usersService;
+        this.companyService = companyService;
+        this.associationsListUserMapper = associationsListUserMapper;
+        this.associationsListCompanyMapper = associationsListCompanyMapper;
+        this.invitationsCollectionMappers = invitationsCollectionMappers;
+    }
+
+    private static <T> Mono<Page<T>> toPage( final Flux<T> content, final Mono<Long> count, final Pageable pageable ){
+        return Mono.zip( content.collectList(), count, ( items, totalElements ) -> new PageImpl<>( items, pageable, totalElements ) );
+    }
+
+    private Mono<Map<String, User>> toFetchUsersRequest( final Collection<AssociationDao> associations, final String xRequestId ){
+        return Flux.fromIterable( associations )
+                .map( AssociationDao::getUserId )
+                .filter( Objects::nonNull )
+                .distinct()
+                .flatMap( userId -> usersService.toFetchUserDetailsRequest( userId, xRequestId ) )
+                .collectMap( User::getUserId );
+    }
+
+    private Mono<Map<String, CompanyDetails>> toFetchCompaniesRequest( final Collection<AssociationDao> associations, final String xRequestId ){
+        return Flux.fromIterable( associations )
+                .map( AssociationDao::getCompanyNumber )
+                .distinct()
+                .flatMap( companyNumber -> companyService.toFetchCompanyProfileRequest( companyNumber, xRequestId ) )
+                .collectMap( CompanyDetails::getCompanyNumber );
+    }
+
+    public Mono<Association> fetchAssociationDto( final String associationId ) {
+        final var xRequestId = getXRequestId();
+        return reactiveAssociationsRepository.findById( associationId )
+                .flatMap( associationDao -> {
+                    final var user = Objects.isNull( associationDao.getUserId() )
+                            ? Mono.just( new User().email( associationDao.getUserEmail() ) )
+                            : usersService.toFetchUserDetailsRequest( associationDao.getUserId(), xRequestId );
+                    final var company = companyService.toFetchCompanyProfileRequest( associationDao.getCompanyNumber(), xRequestId );
+                    return Mono.zip( user, company, ( userDetails, companyDetails ) -> associationsListCompanyMapper.daoToDto( associationDao, userDetails, companyDetails ) );
+                } )
+                .doOnSubscribe( subscription -> LOGGER.debugContext( xRequestId, String.format( "Attempting to reactively retrieve association with id: %s", associationId ), null ) );
+    }
+
+    public Mono<AssociationsList> fetchUnexpiredAssociationsForCompanyAndStatuses( final CompanyDetails companyDetails, final Set<StatusEnum> statuses, final String userId, final String userEmail, final int pageIndex, final int itemsPerPage ) {
+        final var xRequestId = getXRequestId();
+        final var companyNumber = companyDetails.getCompanyNumber();
+        final var parsedStatuses = statuses.stream().map( StatusEnum::getValue ).collect( Collectors.toSet() );
+        final var now = LocalDateTime.now();
+        final var pageRequest = PageRequest.of( pageIndex, itemsPerPage );
+        final var page = Objects.nonNull( userEmail ) || Objects.nonNull( userId )
+                ? toPage( reactiveAssociationsRepository.fetchUnexpiredAssociationsForCompanyAndStatusesAndUser( companyNumber, parsedStatuses, userId, userEmail, now, pageRequest ), reactiveAssociationsRepository.countUnexpiredAssociationsForCompanyAndStatusesAndUser( companyNumber, parsedStatuses, userId, userEmail, now ), pageRequest )
+                : toPage( reactiveAssociationsRepository.fetchUnexpiredAssociationsForCompanyAndStatuses( companyNumber, parsedStatuses, now, pageRequest ), reactiveAssociationsRepository.countUnexpiredAssociationsForCompanyAndStatuses( companyNumber, parsedStatuses, now ), pageRequest );
+
+        return page
+                .flatMap( associationDaos -> toFetchUsersRequest( associationDaos.getContent(), xRequestId )
+                        .map( users -> associationsListCompanyMapper.daoToDto( associationDaos, companyDetails, users ) ) )
+                .doOnSubscribe( subscription -> LOGGER.debugContext( xRequestId, "Attempting to reactively fetch unexpired associations for company and statuses", null ) );
+    }
+
+    public Mono<AssociationsList> fetchAssociationsForUserAndPartialCompanyNumberAndStatuses( final User user, final String partialCompanyNumber, final Set<String> statuses, final int pageIndex, final int itemsPerPage ) {
+        final var xRequestId = getXRequestId();
+        final var coalescedPartialCompanyNumber = Optional.ofNullable( partialCompanyNumber ).orElse( "" );
+        final var coalescedStatuses = Optional.ofNullable( statuses )
+                .filter( parsedStatuses -> !parsedStatuses.isEmpty() )
+                .orElse( Set.of( CONFIRMED.getValue() ) );
+        final var pageRequest = PageRequest.of( pageIndex, itemsPerPage );
+        final var page = toPage( reactiveAssociationsRepository.fetchAssociationsForUserAndStatusesAndPartialCompanyNumber( user.getUserId(), user.getEmail(), coalescedStatuses, coalescedPartialCompanyNumber, pageRequest ), reactiveAssociationsRepository.countAssociationsForUserAndStatusesAndPartialCompanyNumber( user.getUserId(), user.getEmail(), coalescedStatuses, coalescedPartialCompanyNumber ), pageRequest );
+
+        return page
+                .flatMap( associationDaos -> toFetchCompaniesRequest( associationDaos.getContent(), xRequestId )
+                        .map( companies -> associationsListUserMapper.daoToDto( associationDaos, user, companies ) ) )
+                .doOnSubscribe( subscription -> LOGGER.debugContext( xRequestId, "Attempting to reactively fetch associations for user, partial company number, and statuses", null ) );
+    }
+
+    public Mono<InvitationsList> fetchActiveInvitations( final User user, final int pageIndex, final int itemsPerPage ) {
+        final var xRequestId = getXRequestId();
+        final var requestContext = getRequestContext();
+        final var now = LocalDateTime.now();
+        final var pageRequest = PageRequest.of( pageIndex, itemsPerPage );
+        final var page = toPage( reactiveAssociationsRepository.fetchAssociationsWithActiveInvitations( user.getUserId(), user.getEmail(), now, pageRequest ), reactiveAssociationsRepository.countAssociationsWithActiveInvitations( user.getUserId(), user.getEmail(), now ), pageRequest );
+
+        return page
+                .flatMap( associationDaos -> fromBlockingCallable( requestContext, () -> invitationsCollectionMappers.daoToDto( associationDaos, pageRequest ) ) )
+                .doOnSubscribe( subscription -> LOGGER.debugContext( xRequestId, String.format( "Attempting to reactively retrieve active invitations for user %s", user.getUserId() ), null ) );
+    }
+
+}
@@ -0,0 +1,61 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.api.accounts.user.model.User;
+
+/**
+ Resolves the recipients of the emails sent for a single status update. Each user is fetched from accounts-user-api at
+ most once, however many message types they receive, and users that the event already holds (such as the target user
+ and the requesting user) are never fetched at all.
+
+ A directory belongs to one event and must not be shared between events, since user details are not refreshed. It
+ counts how many lookups were answered without a fetch, so that the event's trace can show how much was saved.
+ */
+public class RecipientDirectory {
+
+    private static final int LOOKUP_CONCURRENCY = 8;
+
+    private final UsersService usersService;
+    private final String xRequestId;
+    private final Map<String, Mono<User>> recipients = new ConcurrentHashMap<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    public RecipientDirectory( final UsersService usersService, final String xRequestId, final Stream<User> knownUsers ) {
+        this.usersService = usersService;
+        this.xRequestId = xRequestId;
+        knownUsers.filter( Objects::nonNull )
+                .filter( user -> Objects.nonNull( user.getUserId() ) )
+                .forEach( user -> recipients.putIfAbsent( user.getUserId(), Mono.just( user ) ) );
+    }
+
+    public Mono<User> toFetchRecipient( final String userId ){
+        lookups.incrementAndGet();
+        return recipients.computeIfAbsent( userId, user -> {
+            fetches.incrementAndGet();
+            return usersService.toFetchUserDetailsRequest( user, xRequestId ).cache();
+        } );
+    }
+
+    public int cacheHits(){
+        return lookups.get() - fetches.get();
+    }
+
+    public int cacheMisses(){
+        return fetches.get();
+    }
+
+    public Flux<User> toFetchRecipients( final Flux<String> userIds ){
+        return userIds
+                .filter( Objects::nonNull )
+                .distinct()
+                .flatMap( this::toFetchRecipient, LOOKUP_CONCURRENCY );
+    }
+
+}
@@ -0,0 +1,118 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.CACHE_HIT;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.COMPANY_NUMBER;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.tracedMono;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.opentelemetry.api.common.Attributes;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
+import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+import uk.gov.companieshouse.accounts.association.repositories.AssociationsRepository;
+
+/**
+ Keeps each company's registered email address in memory, so that the REA digital authorisation emails do not wait on
+ oracle-query-api. Companies without a registered email address are cached too, as an empty value.
+
+ Entries are reloaded in the background once they are older than email.rea-cache.refresh-ms, and only if they are
+ still being read, while the old value continues to be served. Entries that nobody reads expire after
+ email.rea-cache.ttl-ms. When the application starts, companies whose associations were approved or removed in the last
+ email.rea-cache.warmup-lookback-days are loaded ahead of time.
+ */
+@Service
+public class RegisteredEmailAddressCache {
+
+    private static final String WARMUP_X_REQUEST_ID = "rea-cache-warmup";
+    private static final String REFRESH_X_REQUEST_ID = "rea-cache-refresh";
+
+    private final CompanyService companyService;
+    private final AssociationsRepository associationsRepository;
+
+    private final boolean enabled;
+    private final long maxSize;
+    private final Duration warmupLookback;
+    private final int warmupConcurrency;
+
+    private final AsyncLoadingCache<String, Optional<String>> registeredEmailAddresses;
+
+    @Autowired
+    public RegisteredEmailAddressCache( final CompanyService companyService, final AssociationsRepository associationsRepository, final MeterRegistry meterRegistry,
+                                        @Value( "${email.rea-cache.enabled:false}" ) final boolean enabled,
+                                        @Value( "${email.rea-cache.ttl-ms:3600000}" ) final long ttlMs,
+                                        @Value( "${email.rea-cache.refresh-ms:600000}" ) final long refreshMs,
+                                        @Value( "${email.rea-cache.max-size:10000}" ) final long maxSize,
+                                        @Value( "${email.rea-cache.warmup-lookback-days:30}" ) final long warmupLookbackDays,
+                                        @Value( "${email.rea-cache.warmup-concurrency:4}" ) final int warmupConcurrency ) {
+        this.companyService = companyService;
+        this.associationsRepository = associationsRepository;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.warmupLookback = Duration.ofDays( warmupLookbackDays );
+        this.warmupConcurrency = warmupConcurrency;
+        this.registeredEmailAddresses = Caffeine.newBuilder()
+                .maximumSize( maxSize )
+                .expireAfterWrite( Duration.ofMillis( ttlMs ) )
+                .refreshAfterWrite( Duration.ofMillis( refreshMs ) )
+                .recordStats()
+                .buildAsync( ( companyNumber, executor ) -> toLoadRegisteredEmailAddress( companyNumber, REFRESH_X_REQUEST_ID ) );
+        CaffeineCacheMetrics.monitor( meterRegistry, registeredEmailAddresses, "registered-email-address", Tags.empty() );
+    }
+
+    private CompletableFuture<Optional<String>> toLoadRegisteredEmailAddress( final String companyNumber, final String xRequestId ){
+        return companyService.toFetchRegisteredEmailAddress( companyNumber, xRequestId )
+                .map( Optional::of )
+                .onErrorResume( NotFoundRuntimeException.class, exception -> Mono.just( Optional.empty() ) )
+                .defaultIfEmpty( Optional.empty() )
+                .toFuture();
+    }
+
+    public Mono<String> toFetchRegisteredEmailAddress( final String companyNumber, final String xRequestId ){
+        return tracedMono( "email.rea.lookup", Attributes.of( COMPANY_NUMBER, companyNumber ), span -> {
+            span.setAttribute( CACHE_HIT, Objects.nonNull( registeredEmailAddresses.getIfPresent( companyNumber ) ) );
+            return toLookUpRegisteredEmailAddress( companyNumber, xRequestId );
+        } );
+    }
+
+    private Mono<String> toLookUpRegisteredEmailAddress( final String companyNumber, final String xRequestId ){
+        return Mono.fromFuture( () -> registeredEmailAddresses.get( companyNumber, ( key, executor ) -> toLoadRegisteredEmailAddress( key, xRequestId ) ), true )
+                .flatMap( Mono::justOrEmpty );
+    }
+
+    @EventListener( ApplicationReadyEvent.class )
+    public void warmUp(){
+        if ( !enabled ){
+            return;
+        }
+
+        final var since = LocalDateTime.now().minus( warmupLookback );
+        Flux.defer( () -> Flux.fromStream( associationsRepository.streamAssociationsApprovedOrRemovedSince( since ) ) )
+                .subscribeOn( Schedulers.boundedElastic() )
+                .map( AssociationDao::getCompanyNumber )
+                .distinct()
+                .take( maxSize )
+                .flatMap( companyNumber -> toLookUpRegisteredEmailAddress( companyNumber, WARMUP_X_REQUEST_ID ).onErrorResume( exception -> Mono.empty() ), warmupConcurrency )
+                .count()
+                .subscribe(
+                        loaded -> LOGGER.infoContext( WARMUP_X_REQUEST_ID, String.format( "Warmed up registered email addresses for %d companies with recent activity.", registeredEmailAddresses.synchronous().estimatedSize() ), null ),
+                        exception -> LOGGER.errorContext( WARMUP_X_REQUEST_ID, new Exception( String.format( "Failed to warm up registered email addresses: %s", exception.getMessage() ) ), null ) );
+    }
+
+}
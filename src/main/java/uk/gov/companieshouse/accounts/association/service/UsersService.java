@@ -3,12 +3,12 @@ package uk.gov.companieshouse.accounts.association.service;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static uk.gov.companieshouse.accounts.association.utils.LoggingUtil.LOGGER;
 import static uk.gov.companieshouse.accounts.association.utils.ParsingUtil.parseJsonTo;
+import static uk.gov.companieshouse.accounts.association.utils.ReactorUtil.blockWithinDeadline;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getEricIdentity;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getUser;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.isOAuth2Request;
 
-import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -57,23 +57,22 @@ public class UsersService {
     }
 
     public User fetchUserDetails(final String userId, final String xRequestId ){
-        return toFetchUserDetailsRequest( userId, xRequestId ).block( Duration.ofSeconds( 20L ) );
+        return blockWithinDeadline( toFetchUserDetailsRequest( userId, xRequestId ) );
     }
 
     public Map<String, User> fetchUserDetails( final Stream<AssociationDao> associations ){
         final var xRequestId = getXRequestId();
-        return Flux.fromStream( associations )
+        return blockWithinDeadline( Flux.fromStream( associations )
                 .filter( association -> Objects.nonNull( association.getUserId() ) )
                 .map( AssociationDao::getUserId )
                 .distinct()
                 .flatMap( userId -> toFetchUserDetailsRequest( userId, xRequestId ) )
-                .collectMap( User::getUserId )
-                .block( Duration.ofSeconds( 20L ) );
+                .collectMap( User::getUserId ) );
     }
 
     public UsersList searchUserDetails( final List<String> emails ) {
         final var xRequestId = getXRequestId();
-        return usersWebClient.get()
+        return blockWithinDeadline( usersWebClient.get()
                 .uri(uriBuilder -> UriComponentsBuilder.fromUri(uriBuilder.build())
                         .path("/users/search")
                         .queryParam("user_email", "{emails}")
@@ -88,8 +87,7 @@ public class UsersService {
                     throw new InternalServerErrorRuntimeException( xRequestId, "Failed to retrieve user details", (Exception) throwable );
                 } )
                 .doOnSubscribe( onSubscribe -> LOGGER.infoContext( xRequestId,  "Sending request to accounts-user-api: GET /users/search. Attempting to retrieve users" , null ) )
-                .doFinally( signalType -> LOGGER.infoContext( xRequestId, "Finished request to accounts-user-api for users",  null ) )
-                .block( Duration.ofSeconds( 20L ) );
+                .doFinally( signalType -> LOGGER.infoContext( xRequestId, "Finished request to accounts-user-api for users",  null ) ) );
     }
 
     public User retrieveUserDetails( final String targetUserId, final String targetUserEmail ){
@@ -28,7 +28,9 @@ public enum MessageType {
 
     REA_DIGITAL_AUTHORISATION_ADDED_MESSAGE_TYPE( "associations_rea_digital_authorisation_added" ),
 
-    REA_DIGITAL_AUTHORISATION_REMOVED_MESSAGE_TYPE( "associations_rea_digital_authorisation_removed" );
+    REA_DIGITAL_AUTHORISATION_REMOVED_MESSAGE_TYPE( "associations_rea_digital_authorisation_removed" ),
+
+    NOTIFICATION_DIGEST_MESSAGE_TYPE( "associations_notification_digest" );
 
     private final String value;
 
@@ -0,0 +1,66 @@
+package uk.gov.companieshouse.accounts.association.utils;
+
+import static uk.gov.companieshouse.accounts.association.utils.ReactorUtil.DEFAULT_BLOCK_TIMEOUT;
+import static uk.gov.companieshouse.accounts.association.utils.ReactorUtil.fromBlockingCallable;
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getRemainingBudget;
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import uk.gov.companieshouse.accounts.association.exceptions.DeadlineExceededRuntimeException;
+import uk.gov.companieshouse.accounts.association.exceptions.InternalServerErrorRuntimeException;
+
+/**
+ Starts independent blocking lookups concurrently and shares a single deadline between them, so that a handler which
+ needs, for example, both a user and a company waits for the slower of the two rather than for both in turn. The deadline
+ is the current request's remaining time budget, or 20 seconds outside of a request with a deadline; once it passes, a
+ DeadlineExceededRuntimeException is thrown.
+
+ Each lookup is started by {@link #fork(Callable)}, which returns a {@link Supplier} for its result. Results should be
+ read in the order the handler would previously have made the calls: if several lookups fail, the first one read is the
+ one whose exception propagates, so the handler responds exactly as it did when the calls were sequential. Lookups that
+ have not completed when the scope is closed are cancelled.
+ */
+public final class ParallelLookups implements AutoCloseable {
+
+    private final long deadlineNanos;
+    private final List<CompletableFuture<?>> lookups = new ArrayList<>();
+
+    public ParallelLookups(){
+        this.deadlineNanos = System.nanoTime() + getRemainingBudget().orElse( DEFAULT_BLOCK_TIMEOUT ).toNanos();
+    }
+
+    public <T> Supplier<T> fork( final Callable<T> lookup ){
+        final var future = fromBlockingCallable( lookup ).toFuture();
+        lookups.add( future );
+        return () -> await( future );
+    }
+
+    private <T> T await( final CompletableFuture<T> future ){
+        try {
+            return future.get( Math.max( deadlineNanos - System.nanoTime(), 0L ), TimeUnit.NANOSECONDS );
+        } catch ( ExecutionException exception ){
+            if ( exception.getCause() instanceof RuntimeException runtimeException ){
+                throw runtimeException;
+            }
+            throw new InternalServerErrorRuntimeException( getXRequestId(), "Failed to retrieve data from downstream service", new Exception( String.format( "Downstream lookup failed: %s", exception.getCause().getMessage() ) ) );
+        } catch ( TimeoutException exception ){
+            throw new DeadlineExceededRuntimeException( getXRequestId(), "Request deadline exceeded", new Exception( "Downstream lookups did not complete within the request's budget" ) );
+        } catch ( InterruptedException exception ){
+            Thread.currentThread().interrupt();
+            throw new InternalServerErrorRuntimeException( getXRequestId(), "Failed to retrieve data from downstream service", new Exception( "Interrupted while waiting for downstream lookups" ) );
+        }
+    }
+
+    @Override
+    public void close(){
+        lookups.forEach( lookup -> lookup.cancel( true ) );
+    }
+
+}
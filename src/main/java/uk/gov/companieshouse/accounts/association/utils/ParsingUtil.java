@@ -11,12 +11,12 @@ import uk.gov.companieshouse.accounts.association.exceptions.InternalServerError
 
 public class ParsingUtil {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule( new JavaTimeModule() );
+
     public static <T> Function<String, T> parseJsonTo( final Class<T> clazz ) {
         return json -> {
-            final var objectMapper = new ObjectMapper();
-            objectMapper.registerModule( new JavaTimeModule() );
             try {
-                return objectMapper.readValue( json, clazz );
+                return OBJECT_MAPPER.readValue( json, clazz );
             } catch ( IOException e ){
                 throw new InternalServerErrorRuntimeException(getXRequestId(), "Unable to parse json", e );
             }
@@ -24,10 +24,8 @@ public class ParsingUtil {
     }
 
     public static <T> String parseJsonFrom( final T object, final String fallback ) {
-        final var objectMapper = new ObjectMapper();
-        objectMapper.registerModule( new JavaTimeModule() );
         try {
-            return objectMapper.writeValueAsString( object );
+            return OBJECT_MAPPER.writeValueAsString( object );
         } catch ( IOException exception ) {
             LOGGER.errorContext( getXRequestId(), "Unable to parse json", exception, null );
             return fallback;
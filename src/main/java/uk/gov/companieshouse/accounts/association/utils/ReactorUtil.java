@@ -0,0 +1,74 @@
+package uk.gov.companieshouse.accounts.association.utils;
+
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getRemainingBudget;
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.traceContextOf;
+
+import io.opentelemetry.context.Context;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.companieshouse.accounts.association.exceptions.DeadlineExceededRuntimeException;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData;
+
+public final class ReactorUtil {
+
+    static final Duration DEFAULT_BLOCK_TIMEOUT = Duration.ofSeconds( 20L );
+
+    private ReactorUtil(){}
+
+    /**
+     Blocks until the Mono completes, for no longer than the current request's remaining time budget. If the budget
+     runs out first, the Mono is cancelled and a DeadlineExceededRuntimeException is thrown. Outside of a request with a
+     deadline, this waits up to 20 seconds, as each downstream call did before deadlines were introduced.
+     */
+    public static <T> T blockWithinDeadline( final Mono<T> mono ){
+        final var xRequestId = getXRequestId();
+        final var remainingBudget = getRemainingBudget();
+        if ( remainingBudget.isEmpty() ){
+            return mono.block( DEFAULT_BLOCK_TIMEOUT );
+        }
+
+        return mono
+                .timeout( remainingBudget.get() )
+                .onErrorMap( TimeoutException.class, exception -> new DeadlineExceededRuntimeException( xRequestId, "Request deadline exceeded", new Exception( String.format( "Downstream call did not complete within the remaining %d ms of the request's budget", remainingBudget.get().toMillis() ) ) ) )
+                .block();
+    }
+
+    /**
+     Wraps a blocking call so that it never runs on a non-blocking thread, such as a reactor-netty event loop or
+     Schedulers.parallel(). If the Mono is subscribed to from such a thread, the call is moved onto
+     Schedulers.boundedElastic(); otherwise it runs on the subscribing thread, as it would have done without wrapping.
+     */
+    public static Mono<Void> fromBlockingRunnable( final Runnable runnable ){
+        return Mono.defer( () -> {
+            final var call = Mono.<Void>fromRunnable( runnable );
+            return Schedulers.isInNonBlockingThread() ? call.subscribeOn( Schedulers.boundedElastic() ) : call;
+        } );
+    }
+
+    /**
+     Runs a blocking call on Schedulers.boundedElastic(), so that several such calls can be in flight at once. The
+     caller's RequestContext is captured when this method is called and installed on the worker thread for the duration
+     of the call, so that the call logs against, and authorises as, the original request. A null result completes the
+     Mono empty.
+     */
+    public static <T> Mono<T> fromBlockingCallable( final Callable<T> callable ){
+        return fromBlockingCallable( RequestContext.getRequestContext(), callable );
+    }
+
+    /**
+     As {@link #fromBlockingCallable(Callable)}, but with a RequestContext captured earlier, for use inside operators
+     that run on a thread which does not carry the request's context. The trace context is taken from the subscriber's
+     Reactor context, or otherwise captured when this method is called, and is current on the worker thread too.
+     */
+    public static <T> Mono<T> fromBlockingCallable( final RequestContextData requestContext, final Callable<T> callable ){
+        final var assemblyContext = Context.current();
+        return Mono.deferContextual( reactorContext -> Mono.fromCallable( traceContextOf( reactorContext, assemblyContext ).wrap( RequestContext.wrap( requestContext, callable ) ) ) )
+                .subscribeOn( Schedulers.boundedElastic() );
+    }
+
+}
@@ -5,9 +5,11 @@ import static uk.gov.companieshouse.accounts.association.models.Constants.OAUTH2
 import static uk.gov.companieshouse.accounts.association.models.Constants.UNKNOWN;
 import static uk.gov.companieshouse.accounts.association.models.context.RequestContext.getRequestContext;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.function.Function;
+import uk.gov.companieshouse.accounts.association.exceptions.DeadlineExceededRuntimeException;
 import uk.gov.companieshouse.accounts.association.models.context.RequestContextData;
 import uk.gov.companieshouse.api.accounts.user.model.User;
 
@@ -39,6 +41,21 @@ public final class RequestContextUtil {
         return getFieldFromRequestContext( RequestContextData::getUser, null );
     }
 
+    /**
+     The time left before the current request's deadline, or an empty Optional if the request has no deadline. Once
+     less than a millisecond remains, a DeadlineExceededRuntimeException is thrown instead, so that no further
+     downstream call is started for a request that has already run out of time.
+     */
+    public static Optional<Duration> getRemainingBudget(){
+        final var remainingBudget = Optional.ofNullable( getFieldFromRequestContext( RequestContextData::getDeadlineNanos, null ) )
+                .map( deadlineNanos -> Duration.ofNanos( deadlineNanos - System.nanoTime() ) );
+
+        if ( remainingBudget.isPresent() && remainingBudget.get().toMillis() <= 0 ){
+            throw new DeadlineExceededRuntimeException( getXRequestId(), "Request deadline exceeded", new Exception( "Request ran out of time before its next downstream call" ) );
+        }
+        return remainingBudget;
+    }
+
     public static boolean isOAuth2Request(){
         return OAUTH2.equals( getEricIdentityType() );
     }
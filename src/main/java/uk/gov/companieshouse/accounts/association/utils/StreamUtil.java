@@ -0,0 +1,37 @@
+package uk.gov.companieshouse.accounts.association.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class StreamUtil {
+
+    private StreamUtil(){}
+
+    public static <T> Stream<List<T>> batch( final Stream<T> stream, final int batchSize ){
+        if ( batchSize <= 0 ){
+            throw new IllegalArgumentException( "batchSize must be greater than 0" );
+        }
+
+        final var source = stream.spliterator();
+        final var batches = new AbstractSpliterator<List<T>>( Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL ) {
+            @Override
+            public boolean tryAdvance( final Consumer<? super List<T>> action ) {
+                final var batch = new ArrayList<T>( batchSize );
+                while ( batch.size() < batchSize && source.tryAdvance( batch::add ) );
+                if ( batch.isEmpty() ){
+                    return false;
+                }
+                action.accept( batch );
+                return true;
+            }
+        };
+
+        return StreamSupport.stream( batches, false ).onClose( stream::close );
+    }
+
+}
@@ -0,0 +1,117 @@
+package uk.gov.companieshouse.accounts.association.utils;
+
+import static uk.gov.companieshouse.accounts.association.utils.StaticPropertyUtil.APPLICATION_NAMESPACE;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ Starts the service's own spans around the phases that auto-instrumentation cannot see, such as enrichment waves,
+ authorisation gates and email fan-out. Until {@link #useOpenTelemetry(OpenTelemetry)} is called, spans are no-ops.
+
+ Spans started in a Reactor chain are parented from the OpenTelemetry context carried in the Reactor context, which the
+ chain inherits from its subscriber, and otherwise from the context current when the chain was assembled. The chain is
+ subscribed to with its span current, so that downstream calls made at subscription are recorded as its children.
+ */
+public final class TracingUtil {
+
+    public static final AttributeKey<String> COMPANY_NUMBER = AttributeKey.stringKey( "association.company_number" );
+    public static final AttributeKey<Long> PAGE_SIZE = AttributeKey.longKey( "association.page_size" );
+    public static final AttributeKey<Long> USERS = AttributeKey.longKey( "enrichment.users" );
+    public static final AttributeKey<Long> COMPANIES = AttributeKey.longKey( "enrichment.companies" );
+    public static final AttributeKey<Boolean> ASSOCIATION_CONFIRMED = AttributeKey.booleanKey( "association.confirmed" );
+    public static final AttributeKey<String> EVENT = AttributeKey.stringKey( "email.event" );
+    public static final AttributeKey<String> MESSAGE_TYPE = AttributeKey.stringKey( "email.message_type" );
+    public static final AttributeKey<Long> RECIPIENTS = AttributeKey.longKey( "email.recipients" );
+    public static final AttributeKey<Boolean> CACHE_HIT = AttributeKey.booleanKey( "cache.hit" );
+    public static final AttributeKey<Long> CACHE_HITS = AttributeKey.longKey( "cache.hits" );
+    public static final AttributeKey<Long> CACHE_MISSES = AttributeKey.longKey( "cache.misses" );
+
+    private static final Class<Context> TRACE_CONTEXT_KEY = Context.class;
+
+    private static volatile Tracer tracer = OpenTelemetry.noop().getTracer( APPLICATION_NAMESPACE );
+
+    private TracingUtil(){}
+
+    public static void useOpenTelemetry( final OpenTelemetry openTelemetry ){
+        tracer = openTelemetry.getTracer( APPLICATION_NAMESPACE );
+    }
+
+    /**
+     Returns the OpenTelemetry context carried in the Reactor context, or the given fallback if there is none.
+     */
+    public static Context traceContextOf( final ContextView reactorContext, final Context fallback ){
+        return reactorContext.getOrDefault( TRACE_CONTEXT_KEY, fallback );
+    }
+
+    private static Span startSpan( final String spanName, final Attributes attributes, final Context parent ){
+        return tracer.spanBuilder( spanName )
+                .setParent( parent )
+                .setAllAttributes( attributes )
+                .startSpan();
+    }
+
+    private static void recordFailure( final Span span, final Throwable throwable ){
+        span.recordException( throwable );
+        span.setStatus( StatusCode.ERROR );
+    }
+
+    /**
+     Runs a blocking call in a new span, which is current for the duration of the call.
+     */
+    public static <T> T traced( final String spanName, final Attributes attributes, final Function<Span, T> call ){
+        final var span = startSpan( spanName, attributes, Context.current() );
+        try ( final var scope = span.makeCurrent() ){
+            return call.apply( span );
+        } catch ( RuntimeException exception ){
+            recordFailure( span, exception );
+            throw exception;
+        } finally {
+            span.end();
+        }
+    }
+
+    public static <T> Mono<T> tracedMono( final String spanName, final Attributes attributes, final Function<Span, Mono<T>> mono ){
+        final var assemblyContext = Context.current();
+        return Mono.deferContextual( reactorContext -> {
+            final var spanContext = traceContextOf( reactorContext, assemblyContext );
+            final var span = startSpan( spanName, attributes, spanContext );
+            final var traceContext = spanContext.with( span );
+            return Mono.<T>from( subscriber -> {
+                        try ( final var scope = traceContext.makeCurrent() ){
+                            mono.apply( span ).subscribe( subscriber );
+                        }
+                    } )
+                    .doOnError( throwable -> recordFailure( span, throwable ) )
+                    .doFinally( signal -> span.end() )
+                    .contextWrite( context -> context.put( TRACE_CONTEXT_KEY, traceContext ) );
+        } );
+    }
+
+    public static <T> Flux<T> tracedFlux( final String spanName, final Attributes attributes, final Function<Span, Flux<T>> flux ){
+        final var assemblyContext = Context.current();
+        return Flux.deferContextual( reactorContext -> {
+            final var spanContext = traceContextOf( reactorContext, assemblyContext );
+            final var span = startSpan( spanName, attributes, spanContext );
+            final var traceContext = spanContext.with( span );
+            return Flux.<T>from( subscriber -> {
+                        try ( final var scope = traceContext.makeCurrent() ){
+                            flux.apply( span ).subscribe( subscriber );
+                        }
+                    } )
+                    .doOnError( throwable -> recordFailure( span, throwable ) )
+                    .doFinally( signal -> span.end() )
+                    .contextWrite( context -> context.put( TRACE_CONTEXT_KEY, traceContext ) );
+        } );
+    }
+
+}
@@ -0,0 +1,162 @@
+package uk.gov.companieshouse.accounts.association.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.exceptions.EmailSendException;
+import uk.gov.companieshouse.api.chskafka.SendEmail;
+
+@Tag( "unit-test" )
+class BatchingEmailClientTest {
+
+    private static final long STUB_LATENCY_MS = 20L;
+
+    private static class StubEmailClient extends EmailClient {
+
+        private final CountDownLatch latch;
+        private final Set<String> failingMessageIds;
+        private final Set<String> sentMessageIds = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private StubEmailClient( final int expectedEmails, final Set<String> failingMessageIds ) {
+            super( null, null );
+            this.latch = new CountDownLatch( expectedEmails );
+            this.failingMessageIds = failingMessageIds;
+        }
+
+        @Override
+        public void sendEmail( final SendEmail sendEmail, final String xRequestId ) {
+            maxInFlight.accumulateAndGet( inFlight.incrementAndGet(), Math::max );
+            try {
+                Thread.sleep( STUB_LATENCY_MS );
+                if ( failingMessageIds.contains( sendEmail.getMessageId() ) ){
+                    throw new EmailSendException( "Failed to send email" );
+                }
+                sentMessageIds.add( sendEmail.getMessageId() );
+            } catch ( InterruptedException exception ){
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                latch.countDown();
+            }
+        }
+
+        private boolean await() throws InterruptedException {
+            return latch.await( 10L, TimeUnit.SECONDS );
+        }
+
+    }
+
+    private static SendEmail createSendEmail( final int messageId ){
+        final var sendEmail = new SendEmail();
+        sendEmail.setMessageId( String.valueOf( messageId ) );
+        sendEmail.setMessageType( "invitation_email" );
+        return sendEmail;
+    }
+
+    @Test
+    void submitSendsEmailsConcurrentlyWithinConcurrencyLimit(){
+        final var emails = 100;
+        final var stubEmailClient = new StubEmailClient( emails, Set.of() );
+        final var batchingEmailClient = new BatchingEmailClient( stubEmailClient, 1_000, 8, 10_000L );
+
+        final var startTime = System.nanoTime();
+        final var submissions = new ArrayList<Mono<Void>>();
+        for ( int messageId = 0; messageId < emails; messageId++ ){
+            submissions.add( batchingEmailClient.submit( createSendEmail( messageId ), "theId12345" ) );
+        }
+        Mono.when( submissions ).block( Duration.ofSeconds( 10L ) );
+        final var elapsed = Duration.ofNanos( System.nanoTime() - startTime );
+        batchingEmailClient.close();
+
+        final var sequentialDuration = Duration.ofMillis( emails * STUB_LATENCY_MS );
+        final var messagesPerSecond = emails * 1000.0 / Math.max( elapsed.toMillis(), 1L );
+        Assertions.assertEquals( emails, stubEmailClient.sentMessageIds.size() );
+        Assertions.assertTrue( stubEmailClient.maxInFlight.get() <= 8 );
+        Assertions.assertTrue( elapsed.compareTo( sequentialDuration.dividedBy( 2L ) ) < 0, String.format( "Sent %d emails in %d ms (%.1f messages/s)", emails, elapsed.toMillis(), messagesPerSecond ) );
+    }
+
+    @Test
+    void submitSendsEveryQueuedEmail(){
+        final var stubEmailClient = new StubEmailClient( 3, Set.of() );
+        final var batchingEmailClient = new BatchingEmailClient( stubEmailClient, 1_000, 8, 10_000L );
+
+        Mono.when( batchingEmailClient.submit( createSendEmail( 1 ), "theId12345" ),
+                   batchingEmailClient.submit( createSendEmail( 2 ), "theId12345" ),
+                   batchingEmailClient.submit( createSendEmail( 3 ), "theId12345" ) ).block( Duration.ofSeconds( 10L ) );
+
+        Assertions.assertEquals( Set.of( "1", "2", "3" ), stubEmailClient.sentMessageIds );
+        batchingEmailClient.close();
+    }
+
+    @Test
+    void submitWithFailingEmailFailsThatSubmissionAndStillSendsRestOfBatch() throws InterruptedException {
+        final var stubEmailClient = new StubEmailClient( 3, Set.of( "2" ) );
+        final var batchingEmailClient = new BatchingEmailClient( stubEmailClient, 1_000, 8, 10_000L );
+
+        batchingEmailClient.submit( createSendEmail( 1 ), "theId12345" ).subscribe();
+        final var failingSubmission = batchingEmailClient.submit( createSendEmail( 2 ), "theId12345" );
+        batchingEmailClient.submit( createSendEmail( 3 ), "theId12345" ).subscribe();
+
+        Assertions.assertThrows( EmailSendException.class, () -> failingSubmission.block( Duration.ofSeconds( 10L ) ) );
+        Assertions.assertTrue( stubEmailClient.await() );
+        Assertions.assertEquals( Set.of( "1", "3" ), stubEmailClient.sentMessageIds );
+        batchingEmailClient.close();
+    }
+
+    @Test
+    void submitCompletesOnlyOnceEmailHasBeenPosted(){
+        final var stubEmailClient = new StubEmailClient( 1, Set.of() );
+        final var batchingEmailClient = new BatchingEmailClient( stubEmailClient, 1_000, 8, 10_000L );
+
+        batchingEmailClient.submit( createSendEmail( 1 ), "theId12345" ).block( Duration.ofSeconds( 10L ) );
+
+        Assertions.assertEquals( Set.of( "1" ), stubEmailClient.sentMessageIds );
+        batchingEmailClient.close();
+    }
+
+    @Test
+    void closeWaitsForQueuedEmailsToBeSent(){
+        final var stubEmailClient = new StubEmailClient( 2, Set.of() );
+        final var batchingEmailClient = new BatchingEmailClient( stubEmailClient, 1_000, 8, 10_000L );
+
+        batchingEmailClient.submit( createSendEmail( 1 ), "theId12345" ).subscribe();
+        batchingEmailClient.submit( createSendEmail( 2 ), "theId12345" ).subscribe();
+        batchingEmailClient.close();
+
+        Assertions.assertEquals( Set.of( "1", "2" ), stubEmailClient.sentMessageIds );
+        Assertions.assertTrue( batchingEmailClient.isClosed() );
+    }
+
+    @Test
+    void submitWhileQueueIsFullFailsWithoutQueueingEmail() throws InterruptedException {
+        final var stubEmailClient = new StubEmailClient( 3, Set.of() );
+        final var batchingEmailClient = new BatchingEmailClient( stubEmailClient, 1, 1, 10_000L );
+
+        batchingEmailClient.submit( createSendEmail( 1 ), "theId12345" ).subscribe();
+        batchingEmailClient.submit( createSendEmail( 2 ), "theId12345" ).subscribe();
+        final var rejectedSubmission = batchingEmailClient.submit( createSendEmail( 3 ), "theId12345" );
+
+        Assertions.assertThrows( EmailSendException.class, () -> rejectedSubmission.block( Duration.ofSeconds( 10L ) ) );
+        batchingEmailClient.close();
+        Assertions.assertFalse( stubEmailClient.sentMessageIds.contains( "3" ) );
+    }
+
+    @Test
+    void submitAfterCloseFails(){
+        final var batchingEmailClient = new BatchingEmailClient( new StubEmailClient( 0, Set.of() ), 1_000, 8, 10_000L );
+        batchingEmailClient.close();
+
+        Assertions.assertThrows( EmailSendException.class, () -> batchingEmailClient.submit( createSendEmail( 1 ), "theId12345" ).block( Duration.ofSeconds( 10L ) ) );
+    }
+
+}
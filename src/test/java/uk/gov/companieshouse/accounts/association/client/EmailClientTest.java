@@ -1,11 +1,13 @@
 package uk.gov.companieshouse.accounts.association.client;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.accounts.association.configuration.DownstreamMetricsPolicy;
 import uk.gov.companieshouse.accounts.association.exceptions.EmailSendException;
 import uk.gov.companieshouse.api.InternalApiClient;
 import uk.gov.companieshouse.api.chskafka.SendEmail;
@@ -17,6 +19,7 @@ import uk.gov.companieshouse.api.model.ApiResponse;
 
 import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,6 +33,7 @@ class EmailClientTest {
     public static final String SEND_EMAIL_URL = "/send-email";
     private static final String TEST_MESSAGE = "test-message";
     private EmailClient emailClient;
+    private SimpleMeterRegistry meterRegistry;
 
     @Mock
     private Supplier<InternalApiClient> internalApiClientSupplier;
@@ -49,7 +53,8 @@ class EmailClientTest {
 
     @BeforeEach
     void setUp() {
-        emailClient = new EmailClient(internalApiClientSupplier);
+        meterRegistry = new SimpleMeterRegistry();
+        emailClient = new EmailClient(internalApiClientSupplier, new DownstreamMetricsPolicy(meterRegistry));
         when(internalApiClientSupplier.get()).thenReturn(internalApiClient);
         when(internalApiClient.getHttpClient()).thenReturn(httpClient);
         when(internalApiClient.sendEmailHandler()).thenReturn(privateSendEmailHandler);
@@ -73,6 +78,8 @@ class EmailClientTest {
         verify(internalApiClient).getHttpClient();
         verify(privateSendEmailHandler).postSendEmail(SEND_EMAIL_URL, sendEmail);
         verify(privateSendEmailPost).execute();
+        assertEquals(1L, meterRegistry.get("downstream.requests").tag("dependency", "chs-kafka-api").tag("outcome", "SUCCESS").tag("status", "200").timer().count());
+        assertEquals(0.0, meterRegistry.get("downstream.requests.active").gauge().value());
     }
 
     @Test
@@ -88,5 +95,6 @@ class EmailClientTest {
         // Act & Assert
         assertThrows(EmailSendException.class, () -> emailClient.sendEmail(sendEmail, TEST_REQUEST_ID));
         verify(privateSendEmailPost).execute();
+        assertEquals(1.0, meterRegistry.get("downstream.requests.errors").tag("dependency", "chs-kafka-api").counter().count());
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.accounts.association.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.common.BlockHoundExtension;
+import uk.gov.companieshouse.accounts.association.exceptions.EmailSendException;
+import uk.gov.companieshouse.api.chskafka.SendEmail;
+
+@Tag( "unit-test" )
+@ExtendWith( BlockHoundExtension.class )
+class ReactiveEmailClientTest {
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private ReactiveEmailClient createReactiveEmailClient( final HttpStatus responseStatus ){
+        final var webClient = WebClient.builder()
+                .baseUrl( "http://kafka-api.local" )
+                .exchangeFunction( request -> {
+                    requests.add( request );
+                    return Mono.just( ClientResponse.create( responseStatus ).build() );
+                } )
+                .build();
+        return new ReactiveEmailClient( webClient );
+    }
+
+    private static SendEmail createSendEmail(){
+        final var sendEmail = new SendEmail();
+        sendEmail.setAppId( "accounts-association-api" );
+        sendEmail.setMessageId( "1" );
+        sendEmail.setMessageType( "invitation_email" );
+        sendEmail.setJsonData( "{\"key\":\"value\"}" );
+        sendEmail.setEmailAddress( "bruce.wayne@gotham.city" );
+        return sendEmail;
+    }
+
+    @Test
+    void toSendEmailRequestPostsEmailToSendEmailEndpoint(){
+        final var reactiveEmailClient = createReactiveEmailClient( HttpStatus.OK );
+
+        reactiveEmailClient.toSendEmailRequest( createSendEmail(), "theId12345" ).block();
+
+        Assertions.assertEquals( 1, requests.size() );
+        Assertions.assertEquals( "POST", requests.getFirst().method().name() );
+        Assertions.assertEquals( "http://kafka-api.local/send-email", requests.getFirst().url().toString() );
+        Assertions.assertEquals( "theId12345", requests.getFirst().headers().getFirst( "X-Request-Id" ) );
+        Assertions.assertEquals( "application/json", requests.getFirst().headers().getFirst( HttpHeaders.CONTENT_TYPE ) );
+    }
+
+    @Test
+    void toSendEmailRequestIsLazy(){
+        createReactiveEmailClient( HttpStatus.OK ).toSendEmailRequest( createSendEmail(), "theId12345" );
+        Assertions.assertTrue( requests.isEmpty() );
+    }
+
+    @Test
+    void toSendEmailRequestWithErrorResponseEmitsEmailSendException(){
+        final var request = createReactiveEmailClient( HttpStatus.INTERNAL_SERVER_ERROR ).toSendEmailRequest( createSendEmail(), "theId12345" );
+        Assertions.assertThrows( EmailSendException.class, request::block );
+    }
+
+    @Test
+    void toSendEmailRequestWithIncompleteEmailEmitsEmailSendException(){
+        final var request = createReactiveEmailClient( HttpStatus.OK ).toSendEmailRequest( new SendEmail(), "theId12345" );
+        Assertions.assertThrows( EmailSendException.class, request::block );
+        Assertions.assertTrue( requests.isEmpty() );
+    }
+
+}
@@ -0,0 +1,43 @@
+package uk.gov.companieshouse.accounts.association.common;
+
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ Reports blocking calls made on non-blocking Reactor threads as a {@link BlockingOperationError}, for the test classes
+ that extend with it only. Reactor's own integration, found on the classpath, marks which threads are non-blocking. BlockHound cannot be uninstalled once installed, so it stays installed for the rest of the
+ run, but only raises errors while an extended test class is running.
+ */
+public class BlockHoundExtension implements BeforeAllCallback, AfterAllCallback {
+
+    private static final AtomicBoolean ACTIVE = new AtomicBoolean();
+
+    static {
+        final var builder = BlockHound.builder();
+        ServiceLoader.load( BlockHoundIntegration.class ).forEach( builder::with );
+        builder.with( new LoggingBlockHoundIntegration() )
+                .blockingMethodCallback( method -> {
+                    if ( ACTIVE.get() ){
+                        throw new BlockingOperationError( method );
+                    }
+                } )
+                .install();
+    }
+
+    @Override
+    public void beforeAll( final ExtensionContext context ){
+        ACTIVE.set( true );
+    }
+
+    @Override
+    public void afterAll( final ExtensionContext context ){
+        ACTIVE.set( false );
+    }
+
+}
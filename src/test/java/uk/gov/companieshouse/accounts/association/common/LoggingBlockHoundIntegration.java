@@ -0,0 +1,13 @@
+package uk.gov.companieshouse.accounts.association.common;
+
+import reactor.blockhound.BlockHound.Builder;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+public class LoggingBlockHoundIntegration implements BlockHoundIntegration {
+
+    @Override
+    public void applyTo( final Builder builder ) {
+        builder.allowBlockingCallsInside( "ch.qos.logback.core.OutputStreamAppender", "subAppend" );
+    }
+
+}
@@ -359,23 +359,42 @@ public class Mockers {
                 .sendEmail(Mockito.any(SendEmail.class), any());
     }
 
+    /**
+     * Mocks CompanyService to return the given companies, both when they are fetched directly and when they are
+     * resolved by the mappers, which use {@linkplain CompanyService#toFetchCompanyProfileRequest(String, String) the non-blocking request}.
+     */
     public void mockCompanyServiceFetchCompanyProfile( final String... companyNumbers ){
         for ( final String companyNumber: companyNumbers ){
             final var companyDetails = testDataManager.fetchCompanyDetailsDtos( companyNumber ).getFirst();
-            Mockito.doReturn( companyDetails ).when( companyService ).fetchCompanyProfile( companyNumber );
+            Mockito.lenient().doReturn( companyDetails ).when( companyService ).fetchCompanyProfile( companyNumber );
+            Mockito.lenient().doReturn( Mono.just( companyDetails ) ).when( companyService ).toFetchCompanyProfileRequest( eq( companyNumber ), any() );
         }
     }
 
     public void mockCompanyServiceFetchCompanyProfileNotFound( final String... companyNumbers ){
         for ( final String companyNumber: companyNumbers ){
-            Mockito.doThrow(new NotFoundRuntimeException(X_REQUEST_ID_VALUE, "Not found", new Exception("Not found"))).when(companyService).fetchCompanyProfile(companyNumber);
+            final var exception = new NotFoundRuntimeException(X_REQUEST_ID_VALUE, "Not found", new Exception("Not found"));
+            Mockito.lenient().doThrow( exception ).when( companyService ).fetchCompanyProfile( companyNumber );
+            Mockito.lenient().doReturn( Mono.error( exception ) ).when( companyService ).toFetchCompanyProfileRequest( eq( companyNumber ), any() );
         }
     }
 
+    public void mockCompanyServiceToFetchCompanyProfileRequest( final String... companyNumbers ){
+        for ( final String companyNumber: companyNumbers ){
+            final var companyDetails = testDataManager.fetchCompanyDetailsDtos( companyNumber ).getFirst();
+            Mockito.doReturn( Mono.just( companyDetails ) ).when( companyService ).toFetchCompanyProfileRequest( eq( companyNumber ), any() );
+        }
+    }
+
+    /**
+     * Mocks UsersService to return the given users, both when they are fetched directly and when they are resolved by
+     * the mappers, which use {@linkplain UsersService#toFetchUserDetailsRequest(String, String) the non-blocking request}.
+     */
     public void mockUsersServiceFetchUserDetails( final String... userIds ){
         for ( final String userId: userIds ){
             final var userDetails = testDataManager.fetchUserDtos( userId ).getFirst();
-            Mockito.doReturn( userDetails ).when( usersService ).fetchUserDetails( eq(userId), any() );
+            Mockito.lenient().doReturn( userDetails ).when( usersService ).fetchUserDetails( eq(userId), any() );
+            Mockito.lenient().doReturn( Mono.just( userDetails ) ).when( usersService ).toFetchUserDetailsRequest( eq(userId), any() );
         }
     }
 
@@ -404,7 +423,9 @@ public class Mockers {
 
     public void mockUsersServiceFetchUserDetailsNotFound( final String... userIds ){
         for ( final String userId: userIds ){
-            Mockito.doThrow(new NotFoundRuntimeException(X_REQUEST_ID_VALUE, "Not found.", new Exception("Not found."))).when(usersService).fetchUserDetails(eq(userId), any());
+            final var exception = new NotFoundRuntimeException(X_REQUEST_ID_VALUE, "Not found.", new Exception("Not found."));
+            Mockito.lenient().doThrow( exception ).when( usersService ).fetchUserDetails( eq(userId), any() );
+            Mockito.lenient().doReturn( Mono.error( exception ) ).when( usersService ).toFetchUserDetailsRequest( eq(userId), any() );
         }
     }
 
@@ -0,0 +1,108 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+@Tag( "unit-test" )
+class DownstreamMetricsPolicyTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 10L );
+
+    private HttpServer stubServer;
+    private SimpleMeterRegistry meterRegistry;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setup() throws IOException {
+        stubServer = HttpServer.create( new InetSocketAddress( "localhost", 0 ), 0 );
+        stubServer.createContext( "/users/", exchange -> {
+            final var userId = exchange.getRequestURI().getPath().substring( "/users/".length() );
+            final var body = String.format( "{\"user_id\":\"%s\"}", userId ).getBytes( StandardCharsets.UTF_8 );
+            exchange.getResponseHeaders().add( "Content-Type", "application/json" );
+            exchange.sendResponseHeaders( userId.startsWith( "404" ) ? 404 : userId.startsWith( "500" ) ? 500 : 200, body.length );
+            exchange.getResponseBody().write( body );
+            exchange.close();
+        } );
+        stubServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+        webClient = WebClient.builder()
+                .baseUrl( String.format( "http://localhost:%d", stubServer.getAddress().getPort() ) )
+                .filter( new DownstreamMetricsPolicy( meterRegistry ).filterFor( "accounts-user-api" ) )
+                .build();
+    }
+
+    @AfterEach
+    void tearDown(){
+        stubServer.stop( 0 );
+    }
+
+    private String fetchUser( final String userId ){
+        return webClient.get().uri( "/users/{user}", userId ).retrieve().bodyToMono( String.class ).block( TIMEOUT );
+    }
+
+    @Test
+    void filterForRecordsSuccessfulCall(){
+        fetchUser( "111" );
+
+        final var timer = meterRegistry.get( "downstream.requests" ).tag( "dependency", "accounts-user-api" ).tag( "method", "GET" ).tag( "outcome", "SUCCESS" ).tag( "status", "200" ).timer();
+        Assertions.assertEquals( 1L, timer.count() );
+        Assertions.assertEquals( 0.0, meterRegistry.get( "downstream.requests.active" ).tag( "dependency", "accounts-user-api" ).gauge().value() );
+        Assertions.assertTrue( meterRegistry.find( "downstream.requests.errors" ).counters().isEmpty() );
+    }
+
+    @Test
+    void filterForDoesNotCountNotFoundAsError(){
+        Assertions.assertThrows( WebClientResponseException.NotFound.class, () -> fetchUser( "404User" ) );
+
+        Assertions.assertEquals( 1L, meterRegistry.get( "downstream.requests" ).tag( "outcome", "CLIENT_ERROR" ).tag( "status", "404" ).timer().count() );
+        Assertions.assertTrue( meterRegistry.find( "downstream.requests.errors" ).counters().isEmpty() );
+    }
+
+    @Test
+    void filterForCountsServerErrors(){
+        Assertions.assertThrows( WebClientResponseException.InternalServerError.class, () -> fetchUser( "500User" ) );
+
+        Assertions.assertEquals( 1L, meterRegistry.get( "downstream.requests" ).tag( "outcome", "SERVER_ERROR" ).tag( "status", "500" ).timer().count() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "downstream.requests.errors" ).tag( "dependency", "accounts-user-api" ).tag( "status", "500" ).counter().count() );
+    }
+
+    @Test
+    void filterForCountsCallsWithoutResponseAsIoErrors(){
+        stubServer.stop( 0 );
+
+        Assertions.assertThrows( WebClientRequestException.class, () -> fetchUser( "111" ) );
+
+        Assertions.assertEquals( 1L, meterRegistry.get( "downstream.requests" ).tag( "outcome", "UNKNOWN" ).tag( "status", "IO_ERROR" ).timer().count() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "downstream.requests.errors" ).tag( "status", "IO_ERROR" ).counter().count() );
+        Assertions.assertEquals( 0.0, meterRegistry.get( "downstream.requests.active" ).gauge().value() );
+    }
+
+    @Test
+    void filterForTagsNotFoundAnsweredByNegativeCacheAsCached(){
+        final var cachingWebClient = WebClient.builder()
+                .baseUrl( String.format( "http://localhost:%d", stubServer.getAddress().getPort() ) )
+                .filter( new DownstreamMetricsPolicy( meterRegistry ).filterFor( "accounts-user-api" ) )
+                .filter( new NegativeCachePolicy( meterRegistry, true, 30_000L, 100L ).filterFor( "accounts-user-api" ) )
+                .build();
+
+        for ( int attempt = 0; attempt < 2; attempt++ ){
+            Assertions.assertThrows( WebClientResponseException.NotFound.class, () -> cachingWebClient.get().uri( "/users/{user}", "404User" ).retrieve().bodyToMono( String.class ).block( TIMEOUT ) );
+        }
+
+        Assertions.assertEquals( 1L, meterRegistry.get( "downstream.requests" ).tag( "outcome", "CLIENT_ERROR" ).tag( "status", "404" ).timer().count() );
+        Assertions.assertEquals( 1L, meterRegistry.get( "downstream.requests" ).tag( "outcome", "CACHED" ).tag( "status", "404" ).timer().count() );
+    }
+
+}
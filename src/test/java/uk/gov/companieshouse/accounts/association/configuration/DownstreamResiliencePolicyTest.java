@@ -0,0 +1,149 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Tag( "unit-test" )
+class DownstreamResiliencePolicyTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 10L );
+
+    private final AtomicInteger responseStatus = new AtomicInteger( 200 );
+    private final AtomicLong responseLatencyMs = new AtomicLong( 0L );
+    private final AtomicInteger requestsReceived = new AtomicInteger( 0 );
+
+    private HttpServer stubServer;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() throws IOException {
+        stubServer = HttpServer.create( new InetSocketAddress( "localhost", 0 ), 0 );
+        stubServer.setExecutor( Executors.newCachedThreadPool() );
+        stubServer.createContext( "/users/", exchange -> {
+            requestsReceived.incrementAndGet();
+            try {
+                Thread.sleep( responseLatencyMs.get() );
+            } catch ( InterruptedException exception ){
+                Thread.currentThread().interrupt();
+            }
+            final var body = String.format( "{\"user_id\":\"%s\"}", exchange.getRequestURI().getPath().substring( "/users/".length() ) ).getBytes( StandardCharsets.UTF_8 );
+            exchange.getResponseHeaders().add( "Content-Type", "application/json" );
+            exchange.sendResponseHeaders( responseStatus.get(), body.length );
+            exchange.getResponseBody().write( body );
+            exchange.close();
+        } );
+        stubServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown(){
+        stubServer.stop( 0 );
+    }
+
+    private WebClient createWebClient( final boolean enabled, final int maxConcurrentCalls, final Set<String> fallbackDependencies ){
+        final var downstreamResiliencePolicy = new DownstreamResiliencePolicy( meterRegistry, enabled, 50f, 5_000L, 4, 60_000L, maxConcurrentCalls, 100L, 60_000L, fallbackDependencies );
+        return WebClient.builder()
+                .baseUrl( String.format( "http://localhost:%d", stubServer.getAddress().getPort() ) )
+                .filter( downstreamResiliencePolicy.filterFor( "accounts-user-api" ) )
+                .build();
+    }
+
+    private static Mono<String> fetchUser( final WebClient webClient, final String userId ){
+        return webClient.get().uri( "/users/{user}", userId ).retrieve().bodyToMono( String.class );
+    }
+
+    @Test
+    void filterForWhenDisabledPassesFailuresStraightThrough(){
+        final var webClient = createWebClient( false, 25, Set.of() );
+        responseStatus.set( 500 );
+
+        for ( int attempt = 0; attempt < 10; attempt++ ){
+            Assertions.assertThrows( WebClientResponseException.class, () -> fetchUser( webClient, "111" ).block( TIMEOUT ) );
+        }
+        Assertions.assertEquals( 10, requestsReceived.get() );
+    }
+
+    @Test
+    void filterForOpensCircuitAfterRepeatedServerErrorsAndStopsCallingDependency(){
+        final var webClient = createWebClient( true, 25, Set.of( "accounts-user-api" ) );
+        responseStatus.set( 500 );
+
+        for ( int attempt = 0; attempt < 4; attempt++ ){
+            Assertions.assertThrows( WebClientResponseException.class, () -> fetchUser( webClient, "111" ).block( TIMEOUT ) );
+        }
+
+        Assertions.assertThrows( CallNotPermittedException.class, () -> fetchUser( webClient, "111" ).block( TIMEOUT ) );
+        Assertions.assertEquals( 4, requestsReceived.get() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "downstream.circuitbreaker.transitions" ).tag( "dependency", "accounts-user-api" ).tag( "to", "OPEN" ).counter().count() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "downstream.fallback" ).tag( "outcome", "unavailable" ).counter().count() );
+    }
+
+    @Test
+    void filterForServesLastKnownGoodResponseWhileCircuitIsOpen(){
+        final var webClient = createWebClient( true, 25, Set.of( "accounts-user-api" ) );
+        Assertions.assertEquals( "{\"user_id\":\"111\"}", fetchUser( webClient, "111" ).block( TIMEOUT ) );
+
+        responseStatus.set( 500 );
+        for ( int attempt = 0; attempt < 3; attempt++ ){
+            Assertions.assertThrows( WebClientResponseException.class, () -> fetchUser( webClient, "222" ).block( TIMEOUT ) );
+        }
+
+        Assertions.assertEquals( "{\"user_id\":\"111\"}", fetchUser( webClient, "111" ).block( TIMEOUT ) );
+        Assertions.assertEquals( 4, requestsReceived.get() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "downstream.fallback" ).tag( "outcome", "cached" ).counter().count() );
+    }
+
+    @Test
+    void filterForDoesNotServeRememberedResponsesForDependenciesWithoutFallback(){
+        final var webClient = createWebClient( true, 25, Set.of( "company-profile-api" ) );
+        Assertions.assertEquals( "{\"user_id\":\"111\"}", fetchUser( webClient, "111" ).block( TIMEOUT ) );
+
+        responseStatus.set( 500 );
+        for ( int attempt = 0; attempt < 3; attempt++ ){
+            Assertions.assertThrows( WebClientResponseException.class, () -> fetchUser( webClient, "222" ).block( TIMEOUT ) );
+        }
+
+        Assertions.assertThrows( CallNotPermittedException.class, () -> fetchUser( webClient, "111" ).block( TIMEOUT ) );
+        Assertions.assertEquals( 4, requestsReceived.get() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "downstream.fallback" ).tag( "outcome", "unavailable" ).counter().count() );
+    }
+
+    @Test
+    void filterForRejectsCallsBeyondBulkheadWhileDependencyIsSlow(){
+        final var webClient = createWebClient( true, 2, Set.of() );
+        responseLatencyMs.set( 500L );
+
+        final var outcomes = Flux.range( 0, 6 )
+                .flatMap( userId -> fetchUser( webClient, String.valueOf( userId ) )
+                        .map( body -> "succeeded" )
+                        .onErrorResume( BulkheadFullException.class, exception -> Mono.just( "rejected" ) ) )
+                .collectList()
+                .block( TIMEOUT );
+
+        Assertions.assertEquals( 2, outcomes.stream().filter( "succeeded"::equals ).count() );
+        Assertions.assertEquals( 4, outcomes.stream().filter( "rejected"::equals ).count() );
+        Assertions.assertEquals( 2, requestsReceived.get() );
+        Assertions.assertEquals( 4.0, meterRegistry.get( "downstream.bulkhead.rejected" ).tag( "dependency", "accounts-user-api" ).counter().count() );
+    }
+
+}
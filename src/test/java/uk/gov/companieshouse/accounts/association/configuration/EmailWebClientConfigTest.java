@@ -0,0 +1,17 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Tag( "unit-test" )
+class EmailWebClientConfigTest {
+
+    @Test
+    void webClientIsCreatedCorrectly(){
+        Assertions.assertTrue( WebClient.class.isAssignableFrom( new EmailWebClientConfig().emailWebClient( new DownstreamMetricsPolicy( new SimpleMeterRegistry() ) ).getClass() ) );
+    }
+
+}
@@ -0,0 +1,127 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+@Tag( "unit-test" )
+class HedgingPolicyTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 10L );
+    private static final long SLOW_RESPONSE_MS = 1_500L;
+
+    private final AtomicInteger requestsReceived = new AtomicInteger( 0 );
+    private final AtomicBoolean failFirstRequest = new AtomicBoolean( false );
+
+    private HttpServer stubServer;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() throws IOException {
+        stubServer = HttpServer.create( new InetSocketAddress( "localhost", 0 ), 0 );
+        stubServer.setExecutor( Executors.newCachedThreadPool() );
+        stubServer.createContext( "/users/", exchange -> {
+            final var isFirstRequest = requestsReceived.incrementAndGet() == 1;
+            if ( isFirstRequest && failFirstRequest.get() ){
+                exchange.close();
+                return;
+            }
+            try {
+                Thread.sleep( isFirstRequest ? SLOW_RESPONSE_MS : 0L );
+            } catch ( InterruptedException exception ){
+                Thread.currentThread().interrupt();
+            }
+            final var body = ( isFirstRequest ? "{\"user_id\":\"slow\"}" : "{\"user_id\":\"fast\"}" ).getBytes( StandardCharsets.UTF_8 );
+            exchange.getResponseHeaders().add( "Content-Type", "application/json" );
+            exchange.sendResponseHeaders( 200, body.length );
+            exchange.getResponseBody().write( body );
+            exchange.close();
+        } );
+        stubServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown(){
+        stubServer.stop( 0 );
+    }
+
+    private WebClient createWebClient( final boolean enabled, final double maxHedgeRatio ){
+        final var hedgingPolicy = new HedgingPolicy( meterRegistry, enabled, 0.95, 100L, maxHedgeRatio );
+        return WebClient.builder()
+                .baseUrl( String.format( "http://localhost:%d", stubServer.getAddress().getPort() ) )
+                .filter( hedgingPolicy.filterFor( "accounts-user-api" ) )
+                .build();
+    }
+
+    private static String fetchUser( final WebClient webClient ){
+        return webClient.get().uri( "/users/{user}", "111" ).retrieve().bodyToMono( String.class ).block( TIMEOUT );
+    }
+
+    @Test
+    void filterForWhenDisabledWaitsForSlowResponse(){
+        Assertions.assertEquals( "{\"user_id\":\"slow\"}", fetchUser( createWebClient( false, 1.0 ) ) );
+        Assertions.assertEquals( 1, requestsReceived.get() );
+    }
+
+    @Test
+    void filterForSendsHedgeAfterDelayAndTakesFasterResponse(){
+        final var webClient = createWebClient( true, 1.0 );
+
+        final var startTime = System.nanoTime();
+        final var result = fetchUser( webClient );
+        final var elapsed = Duration.ofNanos( System.nanoTime() - startTime );
+
+        Assertions.assertEquals( "{\"user_id\":\"fast\"}", result );
+        Assertions.assertTrue( elapsed.toMillis() < SLOW_RESPONSE_MS, String.format( "Hedged request took %d ms", elapsed.toMillis() ) );
+        Assertions.assertEquals( 2, requestsReceived.get() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "downstream.hedging.requests" ).counter().count() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "downstream.hedging.hedges" ).counter().count() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "downstream.hedging.wins" ).counter().count() );
+    }
+
+    @Test
+    void filterForEstimatesHedgeDelayFromPrimaryRequestsOnly(){
+        final var webClient = createWebClient( true, 1.0 );
+
+        Assertions.assertEquals( "{\"user_id\":\"fast\"}", fetchUser( webClient ) );
+        Assertions.assertEquals( 1L, meterRegistry.get( "downstream.hedging.latency" ).timer().count() );
+        Assertions.assertEquals( 0L, meterRegistry.get( "downstream.hedging.primary-latency" ).timer().count() );
+
+        Assertions.assertEquals( "{\"user_id\":\"fast\"}", fetchUser( webClient ) );
+        Assertions.assertEquals( 2L, meterRegistry.get( "downstream.hedging.latency" ).timer().count() );
+        Assertions.assertEquals( 1L, meterRegistry.get( "downstream.hedging.primary-latency" ).timer().count() );
+    }
+
+    @Test
+    void filterForDoesNotHedgeOnceHedgeBudgetIsSpent(){
+        final var webClient = createWebClient( true, 0.0 );
+
+        Assertions.assertEquals( "{\"user_id\":\"slow\"}", fetchUser( webClient ) );
+        Assertions.assertEquals( 1, requestsReceived.get() );
+        Assertions.assertEquals( 0.0, meterRegistry.get( "downstream.hedging.hedges" ).counter().count() );
+    }
+
+    @Test
+    void filterForPropagatesPrimaryFailureWhenNoHedgeIsSent(){
+        failFirstRequest.set( true );
+        final var webClient = createWebClient( true, 0.0 );
+
+        Assertions.assertThrows( WebClientRequestException.class, () -> fetchUser( webClient ) );
+        Assertions.assertEquals( 1, requestsReceived.get() );
+    }
+
+}
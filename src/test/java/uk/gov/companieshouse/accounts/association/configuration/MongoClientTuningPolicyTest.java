@@ -0,0 +1,62 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag( "unit-test" )
+class MongoClientTuningPolicyTest {
+
+    private static MongoClientTuningPolicy createPolicy( final boolean enabled, final String compressors ){
+        return new MongoClientTuningPolicy( new SimpleMeterRegistry(), enabled, compressors, 50, 5, 4, 2_000L, 300_000L, 1_800_000L, 5_000L, 3_000L );
+    }
+
+    private static MongoClientSettings customise( final MongoClientTuningPolicy policy ){
+        final var builder = MongoClientSettings.builder();
+        policy.customize( builder );
+        return builder.build();
+    }
+
+    @Test
+    void customizeWhenDisabledLeavesDriverDefaults(){
+        final var settings = customise( createPolicy( false, "snappy" ) );
+        final var defaults = MongoClientSettings.builder().build();
+
+        Assertions.assertTrue( settings.getCompressorList().isEmpty() );
+        Assertions.assertEquals( defaults.getConnectionPoolSettings().getMaxSize(), settings.getConnectionPoolSettings().getMaxSize() );
+        Assertions.assertTrue( settings.getConnectionPoolSettings().getConnectionPoolListeners().isEmpty() );
+    }
+
+    @Test
+    void customizeAppliesCompressorsPoolAndTimeouts(){
+        final var settings = customise( createPolicy( true, "zstd, snappy" ) );
+
+        Assertions.assertEquals( List.of( "zstd", "snappy" ), settings.getCompressorList().stream().map( MongoCompressor::getName ).toList() );
+        Assertions.assertEquals( 50, settings.getConnectionPoolSettings().getMaxSize() );
+        Assertions.assertEquals( 5, settings.getConnectionPoolSettings().getMinSize() );
+        Assertions.assertEquals( 4, settings.getConnectionPoolSettings().getMaxConnecting() );
+        Assertions.assertEquals( 2_000L, settings.getConnectionPoolSettings().getMaxWaitTime( TimeUnit.MILLISECONDS ) );
+        Assertions.assertEquals( 300_000L, settings.getConnectionPoolSettings().getMaxConnectionIdleTime( TimeUnit.MILLISECONDS ) );
+        Assertions.assertEquals( 1_800_000L, settings.getConnectionPoolSettings().getMaxConnectionLifeTime( TimeUnit.MILLISECONDS ) );
+        Assertions.assertEquals( 1, settings.getConnectionPoolSettings().getConnectionPoolListeners().size() );
+        Assertions.assertEquals( 5_000, settings.getSocketSettings().getConnectTimeout( TimeUnit.MILLISECONDS ) );
+        Assertions.assertEquals( 3_000L, settings.getClusterSettings().getServerSelectionTimeout( TimeUnit.MILLISECONDS ) );
+    }
+
+    @Test
+    void parseCompressorsWithBlankValueReturnsNoCompressors(){
+        Assertions.assertTrue( MongoClientTuningPolicy.parseCompressors( " " ).isEmpty() );
+        Assertions.assertTrue( MongoClientTuningPolicy.parseCompressors( null ).isEmpty() );
+    }
+
+    @Test
+    void parseCompressorsWithUnknownCompressorThrowsIllegalArgumentException(){
+        Assertions.assertThrows( IllegalArgumentException.class, () -> MongoClientTuningPolicy.parseCompressors( "snappy,lz4" ) );
+    }
+
+}
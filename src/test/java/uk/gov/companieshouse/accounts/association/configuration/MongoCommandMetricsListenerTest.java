@@ -0,0 +1,112 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInvocation;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+@Tag( "unit-test" )
+class MongoCommandMetricsListenerTest {
+
+    private static final BsonDocument FIND_COMMAND = BsonDocument.parse( "{ 'find': 'user_company_associations', 'filter': { 'user_email': 'bruce.wayne@gotham.city', 'status': { '$in': [ 'confirmed', 'migrated' ] } } }" );
+
+    @Mock
+    private CommandStartedEvent startedEvent;
+
+    @Mock
+    private CommandSucceededEvent succeededEvent;
+
+    @Mock
+    private CommandFailedEvent failedEvent;
+
+    @Mock
+    private MethodInvocation methodInvocation;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoCommandMetricsListener listener;
+
+    @BeforeEach
+    void setup(){
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new MongoCommandMetricsListener( meterRegistry, 200L, 1.0 );
+        Mockito.lenient().doReturn( 42 ).when( startedEvent ).getRequestId();
+        Mockito.lenient().doReturn( "find" ).when( startedEvent ).getCommandName();
+        Mockito.lenient().doReturn( FIND_COMMAND ).when( startedEvent ).getCommand();
+    }
+
+    @Test
+    void shapeOfReplacesEveryValueWithPlaceholder(){
+        final var filter = BsonDocument.parse( "{ 'user_email': 'bruce.wayne@gotham.city', 'status': { '$in': [ 'confirmed', 'migrated' ] }, '$or': [ { 'user_id': '111' }, { 'approved_at': { '$gt': 5 } } ] }" );
+        final var expectedShape = BsonDocument.parse( "{ 'user_email': '?', 'status': { '$in': '?' }, '$or': [ { 'user_id': '?' }, { 'approved_at': { '$gt': '?' } } ] }" );
+        Assertions.assertEquals( expectedShape, MongoCommandMetricsListener.shapeOf( filter ) );
+    }
+
+    @Test
+    void commandSucceededRecordsLatencyDocumentsAndResponseSize() throws Throwable {
+        Mockito.doReturn( 42 ).when( succeededEvent ).getRequestId();
+        Mockito.doReturn( "find" ).when( succeededEvent ).getCommandName();
+        Mockito.doReturn( TimeUnit.MILLISECONDS.toNanos( 5L ) ).when( succeededEvent ).getElapsedTime( TimeUnit.NANOSECONDS );
+        Mockito.doReturn( BsonDocument.parse( "{ 'cursor': { 'id': 0, 'firstBatch': [ { 'user_id': '111' }, { 'user_id': '222' } ] }, 'ok': 1 }" ) ).when( succeededEvent ).getResponse();
+        Mockito.doReturn( Object.class.getMethod( "toString" ) ).when( methodInvocation ).getMethod();
+        Mockito.doAnswer( invocation -> {
+            listener.commandStarted( startedEvent );
+            return null;
+        } ).when( methodInvocation ).proceed();
+
+        RepositoryMethodTagger.tagWith( "AssociationsRepository" ).invoke( methodInvocation );
+        listener.commandSucceeded( succeededEvent );
+
+        Assertions.assertEquals( 1L, meterRegistry.get( "mongodb.repository.commands" ).tag( "method", "AssociationsRepository.toString" ).tag( "command", "find" ).tag( "status", "success" ).timer().count() );
+        Assertions.assertEquals( 2.0, meterRegistry.get( "mongodb.repository.documents" ).tag( "method", "AssociationsRepository.toString" ).summary().totalAmount() );
+        Assertions.assertTrue( meterRegistry.get( "mongodb.repository.response.size" ).summary().totalAmount() > 0 );
+    }
+
+    @Test
+    void commandSucceededDoesNotMeasureResponseSizeWhenSamplingIsOff(){
+        final var unsampledListener = new MongoCommandMetricsListener( meterRegistry, 200L, 0.0 );
+        Mockito.doReturn( 42 ).when( succeededEvent ).getRequestId();
+        Mockito.doReturn( "find" ).when( succeededEvent ).getCommandName();
+        Mockito.doReturn( TimeUnit.MILLISECONDS.toNanos( 5L ) ).when( succeededEvent ).getElapsedTime( TimeUnit.NANOSECONDS );
+        Mockito.doReturn( BsonDocument.parse( "{ 'cursor': { 'id': 0, 'firstBatch': [ { 'user_id': '111' } ] }, 'ok': 1 }" ) ).when( succeededEvent ).getResponse();
+
+        unsampledListener.commandStarted( startedEvent );
+        unsampledListener.commandSucceeded( succeededEvent );
+
+        Assertions.assertEquals( 1.0, meterRegistry.get( "mongodb.repository.documents" ).summary().totalAmount() );
+        Assertions.assertNull( meterRegistry.find( "mongodb.repository.response.size" ).summary() );
+    }
+
+    @Test
+    void commandFailedRecordsFailure(){
+        Mockito.doReturn( 42 ).when( failedEvent ).getRequestId();
+        Mockito.doReturn( "find" ).when( failedEvent ).getCommandName();
+        Mockito.doReturn( TimeUnit.MILLISECONDS.toNanos( 500L ) ).when( failedEvent ).getElapsedTime( TimeUnit.NANOSECONDS );
+
+        listener.commandStarted( startedEvent );
+        listener.commandFailed( failedEvent );
+
+        Assertions.assertEquals( 1L, meterRegistry.get( "mongodb.repository.commands" ).tag( "method", "unknown" ).tag( "status", "failure" ).timer().count() );
+    }
+
+    @Test
+    void tagWithRestoresPreviousRepositoryMethodAfterInvocation() throws Throwable {
+        Mockito.doReturn( Object.class.getMethod( "hashCode" ) ).when( methodInvocation ).getMethod();
+        Mockito.doAnswer( invocation -> RepositoryMethodTagger.currentRepositoryMethod() ).when( methodInvocation ).proceed();
+
+        Assertions.assertEquals( "AssociationsRepository.hashCode", RepositoryMethodTagger.tagWith( "AssociationsRepository" ).invoke( methodInvocation ) );
+        Assertions.assertEquals( "unknown", RepositoryMethodTagger.currentRepositoryMethod() );
+    }
+
+}
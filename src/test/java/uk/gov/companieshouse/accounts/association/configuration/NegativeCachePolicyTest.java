@@ -0,0 +1,103 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+@Tag( "unit-test" )
+class NegativeCachePolicyTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 10L );
+
+    private final AtomicInteger requestsReceived = new AtomicInteger( 0 );
+
+    private HttpServer stubServer;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() throws IOException {
+        stubServer = HttpServer.create( new InetSocketAddress( "localhost", 0 ), 0 );
+        stubServer.createContext( "/users/", exchange -> {
+            requestsReceived.incrementAndGet();
+            final var userId = exchange.getRequestURI().getPath().substring( "/users/".length() );
+            final var body = String.format( "{\"user_id\":\"%s\"}", userId ).getBytes( StandardCharsets.UTF_8 );
+            exchange.getResponseHeaders().add( "Content-Type", "application/json" );
+            exchange.sendResponseHeaders( userId.startsWith( "404" ) ? 404 : 200, body.length );
+            exchange.getResponseBody().write( body );
+            exchange.close();
+        } );
+        stubServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown(){
+        stubServer.stop( 0 );
+    }
+
+    private WebClient createWebClient( final boolean enabled, final long ttlMs ){
+        final var negativeCachePolicy = new NegativeCachePolicy( meterRegistry, enabled, ttlMs, 100L );
+        return WebClient.builder()
+                .baseUrl( String.format( "http://localhost:%d", stubServer.getAddress().getPort() ) )
+                .filter( negativeCachePolicy.filterFor( "accounts-user-api" ) )
+                .build();
+    }
+
+    private static String fetchUser( final WebClient webClient, final String userId ){
+        return webClient.get().uri( "/users/{user}", userId ).retrieve().bodyToMono( String.class ).block( TIMEOUT );
+    }
+
+    @Test
+    void filterForWhenDisabledCallsDependencyForEveryNotFound(){
+        final var webClient = createWebClient( false, 30_000L );
+
+        for ( int attempt = 0; attempt < 3; attempt++ ){
+            Assertions.assertThrows( WebClientResponseException.NotFound.class, () -> fetchUser( webClient, "404User" ) );
+        }
+        Assertions.assertEquals( 3, requestsReceived.get() );
+    }
+
+    @Test
+    void filterForAnswersRepeatedNotFoundFromCache(){
+        final var webClient = createWebClient( true, 30_000L );
+
+        for ( int attempt = 0; attempt < 3; attempt++ ){
+            Assertions.assertThrows( WebClientResponseException.NotFound.class, () -> fetchUser( webClient, "404User" ) );
+        }
+
+        Assertions.assertEquals( 1, requestsReceived.get() );
+        Assertions.assertEquals( 2.0, meterRegistry.get( "cache.gets" ).tag( "cache", "accounts-user-api-not-found" ).tag( "result", "hit" ).functionCounter().count() );
+    }
+
+    @Test
+    void filterForDoesNotCacheSuccessfulResponses(){
+        final var webClient = createWebClient( true, 30_000L );
+
+        Assertions.assertEquals( "{\"user_id\":\"111\"}", fetchUser( webClient, "111" ) );
+        Assertions.assertEquals( "{\"user_id\":\"111\"}", fetchUser( webClient, "111" ) );
+        Assertions.assertEquals( 2, requestsReceived.get() );
+    }
+
+    @Test
+    void filterForCallsDependencyAgainOnceNotFoundHasExpired() throws InterruptedException {
+        final var webClient = createWebClient( true, 100L );
+
+        Assertions.assertThrows( WebClientResponseException.NotFound.class, () -> fetchUser( webClient, "404User" ) );
+        Thread.sleep( 300L );
+        Assertions.assertThrows( WebClientResponseException.NotFound.class, () -> fetchUser( webClient, "404User" ) );
+
+        Assertions.assertEquals( 2, requestsReceived.get() );
+    }
+
+}
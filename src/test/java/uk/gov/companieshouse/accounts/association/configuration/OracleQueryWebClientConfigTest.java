@@ -1,5 +1,7 @@
 package uk.gov.companieshouse.accounts.association.configuration;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,6 @@ import org.springframework.web.reactive.function.client.WebClient;
 class OracleQueryWebClientConfigTest {
     @Test
     void webClientIsCreatedCorrectly(){
-        Assertions.assertTrue( WebClient.class.isAssignableFrom( new OracleQueryWebClientConfig().oracleQueryWebClient().getClass() ) );
+        Assertions.assertTrue( WebClient.class.isAssignableFrom( new OracleQueryWebClientConfig().oracleQueryWebClient( new DownstreamMetricsPolicy( new SimpleMeterRegistry() ), new NegativeCachePolicy( new SimpleMeterRegistry(), false, 30_000L, 10_000L ), new DownstreamResiliencePolicy( new SimpleMeterRegistry(), false, 50f, 5_000L, 20, 30_000L, 25, 10_000L, 600_000L, Set.of( "company-profile-api" ) ) ).getClass() ) );
     }
 }
@@ -0,0 +1,93 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import static uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy.QueryClass.EXPORT;
+import static uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy.QueryClass.LIST;
+import static uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy.QueryClass.LOOKUP;
+
+import com.mongodb.ReadPreference;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
+
+@Tag( "unit-test" )
+class ReadRoutingPolicyTest {
+
+    private static final ReadPreference SECONDARY_PREFERRED = ReadPreference.valueOf( "secondaryPreferred", List.of(), 90L, TimeUnit.SECONDS );
+
+    private final ReadRoutingPolicy readRoutingPolicy = new ReadRoutingPolicy( true, "primary", "secondaryPreferred", "nearest", 90L );
+
+    private void setRequestContext( final String ericIdentity ){
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "Eric-Identity", ericIdentity );
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setEricIdentity( request ).build() );
+    }
+
+    @Test
+    void fetchReadPreferenceOutsideOfQueryClassReturnsEmptyOptional(){
+        Assertions.assertTrue( readRoutingPolicy.fetchReadPreference().isEmpty() );
+    }
+
+    @Test
+    void fetchReadPreferenceReturnsConfiguredReadPreferenceForEachQueryClass(){
+        Assertions.assertEquals( Optional.of( ReadPreference.primary() ), readRoutingPolicy.withQueryClass( LOOKUP, readRoutingPolicy::fetchReadPreference ) );
+        Assertions.assertEquals( Optional.of( SECONDARY_PREFERRED ), readRoutingPolicy.withQueryClass( LIST, readRoutingPolicy::fetchReadPreference ) );
+        Assertions.assertEquals( Optional.of( ReadPreference.valueOf( "nearest", List.of(), 90L, TimeUnit.SECONDS ) ), readRoutingPolicy.withQueryClass( EXPORT, readRoutingPolicy::fetchReadPreference ) );
+    }
+
+    @Test
+    void hasQueryClassIsTrueOnlyWithinQueryClassEvenWhenDisabled(){
+        final var disabledReadRoutingPolicy = new ReadRoutingPolicy( false, "primary", "secondaryPreferred", "secondaryPreferred", 90L );
+        Assertions.assertFalse( disabledReadRoutingPolicy.hasQueryClass() );
+        Assertions.assertTrue( disabledReadRoutingPolicy.withQueryClass( LOOKUP, disabledReadRoutingPolicy::hasQueryClass ) );
+        Assertions.assertFalse( disabledReadRoutingPolicy.hasQueryClass() );
+    }
+
+    @Test
+    void withQueryClassRestoresOuterQueryClassAfterNestedQuery(){
+        final var readPreferences = readRoutingPolicy.withQueryClass( LIST, () -> List.of( readRoutingPolicy.withQueryClass( LOOKUP, readRoutingPolicy::fetchReadPreference ), readRoutingPolicy.fetchReadPreference() ) );
+
+        Assertions.assertEquals( List.of( Optional.of( ReadPreference.primary() ), Optional.of( SECONDARY_PREFERRED ) ), readPreferences );
+        Assertions.assertTrue( readRoutingPolicy.fetchReadPreference().isEmpty() );
+    }
+
+    @Test
+    void fetchReadPreferenceRoutesCallerWithRecentWriteToPrimary(){
+        setRequestContext( "111" );
+        readRoutingPolicy.recordWrite();
+
+        Assertions.assertEquals( Optional.of( ReadPreference.primary() ), readRoutingPolicy.withQueryClass( LIST, readRoutingPolicy::fetchReadPreference ) );
+
+        setRequestContext( "222" );
+        Assertions.assertEquals( Optional.of( SECONDARY_PREFERRED ), readRoutingPolicy.withQueryClass( LIST, readRoutingPolicy::fetchReadPreference ) );
+    }
+
+    @Test
+    void recordWriteWithoutCallerDoesNotPinReadsToPrimary(){
+        readRoutingPolicy.recordWrite();
+        Assertions.assertEquals( Optional.of( SECONDARY_PREFERRED ), readRoutingPolicy.withQueryClass( LIST, readRoutingPolicy::fetchReadPreference ) );
+    }
+
+    @Test
+    void fetchReadPreferenceWhenDisabledReturnsEmptyOptional(){
+        final var disabledReadRoutingPolicy = new ReadRoutingPolicy( false, "primary", "secondaryPreferred", "secondaryPreferred", 90L );
+        Assertions.assertTrue( disabledReadRoutingPolicy.withQueryClass( LIST, disabledReadRoutingPolicy::fetchReadPreference ).isEmpty() );
+    }
+
+    @Test
+    void constructorWithUnknownReadPreferenceThrowsIllegalArgumentException(){
+        Assertions.assertThrows( IllegalArgumentException.class, () -> new ReadRoutingPolicy( true, "primary", "fastest", "secondaryPreferred", 90L ) );
+    }
+
+    @AfterEach
+    void tearDown(){
+        RequestContext.clear();
+    }
+
+}
@@ -0,0 +1,49 @@
+package uk.gov.companieshouse.accounts.association.configuration;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+@Tag( "unit-test" )
+class RequestDeadlinePolicyTest {
+
+    private final RequestDeadlinePolicy requestDeadlinePolicy = new RequestDeadlinePolicy( true, 5_000L, 10_000L );
+
+    private static MockHttpServletRequest createRequest( final String deadlineMs ){
+        final var request = new MockHttpServletRequest();
+        if ( deadlineMs != null ){
+            request.addHeader( "X-Request-Deadline-Ms", deadlineMs );
+        }
+        return request;
+    }
+
+    @Test
+    void fetchBudgetWhenDisabledReturnsEmptyOptional(){
+        Assertions.assertTrue( new RequestDeadlinePolicy( false, 5_000L, 10_000L ).fetchBudget( createRequest( "2000" ) ).isEmpty() );
+    }
+
+    @Test
+    void fetchBudgetWithoutHeaderReturnsDefaultBudget(){
+        Assertions.assertEquals( Optional.of( Duration.ofMillis( 5_000L ) ), requestDeadlinePolicy.fetchBudget( createRequest( null ) ) );
+    }
+
+    @Test
+    void fetchBudgetWithHeaderReturnsCallersBudget(){
+        Assertions.assertEquals( Optional.of( Duration.ofMillis( 2_000L ) ), requestDeadlinePolicy.fetchBudget( createRequest( "2000" ) ) );
+    }
+
+    @Test
+    void fetchBudgetWithHeaderAboveMaximumReturnsMaximumBudget(){
+        Assertions.assertEquals( Optional.of( Duration.ofMillis( 10_000L ) ), requestDeadlinePolicy.fetchBudget( createRequest( "60000" ) ) );
+    }
+
+    @Test
+    void fetchBudgetWithMalformedOrNonPositiveHeaderReturnsDefaultBudget(){
+        Assertions.assertEquals( Optional.of( Duration.ofMillis( 5_000L ) ), requestDeadlinePolicy.fetchBudget( createRequest( "soon" ) ) );
+        Assertions.assertEquals( Optional.of( Duration.ofMillis( 5_000L ) ), requestDeadlinePolicy.fetchBudget( createRequest( "-1" ) ) );
+    }
+
+}
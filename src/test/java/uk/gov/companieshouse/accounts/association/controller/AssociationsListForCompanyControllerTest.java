@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.accounts.association.controller;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -25,6 +26,7 @@ import org.springframework.web.context.WebApplicationContext;
 import uk.gov.companieshouse.accounts.association.common.Mockers;
 import uk.gov.companieshouse.accounts.association.common.TestDataManager;
 import uk.gov.companieshouse.accounts.association.configuration.WebSecurityConfig;
+import uk.gov.companieshouse.accounts.association.exceptions.InternalServerErrorRuntimeException;
 import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
 import uk.gov.companieshouse.accounts.association.service.AssociationsService;
 import uk.gov.companieshouse.accounts.association.service.CompanyService;
@@ -40,13 +42,16 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static uk.gov.companieshouse.accounts.association.common.ParsingUtils.localDateTimeToNormalisedString;
 import static uk.gov.companieshouse.accounts.association.common.ParsingUtils.parseResponseTo;
@@ -77,7 +82,7 @@ import static uk.gov.companieshouse.api.accounts.associations.model.Association.
 @AutoConfigureMockMvc
 @WebMvcTest(AssociationsListForCompanyController.class)
 @ExtendWith(MockitoExtension.class)
-@Import(WebSecurityConfig.class)
+@Import({WebSecurityConfig.class, SimpleMeterRegistry.class})
 @Tag("unit-test")
 class AssociationsListForCompanyControllerTest {
 
@@ -682,4 +687,137 @@ class AssociationsListForCompanyControllerTest {
                         .content( "{\"user_id\":\"MKUser002\", \"status\":[\"confirmed\", \"removed\"]} " ) )
                 .andExpect( status().isNotFound() );
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportAssociationsForCompanyWritesNewlineDelimitedJsonForAdminUsers() throws Exception {
+        final var marioUser = testDataManager.fetchUserDtos( MK_USER_001 ).getFirst();
+        final var marioAssociation = testDataManager.fetchAssociationDto( MK_ASSOCIATION_001, marioUser );
+        final var luigiAssociation = testDataManager.fetchAssociationDto( "MKAssociation002", testDataManager.fetchUserDtos( "MKUser002" ).getFirst() );
+        final var companyDetails = testDataManager.fetchCompanyDetailsDtos( MKCOMP_001 ).getFirst();
+
+        mockers.mockCompanyServiceFetchCompanyProfile( MKCOMP_001 );
+        Mockito.doAnswer( invocation -> {
+            final Consumer<List<Association>> batchConsumer = invocation.getArgument( 3 );
+            batchConsumer.accept( List.of( marioAssociation ) );
+            batchConsumer.accept( List.of( luigiAssociation ) );
+            return 2;
+        } ).when( associationsService ).streamUnexpiredAssociationsForCompanyAndStatuses( eq( companyDetails ), eq( fetchAllStatusesWithout( Set.of( StatusEnum.REMOVED ) ) ), anyInt(), any() );
+
+        final var response = mockMvc.perform( get( ASSOCIATIONS_COMPANIES + MKCOMP_001 + "/export" )
+                        .header( X_REQUEST_ID, X_REQUEST_ID_VALUE )
+                        .header( ERIC_IDENTITY, ERIC_IDENTITY_VALUE )
+                        .header( ERIC_IDENTITY_TYPE, OAUTH_2 )
+                        .header( ERIC_AUTHORISED_ROLES, ADMIN_READ_PERMISSION ) )
+                .andExpect( status().isOk() )
+                .andExpect( content().contentTypeCompatibleWith( MediaType.APPLICATION_NDJSON ) )
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final var lines = response.lines().toList();
+        Assertions.assertEquals( 2, lines.size() );
+        Assertions.assertTrue( lines.getFirst().contains( String.format( "\"id\":\"%s\"", MK_ASSOCIATION_001 ) ) );
+        Assertions.assertTrue( lines.getLast().contains( "\"id\":\"MKAssociation002\"" ) );
+    }
+
+    @Test
+    void exportAssociationsForCompanyWithIncludeRemovedTrueDoesNotApplyFilter() throws Exception {
+        final var companyDetails = testDataManager.fetchCompanyDetailsDtos( MKCOMP_001 ).getFirst();
+        mockers.mockCompanyServiceFetchCompanyProfile( MKCOMP_001 );
+
+        mockMvc.perform( get( ASSOCIATIONS_COMPANIES + MKCOMP_001 + "/export?include_removed=true" )
+                        .header( X_REQUEST_ID, X_REQUEST_ID_VALUE )
+                        .header( ERIC_IDENTITY, ERIC_IDENTITY_VALUE )
+                        .header( ERIC_IDENTITY_TYPE, OAUTH_2 )
+                        .header( ERIC_AUTHORISED_ROLES, ADMIN_READ_PERMISSION ) )
+                .andExpect( status().isOk() );
+
+        Mockito.verify( associationsService ).streamUnexpiredAssociationsForCompanyAndStatuses( eq( companyDetails ), eq( fetchAllStatusesWithout( Set.of() ) ), anyInt(), any() );
+    }
+
+    @Test
+    void exportAssociationsForCompanyWithNonexistentCompanyReturnsNotFound() throws Exception {
+        mockers.mockCompanyServiceFetchCompanyProfileNotFound( NON_EXISTING_COMPANY );
+
+        mockMvc.perform( get( ASSOCIATIONS_COMPANIES + NON_EXISTING_COMPANY + "/export" )
+                        .header( X_REQUEST_ID, X_REQUEST_ID_VALUE )
+                        .header( ERIC_IDENTITY, ERIC_IDENTITY_VALUE )
+                        .header( ERIC_IDENTITY_TYPE, OAUTH_2 )
+                        .header( ERIC_AUTHORISED_ROLES, ADMIN_READ_PERMISSION ) )
+                .andExpect( status().isNotFound() );
+    }
+
+    @Test
+    void exportAssociationsForCompanyWithMalformedCompanyNumberReturnsBadRequest() throws Exception {
+        mockMvc.perform( get( ASSOCIATIONS_COMPANIES + WRONG_COMPANY_ID + "/export" )
+                        .header( X_REQUEST_ID, X_REQUEST_ID_VALUE )
+                        .header( ERIC_IDENTITY, ERIC_IDENTITY_VALUE )
+                        .header( ERIC_IDENTITY_TYPE, OAUTH_2 )
+                        .header( ERIC_AUTHORISED_ROLES, ADMIN_READ_PERMISSION ) )
+                .andExpect( status().isBadRequest() );
+
+        Mockito.verify( associationsService, Mockito.never() ).streamUnexpiredAssociationsForCompanyAndStatuses( any(), any(), anyInt(), any() );
+    }
+
+    @Test
+    void exportAssociationsForCompanyThatFailsMidStreamEndsStreamWithErrorRecordAfterLastCompleteBatch() throws Exception {
+        final var marioAssociation = testDataManager.fetchAssociationDto( MK_ASSOCIATION_001, testDataManager.fetchUserDtos( MK_USER_001 ).getFirst() );
+        final var companyDetails = testDataManager.fetchCompanyDetailsDtos( MKCOMP_001 ).getFirst();
+
+        mockers.mockCompanyServiceFetchCompanyProfile( MKCOMP_001 );
+        Mockito.doAnswer( invocation -> {
+            final Consumer<List<Association>> batchConsumer = invocation.getArgument( 3 );
+            batchConsumer.accept( List.of( marioAssociation ) );
+            throw new InternalServerErrorRuntimeException( X_REQUEST_ID_VALUE, "Failed to fetch next batch", new Exception( "Cursor was closed" ) );
+        } ).when( associationsService ).streamUnexpiredAssociationsForCompanyAndStatuses( eq( companyDetails ), any(), anyInt(), any() );
+
+        final var response = mockMvc.perform( get( ASSOCIATIONS_COMPANIES + MKCOMP_001 + "/export" )
+                        .header( X_REQUEST_ID, X_REQUEST_ID_VALUE )
+                        .header( ERIC_IDENTITY, ERIC_IDENTITY_VALUE )
+                        .header( ERIC_IDENTITY_TYPE, OAUTH_2 )
+                        .header( ERIC_AUTHORISED_ROLES, ADMIN_READ_PERMISSION ) )
+                .andExpect( status().isOk() )
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final var lines = response.lines().toList();
+        Assertions.assertEquals( 2, lines.size() );
+        Assertions.assertTrue( lines.getFirst().contains( String.format( "\"id\":\"%s\"", MK_ASSOCIATION_001 ) ) );
+        Assertions.assertTrue( lines.getLast().contains( "\"errors\"" ) );
+        Assertions.assertTrue( lines.getLast().contains( "Failed to fetch next batch" ) );
+    }
+
+    @Test
+    void exportAssociationsForCompanyThatFailsBeforeFirstBatchReturnsInternalServerError() throws Exception {
+        mockers.mockCompanyServiceFetchCompanyProfile( MKCOMP_001 );
+        Mockito.doThrow( new InternalServerErrorRuntimeException( X_REQUEST_ID_VALUE, "Failed to open cursor", new Exception( "Failed to open cursor" ) ) )
+                .when( associationsService ).streamUnexpiredAssociationsForCompanyAndStatuses( any(), any(), anyInt(), any() );
+
+        mockMvc.perform( get( ASSOCIATIONS_COMPANIES + MKCOMP_001 + "/export" )
+                        .header( X_REQUEST_ID, X_REQUEST_ID_VALUE )
+                        .header( ERIC_IDENTITY, ERIC_IDENTITY_VALUE )
+                        .header( ERIC_IDENTITY_TYPE, OAUTH_2 )
+                        .header( ERIC_AUTHORISED_ROLES, ADMIN_READ_PERMISSION ) )
+                .andExpect( status().isInternalServerError() );
+    }
+
+    @Test
+    void exportAssociationsForCompanyWithoutAdminPrivilegeReturnsForbidden() throws Exception {
+        mockMvc.perform( get( ASSOCIATIONS_COMPANIES + MKCOMP_001 + "/export" )
+                        .header( X_REQUEST_ID, X_REQUEST_ID_VALUE )
+                        .header( ERIC_IDENTITY, ERIC_IDENTITY_VALUE )
+                        .header( ERIC_IDENTITY_TYPE, OAUTH_2 ) )
+                .andExpect( status().isForbidden() );
+
+        mockMvc.perform( get( ASSOCIATIONS_COMPANIES + MKCOMP_001 + "/export" )
+                        .header( X_REQUEST_ID, X_REQUEST_ID_VALUE )
+                        .header( ERIC_IDENTITY, ERIC_IDENTITY_VALUE )
+                        .header( ERIC_IDENTITY_TYPE, "key" )
+                        .header( ERIC_AUTHORISED_KEY_ROLES, KEY_ROLES_VALUE ) )
+                .andExpect( status().isForbidden() );
+
+        Mockito.verify( associationsService, Mockito.never() ).streamUnexpiredAssociationsForCompanyAndStatuses( any(), any(), anyInt(), any() );
+    }
+
+}
@@ -1,5 +1,8 @@
 package uk.gov.companieshouse.accounts.association.controller;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -14,10 +17,12 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import uk.gov.companieshouse.accounts.association.configuration.InterceptorConfig;
 import uk.gov.companieshouse.accounts.association.configuration.WebSecurityConfig;
+import uk.gov.companieshouse.accounts.association.exceptions.DeadlineExceededRuntimeException;
 import uk.gov.companieshouse.accounts.association.exceptions.ForbiddenRuntimeException;
 import uk.gov.companieshouse.accounts.association.exceptions.InternalServerErrorRuntimeException;
 import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
 import uk.gov.companieshouse.accounts.association.service.AssociationsService;
+import uk.gov.companieshouse.accounts.association.service.BackgroundTaskRegistry;
 import uk.gov.companieshouse.accounts.association.service.CompanyService;
 import uk.gov.companieshouse.accounts.association.service.EmailService;
 import uk.gov.companieshouse.accounts.association.service.UsersService;
@@ -37,7 +42,7 @@ import static uk.gov.companieshouse.accounts.association.utils.TestConstant.X_RE
 import static uk.gov.companieshouse.accounts.association.utils.TestConstant.X_REQUEST_ID_VALUE;
 
 @Tag("unit-test")
-@Import(WebSecurityConfig.class)
+@Import({WebSecurityConfig.class, BackgroundTaskRegistry.class, SimpleMeterRegistry.class})
 @WebMvcTest( UserCompanyAssociations.class )
 class ControllerAdviceTest {
 
@@ -47,6 +52,9 @@ class ControllerAdviceTest {
     @Autowired
     private WebApplicationContext context;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockitoBean
     private AssociationsService associationsService;
 
@@ -126,6 +134,20 @@ class ControllerAdviceTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    void testOnDeadlineExceededRuntimeException() throws Exception {
+        Mockito.doThrow(new DeadlineExceededRuntimeException(X_REQUEST_ID_VALUE, "Request deadline exceeded", new Exception("Request deadline exceeded")))
+                .when(associationsService).fetchAssociationsForUserAndPartialCompanyNumberAndStatuses(any(),any(),anySet(),anyInt(),anyInt());
+
+        mockMvc.perform(get(ASSOCIATIONS)
+                        .header(X_REQUEST_ID, X_REQUEST_ID_VALUE)
+                        .header(ERIC_IDENTITY, ERIC_IDENTITY_VALUE)
+                        .header(ERIC_IDENTITY_TYPE, OAUTH_2))
+                .andExpect(status().isGatewayTimeout());
+
+        Assertions.assertEquals(1.0, meterRegistry.get("request.deadline.exceeded").counter().count());
+    }
+
     @Test
     void testOnForbiddenRuntimeException() throws Exception {
         Mockito.doThrow(new ForbiddenRuntimeException(X_REQUEST_ID_VALUE, "Forbidden", new Exception("Forbidden")))
@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.accounts.association.controller;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -74,7 +75,7 @@ import static uk.gov.companieshouse.api.accounts.associations.model.PreviousStat
 import static uk.gov.companieshouse.api.accounts.associations.model.PreviousState.StatusEnum.UNAUTHORISED;
 
 @WebMvcTest( UserCompanyAssociation.class )
-@Import( WebSecurityConfig.class )
+@Import( { WebSecurityConfig.class, SimpleMeterRegistry.class } )
 @Tag( "unit-test" )
 class UserCompanyAssociationTest {
 
@@ -3,6 +3,7 @@ package uk.gov.companieshouse.accounts.association.factory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.accounts.association.models.email.data.AuthorisationRemovedEmailData;
 import uk.gov.companieshouse.accounts.association.models.email.data.EmailData;
 import uk.gov.companieshouse.api.chskafka.SendEmail;
 
@@ -40,4 +41,36 @@ class SendEmailFactoryTest {
         assertNotNull(sendEmail.getMessageId());
         assertNotNull(sendEmail.getJsonData());
     }
-}
\ No newline at end of file
+
+    @Test
+    void createSendEmailTemplateProducesSamePayloadAsCreateSendEmailForEachRecipient() {
+        String messageType = "test type";
+        AuthorisationRemovedEmailData emailData = new AuthorisationRemovedEmailData("Harleen Quinzel", "Wayne Enterprises", "Batman");
+        emailData.setSubject("Authorisation removed");
+        emailData.setTo("first@example.com");
+
+        SendEmailTemplate sendEmailTemplate = sendEmailFactory.createSendEmailTemplate(emailData, messageType);
+
+        for (String recipient : new String[]{"bruce.wayne@gotham.city", "\"quoted\"@example.com"}) {
+            emailData.setTo(recipient);
+            SendEmail expected = sendEmailFactory.createSendEmail(emailData, messageType);
+            SendEmail sendEmail = sendEmailTemplate.forRecipient(recipient);
+
+            assertEquals(expected.getJsonData(), sendEmail.getJsonData());
+            assertEquals(recipient, sendEmail.getEmailAddress());
+            assertEquals(APP_ID, sendEmail.getAppId());
+            assertEquals(messageType, sendEmail.getMessageType());
+            assertNotNull(sendEmail.getMessageId());
+        }
+    }
+
+    @Test
+    void createSendEmailTemplateLeavesEmailDataRecipientUnchanged() {
+        EmailData emailData = new EmailData();
+        emailData.setTo("test@example.com");
+
+        sendEmailFactory.createSendEmailTemplate(emailData, "test type");
+
+        assertEquals("test@example.com", emailData.getTo());
+    }
+}
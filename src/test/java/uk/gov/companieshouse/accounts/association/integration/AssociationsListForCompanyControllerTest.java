@@ -32,8 +32,12 @@ import uk.gov.companieshouse.api.accounts.associations.model.Association.Approva
 import uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum;
 import uk.gov.companieshouse.api.accounts.associations.model.AssociationsList;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -618,6 +622,68 @@ class AssociationsListForCompanyControllerTest extends BaseMongoIntegration {
                 .andExpect( status().isNotFound() );
     }
 
+    @Test
+    void exportAssociationsForCompanyStreamsAllUnexpiredAssociationsAsNewlineDelimitedJson() throws Exception {
+        associationsRepository.insert( testDataManager.fetchAssociationDaos( "1", "2", "3", "4", "5", "6", "7", "8", "9", "10","11","12","13","14","15","16","17" ) );
+        mockers.mockUsersServiceFetchUserDetails( "111", "222", "333", "444", "555", "666", "777", "888", "999" ,"1111", "2222", "3333", "4444", "5555", "6666", "7777" );
+        mockers.mockCompanyServiceFetchCompanyProfile( "111111" );
+
+        final var response = mockMvc.perform( get( ASSOCIATIONS_COMPANIES + "111111/export" )
+                        .header( X_REQUEST_ID, X_REQUEST_ID_VALUE )
+                        .header( ERIC_IDENTITY, "111" )
+                        .header( ERIC_IDENTITY_TYPE, OAUTH_2 )
+                        .header( ERIC_AUTHORISED_ROLES, ADMIN_READ_PERMISSION ) )
+                .andExpect( status().isOk() )
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final var objectMapper = new ObjectMapper().registerModule( new JavaTimeModule() );
+        final var associations = response.lines()
+                .map( line -> {
+                    try {
+                        return objectMapper.readValue( line, Association.class );
+                    } catch ( JsonProcessingException exception ) {
+                        throw new RuntimeException( exception );
+                    }
+                } )
+                .toList();
+
+        Assertions.assertEquals( List.of( "1", "10", "11", "12", "13", "2", "3", "4", "5", "6", "7", "8", "9" ), associations.stream().map( Association::getId ).toList() );
+        Assertions.assertTrue( associations.stream().allMatch( association -> "Wayne Enterprises".equals( association.getCompanyName() ) ) );
+        Assertions.assertTrue( associations.stream().map( Association::getUserEmail ).allMatch( Objects::nonNull ) );
+    }
+
+    @Test
+    void exportAssociationsForCompanyWithIncludeRemovedTrueIncludesRemovedAssociations() throws Exception {
+        associationsRepository.insert( testDataManager.fetchAssociationDaos( "1", "2", "3", "4", "5", "6", "7", "8", "9", "10","11","12","13","14","15","16","17" ) );
+        mockers.mockUsersServiceFetchUserDetails( "111", "222", "333", "444", "555", "666", "777", "888", "999" ,"1111", "2222", "3333", "4444", "5555", "6666", "7777" );
+        mockers.mockCompanyServiceFetchCompanyProfile( "111111" );
+
+        final var response = mockMvc.perform( get( ASSOCIATIONS_COMPANIES + "111111/export?include_removed=true" )
+                        .header( X_REQUEST_ID, X_REQUEST_ID_VALUE )
+                        .header( ERIC_IDENTITY, "111" )
+                        .header( ERIC_IDENTITY_TYPE, OAUTH_2 )
+                        .header( ERIC_AUTHORISED_ROLES, ADMIN_READ_PERMISSION ) )
+                .andExpect( status().isOk() )
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Assertions.assertEquals( 16, response.lines().count() );
+    }
+
+    @Test
+    void exportAssociationsForCompanyWithoutAdminPrivilegeReturnsForbidden() throws Exception {
+        mockers.mockUsersServiceFetchUserDetails( "111" );
+
+        mockMvc.perform( get( ASSOCIATIONS_COMPANIES + "111111/export" )
+                        .header( X_REQUEST_ID, X_REQUEST_ID_VALUE )
+                        .header( ERIC_IDENTITY, "111" )
+                        .header( ERIC_IDENTITY_TYPE, OAUTH_2 ) )
+                .andExpect( status().isForbidden() );
+    }
+
     @AfterEach
     public void after() {
         mongoTemplate.dropCollection(AssociationDao.class);
@@ -555,6 +555,49 @@ class AssociationsRepositoryTest extends BaseMongoIntegration {
     }
 
 
+    @Test
+    void streamAssociationsApprovedOrRemovedSinceRetrievesAssociationsWithRecentActivity() {
+        final var now = LocalDateTime.now();
+
+        final var recentlyApproved = new AssociationDao()
+                .id( "R1" )
+                .userId( "9999" )
+                .companyNumber( "COMP001" )
+                .status( StatusEnum.CONFIRMED.getValue() )
+                .approvalRoute( ApprovalRouteEnum.AUTH_CODE.getValue() )
+                .etag( "etag-1" )
+                .approvedAt( now.minusDays( 1 ) );
+
+        final var recentlyRemoved = new AssociationDao()
+                .id( "R2" )
+                .userId( "9999" )
+                .companyNumber( "COMP002" )
+                .status( StatusEnum.REMOVED.getValue() )
+                .approvalRoute( ApprovalRouteEnum.AUTH_CODE.getValue() )
+                .etag( "etag-2" )
+                .approvedAt( now.minusDays( 90 ) )
+                .removedAt( now.minusDays( 2 ) );
+
+        final var approvedLongAgo = new AssociationDao()
+                .id( "R3" )
+                .userId( "9999" )
+                .companyNumber( "COMP003" )
+                .status( StatusEnum.CONFIRMED.getValue() )
+                .approvalRoute( ApprovalRouteEnum.AUTH_CODE.getValue() )
+                .etag( "etag-3" )
+                .approvedAt( now.minusDays( 90 ) );
+
+        associationsRepository.insert( List.of( recentlyApproved, recentlyRemoved, approvedLongAgo ) );
+
+        final var companyNumbers = associationsRepository.streamAssociationsApprovedOrRemovedSince( now.minusDays( 30 ) )
+                .map( AssociationDao::getCompanyNumber )
+                .sorted()
+                .toList();
+
+        Assertions.assertEquals( List.of( "COMP001", "COMP002" ), companyNumbers );
+    }
+
+
     @AfterEach
     public void after() {
         mongoTemplate.dropCollection(AssociationDao.class);
@@ -0,0 +1,221 @@
+package uk.gov.companieshouse.accounts.association.integration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static uk.gov.companieshouse.accounts.association.models.EmailOutboxDao.DEAD_LETTER;
+import static uk.gov.companieshouse.accounts.association.models.EmailOutboxDao.PENDING;
+import static uk.gov.companieshouse.accounts.association.models.EmailOutboxDao.SENT;
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.DELEGATED_REMOVAL_OF_MIGRATED;
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.DELEGATED_REMOVAL_OF_MIGRATED_BATCH;
+import static uk.gov.companieshouse.accounts.association.utils.TestConstant.OAUTH_2;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.client.EmailClient;
+import uk.gov.companieshouse.accounts.association.common.Mockers;
+import uk.gov.companieshouse.accounts.association.common.TestDataManager;
+import uk.gov.companieshouse.accounts.association.exceptions.EmailSendException;
+import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+import uk.gov.companieshouse.accounts.association.models.EmailEventDao;
+import uk.gov.companieshouse.accounts.association.models.EmailOutboxDao;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
+import uk.gov.companieshouse.accounts.association.repositories.AssociationsRepository;
+import uk.gov.companieshouse.accounts.association.repositories.EmailOutboxRepository;
+import uk.gov.companieshouse.accounts.association.service.CompanyService;
+import uk.gov.companieshouse.accounts.association.service.EmailOutboxService;
+import uk.gov.companieshouse.accounts.association.service.EmailService;
+import uk.gov.companieshouse.accounts.association.service.UsersService;
+import uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum;
+import uk.gov.companieshouse.api.chskafka.SendEmail;
+
+@SpringBootTest( properties = { "email.outbox.max-attempts=2", "email.outbox.batch-size=2" } )
+@Tag( "integration-test" )
+class EmailOutboxServiceTest extends BaseMongoIntegration {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private AssociationsRepository associationsRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @MockitoBean
+    private EmailClient emailClient;
+
+    @MockitoBean
+    private CompanyService companyService;
+
+    @MockitoBean
+    private UsersService usersService;
+
+    private final TestDataManager testDataManager = TestDataManager.getInstance();
+
+    private static SendEmail createSendEmail( final String messageId ){
+        final var sendEmail = new SendEmail();
+        sendEmail.setMessageId( messageId );
+        sendEmail.setAppId( "accounts-association-api" );
+        sendEmail.setMessageType( "invitation_email" );
+        sendEmail.setEmailAddress( "bruce.wayne@gotham.city" );
+        sendEmail.setJsonData( "{}" );
+        return sendEmail;
+    }
+
+    private EmailOutboxDao fetchEmail( final String messageId ){
+        return mongoTemplate.findOne( new Query( Criteria.where( "messageId" ).is( messageId ) ), EmailOutboxDao.class );
+    }
+
+    @Test
+    void enqueueStoresPendingEmailWithoutSendingIt(){
+        emailOutboxService.enqueue( createSendEmail( "1" ), "theId12345" );
+
+        final var email = fetchEmail( "1" );
+        Assertions.assertEquals( PENDING, email.getStatus() );
+        Assertions.assertEquals( 0, email.getAttempts() );
+        Assertions.assertEquals( "theId12345", email.getXRequestId() );
+        Mockito.verifyNoInteractions( emailClient );
+    }
+
+    @Test
+    void dispatchBatchSendsPendingEmailsAndMarksThemAsSent(){
+        emailOutboxService.enqueue( createSendEmail( "1" ), "theId12345" );
+
+        Assertions.assertEquals( 1, emailOutboxService.dispatchBatch() );
+
+        final var email = fetchEmail( "1" );
+        Assertions.assertEquals( SENT, email.getStatus() );
+        Assertions.assertEquals( 1, email.getAttempts() );
+        Assertions.assertNotNull( email.getSentAt() );
+        Mockito.verify( emailClient ).sendEmail( argThat( sendEmail -> "1".equals( sendEmail.getMessageId() ) && "invitation_email".equals( sendEmail.getMessageType() ) ), eq( "theId12345" ) );
+        Assertions.assertEquals( 0, emailOutboxService.dispatchBatch() );
+    }
+
+    @Test
+    void claimBatchClaimsAtMostBatchSizeEmailsAndLeasesThem(){
+        emailOutboxService.enqueue( createSendEmail( "1" ), "theId12345" );
+        emailOutboxService.enqueue( createSendEmail( "2" ), "theId12345" );
+        emailOutboxService.enqueue( createSendEmail( "3" ), "theId12345" );
+
+        Assertions.assertEquals( 2, emailOutboxService.claimBatch().size() );
+        Assertions.assertEquals( 1, emailOutboxService.claimBatch().size() );
+        Assertions.assertTrue( emailOutboxService.claimBatch().isEmpty() );
+    }
+
+    @Test
+    void dispatchBatchWithFailingSendReschedulesEmailWithBackoff(){
+        Mockito.doThrow( new EmailSendException( "Failed to send email" ) ).when( emailClient ).sendEmail( any( SendEmail.class ), any() );
+        emailOutboxService.enqueue( createSendEmail( "1" ), "theId12345" );
+
+        Assertions.assertEquals( 1, emailOutboxService.dispatchBatch() );
+
+        final var email = fetchEmail( "1" );
+        Assertions.assertEquals( PENDING, email.getStatus() );
+        Assertions.assertEquals( 1, email.getAttempts() );
+        Assertions.assertEquals( "Failed to send email", email.getLastError() );
+        Assertions.assertTrue( email.getNextAttemptAt().isAfter( LocalDateTime.now() ) );
+        Assertions.assertEquals( 0, emailOutboxService.dispatchBatch() );
+    }
+
+    @Test
+    void dispatchBatchMovesEmailToDeadLetterAfterMaxAttempts(){
+        Mockito.doThrow( new EmailSendException( "Failed to send email" ) ).when( emailClient ).sendEmail( any( SendEmail.class ), any() );
+        emailOutboxService.enqueue( createSendEmail( "1" ), "theId12345" );
+
+        emailOutboxService.dispatchBatch();
+        mongoTemplate.updateFirst( new Query( Criteria.where( "messageId" ).is( "1" ) ), new Update().set( "nextAttemptAt", LocalDateTime.now().minusSeconds( 1 ) ), EmailOutboxDao.class );
+        emailOutboxService.dispatchBatch();
+
+        final var email = fetchEmail( "1" );
+        Assertions.assertEquals( DEAD_LETTER, email.getStatus() );
+        Assertions.assertEquals( 2, email.getAttempts() );
+        Assertions.assertEquals( 0, emailOutboxRepository.countEmailsWithStatus( PENDING ) );
+        Assertions.assertEquals( 1, emailOutboxRepository.countEmailsWithStatus( DEAD_LETTER ) );
+    }
+
+    @Test
+    void enqueueWithDedupeKeyStoresEmailOnlyOnce(){
+        emailOutboxService.enqueue( createSendEmail( "1" ), "theId12345", "event1:invitation_email:bruce.wayne@gotham.city" );
+        emailOutboxService.enqueue( createSendEmail( "2" ), "theId12345", "event1:invitation_email:bruce.wayne@gotham.city" );
+
+        Assertions.assertNotNull( fetchEmail( "1" ) );
+        Assertions.assertNull( fetchEmail( "2" ) );
+        Assertions.assertEquals( 1, emailOutboxRepository.countEmailsWithStatus( PENDING ) );
+    }
+
+    @Test
+    void dispatchSkipsEmailWhoseLeaseHasBeenTakenOverByAnotherInstance(){
+        emailOutboxService.enqueue( createSendEmail( "1" ), "theId12345" );
+        final var email = emailOutboxService.claimBatch().getFirst();
+        mongoTemplate.updateFirst( new Query( Criteria.where( "messageId" ).is( "1" ) ), new Update().set( "claimToken", "anotherInstance" ), EmailOutboxDao.class );
+
+        emailOutboxService.dispatch( email );
+
+        Assertions.assertEquals( PENDING, fetchEmail( "1" ).getStatus() );
+        Mockito.verifyNoInteractions( emailClient );
+    }
+
+    @Test
+    void dispatchBatchExpandsEventsWithTheRegisteredHandler(){
+        final var expansions = new AtomicInteger();
+        emailOutboxService.onEvent( email -> Mono.fromRunnable( expansions::incrementAndGet ) );
+        final var event = emailOutboxService.enqueue( EmailEventDao.authCodeConfirmation( "111111", "Wayne Enterprises", "Batman" ), "theId12345" );
+
+        Assertions.assertEquals( 1, emailOutboxService.dispatchBatch() );
+
+        Assertions.assertEquals( 1, expansions.get() );
+        Assertions.assertEquals( SENT, fetchEmail( event.getMessageId() ).getStatus() );
+        Mockito.verifyNoInteractions( emailClient );
+    }
+
+    @Test
+    void dispatchBatchSendsStatusUpdateEmailsFromTheRecordedEvent(){
+        ReflectionTestUtils.invokeMethod( emailService, "registerEmailEventHandler" );
+        final var associations = testDataManager.fetchAssociationDaos( "MKAssociation001", "MKAssociation002" );
+        associationsRepository.insert( associations );
+        new Mockers( null, emailClient, companyService, usersService ).mockCompanyServiceFetchCompanyProfile( "MKCOMP001" );
+        final var requestContext = new RequestContextDataBuilder()
+                .setXRequestId( "theId12345" )
+                .setEricIdentity( "MKUser002" )
+                .setEricIdentityType( OAUTH_2 )
+                .setUser( testDataManager.fetchUserDtos( "MKUser002" ).getFirst() )
+                .build();
+        final var targetUser = testDataManager.fetchUserDtos( "MKUser001" ).getFirst();
+
+        final var event = emailOutboxService.enqueue( EmailEventDao.statusUpdate( associations.getFirst(), targetUser, StatusEnum.REMOVED, requestContext ), "theId12345" );
+        Assertions.assertEquals( 1, emailOutboxService.dispatchBatch() );
+
+        Assertions.assertEquals( SENT, fetchEmail( event.getMessageId() ).getStatus() );
+        Mockito.verify( emailClient ).sendEmail( argThat( sendEmail -> DELEGATED_REMOVAL_OF_MIGRATED.getValue().equals( sendEmail.getMessageType() ) && "mario@mushroom.kingdom".equals( sendEmail.getEmailAddress() ) ), eq( "theId12345" ) );
+        Mockito.verify( emailClient ).sendEmail( argThat( sendEmail -> DELEGATED_REMOVAL_OF_MIGRATED_BATCH.getValue().equals( sendEmail.getMessageType() ) && "luigi@mushroom.kingdom".equals( sendEmail.getEmailAddress() ) ), eq( "theId12345" ) );
+        Mockito.verifyNoInteractions( usersService );
+    }
+
+    @AfterEach
+    public void after() {
+        mongoTemplate.remove( new Query(), EmailOutboxDao.class );
+        mongoTemplate.remove( new Query(), AssociationDao.class );
+    }
+
+}
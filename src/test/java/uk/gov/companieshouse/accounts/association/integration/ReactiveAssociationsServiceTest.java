@@ -0,0 +1,168 @@
+package uk.gov.companieshouse.accounts.association.integration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy.QueryClass.LOOKUP;
+import static uk.gov.companieshouse.accounts.association.utils.AssociationsUtil.fetchAllStatusesWithout;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.common.TestDataManager;
+import uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy;
+import uk.gov.companieshouse.accounts.association.configuration.ReadRoutingReactiveMongoTemplate;
+import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
+import uk.gov.companieshouse.accounts.association.repositories.AssociationsRepository;
+import uk.gov.companieshouse.accounts.association.service.AssociationsService;
+import uk.gov.companieshouse.accounts.association.service.CompanyService;
+import uk.gov.companieshouse.accounts.association.service.ReactiveAssociationsService;
+import uk.gov.companieshouse.accounts.association.service.UsersService;
+import uk.gov.companieshouse.api.accounts.user.model.User;
+import uk.gov.companieshouse.api.company.CompanyDetails;
+
+@SpringBootTest( properties = "associations.reactive-reads.enabled=true" )
+@ExtendWith( MockitoExtension.class )
+@Tag( "integration-test" )
+class ReactiveAssociationsServiceTest extends BaseMongoIntegration {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 20L );
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private AssociationsRepository associationsRepository;
+
+    @Autowired
+    private AssociationsService associationsService;
+
+    @Autowired
+    private ReactiveAssociationsService reactiveAssociationsService;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Autowired
+    private ReadRoutingPolicy readRoutingPolicy;
+
+    @MockitoBean
+    private UsersService usersService;
+
+    @MockitoBean
+    private CompanyService companyService;
+
+    private static final TestDataManager testDataManager = TestDataManager.getInstance();
+
+    private static User fetchUser( final String userId ){
+        return testDataManager.fetchUserDtos( userId ).getFirst();
+    }
+
+    private static CompanyDetails fetchCompany( final String companyNumber ){
+        return testDataManager.fetchCompanyDetailsDtos( companyNumber ).getFirst();
+    }
+
+    @BeforeEach
+    void setup(){
+        ReflectionTestUtils.setField( AopTestUtils.getTargetObject( associationsService ), "reactiveReadsEnabled", false );
+        associationsRepository.insert( testDataManager.fetchAssociationDaos( "MiAssociation001", "MiAssociation002", "MiAssociation003", "MiAssociation006" ) );
+
+        Mockito.lenient().doAnswer( invocation -> Mono.just( fetchUser( invocation.getArgument( 0 ) ) ) ).when( usersService ).toFetchUserDetailsRequest( anyString(), any() );
+        Mockito.lenient().doAnswer( invocation -> fetchUser( invocation.getArgument( 0 ) ) ).when( usersService ).fetchUserDetails( anyString(), any() );
+        Mockito.lenient().doAnswer( invocation -> invocation.<Stream<AssociationDao>>getArgument( 0 ).map( AssociationDao::getUserId ).distinct().map( ReactiveAssociationsServiceTest::fetchUser ).collect( Collectors.toMap( User::getUserId, Function.identity() ) ) ).when( usersService ).fetchUserDetails( Mockito.<Stream<AssociationDao>>any() );
+
+        Mockito.lenient().doAnswer( invocation -> Mono.just( fetchCompany( invocation.getArgument( 0 ) ) ) ).when( companyService ).toFetchCompanyProfileRequest( anyString(), any() );
+        Mockito.lenient().doAnswer( invocation -> fetchCompany( invocation.getArgument( 0 ) ) ).when( companyService ).fetchCompanyProfile( anyString() );
+        Mockito.lenient().doAnswer( invocation -> invocation.<Stream<AssociationDao>>getArgument( 0 ).map( AssociationDao::getCompanyNumber ).distinct().map( ReactiveAssociationsServiceTest::fetchCompany ).collect( Collectors.toMap( CompanyDetails::getCompanyNumber, Function.identity() ) ) ).when( companyService ).fetchCompanyProfiles( any() );
+    }
+
+    @Test
+    void fetchAssociationDtoMatchesBlockingImplementation(){
+        final var expected = associationsService.fetchAssociationDto( "MiAssociation002" );
+        final var actual = reactiveAssociationsService.fetchAssociationDto( "MiAssociation002" ).blockOptional( TIMEOUT );
+
+        Assertions.assertTrue( actual.isPresent() );
+        Assertions.assertEquals( expected, actual );
+    }
+
+    @Test
+    void fetchAssociationDtoWithNonexistentIdCompletesEmpty(){
+        Assertions.assertTrue( reactiveAssociationsService.fetchAssociationDto( "404Association" ).blockOptional( TIMEOUT ).isEmpty() );
+    }
+
+    @Test
+    void fetchUnexpiredAssociationsForCompanyAndStatusesMatchesBlockingImplementation(){
+        final var companyDetails = fetchCompany( "MICOMP001" );
+        final var statuses = fetchAllStatusesWithout( Set.of() );
+
+        final var expected = associationsService.fetchUnexpiredAssociationsForCompanyAndStatuses( companyDetails, statuses, null, null, 0, 1 );
+        final var actual = reactiveAssociationsService.fetchUnexpiredAssociationsForCompanyAndStatuses( companyDetails, statuses, null, null, 0, 1 ).block( TIMEOUT );
+
+        Assertions.assertEquals( 2, actual.getTotalResults() );
+        Assertions.assertEquals( expected, actual );
+    }
+
+    @Test
+    void fetchAssociationsForUserAndPartialCompanyNumberAndStatusesMatchesBlockingImplementation(){
+        final var user = fetchUser( "MiUser002" );
+
+        final var expected = associationsService.fetchAssociationsForUserAndPartialCompanyNumberAndStatuses( user, null, Set.of( "confirmed" ), 0, 15 );
+        final var actual = reactiveAssociationsService.fetchAssociationsForUserAndPartialCompanyNumberAndStatuses( user, null, Set.of( "confirmed" ), 0, 15 ).block( TIMEOUT );
+
+        Assertions.assertEquals( 2, actual.getTotalResults() );
+        Assertions.assertEquals( expected, actual );
+    }
+
+    @Test
+    void fetchActiveInvitationsMatchesBlockingImplementation(){
+        final var user = fetchUser( "MiUser002" );
+
+        final var expected = associationsService.fetchActiveInvitations( user, 0, 15 );
+        final var actual = reactiveAssociationsService.fetchActiveInvitations( user, 0, 15 ).block( TIMEOUT );
+
+        Assertions.assertEquals( 1, actual.getTotalResults() );
+        Assertions.assertEquals( "MiAssociation006", actual.getItems().getFirst().getAssociationId() );
+        Assertions.assertEquals( expected, actual );
+    }
+
+    @Test
+    void reactiveMongoTemplateAppliesRemainingRequestBudgetAsTimeoutToReadsOnly(){
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setXRequestId( new MockHttpServletRequest() ).setDeadline( Duration.ofSeconds( 5L ) ).build() );
+
+        final var untaggedTimeoutMs = reactiveMongoTemplate.execute( AssociationDao.class, collection -> Mono.justOrEmpty( collection.getTimeout( TimeUnit.MILLISECONDS ) ) ).blockFirst( TIMEOUT );
+        final var timeoutMs = readRoutingPolicy.withQueryClass( LOOKUP, () -> reactiveMongoTemplate.execute( AssociationDao.class, collection -> Mono.justOrEmpty( collection.getTimeout( TimeUnit.MILLISECONDS ) ) ).blockFirst( TIMEOUT ) );
+
+        Assertions.assertInstanceOf( ReadRoutingReactiveMongoTemplate.class, reactiveMongoTemplate );
+        Assertions.assertNull( untaggedTimeoutMs );
+        Assertions.assertNotNull( timeoutMs );
+        Assertions.assertTrue( timeoutMs > 0L && timeoutMs <= 5_000L );
+    }
+
+    @AfterEach
+    public void after() {
+        RequestContext.clear();
+        mongoTemplate.dropCollection( AssociationDao.class );
+    }
+
+}
@@ -0,0 +1,133 @@
+package uk.gov.companieshouse.accounts.association.integration;
+
+import static uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy.QueryClass.LIST;
+import static uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy.QueryClass.LOOKUP;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import uk.gov.companieshouse.accounts.association.common.TestDataManager;
+import uk.gov.companieshouse.accounts.association.configuration.ReadRoutingMongoTemplate;
+import uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy;
+import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
+import uk.gov.companieshouse.accounts.association.repositories.AssociationsRepository;
+
+@SpringBootTest( properties = { "mongo.read-routing.enabled=true", "mongo.read-routing.list.read-preference=secondaryPreferred" } )
+@Tag( "integration-test" )
+class ReadRoutingMongoTemplateTest extends BaseMongoIntegration {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private AssociationsRepository associationsRepository;
+
+    @Autowired
+    private ReadRoutingPolicy readRoutingPolicy;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private static final TestDataManager testDataManager = TestDataManager.getInstance();
+
+    private ReadPreference fetchCollectionReadPreference(){
+        return mongoTemplate.execute( AssociationDao.class, MongoCollection<Document>::getReadPreference );
+    }
+
+    private void setRequestContext( final String ericIdentity ){
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "Eric-Identity", ericIdentity );
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setEricIdentity( request ).build() );
+    }
+
+    private Long fetchCollectionTimeout(){
+        return mongoTemplate.execute( AssociationDao.class, collection -> collection.getTimeout( TimeUnit.MILLISECONDS ) );
+    }
+
+    private void setRequestContextWithDeadline( final Duration budget ){
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setDeadline( budget ).build() );
+    }
+
+    @Test
+    void mongoTemplateIsReadRoutingMongoTemplate(){
+        Assertions.assertInstanceOf( ReadRoutingMongoTemplate.class, mongoTemplate );
+    }
+
+    @Test
+    void reactiveMongoClientIsNotCreatedWhenReactiveReadsAreDisabled(){
+        Assertions.assertEquals( 0, applicationContext.getBeanNamesForType( MongoClient.class ).length );
+    }
+
+    @Test
+    void collectionIsPreparedWithReadPreferenceOfQueryClass(){
+        Assertions.assertEquals( ReadPreference.primary(), fetchCollectionReadPreference() );
+        Assertions.assertEquals( ReadPreference.primary(), readRoutingPolicy.withQueryClass( LOOKUP, this::fetchCollectionReadPreference ) );
+        Assertions.assertEquals( ReadPreference.valueOf( "secondaryPreferred", List.of(), 90L, TimeUnit.SECONDS ), readRoutingPolicy.withQueryClass( LIST, this::fetchCollectionReadPreference ) );
+    }
+
+    @Test
+    void listQueriesAreServedByReplicaSetWhenRoutedToSecondaries(){
+        associationsRepository.insert( testDataManager.fetchAssociationDaos( "1", "2", "3", "4", "5" ) );
+
+        final var associations = readRoutingPolicy.withQueryClass( LIST, () -> associationsRepository.fetchUnexpiredAssociationsForCompanyAndStatuses( "111111", Set.of( "confirmed" ), LocalDateTime.now(), PageRequest.of( 0, 15 ) ) );
+
+        Assertions.assertEquals( 5, associations.getTotalElements() );
+    }
+
+    @Test
+    void callerWhoHasRecentlyWrittenReadsFromPrimary(){
+        setRequestContext( "111" );
+        Assertions.assertNotEquals( ReadPreference.primary(), readRoutingPolicy.withQueryClass( LIST, this::fetchCollectionReadPreference ) );
+
+        associationsRepository.insert( testDataManager.fetchAssociationDaos( "1" ) );
+        readRoutingPolicy.recordWrite();
+
+        Assertions.assertEquals( ReadPreference.primary(), readRoutingPolicy.withQueryClass( LIST, this::fetchCollectionReadPreference ) );
+        Assertions.assertTrue( readRoutingPolicy.withQueryClass( LIST, () -> associationsRepository.findById( "1" ) ).isPresent() );
+    }
+
+    @Test
+    void collectionIsPreparedWithRemainingBudgetAsTimeoutForReadsOnly(){
+        setRequestContextWithDeadline( Duration.ofSeconds( 5L ) );
+
+        Assertions.assertNull( fetchCollectionTimeout() );
+        final var readTimeout = readRoutingPolicy.withQueryClass( LOOKUP, this::fetchCollectionTimeout );
+        Assertions.assertNotNull( readTimeout );
+        Assertions.assertTrue( readTimeout > 0L && readTimeout <= 5_000L );
+    }
+
+    @Test
+    void writesAreNotCutOffByAnExpiredDeadline(){
+        setRequestContextWithDeadline( Duration.ZERO );
+
+        associationsRepository.insert( testDataManager.fetchAssociationDaos( "1" ) );
+
+        RequestContext.clear();
+        Assertions.assertTrue( associationsRepository.findById( "1" ).isPresent() );
+    }
+
+    @AfterEach
+    public void after() {
+        RequestContext.clear();
+        mongoTemplate.dropCollection( AssociationDao.class );
+    }
+
+}
@@ -0,0 +1,73 @@
+package uk.gov.companieshouse.accounts.association.interceptor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Tag( "unit-test" )
+class EndpointMetricsInterceptorTest {
+
+    private static final String ENDPOINT = "/associations/{id}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private EndpointMetricsInterceptor endpointMetricsInterceptor;
+
+    @BeforeEach
+    void setup(){
+        meterRegistry = new SimpleMeterRegistry();
+        endpointMetricsInterceptor = new EndpointMetricsInterceptor( meterRegistry );
+    }
+
+    private static MockHttpServletRequest createRequest(){
+        final var request = new MockHttpServletRequest( "GET", "/associations/1" );
+        request.setAttribute( HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ENDPOINT );
+        return request;
+    }
+
+    private double inFlightRequests(){
+        return meterRegistry.get( "http.server.requests.in-flight" ).tag( "endpoint", ENDPOINT ).tag( "method", "GET" ).gauge().value();
+    }
+
+    @Test
+    void preHandleAndAfterCompletionTrackInFlightRequestsPerEndpoint(){
+        final var request = createRequest();
+        final var response = new MockHttpServletResponse();
+
+        Assertions.assertTrue( endpointMetricsInterceptor.preHandle( request, response, null ) );
+        Assertions.assertEquals( 1.0, inFlightRequests() );
+
+        endpointMetricsInterceptor.afterCompletion( request, response, null, null );
+        Assertions.assertEquals( 0.0, inFlightRequests() );
+        Assertions.assertTrue( meterRegistry.find( "http.server.requests.errors" ).counters().isEmpty() );
+    }
+
+    @Test
+    void afterCompletionCountsUnsuccessfulRequestsByOutcome(){
+        final var request = createRequest();
+        final var response = new MockHttpServletResponse();
+        response.setStatus( 404 );
+
+        endpointMetricsInterceptor.preHandle( request, response, null );
+        endpointMetricsInterceptor.afterCompletion( request, response, null, null );
+
+        Assertions.assertEquals( 1.0, meterRegistry.get( "http.server.requests.errors" ).tag( "endpoint", ENDPOINT ).tag( "outcome", "CLIENT_ERROR" ).tag( "status", "404" ).counter().count() );
+    }
+
+    @Test
+    void afterCompletionCountsRequestsWithUnhandledExceptionsAsServerErrors(){
+        final var request = createRequest();
+        final var response = new MockHttpServletResponse();
+
+        endpointMetricsInterceptor.preHandle( request, response, null );
+        endpointMetricsInterceptor.afterCompletion( request, response, null, new IllegalStateException( "Boom" ) );
+
+        Assertions.assertEquals( 1.0, meterRegistry.get( "http.server.requests.errors" ).tag( "outcome", "SERVER_ERROR" ).counter().count() );
+        Assertions.assertEquals( 0.0, inFlightRequests() );
+    }
+
+}
@@ -5,10 +5,14 @@ import static org.mockito.ArgumentMatchers.eq;
 import static uk.gov.companieshouse.accounts.association.models.Constants.ADMIN_READ_PERMISSION;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getEricIdentity;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getEricIdentityType;
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getRemainingBudget;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getUser;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.hasAdminPrivilege;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
@@ -21,6 +25,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import uk.gov.companieshouse.accounts.association.common.TestDataManager;
+import uk.gov.companieshouse.accounts.association.configuration.RequestDeadlinePolicy;
 import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
 import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
 import uk.gov.companieshouse.accounts.association.service.UsersService;
@@ -32,6 +37,9 @@ class RequestLifecycleInterceptorTest {
     @Mock
     private UsersService usersService;
 
+    @Mock
+    private RequestDeadlinePolicy requestDeadlinePolicy;
+
     @InjectMocks
     private RequestLifecycleInterceptor requestLifecycleInterceptor;
 
@@ -94,6 +102,69 @@ class RequestLifecycleInterceptorTest {
         Assertions.assertTrue( requestLifecycleInterceptor.preHandle( request, response, null ) );
     }
 
+    @Test
+    void preHandleWithoutDeadlineSetsRequestContextWithoutRemainingBudget(){
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "X-Request-Id", "theId123" );
+        request.addHeader( "Eric-Identity", "theKey" );
+        request.addHeader( "Eric-Identity-Type", "key" );
+
+        requestLifecycleInterceptor.preHandle( request, new MockHttpServletResponse(), null );
+
+        Assertions.assertTrue( getRemainingBudget().isEmpty() );
+    }
+
+    @Test
+    void preHandleWithDeadlineSetsRequestContextWithRemainingBudget(){
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "X-Request-Id", "theId123" );
+        request.addHeader( "Eric-Identity", "theKey" );
+        request.addHeader( "Eric-Identity-Type", "key" );
+
+        Mockito.doReturn( Optional.of( Duration.ofSeconds( 5L ) ) ).when( requestDeadlinePolicy ).fetchBudget( request );
+
+        requestLifecycleInterceptor.preHandle( request, new MockHttpServletResponse(), null );
+
+        final var remainingBudget = getRemainingBudget().orElseThrow();
+        Assertions.assertTrue( remainingBudget.compareTo( Duration.ofSeconds( 5L ) ) <= 0 );
+        Assertions.assertTrue( remainingBudget.compareTo( Duration.ofSeconds( 4L ) ) > 0 );
+    }
+
+    @Test
+    void preHandleWithDeadlineAppliesRemainingBudgetToUserLookup(){
+        final var user = testDataManager.fetchUserDtos( "111" ).getFirst();
+
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "X-Request-Id", "theId123" );
+        request.addHeader( "Eric-Identity", user.getUserId() );
+        request.addHeader( "Eric-Identity-Type", "oauth2" );
+
+        final var budgetDuringLookup = new AtomicReference<Optional<Duration>>();
+        Mockito.doReturn( Optional.of( Duration.ofSeconds( 5L ) ) ).when( requestDeadlinePolicy ).fetchBudget( request );
+        Mockito.doAnswer( invocation -> {
+            budgetDuringLookup.set( getRemainingBudget() );
+            return user;
+        } ).when( usersService ).fetchUserDetails( eq( user.getUserId() ), any() );
+
+        requestLifecycleInterceptor.preHandle( request, new MockHttpServletResponse(), null );
+
+        Assertions.assertTrue( budgetDuringLookup.get().isPresent() );
+        Assertions.assertEquals( user, getUser() );
+    }
+
+    @Test
+    void preHandleWithOAuth2RequestWithNonexistentUserClearsRequestContext(){
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "X-Request-Id", "theId123" );
+        request.addHeader( "Eric-Identity", "111" );
+        request.addHeader( "Eric-Identity-Type", "oauth2" );
+
+        Mockito.doThrow( new NotFoundRuntimeException( "theId123", "Could not find user", new Exception( "Could not find user" ) ) ).when( usersService ).fetchUserDetails( eq( "111" ), any() );
+
+        Assertions.assertFalse( requestLifecycleInterceptor.preHandle( request, new MockHttpServletResponse(), null ) );
+        Assertions.assertEquals( "unknown", getXRequestId() );
+    }
+
     @Test
     void afterCompletionClearsRequestContext(){
         final var request = new MockHttpServletRequest();
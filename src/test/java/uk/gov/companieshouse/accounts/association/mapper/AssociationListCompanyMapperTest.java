@@ -2,10 +2,9 @@ package uk.gov.companieshouse.accounts.association.mapper;
 
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -17,6 +16,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.common.Mockers;
 import uk.gov.companieshouse.accounts.association.common.TestDataManager;
 import uk.gov.companieshouse.accounts.association.models.AssociationDao;
 import uk.gov.companieshouse.accounts.association.service.CompanyService;
@@ -35,13 +36,15 @@ class AssociationListCompanyMapperTest {
 
     private AssociationsListCompanyMapper associationsListCompanyMapper;
 
+    private Mockers mockers;
+
     private static final TestDataManager testDataManager = TestDataManager.getInstance();
 
     @BeforeEach
     void setup(){
         associationsListCompanyMapper = new AssociationsListCompanyMapperImpl();
-        associationsListCompanyMapper.usersService = usersService;
-        associationsListCompanyMapper.companyService = companyService;
+        associationsListCompanyMapper.enrichmentResolver = new EnrichmentResolver( usersService, companyService );
+        mockers = new Mockers( null, null, companyService, usersService );
     }
 
     @Test
@@ -57,12 +60,11 @@ class AssociationListCompanyMapperTest {
     @Test
     void daoToDtoDoesMappingCorrectlyForLastPage(){
         final var associationDaos = testDataManager.fetchAssociationDaos( "1", "2" );
-        final var users = testDataManager.fetchUserDtos( "111", "222" );
         final var company = testDataManager.fetchCompanyDetailsDtos( "111111" ).getFirst();
 
         final var content = new PageImpl<>( associationDaos, PageRequest.of( 0, 15 ), associationDaos.size() );
 
-        Mockito.doReturn( Map.of( "111", users.getFirst(), "222", users.getLast() ) ).when( usersService ).fetchUserDetails( any( Stream.class ) );
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "111", "222" );
 
         final var associations = associationsListCompanyMapper.daoToDto( content, company );
         final var links = associations.getLinks();
@@ -79,12 +81,11 @@ class AssociationListCompanyMapperTest {
     @Test
     void daoToDtoDoesMappingCorrectlyForIntermediatePage(){
         final var associationDaos = testDataManager.fetchAssociationDaos( "1", "2" );
-        final var users = testDataManager.fetchUserDtos( "111", "222" );
         final var company = testDataManager.fetchCompanyDetailsDtos( "111111" ).getFirst();
 
         final var content = new PageImpl<>( associationDaos, PageRequest.of( 0, 2 ), 3 );
 
-        Mockito.doReturn( Map.of( "111", users.getFirst(), "222", users.getLast() ) ).when( usersService ).fetchUserDetails( any( Stream.class ) );
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "111", "222" );
 
         final var associations = associationsListCompanyMapper.daoToDto( content, company );
         final var links = associations.getLinks();
@@ -100,12 +101,10 @@ class AssociationListCompanyMapperTest {
 
     @Test
     void daoToDtoDoesNothingWhenPageIsEmpty(){
-        final var users = testDataManager.fetchUserDtos( "111", "222" );
         final var company = testDataManager.fetchCompanyDetailsDtos( "111111" ).getFirst();
 
         final var content = new PageImpl<AssociationDao>( List.of(), PageRequest.of( 0, 2 ), 0 );
 
-        Mockito.doReturn( Map.of( "111", users.getFirst(), "222", users.getLast() ) ).when( usersService ).fetchUserDetails( any( Stream.class ) );
 
         final var associations = associationsListCompanyMapper.daoToDto( content, company );
         final var links = associations.getLinks();
@@ -117,5 +116,25 @@ class AssociationListCompanyMapperTest {
         Assertions.assertEquals( "/associations/companies/111111?page_index=0&items_per_page=2", links.getSelf() );
         Assertions.assertEquals( "", links.getNext() );
         Assertions.assertEquals( 0, associations.getItems().size() );
+        Mockito.verifyNoInteractions( usersService );
+    }
+
+    @Test
+    void daoToDtoResolvesEachDistinctUserOnceWithoutFallingBackToSingleFetches(){
+        final var associationDaos = testDataManager.fetchAssociationDaos( "1", "2" );
+        final var company = testDataManager.fetchCompanyDetailsDtos( "111111" ).getFirst();
+
+        final var content = new PageImpl<>( associationDaos, PageRequest.of( 0, 15 ), associationDaos.size() );
+
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "111" );
+        Mockito.doReturn( Mono.empty() ).when( usersService ).toFetchUserDetailsRequest( eq( "222" ), any() );
+
+        final var associations = associationsListCompanyMapper.daoToDto( content, company );
+
+        Assertions.assertEquals( "Batman", associations.getItems().getFirst().getDisplayName() );
+        Assertions.assertEquals( "Not provided", associations.getItems().getLast().getDisplayName() );
+        Mockito.verify( usersService ).toFetchUserDetailsRequest( eq( "111" ), any() );
+        Mockito.verify( usersService ).toFetchUserDetailsRequest( eq( "222" ), any() );
+        Mockito.verifyNoMoreInteractions( usersService, companyService );
     }
 }
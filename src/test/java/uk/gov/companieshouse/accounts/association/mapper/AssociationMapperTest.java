@@ -1,12 +1,13 @@
 package uk.gov.companieshouse.accounts.association.mapper;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static uk.gov.companieshouse.accounts.association.common.ParsingUtils.localDateTimeToNormalisedString;
 import static uk.gov.companieshouse.accounts.association.common.ParsingUtils.reduceTimestampResolution;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +18,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 import uk.gov.companieshouse.accounts.association.common.ComparisonUtils;
 import uk.gov.companieshouse.accounts.association.common.Mockers;
 import uk.gov.companieshouse.accounts.association.common.TestDataManager;
@@ -53,8 +56,7 @@ class AssociationMapperTest {
     @BeforeEach
     void setup() {
         associationMapper = new AssociationMapperImpl();
-        associationMapper.usersService = usersService;
-        associationMapper.companyService = companyService;
+        associationMapper.enrichmentResolver = new EnrichmentResolver( usersService, companyService );
         mockers = new Mockers(  null, null, companyService, usersService );
     }
 
@@ -82,16 +84,15 @@ class AssociationMapperTest {
     }
 
     @Test
-    void enrichWithUserDetailsRetrievesDataIfInputObjectIsNull(){
+    void enrichWithUserDetailsDoesNotFetchUserIfInputObjectIsNull(){
         final var user = testDataManager.fetchUserDtos( "111" ).getFirst();
         final var associationPreprocessed = testDataManager.fetchAssociationDto( "1", user ).userEmail( null ).displayName( null );
 
-        mockers.mockUsersServiceFetchUserDetails( "111" );
-
         associationMapper.enrichWithUserDetails( associationPreprocessed, null );
 
-        Assertions.assertEquals( "bruce.wayne@gotham.city", associationPreprocessed.getUserEmail() );
-        Assertions.assertEquals( "Batman", associationPreprocessed.getDisplayName() );
+        Assertions.assertNull( associationPreprocessed.getUserEmail() );
+        Assertions.assertEquals( DEFAULT_DISPLAY_NAME, associationPreprocessed.getDisplayName() );
+        Mockito.verifyNoInteractions( usersService );
     }
 
     @Test
@@ -118,16 +119,15 @@ class AssociationMapperTest {
     }
 
     @Test
-    void enrichWithCompanyDetailsRetrievesDataIfInputObjectIsNull(){
+    void enrichWithCompanyDetailsDoesNotFetchCompanyIfInputObjectIsNull(){
         final var user = testDataManager.fetchUserDtos( "111" ).getFirst();
         final var associationPreprocessed = testDataManager.fetchAssociationDto( "1", user ).companyName( null ).companyStatus( null );
 
-        mockers.mockCompanyServiceFetchCompanyProfile( "111111" );
-
         associationMapper.enrichWithCompanyDetails( associationPreprocessed, null );
 
-        Assertions.assertEquals( "Wayne Enterprises", associationPreprocessed.getCompanyName() );
-        Assertions.assertEquals( "active", associationPreprocessed.getCompanyStatus() );
+        Assertions.assertNull( associationPreprocessed.getCompanyName() );
+        Assertions.assertNull( associationPreprocessed.getCompanyStatus() );
+        Mockito.verifyNoInteractions( companyService );
     }
 
     @Test
@@ -143,32 +143,59 @@ class AssociationMapperTest {
         Assertions.assertNull( associationMapper.daoToDto( null, null, null ) );
     }
 
+    @Test
+    void daoToDtoWithoutContextWithNullAssociationDaoReturnsNull(){
+        Assertions.assertNull( associationMapper.daoToDto( null ) );
+    }
+
+    @Test
+    void daoToDtoWithoutContextResolvesUserAndCompanyOnceEach(){
+        final var associationDao = testDataManager.fetchAssociationDaos( "1" ).getFirst();
+        final var expectedAssociation = testDataManager.fetchAssociationDto( "1", testDataManager.fetchUserDtos( "111" ).getFirst() );
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "111" );
+        mockers.mockCompanyServiceToFetchCompanyProfileRequest( "111111" );
+
+        final var association = associationMapper.daoToDto( associationDao );
+
+        Assertions.assertTrue( comparisonUtils.compare( expectedAssociation, List.of( "createdAt", "approvedAt", "removedAt", "etag", "id", "userId", "userEmail", "displayName", "companyNumber", "companyName", "status", "companyStatus", "kind", "approvalRoute", "approvalExpiryAt", "links" ), List.of(), Map.of() ).matches( association ) );
+        Mockito.verify( usersService ).toFetchUserDetailsRequest( eq( "111" ), any() );
+        Mockito.verify( companyService ).toFetchCompanyProfileRequest( eq( "111111" ), any() );
+        Mockito.verifyNoMoreInteractions( usersService, companyService );
+    }
+
+    @Test
+    void daoToDtoWithoutContextDoesNotRefetchUserThatCouldNotBeResolved(){
+        final var associationDao = testDataManager.fetchAssociationDaos( "1" ).getFirst();
+        Mockito.doReturn( Mono.empty() ).when( usersService ).toFetchUserDetailsRequest( eq( "111" ), any() );
+        mockers.mockCompanyServiceToFetchCompanyProfileRequest( "111111" );
+
+        final var association = associationMapper.daoToDto( associationDao );
+
+        Assertions.assertEquals( DEFAULT_DISPLAY_NAME, association.getDisplayName() );
+        Assertions.assertEquals( "Wayne Enterprises", association.getCompanyName() );
+        Mockito.verify( usersService ).toFetchUserDetailsRequest( eq( "111" ), any() );
+        Mockito.verifyNoMoreInteractions( usersService );
+    }
+
     static Stream<Arguments> daoToDtoTestData(){
         final var associationDao = testDataManager.fetchAssociationDaos( "1" ).getFirst();
         final var userDto = testDataManager.fetchUserDtos( "111" ).getFirst();
         final var companyDto = testDataManager.fetchCompanyDetailsDtos( "111111" ).getFirst();
         final var expectedAssociation = testDataManager.fetchAssociationDto( "1", userDto );
         return Stream.of(
-                Arguments.of( associationDao, expectedAssociation, null, null ),
-                Arguments.of( associationDao, expectedAssociation, userDto, null ),
-                Arguments.of( associationDao, expectedAssociation, null, companyDto ),
-                Arguments.of( associationDao, expectedAssociation, userDto, companyDto )
+                Arguments.of( associationDao, expectedAssociation, null, null, List.of( "createdAt", "approvedAt", "removedAt", "etag", "id", "userId", "companyNumber", "status", "kind", "approvalRoute", "approvalExpiryAt", "links" ) ),
+                Arguments.of( associationDao, expectedAssociation, userDto, null, List.of( "createdAt", "approvedAt", "removedAt", "etag", "id", "userId", "userEmail", "displayName", "companyNumber", "status", "kind", "approvalRoute", "approvalExpiryAt", "links" ) ),
+                Arguments.of( associationDao, expectedAssociation, null, companyDto, List.of( "createdAt", "approvedAt", "removedAt", "etag", "id", "userId", "companyNumber", "companyName", "status", "companyStatus", "kind", "approvalRoute", "approvalExpiryAt", "links" ) ),
+                Arguments.of( associationDao, expectedAssociation, userDto, companyDto, List.of( "createdAt", "approvedAt", "removedAt", "etag", "id", "userId", "userEmail", "displayName", "companyNumber", "companyName", "status", "companyStatus", "kind", "approvalRoute", "approvalExpiryAt", "links" ) )
         );
     }
 
     @ParameterizedTest
     @MethodSource( "daoToDtoTestData" )
-    void daoToDtoPerformsMappingRegardlessOfAvailableData( final AssociationDao associationDao, final Association expectedAssociation, final User userDto, final CompanyDetails companyDto ){
-        if ( Objects.isNull( userDto ) ) {
-            mockers.mockUsersServiceFetchUserDetails( "111" );
-        }
-
-        if ( Objects.isNull( companyDto ) ) {
-            mockers.mockCompanyServiceFetchCompanyProfile( "111111" );
-        }
-
+    void daoToDtoPerformsMappingWithoutFetchingRegardlessOfAvailableData( final AssociationDao associationDao, final Association expectedAssociation, final User userDto, final CompanyDetails companyDto, final List<String> expectedFields ){
         final var association = associationMapper.daoToDto( associationDao, userDto, companyDto );
-        Assertions.assertTrue( comparisonUtils.compare( expectedAssociation, List.of( "createdAt", "approvedAt", "removedAt", "etag", "id", "userId", "userEmail", "displayName", "companyNumber", "companyName", "status", "companyStatus", "kind", "approvalRoute", "approvalExpiryAt", "links" ), List.of(), Map.of() ).matches( association ) );
+        Assertions.assertTrue( comparisonUtils.compare( expectedAssociation, expectedFields, List.of(), Map.of() ).matches( association ) );
+        Mockito.verifyNoInteractions( usersService, companyService );
     }
 
 }
@@ -1,10 +1,6 @@
 package uk.gov.companieshouse.accounts.association.mapper;
 
-import static org.mockito.ArgumentMatchers.any;
-
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -16,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import uk.gov.companieshouse.accounts.association.common.Mockers;
 import uk.gov.companieshouse.accounts.association.common.TestDataManager;
 import uk.gov.companieshouse.accounts.association.models.AssociationDao;
 import uk.gov.companieshouse.accounts.association.service.CompanyService;
@@ -34,13 +31,15 @@ class AssociationsListUserMapperTest {
 
     private AssociationsListUserMapper associationsListUserMapper;
 
+    private Mockers mockers;
+
     private static final TestDataManager testDataManager = TestDataManager.getInstance();
 
     @BeforeEach
     void setup(){
         associationsListUserMapper = new AssociationsListUserMapperImpl();
-        associationsListUserMapper.usersService = usersService;
-        associationsListUserMapper.companyService = companyService;
+        associationsListUserMapper.enrichmentResolver = new EnrichmentResolver( usersService, companyService );
+        mockers = new Mockers( null, null, companyService, usersService );
     }
 
     @Test
@@ -57,11 +56,10 @@ class AssociationsListUserMapperTest {
     void daoToDtoDoesMappingCorrectlyForLastPage(){
         final var associationDaos = testDataManager.fetchAssociationDaos( "18", "19" );
         final var user = testDataManager.fetchUserDtos( "9999" ).getFirst();
-        final var companies = testDataManager.fetchCompanyDetailsDtos( "333333", "444444" );
 
         final var content = new PageImpl<>( associationDaos, PageRequest.of( 0, 15 ), associationDaos.size() );
 
-        Mockito.doReturn( Map.of( "333333", companies.getFirst(), "444444", companies.getLast() ) ).when( companyService ).fetchCompanyProfiles( any( Stream.class ) );
+        mockers.mockCompanyServiceToFetchCompanyProfileRequest( "333333", "444444" );
 
         final var associations = associationsListUserMapper.daoToDto( content, user );
         final var links = associations.getLinks();
@@ -79,11 +77,10 @@ class AssociationsListUserMapperTest {
     void daoToDtoDoesMappingCorrectlyForIntermediatePage(){
         final var associationDaos = testDataManager.fetchAssociationDaos( "18", "19" );
         final var user = testDataManager.fetchUserDtos( "9999" ).getFirst();
-        final var companies = testDataManager.fetchCompanyDetailsDtos( "333333", "444444" );
 
         final var content = new PageImpl<>( associationDaos, PageRequest.of( 0, 2 ), 3 );
 
-        Mockito.doReturn( Map.of( "333333", companies.getFirst(), "444444", companies.getLast() ) ).when( companyService ).fetchCompanyProfiles( any( Stream.class ) );
+        mockers.mockCompanyServiceToFetchCompanyProfileRequest( "333333", "444444" );
 
         final var associations = associationsListUserMapper.daoToDto( content, user );
         final var links = associations.getLinks();
@@ -103,8 +100,6 @@ class AssociationsListUserMapperTest {
 
         final var content = new PageImpl<AssociationDao>( List.of(), PageRequest.of( 0, 2 ), 0 );
 
-        Mockito.doReturn( Map.of() ).when( companyService ).fetchCompanyProfiles( any( Stream.class ) );
-
         final var associations = associationsListUserMapper.daoToDto( content, user );
         final var links = associations.getLinks();
 
@@ -115,6 +110,7 @@ class AssociationsListUserMapperTest {
         Assertions.assertEquals( "/associations?page_index=0&items_per_page=2", links.getSelf() );
         Assertions.assertEquals( "", links.getNext() );
         Assertions.assertEquals( 0, associations.getItems().size() );
+        Mockito.verifyNoInteractions( companyService );
     }
 
 }
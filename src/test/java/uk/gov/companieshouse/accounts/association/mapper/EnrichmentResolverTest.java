@@ -0,0 +1,116 @@
+package uk.gov.companieshouse.accounts.association.mapper;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.common.Mockers;
+import uk.gov.companieshouse.accounts.association.common.TestDataManager;
+import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
+import uk.gov.companieshouse.accounts.association.service.CompanyService;
+import uk.gov.companieshouse.accounts.association.service.UsersService;
+
+@ExtendWith( MockitoExtension.class )
+@Tag( "unit-test" )
+class EnrichmentResolverTest {
+
+    @Mock
+    private UsersService usersService;
+
+    @Mock
+    private CompanyService companyService;
+
+    private EnrichmentResolver enrichmentResolver;
+
+    private Mockers mockers;
+
+    private static final TestDataManager testDataManager = TestDataManager.getInstance();
+
+    @BeforeEach
+    void setup(){
+        enrichmentResolver = new EnrichmentResolver( usersService, companyService );
+        mockers = new Mockers( null, null, companyService, usersService );
+    }
+
+    @Test
+    void resolveWithNoRegisteredKeysMakesNoCalls(){
+        final var resolution = enrichmentResolver.newBatch().registerUser( null ).registerCompany( null ).resolve();
+
+        Assertions.assertTrue( resolution.users().isEmpty() );
+        Assertions.assertTrue( resolution.companies().isEmpty() );
+        Assertions.assertNull( resolution.fetchUser( null ) );
+        Mockito.verifyNoInteractions( usersService, companyService );
+    }
+
+    @Test
+    void resolveFetchesEachDistinctKeyOnce(){
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "111", "222" );
+        mockers.mockCompanyServiceToFetchCompanyProfileRequest( "111111" );
+
+        final var resolution = enrichmentResolver.newBatch()
+                .registerUser( "111" )
+                .registerUser( "222" )
+                .registerUser( "111" )
+                .registerCompany( "111111" )
+                .registerCompany( "111111" )
+                .resolve();
+
+        Assertions.assertEquals( "Batman", resolution.fetchUser( "111" ).getDisplayName() );
+        Assertions.assertEquals( "222", resolution.fetchUser( "222" ).getUserId() );
+        Assertions.assertEquals( "Wayne Enterprises", resolution.fetchCompany( "111111" ).getCompanyName() );
+        Mockito.verify( usersService ).toFetchUserDetailsRequest( eq( "111" ), any() );
+        Mockito.verify( usersService ).toFetchUserDetailsRequest( eq( "222" ), any() );
+        Mockito.verify( companyService ).toFetchCompanyProfileRequest( eq( "111111" ), any() );
+        Mockito.verifyNoMoreInteractions( usersService, companyService );
+    }
+
+    @Test
+    void resolveLeavesOutKeysWhoseRequestCompletesEmpty(){
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "111" );
+        Mockito.doReturn( Mono.empty() ).when( usersService ).toFetchUserDetailsRequest( eq( "222" ), any() );
+
+        final var resolution = enrichmentResolver.newBatch().registerUser( "111" ).registerUser( "222" ).resolve();
+
+        Assertions.assertEquals( "Batman", resolution.fetchUser( "111" ).getDisplayName() );
+        Assertions.assertNull( resolution.fetchUser( "222" ) );
+    }
+
+    @Test
+    void resolvePropagatesRequestContextToFetches(){
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "X-Request-Id", "theId12345" );
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setXRequestId( request ).build() );
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "111" );
+
+        enrichmentResolver.newBatch().registerUser( "111" ).resolve();
+
+        Mockito.verify( usersService ).toFetchUserDetailsRequest( "111", "theId12345" );
+    }
+
+    @Test
+    void resolveWithNonexistentCompanyThrowsNotFoundRuntimeException(){
+        mockers.mockCompanyServiceFetchCompanyProfileNotFound( "919191" );
+
+        final var batch = enrichmentResolver.newBatch().registerCompany( "919191" );
+
+        Assertions.assertThrows( NotFoundRuntimeException.class, batch::resolve );
+    }
+
+    @AfterEach
+    void tearDown(){
+        RequestContext.clear();
+    }
+
+}
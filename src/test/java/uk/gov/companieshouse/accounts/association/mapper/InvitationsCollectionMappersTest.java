@@ -1,5 +1,7 @@
 package uk.gov.companieshouse.accounts.association.mapper;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static uk.gov.companieshouse.accounts.association.common.ParsingUtils.localDateTimeToNormalisedString;
 import static uk.gov.companieshouse.accounts.association.common.ParsingUtils.reduceTimestampResolution;
 
@@ -13,11 +15,11 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.test.util.ReflectionTestUtils;
 import uk.gov.companieshouse.accounts.association.common.Mockers;
 import uk.gov.companieshouse.accounts.association.common.TestDataManager;
 import uk.gov.companieshouse.accounts.association.models.AssociationDao;
@@ -38,9 +40,10 @@ class InvitationsCollectionMappersTest {
 
     @BeforeEach
     void setup(){
+        final var enrichmentResolver = new EnrichmentResolver( usersService, null );
         final var invitationMapper = new InvitationMapperImpl();
-        ReflectionTestUtils.setField( invitationMapper, "usersService", usersService );
-        invitationsCollectionMappers = new InvitationsCollectionMappers( invitationMapper );
+        invitationMapper.enrichmentResolver = enrichmentResolver;
+        invitationsCollectionMappers = new InvitationsCollectionMappers( invitationMapper, enrichmentResolver );
         mockers = new Mockers( null, null, null, usersService );
     }
 
@@ -69,7 +72,7 @@ class InvitationsCollectionMappersTest {
         final var association = testDataManager.fetchAssociationDaos( "38" ).getFirst();
         association.getInvitations().getLast().invitedAt( LocalDateTime.now().minusDays( 30 ) );
 
-        mockers.mockUsersServiceFetchUserDetails( "111", "222", "444" );
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "111", "222", "444" );
 
         final var invitations = invitationsCollectionMappers.daoToDto( association, 0, 15 );
         final var invitation0 = invitations.getItems().getFirst();
@@ -101,7 +104,7 @@ class InvitationsCollectionMappersTest {
         final var association = testDataManager.fetchAssociationDaos( "38" ).getFirst();
         association.getInvitations().getLast().invitedAt( LocalDateTime.now().minusDays( 8 ) );
 
-        mockers.mockUsersServiceFetchUserDetails( "222" );
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "222" );
 
         final var invitations = invitationsCollectionMappers.daoToDto( association, 1, 1 );
         final var invitation = invitations.getItems().getFirst();
@@ -118,6 +121,20 @@ class InvitationsCollectionMappersTest {
         Assertions.assertTrue( invitation.getIsActive() );
     }
 
+    @Test
+    void daoToDtoResolvesEachInviterOnceForThePage(){
+        final var association = testDataManager.fetchAssociationDaos( "38" ).getFirst();
+
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "111", "222", "444" );
+
+        invitationsCollectionMappers.daoToDto( association, 0, 15 );
+
+        Mockito.verify( usersService ).toFetchUserDetailsRequest( eq( "111" ), any() );
+        Mockito.verify( usersService ).toFetchUserDetailsRequest( eq( "222" ), any() );
+        Mockito.verify( usersService ).toFetchUserDetailsRequest( eq( "444" ), any() );
+        Mockito.verifyNoMoreInteractions( usersService );
+    }
+
     @Test
     void daoToDtoWithNullListThrowsNullPointerException(){
         final var pageRequest = PageRequest.of( 0, 15 );
@@ -145,7 +162,7 @@ class InvitationsCollectionMappersTest {
         associations.getFirst().getInvitations().getLast().invitedAt( LocalDateTime.now().minusDays( 31 ) );
         final var pageRequest = PageRequest.of( 0, 15);
 
-        mockers.mockUsersServiceFetchUserDetails( "9999", "444" );
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "9999", "444" );
 
         final Page<AssociationDao> associationsWithInvitations = new PageImpl<>( associations, pageRequest, associations.size() );
 
@@ -180,7 +197,7 @@ class InvitationsCollectionMappersTest {
         associations.getFirst().approvalExpiryAt( LocalDateTime.now().plusDays( 7 ) );
         associations.getFirst().getInvitations().getLast().invitedAt( LocalDateTime.now().minusDays( 8 ) );
 
-        mockers.mockUsersServiceFetchUserDetails( "9999" );
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "9999" );
 
         final var invitations = invitationsCollectionMappers.daoToDto( associationsWithInvitations, pageRequest );
         final var invitation = invitations.getItems().getFirst();
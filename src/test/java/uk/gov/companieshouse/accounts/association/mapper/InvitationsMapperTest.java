@@ -8,7 +8,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.accounts.association.common.Mockers;
@@ -22,8 +21,7 @@ class InvitationsMapperTest {
     @Mock
     private UsersService usersService;
 
-    @InjectMocks
-    private InvitationMapper invitationsMapper = new InvitationMapperImpl();
+    private InvitationMapper invitationsMapper;
 
     private static final TestDataManager testDataManager = TestDataManager.getInstance();
 
@@ -31,12 +29,14 @@ class InvitationsMapperTest {
 
     @BeforeEach
     void setup(){
+        invitationsMapper = new InvitationMapperImpl();
+        invitationsMapper.enrichmentResolver = new EnrichmentResolver( usersService, null );
         mockers = new Mockers( null, null, null, usersService );
     }
 
     @Test
     void daoToDtoMapsInvitationDaoToInvitation(){
-        mockers.mockUsersServiceFetchUserDetails( "666" );
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "666" );
         final var invitationDao = testDataManager.fetchAssociationDaos( "1" ).getFirst().getInvitations().getFirst();
         final var invitationDto = invitationsMapper.daoToDto( invitationDao, "1" );
         Assertions.assertEquals( "homer.simpson@springfield.com", invitationDto.getInvitedBy() );
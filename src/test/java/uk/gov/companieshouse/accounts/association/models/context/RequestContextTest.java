@@ -0,0 +1,70 @@
+package uk.gov.companieshouse.accounts.association.models.context;
+
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
+
+@Tag( "unit-test" )
+class RequestContextTest {
+
+    private static final long DOWNSTREAM_LATENCY_MS = 100L;
+
+    private static RequestContextData createRequestContext( final String xRequestId ){
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "X-Request-Id", xRequestId );
+        return new RequestContextDataBuilder().setXRequestId( request ).build();
+    }
+
+    private static Callable<String> slowRequest(){
+        return () -> {
+            Thread.sleep( DOWNSTREAM_LATENCY_MS );
+            return getXRequestId();
+        };
+    }
+
+    @AfterEach
+    void tearDown(){
+        RequestContext.clear();
+    }
+
+    @Test
+    void wrapRunsRunnableWithCapturedContextOnVirtualThread() throws InterruptedException {
+        final var xRequestId = new AtomicReference<String>();
+        RequestContext.setRequestContext( createRequestContext( "theId12345" ) );
+
+        final var thread = Thread.ofVirtual().start( RequestContext.wrap( () -> xRequestId.set( getXRequestId() ) ) );
+        thread.join();
+
+        Assertions.assertEquals( "theId12345", xRequestId.get() );
+    }
+
+    @Test
+    void wrapRestoresExecutingThreadsOwnContext() throws Exception {
+        RequestContext.setRequestContext( createRequestContext( "theId12345" ) );
+        final var task = RequestContext.wrap( (Callable<String>) () -> getXRequestId() );
+
+        RequestContext.setRequestContext( createRequestContext( "theId67890" ) );
+        Assertions.assertEquals( "theId12345", task.call() );
+        Assertions.assertEquals( "theId67890", getXRequestId() );
+    }
+
+    @Test
+    void wrapClearsContextOnPooledThreadAfterwards() throws Exception {
+        try ( final var executor = Executors.newSingleThreadExecutor() ){
+            RequestContext.setRequestContext( createRequestContext( "theId12345" ) );
+            executor.submit( RequestContext.wrap( slowRequest() ) ).get();
+            RequestContext.clear();
+
+            Assertions.assertNull( executor.submit( RequestContext::getRequestContext ).get() );
+        }
+    }
+
+}
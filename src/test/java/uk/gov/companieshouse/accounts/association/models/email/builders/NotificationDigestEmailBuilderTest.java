@@ -0,0 +1,56 @@
+package uk.gov.companieshouse.accounts.association.models.email.builders;
+
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.AUTHORISATION_REMOVED_MESSAGE_TYPE;
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.INVITATION_MESSAGE_TYPE;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.accounts.association.models.email.data.AuthorisationRemovedEmailData;
+import uk.gov.companieshouse.accounts.association.models.email.data.InvitationEmailData;
+import uk.gov.companieshouse.accounts.association.models.email.data.NotificationDigestEmailData;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit-test")
+class NotificationDigestEmailBuilderTest {
+
+    @Test
+    void buildInstantiatesEmailData() {
+        final var invitation = new InvitationEmailData();
+        final var authorisationRemoved = new AuthorisationRemovedEmailData("Harleen Quinzel", "Wayne Enterprises", "Batman");
+
+        final var builder = new NotificationDigestEmailBuilder()
+                .setRecipientEmail("bruce.wayne@gotham.city")
+                .setCompanyName("Wayne Enterprises")
+                .setCompanyNumber("111111")
+                .addNotification(INVITATION_MESSAGE_TYPE, invitation)
+                .addNotification(AUTHORISATION_REMOVED_MESSAGE_TYPE, authorisationRemoved);
+
+        final NotificationDigestEmailData actual = builder.build();
+
+        Assertions.assertEquals("bruce.wayne@gotham.city", actual.getTo());
+        Assertions.assertEquals("Wayne Enterprises", actual.getCompanyName());
+        Assertions.assertEquals("111111", actual.getCompanyNumber());
+        Assertions.assertEquals("Companies House: 2 changes to who is authorised to file online for Wayne Enterprises", actual.getSubject());
+        Assertions.assertEquals(2, actual.getNotifications().size());
+        Assertions.assertEquals(INVITATION_MESSAGE_TYPE.getValue(), actual.getNotifications().getFirst().getMessageType());
+        Assertions.assertEquals(authorisationRemoved, actual.getNotifications().getLast().getDetails());
+    }
+
+    @Test
+    void buildWithNullsThrowsNullPointerException() {
+        Assertions.assertThrows(NullPointerException.class, new NotificationDigestEmailBuilder()::build);
+    }
+
+    @Test
+    void buildWithoutNotificationsThrowsNullPointerException() {
+        final var builder = new NotificationDigestEmailBuilder()
+                .setRecipientEmail("bruce.wayne@gotham.city")
+                .setCompanyName("Wayne Enterprises")
+                .setCompanyNumber("111111");
+
+        Assertions.assertThrows(NullPointerException.class, builder::build);
+    }
+}
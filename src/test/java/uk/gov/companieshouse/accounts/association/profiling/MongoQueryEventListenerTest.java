@@ -0,0 +1,34 @@
+package uk.gov.companieshouse.accounts.association.profiling;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag( "unit-test" )
+class MongoQueryEventListenerTest {
+
+    @Test
+    void companyNumberOfAndPageSizeOfReadFilterAndLimit(){
+        final var command = BsonDocument.parse( "{ find: 'user_company_associations', filter: { company_number: '111111', status: { $in: [ 'confirmed' ] } }, limit: 15 }" );
+
+        Assertions.assertEquals( "111111", MongoQueryEventListener.companyNumberOf( command ) );
+        Assertions.assertEquals( 15, MongoQueryEventListener.pageSizeOf( command ) );
+    }
+
+    @Test
+    void companyNumberOfAndPageSizeOfFallBackWhenCommandHasNoFilterOrLimit(){
+        final var command = BsonDocument.parse( "{ count: 'user_company_associations', query: { user_id: '111' } }" );
+
+        Assertions.assertNull( MongoQueryEventListener.companyNumberOf( command ) );
+        Assertions.assertEquals( 0, MongoQueryEventListener.pageSizeOf( command ) );
+    }
+
+    @Test
+    void companyNumberOfIgnoresNonStringCompanyNumbers(){
+        final var command = BsonDocument.parse( "{ find: 'user_company_associations', filter: { company_number: { $in: [ '111111', '222222' ] } } }" );
+
+        Assertions.assertNull( MongoQueryEventListener.companyNumberOf( command ) );
+    }
+
+}
@@ -0,0 +1,86 @@
+package uk.gov.companieshouse.accounts.association.profiling;
+
+import java.nio.file.Files;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+@Tag( "unit-test" )
+class ProfilingEndpointTest {
+
+    private ProfilingEndpoint profilingEndpoint;
+
+    @BeforeEach
+    void setup(){
+        profilingEndpoint = new ProfilingEndpoint( 60_000L, 10L );
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        profilingEndpoint.stop();
+        profilingEndpoint.shutdown();
+    }
+
+    @Test
+    void statusReportsNoRecordingBeforeStart(){
+        Assertions.assertEquals( "NONE", profilingEndpoint.status().get( "state" ) );
+    }
+
+    @Test
+    void startClampsDurationAndRejectsSecondRecording() throws Exception {
+        final var started = profilingEndpoint.start( 3_600L );
+        Assertions.assertEquals( WebEndpointResponse.STATUS_OK, started.getStatus() );
+        Assertions.assertEquals( "RUNNING", started.getBody().get( "state" ) );
+        Assertions.assertEquals( 60L, started.getBody().get( "durationSeconds" ) );
+        Assertions.assertEquals( 10L * 1024L * 1024L, started.getBody().get( "maxSizeBytes" ) );
+
+        Assertions.assertEquals( WebEndpointResponse.STATUS_CONFLICT, profilingEndpoint.start( null ).getStatus() );
+    }
+
+    @Test
+    void stopDumpsRecordingIncludingServiceEvents() throws Exception {
+        profilingEndpoint.start( null );
+        EmailSendEvent.start( "invite", "111111" ).finish( true );
+
+        final var stopped = profilingEndpoint.stop();
+
+        Assertions.assertEquals( WebEndpointResponse.STATUS_OK, stopped.getStatus() );
+        Assertions.assertTrue( RecordingFile.readAllEvents( stopped.getBody().getFile().toPath() ).stream()
+                .anyMatch( event -> "uk.gov.companieshouse.associations.EmailSend".equals( event.getEventType().getName() ) && "111111".equals( event.getString( "companyNumber" ) ) ) );
+        Assertions.assertEquals( "NONE", profilingEndpoint.status().get( "state" ) );
+    }
+
+    @Test
+    void stopDeletesDumpOnceItHasBeenStreamed() throws Exception {
+        profilingEndpoint.start( null );
+
+        final var dump = profilingEndpoint.stop().getBody();
+        final var dumpPath = dump.getFile().toPath();
+        Assertions.assertTrue( Files.exists( dumpPath ) );
+
+        try ( final var stream = dump.getInputStream() ){
+            Assertions.assertTrue( stream.readAllBytes().length > 0 );
+        }
+        Assertions.assertFalse( Files.exists( dumpPath ) );
+    }
+
+    @Test
+    void shutdownDeletesDumpThatWasNeverStreamed() throws Exception {
+        profilingEndpoint.start( null );
+
+        final var dumpPath = profilingEndpoint.stop().getBody().getFile().toPath();
+        profilingEndpoint.shutdown();
+
+        Assertions.assertFalse( Files.exists( dumpPath ) );
+    }
+
+    @Test
+    void stopWithoutRecordingReturnsNotFound() throws Exception {
+        Assertions.assertEquals( WebEndpointResponse.STATUS_NOT_FOUND, profilingEndpoint.stop().getStatus() );
+    }
+
+}
@@ -45,6 +45,7 @@ import org.springframework.data.mongodb.core.query.Update;
 import uk.gov.companieshouse.accounts.association.common.ComparisonUtils;
 import uk.gov.companieshouse.accounts.association.common.Preprocessors.ReduceTimeStampResolutionPreprocessor;
 import uk.gov.companieshouse.accounts.association.common.TestDataManager;
+import uk.gov.companieshouse.accounts.association.configuration.ReadRoutingPolicy;
 import uk.gov.companieshouse.accounts.association.exceptions.InternalServerErrorRuntimeException;
 import uk.gov.companieshouse.accounts.association.mapper.AssociationsListCompanyMapper;
 import uk.gov.companieshouse.accounts.association.mapper.AssociationsListUserMapper;
@@ -55,6 +56,7 @@ import uk.gov.companieshouse.accounts.association.mapper.PreviousStatesMapperImp
 import uk.gov.companieshouse.accounts.association.models.AssociationDao;
 import uk.gov.companieshouse.accounts.association.models.InvitationDao;
 import uk.gov.companieshouse.accounts.association.repositories.AssociationsRepository;
+import uk.gov.companieshouse.api.accounts.associations.model.Association;
 import uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum;
 import uk.gov.companieshouse.api.accounts.user.model.User;
 import uk.gov.companieshouse.api.company.CompanyDetails;
@@ -90,7 +92,8 @@ class AssociationsServiceTest {
     @BeforeEach
     public void setup() {
         final var previousStatesCollectionMappers = new PreviousStatesCollectionMappers( new PreviousStatesMapperImpl() );
-        associationsService = new AssociationsService( associationsRepository, associationsListUserMapper, associationsListCompanyMapper, previousStatesCollectionMappers, invitationsCollectionMappers );
+        final var readRoutingPolicy = new ReadRoutingPolicy( false, "primary", "secondaryPreferred", "secondaryPreferred", 90L );
+        associationsService = new AssociationsService( associationsRepository, associationsListUserMapper, associationsListCompanyMapper, previousStatesCollectionMappers, invitationsCollectionMappers, readRoutingPolicy, null );
     }
 
     @Test
@@ -157,6 +160,35 @@ class AssociationsServiceTest {
         Mockito.verify(associationsListCompanyMapper).daoToDto(eq( page ), eq(companyDetails));
     }
 
+    @Test
+    void streamUnexpiredAssociationsForCompanyAndStatusesMapsAndConsumesAssociationsInBatches(){
+        final var companyDetails = testDataManager.fetchCompanyDetailsDtos( "111111" ).getFirst();
+        final var content = testDataManager.fetchAssociationDaos( "1", "2", "3", "4", "5" );
+        final var batches = new ArrayList<List<Association>>();
+
+        Mockito.doReturn( content.stream() ).when( associationsRepository ).streamUnexpiredAssociationsForCompanyAndStatuses( eq( "111111" ), any(), any() );
+        Mockito.doAnswer( invocation -> invocation.<List<AssociationDao>>getArgument( 0 ).stream().map( associationDao -> new Association().id( associationDao.getId() ) ).toList() ).when( associationsListCompanyMapper ).daoToDto( Mockito.<List<AssociationDao>>any(), eq( companyDetails ) );
+
+        final var numAssociations = associationsService.streamUnexpiredAssociationsForCompanyAndStatuses( companyDetails, fetchAllStatusesWithout( Set.of( StatusEnum.REMOVED ) ), 2, batches::add );
+
+        Assertions.assertEquals( 5, numAssociations );
+        Assertions.assertEquals( List.of( 2, 2, 1 ), batches.stream().map( List::size ).toList() );
+        Assertions.assertEquals( List.of( "1", "2", "3", "4", "5" ), batches.stream().flatMap( List::stream ).map( Association::getId ).toList() );
+        Mockito.verify( associationsRepository ).streamUnexpiredAssociationsForCompanyAndStatuses( eq( "111111" ), argThat( statuses -> !statuses.contains( StatusEnum.REMOVED.getValue() ) ), any() );
+    }
+
+    @Test
+    void streamUnexpiredAssociationsForCompanyAndStatusesWithNoAssociationsDoesNotConsumeAnything(){
+        final var companyDetails = testDataManager.fetchCompanyDetailsDtos( "111111" ).getFirst();
+        final var batches = new ArrayList<List<Association>>();
+
+        Mockito.doReturn( Stream.empty() ).when( associationsRepository ).streamUnexpiredAssociationsForCompanyAndStatuses( eq( "111111" ), any(), any() );
+
+        Assertions.assertEquals( 0, associationsService.streamUnexpiredAssociationsForCompanyAndStatuses( companyDetails, fetchAllStatusesWithout( Set.of() ), 2, batches::add ) );
+        Assertions.assertTrue( batches.isEmpty() );
+        Mockito.verify( associationsListCompanyMapper, Mockito.never() ).daoToDto( Mockito.<List<AssociationDao>>any(), any() );
+    }
+
     @Test
     void fetchUnexpiredAssociationsForCompanyAndStatusesCanFetchMigratedAssociations(){
         final var companyDetails = testDataManager.fetchCompanyDetailsDtos( "MKCOMP001" ).getFirst();
@@ -213,7 +245,7 @@ class AssociationsServiceTest {
         final var associationDao = testDataManager.fetchAssociationDaos( "1" ).getFirst();
         Mockito.when(associationsRepository.findById("1")).thenReturn(Optional.of(associationDao));
         associationsService.fetchAssociationDto("1");
-        Mockito.verify(associationsListCompanyMapper).daoToDto(associationDao, null, null);
+        Mockito.verify(associationsListCompanyMapper).daoToDto(associationDao);
 
     }
 
@@ -0,0 +1,79 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+@Tag( "unit-test" )
+class BackgroundTaskRegistryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup(){
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private BackgroundTaskRegistry createRegistry( final long drainTimeoutMs ){
+        final var registry = new BackgroundTaskRegistry( meterRegistry, drainTimeoutMs );
+        registry.start();
+        return registry;
+    }
+
+    @Test
+    void trackCountsCompletedTasks(){
+        final var registry = createRegistry( 1_000L );
+        registry.track( "emails", "theId12345", Mono.empty() );
+
+        Assertions.assertEquals( 0, registry.inFlight() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "background.tasks.completed" ).tag( "name", "emails" ).counter().count() );
+    }
+
+    @Test
+    void trackCountsFailedTasks(){
+        final var registry = createRegistry( 1_000L );
+        registry.track( "emails", "theId12345", Mono.error( new IllegalStateException( "Failed" ) ) );
+
+        Assertions.assertEquals( 0, registry.inFlight() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "background.tasks.failed" ).tag( "name", "emails" ).counter().count() );
+    }
+
+    @Test
+    void trackReportsRunningTasksAsInFlight(){
+        final var registry = createRegistry( 1_000L );
+        registry.track( "emails", "theId12345", Mono.never() );
+
+        Assertions.assertEquals( 1, registry.inFlight() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "background.tasks.in-flight" ).gauge().value() );
+    }
+
+    @Test
+    void stopWaitsForRunningTasksToFinish(){
+        final var registry = createRegistry( 10_000L );
+        registry.track( "emails", "theId12345", Mono.delay( Duration.ofMillis( 200L ) ) );
+
+        registry.stop();
+
+        Assertions.assertFalse( registry.isRunning() );
+        Assertions.assertEquals( 0, registry.inFlight() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "background.tasks.completed" ).tag( "name", "emails" ).counter().count() );
+    }
+
+    @Test
+    void stopCancelsTasksStillRunningAfterDrainTimeout(){
+        final var registry = createRegistry( 100L );
+        final var cancelled = new AtomicBoolean( false );
+        registry.track( "emails", "theId12345", Mono.never().doOnCancel( () -> cancelled.set( true ) ) );
+
+        registry.stop();
+
+        Assertions.assertTrue( cancelled.get() );
+        Assertions.assertEquals( 0, registry.inFlight() );
+    }
+
+}
@@ -129,4 +129,17 @@ class CompanyServiceTest {
         Assertions.assertEquals("", companyService.fetchRegisteredEmailAddress("222222"));
     }
 
+    @Test
+    void toFetchRegisteredEmailAddressReturnsEmail() throws JsonProcessingException {
+        mockers.mockWebClientForFetchRegisteredEmailAddress(true, "111111", "rea@example.com");
+        Assertions.assertEquals("rea@example.com", companyService.toFetchRegisteredEmailAddress("111111", "theId12345").block());
+    }
+
+    @Test
+    void toFetchRegisteredEmailAddressNotFoundEmitsNotFoundRuntimeException() {
+        mockers.mockWebClientForFetchRegisteredEmailAddressErrorResponse("404COMP", 404);
+        final var registeredEmailAddress = companyService.toFetchRegisteredEmailAddress("404COMP", "theId12345");
+        Assertions.assertThrows(NotFoundRuntimeException.class, registeredEmailAddress::block);
+    }
+
 }
@@ -0,0 +1,102 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import static uk.gov.companieshouse.accounts.association.service.EmailFanOutScheduler.Lane.BYSTANDER;
+import static uk.gov.companieshouse.accounts.association.service.EmailFanOutScheduler.Lane.DIRECT;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@Tag( "unit-test" )
+class EmailFanOutSchedulerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 10L );
+
+    private final List<String> started = new CopyOnWriteArrayList<>();
+    private final Map<String, Sinks.Empty<Void>> completions = new HashMap<>();
+
+    private Mono<Void> email( final String name ){
+        final var completion = Sinks.<Void>empty();
+        completions.put( name, completion );
+        return Mono.defer( () -> {
+            started.add( name );
+            return completion.asMono();
+        } );
+    }
+
+    private void complete( final String name ){
+        completions.get( name ).tryEmitEmpty();
+    }
+
+    @Test
+    void scheduleWhenDisabledReturnsEmailUntouched(){
+        final var scheduler = new EmailFanOutScheduler( new SimpleMeterRegistry(), false, 1, 1, 1 );
+        final var email = Mono.<Void>empty();
+        Assertions.assertSame( email, scheduler.schedule( BYSTANDER, "111111", "theId12345", email ) );
+    }
+
+    @Test
+    void scheduleStartsNoMoreThanMaxConcurrencyEmails(){
+        final var scheduler = new EmailFanOutScheduler( new SimpleMeterRegistry(), true, 2, 10, 100 );
+        for ( final String name: List.of( "a", "b", "c", "d" ) ){
+            scheduler.schedule( BYSTANDER, name, "theId12345", email( name ) ).subscribe();
+        }
+        Assertions.assertEquals( List.of( "a", "b" ), started );
+
+        complete( "a" );
+        Assertions.assertEquals( List.of( "a", "b", "c" ), started );
+    }
+
+    @Test
+    void scheduleTakesTurnsBetweenCompanies(){
+        final var scheduler = new EmailFanOutScheduler( new SimpleMeterRegistry(), true, 1, 1, 100 );
+        scheduler.schedule( BYSTANDER, "111111", "theId12345", email( "a1" ) ).subscribe();
+        scheduler.schedule( BYSTANDER, "111111", "theId12345", email( "a2" ) ).subscribe();
+        scheduler.schedule( BYSTANDER, "111111", "theId12345", email( "a3" ) ).subscribe();
+        scheduler.schedule( BYSTANDER, "222222", "theId12345", email( "b1" ) ).subscribe();
+
+        complete( "a1" );
+        complete( "a2" );
+        complete( "b1" );
+        Assertions.assertEquals( List.of( "a1", "a2", "b1", "a3" ), started );
+    }
+
+    @Test
+    void scheduleStartsDirectEmailsBeforeBystanderEmails(){
+        final var scheduler = new EmailFanOutScheduler( new SimpleMeterRegistry(), true, 1, 10, 100 );
+        scheduler.schedule( BYSTANDER, "111111", "theId12345", email( "bystander1" ) ).subscribe();
+        scheduler.schedule( BYSTANDER, "111111", "theId12345", email( "bystander2" ) ).subscribe();
+        scheduler.schedule( DIRECT, "111111", "theId12345", email( "direct" ) ).subscribe();
+
+        complete( "bystander1" );
+        Assertions.assertEquals( List.of( "bystander1", "direct" ), started );
+    }
+
+    @Test
+    void scheduleRejectsEmailsOnceMaxQueuedIsReached(){
+        final var meterRegistry = new SimpleMeterRegistry();
+        final var scheduler = new EmailFanOutScheduler( meterRegistry, true, 1, 1, 1 );
+        scheduler.schedule( BYSTANDER, "111111", "theId12345", email( "running" ) ).subscribe();
+        scheduler.schedule( BYSTANDER, "111111", "theId12345", email( "queued" ) ).subscribe();
+
+        Assertions.assertThrows( IllegalStateException.class, () -> scheduler.schedule( BYSTANDER, "111111", "theId12345", email( "rejected" ) ).block( TIMEOUT ) );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "email.scheduler.rejected" ).counter().count() );
+        Assertions.assertEquals( 1.0, meterRegistry.get( "email.scheduler.queued" ).tag( "lane", "bystander" ).gauge().value() );
+    }
+
+    @Test
+    void scheduleReleasesCapacityWhenEmailFails(){
+        final var scheduler = new EmailFanOutScheduler( new SimpleMeterRegistry(), true, 1, 1, 100 );
+        Assertions.assertThrows( IllegalArgumentException.class, () -> scheduler.schedule( DIRECT, "111111", "theId12345", Mono.error( new IllegalArgumentException( "Failed" ) ) ).block( TIMEOUT ) );
+        Assertions.assertDoesNotThrow( () -> scheduler.schedule( DIRECT, "111111", "theId12345", Mono.empty() ).block( TIMEOUT ) );
+    }
+
+}
@@ -1,29 +1,48 @@
 package uk.gov.companieshouse.accounts.association.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.util.ReflectionTestUtils;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.companieshouse.accounts.association.client.BatchingEmailClient;
 import uk.gov.companieshouse.accounts.association.client.EmailClient;
+import uk.gov.companieshouse.accounts.association.client.ReactiveEmailClient;
+import uk.gov.companieshouse.accounts.association.common.BlockHoundExtension;
 import uk.gov.companieshouse.accounts.association.common.ComparisonUtils;
 import uk.gov.companieshouse.accounts.association.common.Mockers;
 import uk.gov.companieshouse.accounts.association.common.TestDataManager;
 import uk.gov.companieshouse.accounts.association.exceptions.EmailSendException;
 import uk.gov.companieshouse.accounts.association.factory.SendEmailFactory;
+import uk.gov.companieshouse.accounts.association.factory.SendEmailTemplate;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
 import uk.gov.companieshouse.accounts.association.models.email.builders.InvitationAcceptedEmailBuilder;
 import uk.gov.companieshouse.accounts.association.models.email.data.EmailData;
 import uk.gov.companieshouse.accounts.association.utils.MessageType;
+import uk.gov.companieshouse.api.accounts.associations.model.Association.StatusEnum;
 import uk.gov.companieshouse.api.chskafka.SendEmail;
 
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.AUTHORISATION_REMOVED_MESSAGE_TYPE;
@@ -40,7 +59,7 @@ import static uk.gov.companieshouse.accounts.association.utils.MessageType.REA_D
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.REA_DIGITAL_AUTHORISATION_REMOVED_MESSAGE_TYPE;
 import static uk.gov.companieshouse.accounts.association.utils.MessageType.REMOVAL_OF_OWN_MIGRATED;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({MockitoExtension.class, BlockHoundExtension.class})
 @Tag("unit-test")
 class EmailServiceTest {
 
@@ -53,9 +72,39 @@ class EmailServiceTest {
     @Mock
     private CompanyService companyService;
 
+    @Mock
+    private AssociationsService associationsService;
+
     @Mock
     private SendEmailFactory sendEmailFactory;
 
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    @Mock
+    private BatchingEmailClient batchingEmailClient;
+
+    @Mock
+    private ObjectProvider<BatchingEmailClient> batchingEmailClientProvider;
+
+    @Mock
+    private ReactiveEmailClient reactiveEmailClient;
+
+    @Mock
+    private RegisteredEmailAddressCache registeredEmailAddressCache;
+
+    @Mock
+    private NotificationDigester notificationDigester;
+
+    @Mock
+    private BackgroundTaskRegistry backgroundTaskRegistry;
+
+    @Spy
+    private EmailFanOutScheduler emailFanOutScheduler = new EmailFanOutScheduler( new SimpleMeterRegistry(), false, 32, 4, 100_000 );
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private EmailService emailService;
 
@@ -73,6 +122,11 @@ class EmailServiceTest {
         ReflectionTestUtils.setField(emailService, "invitationLink", COMPANY_INVITATIONS_URL);
     }
 
+    @AfterEach
+    void teardown(){
+        RequestContext.clear();
+    }
+
     @Test
     void sendAuthCodeConfirmationEmailToAssociatedUsersWithNullCompanyDetailsOrNullCompanyNameOrNullDisplayNameOrNullUsersThrowsNullPointerException(){
         mockers.mockUsersServiceToFetchUserDetailsRequest( "333" );
@@ -90,6 +144,125 @@ class EmailServiceTest {
         Mockito.verify(emailClient).sendEmail(Mockito.any(SendEmail.class), eq("theId12345"));
     }
 
+    @Test
+    void sendAuthCodeConfirmationEmailToAssociatedUsersWithOutboxEnabledEnqueuesEmail() {
+        ReflectionTestUtils.setField(emailService, "outboxEnabled", true);
+        sendEmailFactoryMock(MessageType.AUTH_CODE_CONFIRMATION_MESSAGE_TYPE.getValue());
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "333" );
+        emailService.sendAuthCodeConfirmationEmailToAssociatedUser( "theId12345", "111111", Mono.just( "Wayne Enterprises" ), "Harleen Quinzel" ).apply( "333" ).block();
+        Mockito.verify(emailOutboxService).enqueue(Mockito.any(SendEmail.class), eq("theId12345"), Mockito.isNull());
+        Mockito.verify(emailClient, Mockito.never()).sendEmail(Mockito.any(SendEmail.class), Mockito.anyString());
+    }
+
+    @Test
+    void sendAuthCodeConfirmationEmailToAssociatedUsersWithTemplatedPayloadsEnabledSerialisesEmailDataOnce() {
+        ReflectionTestUtils.setField(emailService, "templatedPayloadsEnabled", true);
+        final var payloadTemplate = Mockito.mock(SendEmailTemplate.class);
+        Mockito.doReturn(payloadTemplate).when(sendEmailFactory).createSendEmailTemplate(Mockito.any(EmailData.class), eq(AUTH_CODE_CONFIRMATION_MESSAGE_TYPE.getValue()));
+        Mockito.doReturn(new SendEmail()).when(payloadTemplate).forRecipient(Mockito.anyString());
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "111", "333" );
+
+        final var sendEmails = emailService.sendAuthCodeConfirmationEmailToAssociatedUser( "theId12345", "111111", Mono.just( "Wayne Enterprises" ), "Harleen Quinzel" );
+        sendEmails.apply( "111" ).block();
+        sendEmails.apply( "333" ).block();
+
+        Mockito.verify(sendEmailFactory, Mockito.times(1)).createSendEmailTemplate(Mockito.any(EmailData.class), eq(AUTH_CODE_CONFIRMATION_MESSAGE_TYPE.getValue()));
+        Mockito.verify(sendEmailFactory, Mockito.never()).createSendEmail(Mockito.any(EmailData.class), Mockito.anyString());
+        Mockito.verify(payloadTemplate).forRecipient("bruce.wayne@gotham.city");
+        Mockito.verify(payloadTemplate).forRecipient("harley.quinn@gotham.city");
+        Mockito.verify(emailClient, Mockito.times(2)).sendEmail(Mockito.any(SendEmail.class), eq("theId12345"));
+    }
+
+    @Test
+    void sendAuthCodeConfirmationEmailToAssociatedUsersWithBatchingEnabledSubmitsEmailToBatchingClient() {
+        ReflectionTestUtils.setField(emailService, "batchingEnabled", true);
+        Mockito.doReturn(batchingEmailClient).when(batchingEmailClientProvider).getObject();
+        sendEmailFactoryMock(MessageType.AUTH_CODE_CONFIRMATION_MESSAGE_TYPE.getValue());
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "333" );
+        Mockito.doReturn(Mono.empty()).when(batchingEmailClient).submit(Mockito.any(SendEmail.class), eq("theId12345"));
+        emailService.sendAuthCodeConfirmationEmailToAssociatedUser( "theId12345", "111111", Mono.just( "Wayne Enterprises" ), "Harleen Quinzel" ).apply( "333" ).block();
+        Mockito.verify(batchingEmailClient).submit(Mockito.any(SendEmail.class), eq("theId12345"));
+        Mockito.verify(emailClient, Mockito.never()).sendEmail(Mockito.any(SendEmail.class), Mockito.anyString());
+    }
+
+    @Test
+    void sendAuthCodeConfirmationEmailToAssociatedUsersWithBatchingEnabledPropagatesFailureToPostEmail() {
+        ReflectionTestUtils.setField(emailService, "batchingEnabled", true);
+        Mockito.doReturn(batchingEmailClient).when(batchingEmailClientProvider).getObject();
+        sendEmailFactoryMock(MessageType.AUTH_CODE_CONFIRMATION_MESSAGE_TYPE.getValue());
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "333" );
+        Mockito.doReturn(Mono.error(new EmailSendException("Failed to send email"))).when(batchingEmailClient).submit(Mockito.any(SendEmail.class), eq("theId12345"));
+        final var sendEmail = emailService.sendAuthCodeConfirmationEmailToAssociatedUser( "theId12345", "111111", Mono.just( "Wayne Enterprises" ), "Harleen Quinzel" ).apply( "333" );
+        Assertions.assertThrows(EmailSendException.class, sendEmail::block);
+    }
+
+    @Test
+    void sendAuthCodeConfirmationEmailToAssociatedUsersWithReactiveTransportEnabledPostsEmailWithReactiveClient() {
+        ReflectionTestUtils.setField(emailService, "reactiveTransportEnabled", true);
+        sendEmailFactoryMock(MessageType.AUTH_CODE_CONFIRMATION_MESSAGE_TYPE.getValue());
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "333" );
+        Mockito.doReturn(Mono.empty()).when(reactiveEmailClient).toSendEmailRequest(Mockito.any(SendEmail.class), eq("theId12345"));
+        emailService.sendAuthCodeConfirmationEmailToAssociatedUser( "theId12345", "111111", Mono.just( "Wayne Enterprises" ), "Harleen Quinzel" ).apply( "333" ).block();
+        Mockito.verify(reactiveEmailClient).toSendEmailRequest(Mockito.any(SendEmail.class), eq("theId12345"));
+        Mockito.verify(emailClient, Mockito.never()).sendEmail(Mockito.any(SendEmail.class), Mockito.anyString());
+    }
+
+    @Test
+    void blockingCallOnNonBlockingThreadIsDetected() {
+        final var blockingCall = Mono.fromRunnable( () -> {
+            try {
+                Thread.sleep( 1L );
+            } catch ( InterruptedException exception ) {
+                Thread.currentThread().interrupt();
+            }
+        } ).subscribeOn( Schedulers.parallel() );
+        final var exception = Assertions.assertThrows( Throwable.class, blockingCall::block );
+        Assertions.assertInstanceOf( BlockingOperationError.class, Exceptions.unwrap( exception ) );
+    }
+
+    @Test
+    void sendAuthCodeConfirmationEmailToAssociatedUsersSubscribedOnNonBlockingThreadMovesBlockingSendOffThatThread() {
+        sendEmailFactoryMock(MessageType.AUTH_CODE_CONFIRMATION_MESSAGE_TYPE.getValue());
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "333" );
+        Mockito.doAnswer( invocation -> {
+            Thread.sleep( 1L );
+            return null;
+        } ).when(emailClient).sendEmail(Mockito.any(SendEmail.class), eq("theId12345"));
+        final var emails = emailService.sendAuthCodeConfirmationEmailToAssociatedUser( "theId12345", "111111", Mono.just( "Wayne Enterprises" ), "Harleen Quinzel" ).apply( "333" ).subscribeOn( Schedulers.parallel() );
+        Assertions.assertDoesNotThrow( () -> emails.block() );
+        Mockito.verify(emailClient).sendEmail(Mockito.any(SendEmail.class), eq("theId12345"));
+    }
+
+    @Test
+    void sendStatusUpdateEmailsFetchesUnseededRecipientsAndCompanyNameWithoutBlockingTheThreadRecipientsArriveOn() {
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "X-Request-Id", "theId12345" );
+        request.addHeader( "Eric-Identity-Type", "key" );
+        final var requestContextData = new RequestContextDataBuilder().setXRequestId( request ).setEricIdentityType( request ).build();
+
+        final var targetAssociation = testDataManager.fetchAssociationDaos( "1" ).getFirst();
+        targetAssociation.setStatus( StatusEnum.MIGRATED.getValue() );
+        final var targetUser = testDataManager.fetchUserDtos( "111" ).getFirst();
+
+        Mockito.doReturn( Flux.just( "222", "333" ) ).when( associationsService ).fetchConfirmedUserIds( "111111" );
+        for ( final String userId: List.of( "222", "333" ) ){
+            final var user = testDataManager.fetchUserDtos( userId ).getFirst();
+            Mockito.doReturn( Mono.just( user ).publishOn( Schedulers.parallel() ) ).when( usersService ).toFetchUserDetailsRequest( eq( userId ), any() );
+        }
+        Mockito.doReturn( Mono.just( testDataManager.fetchCompanyDetailsDtos( "111111" ).getFirst() ) ).when( companyService ).toFetchCompanyProfileRequest( eq( "111111" ), any() );
+        Mockito.doReturn( Mono.empty() ).when( companyService ).toFetchRegisteredEmailAddress( eq( "111111" ), any() );
+        sendEmailFactoryMock( AUTH_CODE_CONFIRMATION_MESSAGE_TYPE.getValue() );
+
+        emailService.sendStatusUpdateEmails( targetAssociation, targetUser, StatusEnum.CONFIRMED, requestContextData );
+
+        final var fanOut = ArgumentCaptor.forClass( Publisher.class );
+        Mockito.verify( backgroundTaskRegistry ).track( eq( "status-update-emails" ), eq( "theId12345" ), fanOut.capture() );
+        Assertions.assertDoesNotThrow( () -> Flux.from( fanOut.getValue() ).blockLast() );
+
+        Mockito.verify( emailClient, Mockito.times( 2 ) ).sendEmail( Mockito.any( SendEmail.class ), eq( "theId12345" ) );
+        Mockito.verify( companyService, Mockito.never() ).fetchCompanyProfile( Mockito.anyString() );
+    }
+
     @Test
     void sendAuthCodeConfirmationEmailToAssociatedUsersWithUnexpectedIssueThrowsEmailSendException() {
         mockers.mockUsersServiceToFetchUserDetailsRequest("333");
@@ -121,6 +294,25 @@ class EmailServiceTest {
         Mockito.verify(emailClient).sendEmail(Mockito.any(SendEmail.class), eq("theId12345"));
     }
 
+    @Test
+    void sendAuthorisationRemovedEmailToAssociatedUsersHeldForDigestDoesNotSendEmail() {
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "333" );
+        Mockito.doReturn( true ).when( notificationDigester ).submit( Mockito.any() );
+        emailService.sendAuthorisationRemovedEmailToAssociatedUser( "theId12345", "111111", Mono.just( "Wayne Enterprises" ), "Harleen Quinzel", "Batman" ).apply( "333" ).block();
+        Mockito.verify( notificationDigester ).submit( argThat( notification -> "harley.quinn@gotham.city".equals( notification.recipient() ) && "111111".equals( notification.companyNumber() ) && AUTHORISATION_REMOVED_MESSAGE_TYPE.equals( notification.messageType() ) ) );
+        Mockito.verifyNoInteractions( sendEmailFactory, emailClient );
+    }
+
+    @Test
+    void sendAuthorisationRemovedEmailToAssociatedUsersWithOutboxEnabledEnqueuesEmailInsteadOfDigestingIt() {
+        ReflectionTestUtils.setField(emailService, "outboxEnabled", true);
+        sendEmailFactoryMock(AUTHORISATION_REMOVED_MESSAGE_TYPE.getValue());
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "333" );
+        emailService.sendAuthorisationRemovedEmailToAssociatedUser( "theId12345", "111111", Mono.just( "Wayne Enterprises" ), "Harleen Quinzel", "Batman" ).apply( "333" ).block();
+        Mockito.verify(emailOutboxService).enqueue(Mockito.any(SendEmail.class), eq("theId12345"), Mockito.isNull());
+        Mockito.verifyNoInteractions( notificationDigester );
+    }
+
     @Test
     void sendAuthorisationRemovedEmailToAssociatedUsersWithUnexpectedIssueThrowsEmailSendException() {
         sendEmailFactoryMock(AUTHORISATION_REMOVED_MESSAGE_TYPE.getValue());
@@ -353,7 +545,7 @@ class EmailServiceTest {
     @Test
     void sendReaDigitalAuthorisationAddedEmail_sendsWhenReaPresent() {
         sendEmailFactoryMock(REA_DIGITAL_AUTHORISATION_ADDED_MESSAGE_TYPE.getValue());
-        Mockito.doReturn("rea@example.com").when(companyService).fetchRegisteredEmailAddress("111111");
+        Mockito.doReturn(Mono.just("rea@example.com")).when(companyService).toFetchRegisteredEmailAddress("111111", "theId12345");
         emailService.sendReaDigitalAuthorisationAddedEmail("theId12345", "111111", Mono.just("Test Enterprises")).block();
         Mockito.verify(sendEmailFactory).createSendEmail(argThat(comparisonUtils.reaDigitalAuthChangedEmailMatcher("rea@example.com", "Test Enterprises", "111111")),
                 eq(REA_DIGITAL_AUTHORISATION_ADDED_MESSAGE_TYPE.getValue()));
@@ -363,16 +555,28 @@ class EmailServiceTest {
     @Test
     void sendReaDigitalAuthorisationRemovedEmail_sendsWhenReaPresent() {
         sendEmailFactoryMock(REA_DIGITAL_AUTHORISATION_REMOVED_MESSAGE_TYPE.getValue());
-        Mockito.doReturn("rea@example.com").when(companyService).fetchRegisteredEmailAddress("111111");
+        Mockito.doReturn(Mono.just("rea@example.com")).when(companyService).toFetchRegisteredEmailAddress("111111", "theId12345");
         emailService.sendReaDigitalAuthorisationRemovedEmail("theId12345", "111111", Mono.just("Test Enterprises")).block();
         Mockito.verify(sendEmailFactory).createSendEmail(argThat(comparisonUtils.reaDigitalAuthChangedEmailMatcher("rea@example.com", "Test Enterprises", "111111")),
                 eq(REA_DIGITAL_AUTHORISATION_REMOVED_MESSAGE_TYPE.getValue()));
         Mockito.verify(emailClient).sendEmail(Mockito.any(SendEmail.class), eq("theId12345"));
     }
 
+    @Test
+    void sendReaDigitalAuthorisationAddedEmail_usesCachedReaWhenCacheEnabled() {
+        ReflectionTestUtils.setField(emailService, "reaCacheEnabled", true);
+        sendEmailFactoryMock(REA_DIGITAL_AUTHORISATION_ADDED_MESSAGE_TYPE.getValue());
+        Mockito.doReturn(Mono.just("rea@example.com")).when(registeredEmailAddressCache).toFetchRegisteredEmailAddress("111111", "theId12345");
+        emailService.sendReaDigitalAuthorisationAddedEmail("theId12345", "111111", Mono.just("Test Enterprises")).block();
+        Mockito.verify(sendEmailFactory).createSendEmail(argThat(comparisonUtils.reaDigitalAuthChangedEmailMatcher("rea@example.com", "Test Enterprises", "111111")),
+                eq(REA_DIGITAL_AUTHORISATION_ADDED_MESSAGE_TYPE.getValue()));
+        Mockito.verify(emailClient).sendEmail(Mockito.any(SendEmail.class), eq("theId12345"));
+        Mockito.verify(companyService, Mockito.never()).toFetchRegisteredEmailAddress(Mockito.any(), Mockito.any());
+    }
+
     @Test
     void sendReaDigitalAuthorisationEmails_doNothingWhenReaMissing() {
-        Mockito.doReturn(null).when(companyService).fetchRegisteredEmailAddress("111111");
+        Mockito.doReturn(Mono.empty()).when(companyService).toFetchRegisteredEmailAddress("111111", "theId12345");
         emailService.sendReaDigitalAuthorisationAddedEmail("theId12345", "111111", Mono.just("Test Enterprises")).block();
         emailService.sendReaDigitalAuthorisationRemovedEmail("theId12345", "111111", Mono.just("Test Enterprises")).block();
         Mockito.verifyNoInteractions(usersService);
@@ -383,7 +587,7 @@ class EmailServiceTest {
 
     @Test
     void sendReaDigitalAuthorisationEmails_doNothingWhenReaBlank() {
-        Mockito.doReturn("").when(companyService).fetchRegisteredEmailAddress("111111");
+        Mockito.doReturn(Mono.just("")).when(companyService).toFetchRegisteredEmailAddress("111111", "theId12345");
         emailService.sendReaDigitalAuthorisationAddedEmail("theId12345", "111111", Mono.just("Test Enterprises")).block();
         emailService.sendReaDigitalAuthorisationRemovedEmail("theId12345", "111111", Mono.just("Test Enterprises")).block();
         Mockito.verifyNoInteractions(usersService);
@@ -394,7 +598,7 @@ class EmailServiceTest {
     @Test
     void sendReaDigitalAuthorisationAddedEmail_throwsWhenEmailFails() {
         sendEmailFactoryMock(REA_DIGITAL_AUTHORISATION_ADDED_MESSAGE_TYPE.getValue());
-        Mockito.doReturn("rea@example.com").when(companyService).fetchRegisteredEmailAddress("111111");
+        Mockito.doReturn(Mono.just("rea@example.com")).when(companyService).toFetchRegisteredEmailAddress("111111", "theId12345");
         mockers.mockEmailSendingFailure();
         final Mono<String> companyName = Mono.just("Test Enterprises");
         final Mono<Void> operation = emailService.sendReaDigitalAuthorisationAddedEmail("theId12345", "111111", companyName);
@@ -407,7 +611,7 @@ class EmailServiceTest {
     @Test
     void sendReaDigitalAuthorisationRemovedEmail_throwsWhenEmailServiceFails() {
         sendEmailFactoryMock(REA_DIGITAL_AUTHORISATION_REMOVED_MESSAGE_TYPE.getValue());
-        Mockito.doReturn("rea@example.com").when(companyService).fetchRegisteredEmailAddress("111111");
+        Mockito.doReturn(Mono.just("rea@example.com")).when(companyService).toFetchRegisteredEmailAddress("111111", "theId12345");
         mockers.mockEmailSendingFailure();
         final Mono<String> companyName = Mono.just("Test Enterprises");
         final Mono<Void> operation = emailService.sendReaDigitalAuthorisationRemovedEmail("theId12345", "111111", companyName);
@@ -0,0 +1,155 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.AUTHORISATION_REMOVED_MESSAGE_TYPE;
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.INVITATION_ACCEPTED_MESSAGE_TYPE;
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.INVITATION_MESSAGE_TYPE;
+import static uk.gov.companieshouse.accounts.association.utils.MessageType.YOUR_AUTHORISATION_REMOVED_MESSAGE_TYPE;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.models.email.builders.AuthorisationRemovedEmailBuilder;
+import uk.gov.companieshouse.accounts.association.service.NotificationDigester.PendingNotification;
+import uk.gov.companieshouse.accounts.association.utils.MessageType;
+
+@Tag( "unit-test" )
+class NotificationDigesterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 10L );
+
+    private final List<List<PendingNotification>> flushed = new CopyOnWriteArrayList<>();
+
+    private final BackgroundTaskRegistry backgroundTaskRegistry = new BackgroundTaskRegistry( new SimpleMeterRegistry(), 1_000L );
+
+    private NotificationDigester createDigester( final boolean enabled, final long windowMs, final int maxPendingRecipients, final int maxNotificationsPerDigest ){
+        final var digester = new NotificationDigester( new SimpleMeterRegistry(), backgroundTaskRegistry, enabled, windowMs, maxPendingRecipients, maxNotificationsPerDigest );
+        digester.onFlush( notifications -> Mono.fromRunnable( () -> flushed.add( notifications ) ) );
+        return digester;
+    }
+
+    private static PendingNotification notification( final String recipient, final String companyNumber, final MessageType messageType ){
+        final var emailData = new AuthorisationRemovedEmailBuilder()
+                .setRecipientEmail( recipient )
+                .setCompanyName( "Wayne Enterprises" )
+                .setRemovedByDisplayName( "Batman" )
+                .setRemovedUserDisplayName( "Harleen Quinzel" )
+                .build();
+        return new PendingNotification( recipient, companyNumber, "Wayne Enterprises", messageType, emailData, "theId12345" );
+    }
+
+    @Test
+    void submitWhenDisabledReturnsFalse(){
+        final var digester = createDigester( false, 60_000L, 10, 10 );
+        Assertions.assertFalse( digester.submit( notification( "bruce.wayne@gotham.city", "111111", INVITATION_MESSAGE_TYPE ) ) );
+        digester.flushAll( TIMEOUT );
+        Assertions.assertTrue( flushed.isEmpty() );
+    }
+
+    @Test
+    void submitRejectsMessageTypesThatAreNotDigested(){
+        final var digester = createDigester( true, 60_000L, 10, 10 );
+        Assertions.assertFalse( digester.submit( notification( "bruce.wayne@gotham.city", "111111", YOUR_AUTHORISATION_REMOVED_MESSAGE_TYPE ) ) );
+        digester.flushAll( TIMEOUT );
+        Assertions.assertTrue( flushed.isEmpty() );
+    }
+
+    @Test
+    void submitCoalescesNotificationsForSameRecipientAndCompanyUntilWindowCloses() throws InterruptedException {
+        final var latch = new CountDownLatch( 2 );
+        final var digester = new NotificationDigester( new SimpleMeterRegistry(), backgroundTaskRegistry, true, 200L, 10, 10 );
+        digester.onFlush( notifications -> Mono.fromRunnable( () -> { flushed.add( notifications ); latch.countDown(); } ) );
+
+        Assertions.assertTrue( digester.submit( notification( "bruce.wayne@gotham.city", "111111", INVITATION_MESSAGE_TYPE ) ) );
+        Assertions.assertTrue( digester.submit( notification( "bruce.wayne@gotham.city", "111111", INVITATION_ACCEPTED_MESSAGE_TYPE ) ) );
+        Assertions.assertTrue( digester.submit( notification( "bruce.wayne@gotham.city", "111111", AUTHORISATION_REMOVED_MESSAGE_TYPE ) ) );
+        Assertions.assertTrue( digester.submit( notification( "bruce.wayne@gotham.city", "222222", INVITATION_MESSAGE_TYPE ) ) );
+
+        Assertions.assertTrue( latch.await( TIMEOUT.toMillis(), TimeUnit.MILLISECONDS ) );
+        final var digest = flushed.stream().filter( notifications -> "111111".equals( notifications.getFirst().companyNumber() ) ).findFirst().orElseThrow();
+        Assertions.assertEquals( List.of( INVITATION_MESSAGE_TYPE, INVITATION_ACCEPTED_MESSAGE_TYPE, AUTHORISATION_REMOVED_MESSAGE_TYPE ), digest.stream().map( PendingNotification::messageType ).toList() );
+        Assertions.assertEquals( 2, flushed.size() );
+        digester.flushAll( TIMEOUT );
+    }
+
+    @Test
+    void submitRejectsNewRecipientsOnceMaxPendingRecipientsIsReached(){
+        final var digester = createDigester( true, 60_000L, 1, 10 );
+        Assertions.assertTrue( digester.submit( notification( "bruce.wayne@gotham.city", "111111", INVITATION_MESSAGE_TYPE ) ) );
+        Assertions.assertFalse( digester.submit( notification( "harley.quinn@gotham.city", "111111", INVITATION_MESSAGE_TYPE ) ) );
+        Assertions.assertTrue( digester.submit( notification( "bruce.wayne@gotham.city", "111111", AUTHORISATION_REMOVED_MESSAGE_TYPE ) ) );
+        digester.flushAll( TIMEOUT );
+    }
+
+    @Test
+    void submitFlushesEarlyOnceMaxNotificationsPerDigestIsReached() throws InterruptedException {
+        final var latch = new CountDownLatch( 1 );
+        final var digester = new NotificationDigester( new SimpleMeterRegistry(), backgroundTaskRegistry, true, 60_000L, 10, 2 );
+        digester.onFlush( notifications -> Mono.fromRunnable( () -> { flushed.add( notifications ); latch.countDown(); } ) );
+
+        digester.submit( notification( "bruce.wayne@gotham.city", "111111", INVITATION_MESSAGE_TYPE ) );
+        digester.submit( notification( "bruce.wayne@gotham.city", "111111", INVITATION_ACCEPTED_MESSAGE_TYPE ) );
+
+        Assertions.assertTrue( latch.await( TIMEOUT.toMillis(), TimeUnit.MILLISECONDS ) );
+        Assertions.assertEquals( 2, flushed.getFirst().size() );
+        digester.flushAll( TIMEOUT );
+    }
+
+    @Test
+    void windowFlushRunsOffTheDigestThreadAndIsTrackedAsABackgroundTask() throws InterruptedException {
+        final var latch = new CountDownLatch( 1 );
+        final var flushThread = new AtomicReference<String>();
+        final var inFlight = new AtomicInteger();
+        final var digester = new NotificationDigester( new SimpleMeterRegistry(), backgroundTaskRegistry, true, 100L, 10, 10 );
+        digester.onFlush( notifications -> Mono.fromRunnable( () -> {
+            flushThread.set( Thread.currentThread().getName() );
+            inFlight.set( backgroundTaskRegistry.inFlight() );
+            latch.countDown();
+        } ) );
+
+        digester.submit( notification( "bruce.wayne@gotham.city", "111111", INVITATION_MESSAGE_TYPE ) );
+
+        Assertions.assertTrue( latch.await( TIMEOUT.toMillis(), TimeUnit.MILLISECONDS ) );
+        Assertions.assertTrue( flushThread.get().startsWith( "boundedElastic" ) );
+        Assertions.assertEquals( 1, inFlight.get() );
+        digester.flushAll( TIMEOUT );
+    }
+
+    @Test
+    void flushAllFlushesPendingNotificationsAndStopsAcceptingNewOnes(){
+        final var digester = createDigester( true, 60_000L, 10, 10 );
+        digester.submit( notification( "bruce.wayne@gotham.city", "111111", INVITATION_MESSAGE_TYPE ) );
+        digester.submit( notification( "harley.quinn@gotham.city", "111111", INVITATION_MESSAGE_TYPE ) );
+
+        digester.flushAll( TIMEOUT );
+
+        Assertions.assertEquals( 2, flushed.size() );
+        Assertions.assertFalse( digester.submit( notification( "bruce.wayne@gotham.city", "111111", INVITATION_MESSAGE_TYPE ) ) );
+    }
+
+    @Test
+    void flushAllFlushesEveryRecipientTogetherWithinOneOverallTimeout(){
+        final var started = new AtomicInteger();
+        final var digester = new NotificationDigester( new SimpleMeterRegistry(), backgroundTaskRegistry, true, 60_000L, 10, 10 );
+        digester.onFlush( notifications -> Mono.defer( () -> {
+            started.incrementAndGet();
+            return Mono.never();
+        } ) );
+        digester.submit( notification( "bruce.wayne@gotham.city", "111111", INVITATION_MESSAGE_TYPE ) );
+        digester.submit( notification( "harley.quinn@gotham.city", "111111", INVITATION_MESSAGE_TYPE ) );
+        digester.submit( notification( "homer.simpson@springfield.com", "111111", INVITATION_MESSAGE_TYPE ) );
+
+        Assertions.assertDoesNotThrow( () -> digester.flushAll( Duration.ofMillis( 200L ) ) );
+
+        Assertions.assertEquals( 3, started.get() );
+    }
+
+}
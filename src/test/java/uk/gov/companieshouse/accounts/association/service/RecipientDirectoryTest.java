@@ -0,0 +1,57 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import uk.gov.companieshouse.accounts.association.common.BlockHoundExtension;
+import uk.gov.companieshouse.accounts.association.common.Mockers;
+import uk.gov.companieshouse.accounts.association.common.TestDataManager;
+import uk.gov.companieshouse.api.accounts.user.model.User;
+
+@ExtendWith( { MockitoExtension.class, BlockHoundExtension.class } )
+@Tag( "unit-test" )
+class RecipientDirectoryTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 10L );
+
+    private static final TestDataManager testDataManager = TestDataManager.getInstance();
+
+    @Mock
+    private UsersService usersService;
+
+    @Test
+    void toFetchRecipientsFetchesEachUserOnce(){
+        final var mockers = new Mockers( null, null, null, usersService );
+        mockers.mockUsersServiceToFetchUserDetailsRequest( "111", "222" );
+        final var recipients = new RecipientDirectory( usersService, "theId12345", Stream.empty() );
+
+        final var emails = recipients.toFetchRecipients( Flux.just( "111", "222", "111" ) )
+                .map( User::getEmail )
+                .sort()
+                .collectList()
+                .block( TIMEOUT );
+
+        Assertions.assertEquals( 2, emails.size() );
+        Assertions.assertEquals( "111", recipients.toFetchRecipient( "111" ).map( User::getUserId ).block( TIMEOUT ) );
+        Assertions.assertEquals( "222", recipients.toFetchRecipient( "222" ).map( User::getUserId ).block( TIMEOUT ) );
+        Mockito.verify( usersService, Mockito.times( 1 ) ).toFetchUserDetailsRequest( Mockito.eq( "111" ), Mockito.any() );
+        Mockito.verify( usersService, Mockito.times( 1 ) ).toFetchUserDetailsRequest( Mockito.eq( "222" ), Mockito.any() );
+    }
+
+    @Test
+    void toFetchRecipientUsesKnownUsersWithoutCallingAccountsUserApi(){
+        final var targetUser = testDataManager.fetchUserDtos( "333" ).getFirst();
+        final var recipients = new RecipientDirectory( usersService, "theId12345", Stream.of( targetUser, null ) );
+
+        Assertions.assertEquals( targetUser, recipients.toFetchRecipient( "333" ).block( TIMEOUT ) );
+        Mockito.verifyNoInteractions( usersService );
+    }
+
+}
@@ -0,0 +1,89 @@
+package uk.gov.companieshouse.accounts.association.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.exceptions.InternalServerErrorRuntimeException;
+import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
+import uk.gov.companieshouse.accounts.association.models.AssociationDao;
+import uk.gov.companieshouse.accounts.association.repositories.AssociationsRepository;
+
+@ExtendWith( MockitoExtension.class )
+@Tag( "unit-test" )
+class RegisteredEmailAddressCacheTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 10L );
+
+    @Mock
+    private CompanyService companyService;
+
+    @Mock
+    private AssociationsRepository associationsRepository;
+
+    private RegisteredEmailAddressCache createCache( final boolean enabled ){
+        return new RegisteredEmailAddressCache( companyService, associationsRepository, new SimpleMeterRegistry(), enabled, 3_600_000L, 600_000L, 100L, 30L, 4 );
+    }
+
+    @Test
+    void toFetchRegisteredEmailAddressOnlyCallsOracleQueryApiOncePerCompany(){
+        final var cache = createCache( true );
+        Mockito.doReturn( Mono.just( "rea@example.com" ) ).when( companyService ).toFetchRegisteredEmailAddress( "111111", "theId12345" );
+
+        Assertions.assertEquals( "rea@example.com", cache.toFetchRegisteredEmailAddress( "111111", "theId12345" ).block( TIMEOUT ) );
+        Assertions.assertEquals( "rea@example.com", cache.toFetchRegisteredEmailAddress( "111111", "theId12345" ).block( TIMEOUT ) );
+
+        Mockito.verify( companyService, Mockito.times( 1 ) ).toFetchRegisteredEmailAddress( "111111", "theId12345" );
+    }
+
+    @Test
+    void toFetchRegisteredEmailAddressCachesCompaniesWithoutRegisteredEmailAddressAsEmpty(){
+        final var cache = createCache( true );
+        Mockito.doReturn( Mono.error( new NotFoundRuntimeException( "theId12345", "Failed to find registered email address for company", new Exception( "Not found" ) ) ) ).when( companyService ).toFetchRegisteredEmailAddress( "404COMP", "theId12345" );
+
+        Assertions.assertNull( cache.toFetchRegisteredEmailAddress( "404COMP", "theId12345" ).block( TIMEOUT ) );
+        Assertions.assertNull( cache.toFetchRegisteredEmailAddress( "404COMP", "theId12345" ).block( TIMEOUT ) );
+
+        Mockito.verify( companyService, Mockito.times( 1 ) ).toFetchRegisteredEmailAddress( "404COMP", "theId12345" );
+    }
+
+    @Test
+    void toFetchRegisteredEmailAddressDoesNotCacheFailures(){
+        final var cache = createCache( true );
+        Mockito.doReturn( Mono.error( new InternalServerErrorRuntimeException( "theId12345", "Failed to retrieve registered email address", new Exception( "Oracle query failed" ) ) ), Mono.just( "rea@example.com" ) ).when( companyService ).toFetchRegisteredEmailAddress( "111111", "theId12345" );
+
+        Assertions.assertThrows( InternalServerErrorRuntimeException.class, () -> cache.toFetchRegisteredEmailAddress( "111111", "theId12345" ).block( TIMEOUT ) );
+        Assertions.assertEquals( "rea@example.com", cache.toFetchRegisteredEmailAddress( "111111", "theId12345" ).block( TIMEOUT ) );
+    }
+
+    @Test
+    void warmUpLoadsCompaniesWithRecentActivity(){
+        final var cache = createCache( true );
+        Mockito.doReturn( Stream.of( new AssociationDao().companyNumber( "111111" ), new AssociationDao().companyNumber( "111111" ), new AssociationDao().companyNumber( "222222" ) ) ).when( associationsRepository ).streamAssociationsApprovedOrRemovedSince( Mockito.any( LocalDateTime.class ) );
+        Mockito.doReturn( Mono.just( "rea@example.com" ) ).when( companyService ).toFetchRegisteredEmailAddress( "111111", "rea-cache-warmup" );
+        Mockito.doReturn( Mono.just( "rea@other.com" ) ).when( companyService ).toFetchRegisteredEmailAddress( "222222", "rea-cache-warmup" );
+
+        cache.warmUp();
+        Mockito.verify( companyService, Mockito.timeout( TIMEOUT.toMillis() ) ).toFetchRegisteredEmailAddress( "222222", "rea-cache-warmup" );
+
+        Assertions.assertEquals( "rea@example.com", cache.toFetchRegisteredEmailAddress( "111111", "theId12345" ).block( TIMEOUT ) );
+        Assertions.assertEquals( "rea@other.com", cache.toFetchRegisteredEmailAddress( "222222", "theId12345" ).block( TIMEOUT ) );
+        Mockito.verify( companyService, Mockito.times( 1 ) ).toFetchRegisteredEmailAddress( "111111", "rea-cache-warmup" );
+        Mockito.verify( companyService, Mockito.never() ).toFetchRegisteredEmailAddress( Mockito.any(), Mockito.eq( "theId12345" ) );
+    }
+
+    @Test
+    void warmUpWhenDisabledDoesNothing(){
+        createCache( false ).warmUp();
+        Mockito.verifyNoInteractions( associationsRepository, companyService );
+    }
+
+}
@@ -0,0 +1,91 @@
+package uk.gov.companieshouse.accounts.association.utils;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import uk.gov.companieshouse.accounts.association.exceptions.BadRequestRuntimeException;
+import uk.gov.companieshouse.accounts.association.exceptions.DeadlineExceededRuntimeException;
+import uk.gov.companieshouse.accounts.association.exceptions.NotFoundRuntimeException;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
+
+@Tag( "unit-test" )
+class ParallelLookupsTest {
+
+    private static String slowLookup( final String value, final long latencyMs ) throws InterruptedException {
+        Thread.sleep( latencyMs );
+        return value;
+    }
+
+    @AfterEach
+    void tearDown(){
+        RequestContext.clear();
+    }
+
+    @Test
+    void forkRunsLookupsConcurrently(){
+        final var startTime = System.nanoTime();
+        try ( final var lookups = new ParallelLookups() ){
+            final var user = lookups.fork( () -> slowLookup( "user", 300L ) );
+            final var company = lookups.fork( () -> slowLookup( "company", 300L ) );
+            Assertions.assertEquals( "user", user.get() );
+            Assertions.assertEquals( "company", company.get() );
+        }
+        final var elapsed = Duration.ofNanos( System.nanoTime() - startTime );
+        Assertions.assertTrue( elapsed.toMillis() < 550L, String.format( "Lookups took %d ms", elapsed.toMillis() ) );
+    }
+
+    @Test
+    void forkWithNullResultReturnsNull(){
+        try ( final var lookups = new ParallelLookups() ){
+            final var lookup = lookups.fork( () -> null );
+            Assertions.assertNull( lookup.get() );
+        }
+    }
+
+    @Test
+    void forkPropagatesRequestContextToLookup(){
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "X-Request-Id", "theId12345" );
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setXRequestId( request ).build() );
+
+        try ( final var lookups = new ParallelLookups() ){
+            final var lookup = lookups.fork( RequestContextUtil::getXRequestId );
+            Assertions.assertEquals( "theId12345", lookup.get() );
+        }
+    }
+
+    @Test
+    void getRethrowsFailuresInTheOrderResultsAreRead(){
+        try ( final var lookups = new ParallelLookups() ){
+            final var user = lookups.fork( () -> {
+                Thread.sleep( 200L );
+                throw new NotFoundRuntimeException( "theId12345", "User not found", new Exception( "User not found" ) );
+            } );
+            final var company = lookups.fork( () -> {
+                throw new BadRequestRuntimeException( "theId12345", "Company is invalid", new Exception( "Company is invalid" ) );
+            } );
+            Assertions.assertThrows( NotFoundRuntimeException.class, user::get );
+            Assertions.assertThrows( BadRequestRuntimeException.class, company::get );
+        }
+    }
+
+    @Test
+    void getThrowsDeadlineExceededWhenRequestBudgetElapses(){
+        final var request = new MockHttpServletRequest();
+        request.addHeader( "X-Request-Id", "theId12345" );
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setXRequestId( request ).setDeadline( Duration.ofMillis( 100L ) ).build() );
+
+        final var startTime = System.nanoTime();
+        try ( final var lookups = new ParallelLookups() ){
+            final var lookup = lookups.fork( () -> slowLookup( "user", 5_000L ) );
+            Assertions.assertThrows( DeadlineExceededRuntimeException.class, lookup::get );
+        }
+        final var elapsed = Duration.ofNanos( System.nanoTime() - startTime );
+        Assertions.assertTrue( elapsed.toMillis() < 1_000L, String.format( "Lookups took %d ms", elapsed.toMillis() ) );
+    }
+
+}
@@ -0,0 +1,61 @@
+package uk.gov.companieshouse.accounts.association.utils;
+
+import static uk.gov.companieshouse.accounts.association.utils.ReactorUtil.blockWithinDeadline;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.accounts.association.exceptions.DeadlineExceededRuntimeException;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
+import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
+
+@Tag( "unit-test" )
+class ReactorUtilTest {
+
+    @AfterEach
+    void teardown(){
+        RequestContext.clear();
+    }
+
+    @Test
+    void blockWithinDeadlineWithoutDeadlineReturnsResult(){
+        Assertions.assertEquals( "result", blockWithinDeadline( Mono.just( "result" ) ) );
+    }
+
+    @Test
+    void blockWithinDeadlineReturnsResultThatArrivesWithinBudget(){
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setDeadline( Duration.ofSeconds( 5L ) ).build() );
+        Assertions.assertEquals( "result", blockWithinDeadline( Mono.just( "result" ).delayElement( Duration.ofMillis( 50L ) ) ) );
+    }
+
+    @Test
+    void blockWithinDeadlineReturnsNullForEmptyMono(){
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setDeadline( Duration.ofSeconds( 5L ) ).build() );
+        Assertions.assertNull( blockWithinDeadline( Mono.empty() ) );
+    }
+
+    @Test
+    void blockWithinDeadlineThrowsDeadlineExceededRuntimeExceptionWhenBudgetRunsOut(){
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setDeadline( Duration.ofMillis( 100L ) ).build() );
+        final var slowCall = Mono.just( "result" ).delayElement( Duration.ofSeconds( 5L ) );
+
+        final var startTime = System.nanoTime();
+        Assertions.assertThrows( DeadlineExceededRuntimeException.class, () -> blockWithinDeadline( slowCall ) );
+        Assertions.assertTrue( Duration.ofNanos( System.nanoTime() - startTime ).compareTo( Duration.ofSeconds( 1L ) ) < 0 );
+    }
+
+    @Test
+    void blockWithinDeadlineThrowsDeadlineExceededRuntimeExceptionWithoutSubscribingOnceDeadlineHasPassed(){
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setDeadline( Duration.ZERO ).build() );
+        final var subscribed = new AtomicBoolean( false );
+        final var call = Mono.just( "result" ).doOnSubscribe( subscription -> subscribed.set( true ) );
+
+        Assertions.assertThrows( DeadlineExceededRuntimeException.class, () -> blockWithinDeadline( call ) );
+        Assertions.assertFalse( subscribed.get() );
+    }
+
+}
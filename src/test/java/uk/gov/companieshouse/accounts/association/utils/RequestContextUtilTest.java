@@ -5,12 +5,15 @@ import static uk.gov.companieshouse.accounts.association.models.Constants.ADMIN_
 import static uk.gov.companieshouse.accounts.association.models.Constants.UNKNOWN;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getEricIdentity;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getEricIdentityType;
+import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getRemainingBudget;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getUser;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.getXRequestId;
 import static uk.gov.companieshouse.accounts.association.utils.RequestContextUtil.hasAdminPrivilege;
 import static uk.gov.companieshouse.api.util.security.EricConstants.ERIC_IDENTITY;
 
+import java.time.Duration;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -21,6 +24,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import uk.gov.companieshouse.accounts.association.common.TestDataManager;
+import uk.gov.companieshouse.accounts.association.exceptions.DeadlineExceededRuntimeException;
 import uk.gov.companieshouse.accounts.association.models.context.RequestContext;
 import uk.gov.companieshouse.accounts.association.models.context.RequestContextData.RequestContextDataBuilder;
 
@@ -44,6 +48,26 @@ class RequestContextUtilTest {
         Assertions.assertEquals( "theId123", getXRequestId() );
     }
 
+    @Test
+    void getRemainingBudgetIsEmptyWhenDeadlineIsMissing(){
+        RequestContext.setRequestContext( new RequestContextDataBuilder().build() );
+        Assertions.assertTrue( getRemainingBudget().isEmpty() );
+    }
+
+    @Test
+    void getRemainingBudgetRetrievesTimeLeftBeforeDeadline(){
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setDeadline( Duration.ofSeconds( 5L ) ).build() );
+        final var remainingBudget = getRemainingBudget().orElseThrow();
+        Assertions.assertTrue( remainingBudget.compareTo( Duration.ofSeconds( 5L ) ) <= 0 );
+        Assertions.assertTrue( remainingBudget.compareTo( Duration.ofSeconds( 4L ) ) > 0 );
+    }
+
+    @Test
+    void getRemainingBudgetThrowsDeadlineExceededRuntimeExceptionOnceDeadlineHasPassed(){
+        RequestContext.setRequestContext( new RequestContextDataBuilder().setDeadline( Duration.ZERO ).build() );
+        Assertions.assertThrows( DeadlineExceededRuntimeException.class, RequestContextUtil::getRemainingBudget );
+    }
+
     @Test
     void getEricIdentityIsUnknownWhenEricIdentityIsMissing(){
         RequestContext.setRequestContext( new RequestContextDataBuilder().build() );
@@ -118,6 +142,9 @@ class RequestContextUtilTest {
         Assertions.assertEquals( user, getUser() );
     }
 
-}
-
+    @AfterEach
+    void teardown(){
+        RequestContext.clear();
+    }
 
+}
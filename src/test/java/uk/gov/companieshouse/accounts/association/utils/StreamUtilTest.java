@@ -0,0 +1,52 @@
+package uk.gov.companieshouse.accounts.association.utils;
+
+import static uk.gov.companieshouse.accounts.association.utils.StreamUtil.batch;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag( "unit-test" )
+class StreamUtilTest {
+
+    @Test
+    void batchSplitsStreamIntoBatchesOfTheSpecifiedSize(){
+        final var batches = batch( Stream.of( 1, 2, 3, 4, 5 ), 2 ).toList();
+        Assertions.assertEquals( List.of( List.of( 1, 2 ), List.of( 3, 4 ), List.of( 5 ) ), batches );
+    }
+
+    @Test
+    void batchWithEmptyStreamReturnsNoBatches(){
+        Assertions.assertEquals( 0, batch( Stream.empty(), 2 ).count() );
+    }
+
+    @Test
+    void batchWithNonPositiveBatchSizeThrowsIllegalArgumentException(){
+        Assertions.assertThrows( IllegalArgumentException.class, () -> batch( Stream.of( 1 ), 0 ) );
+    }
+
+    @Test
+    void batchOnlyPullsElementsWhenTheNextBatchIsRequested(){
+        final var numPulled = new AtomicInteger();
+        final var source = Stream.iterate( 0, element -> element + 1 ).peek( element -> numPulled.incrementAndGet() );
+
+        final var firstBatch = batch( source, 3 ).iterator().next();
+
+        Assertions.assertEquals( List.of( 0, 1, 2 ), firstBatch );
+        Assertions.assertEquals( 3, numPulled.get() );
+    }
+
+    @Test
+    void closingBatchedStreamClosesSourceStream(){
+        final var closed = new AtomicBoolean( false );
+        try ( final var batches = batch( Stream.of( 1, 2, 3 ).onClose( () -> closed.set( true ) ), 2 ) ){
+            batches.findFirst();
+        }
+        Assertions.assertTrue( closed.get() );
+    }
+
+}
@@ -0,0 +1,97 @@
+package uk.gov.companieshouse.accounts.association.utils;
+
+import static uk.gov.companieshouse.accounts.association.utils.ReactorUtil.fromBlockingCallable;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.PAGE_SIZE;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.RECIPIENTS;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.traced;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.tracedFlux;
+import static uk.gov.companieshouse.accounts.association.utils.TracingUtil.tracedMono;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Tag( "unit-test" )
+class TracingUtilTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 10L );
+
+    private InMemorySpanExporter spanExporter;
+
+    @BeforeEach
+    void setup(){
+        spanExporter = InMemorySpanExporter.create();
+        TracingUtil.useOpenTelemetry( OpenTelemetrySdk.builder()
+                .setTracerProvider( SdkTracerProvider.builder().addSpanProcessor( SimpleSpanProcessor.create( spanExporter ) ).build() )
+                .build() );
+    }
+
+    @AfterEach
+    void teardown(){
+        TracingUtil.useOpenTelemetry( OpenTelemetry.noop() );
+    }
+
+    private SpanData findSpan( final String spanName ){
+        return spanExporter.getFinishedSpanItems().stream()
+                .filter( span -> spanName.equals( span.getName() ) )
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void tracedNestsSpansAndRecordsAttributes(){
+        final var result = traced( "parent", Attributes.of( PAGE_SIZE, 15L ), parent -> traced( "child", Attributes.empty(), child -> "result" ) );
+
+        Assertions.assertEquals( "result", result );
+        Assertions.assertEquals( 15L, findSpan( "parent" ).getAttributes().get( PAGE_SIZE ) );
+        Assertions.assertEquals( findSpan( "parent" ).getSpanId(), findSpan( "child" ).getParentSpanId() );
+    }
+
+    @Test
+    void tracedRecordsFailures(){
+        Assertions.assertThrows( IllegalStateException.class, () -> traced( "failing", Attributes.empty(), span -> { throw new IllegalStateException( "Boom" ); } ) );
+
+        Assertions.assertEquals( StatusCode.ERROR, findSpan( "failing" ).getStatus().getStatusCode() );
+        Assertions.assertFalse( findSpan( "failing" ).getEvents().isEmpty() );
+    }
+
+    @Test
+    void tracedMonoIsParentedAcrossThreadsThroughReactorContext(){
+        final var fanOut = tracedFlux( "fan-out", Attributes.empty(), parent -> Flux.range( 0, 3 )
+                .publishOn( Schedulers.parallel() )
+                .flatMap( index -> tracedMono( "send", Attributes.empty(), span -> Mono.just( index ) ) )
+                .doOnComplete( () -> parent.setAttribute( RECIPIENTS, 3L ) ) );
+
+        Assertions.assertEquals( 3L, fanOut.count().block( TIMEOUT ) );
+
+        final var parent = findSpan( "fan-out" );
+        Assertions.assertEquals( 3L, parent.getAttributes().get( RECIPIENTS ) );
+        Assertions.assertEquals( 3L, spanExporter.getFinishedSpanItems().stream()
+                .filter( span -> "send".equals( span.getName() ) )
+                .filter( span -> parent.getSpanId().equals( span.getParentSpanId() ) )
+                .count() );
+    }
+
+    @Test
+    void fromBlockingCallableRunsWithSpanCurrentOnWorkerThread(){
+        final var currentSpanId = tracedMono( "enrichment", Attributes.empty(), span -> fromBlockingCallable( () -> Span.current().getSpanContext().getSpanId() ) ).block( TIMEOUT );
+
+        Assertions.assertEquals( findSpan( "enrichment" ).getSpanId(), currentSpanId );
+    }
+
+}